@@ -0,0 +1,226 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.JadxArgs;
+import jadx.api.plugins.utils.ZipSecurity;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+import jadx.core.xmlgen.ResTableParser;
+
+/**
+ * Decode compressed 'resources.arsc' entry with many string resources.
+ * <br>
+ * Table generated (one package, one type, one config), so benchmark don't depend on 'jadx.bench.input' property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArscDecodeBenchmark {
+
+	@Param({ "50000" })
+	public int entriesCount;
+
+	private Path tmpDir;
+	private ZipFile zipFile;
+	private RootNode root;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		tmpDir = FileUtils.createTempDir("jadx-bench-arsc");
+		File file = tmpDir.resolve("input.zip").toFile();
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+			out.putNextEntry(new ZipEntry("resources.arsc"));
+			out.write(buildTable(entriesCount));
+			out.closeEntry();
+		}
+		zipFile = new ZipFile(file);
+		root = new RootNode(new JadxArgs());
+		int count = decode().getResStorage().getResourcesNames().size();
+		if (count != entriesCount) {
+			throw new JadxRuntimeException("Unexpected resources count: " + count);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		zipFile.close();
+		FileUtils.deleteDir(tmpDir);
+	}
+
+	/**
+	 * Read zip entry same as in {@link jadx.api.ResourcesLoader}
+	 */
+	@Benchmark
+	public ResTableParser decode() throws IOException {
+		ZipEntry entry = zipFile.getEntry("resources.arsc");
+		try (InputStream in = ZipSecurity.getInputStreamForEntry(zipFile, entry)) {
+			ResTableParser parser = new ResTableParser(root, true);
+			parser.decode(in);
+			return parser;
+		}
+	}
+
+	private static byte[] buildTable(int count) {
+		List<String> values = new ArrayList<>(count);
+		List<String> keys = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			values.add("string value " + i);
+			keys.add("key_" + i);
+		}
+		byte[] globalPool = stringPool(values);
+		byte[] typesPool = stringPool(singletonList("string"));
+		byte[] keysPool = stringPool(keys);
+		byte[] typeSpec = typeSpecChunk(count);
+		byte[] type = typeChunk(count);
+
+		int pkgHeaderSize = 0x011c;
+		int pkgSize = pkgHeaderSize + typesPool.length + keysPool.length + typeSpec.length + type.length;
+		ByteBuffer pkg = buffer(pkgSize);
+		pkg.putShort((short) 0x0200);
+		pkg.putShort((short) pkgHeaderSize);
+		pkg.putInt(pkgSize);
+		pkg.putInt(0x7f);
+		byte[] name = "jadx.bench".getBytes(StandardCharsets.UTF_16LE);
+		pkg.put(name);
+		pkg.position(pkg.position() + 256 - name.length);
+		pkg.putInt(pkgHeaderSize); // type strings
+		pkg.putInt(0);
+		pkg.putInt(pkgHeaderSize + typesPool.length); // key strings
+		pkg.putInt(0);
+		pkg.put(typesPool).put(keysPool).put(typeSpec).put(type);
+
+		int tableSize = 12 + globalPool.length + pkgSize;
+		ByteBuffer table = buffer(tableSize);
+		table.putShort((short) 0x0002);
+		table.putShort((short) 0x000c);
+		table.putInt(tableSize);
+		table.putInt(1);
+		table.put(globalPool).put(pkg.array());
+		return table.array();
+	}
+
+	private static List<String> singletonList(String str) {
+		List<String> list = new ArrayList<>(1);
+		list.add(str);
+		return list;
+	}
+
+	/**
+	 * UTF-8 string pool, strings shorter than 128 bytes
+	 */
+	private static byte[] stringPool(List<String> strings) {
+		int count = strings.size();
+		List<byte[]> data = new ArrayList<>(count);
+		int dataSize = 0;
+		for (String str : strings) {
+			byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+			data.add(bytes);
+			dataSize += bytes.length + 3;
+		}
+		dataSize = (dataSize + 3) & ~3;
+		int stringsStart = 0x1c + count * 4;
+		int size = stringsStart + dataSize;
+		ByteBuffer buf = buffer(size);
+		buf.putShort((short) 0x0001);
+		buf.putShort((short) 0x001c);
+		buf.putInt(size);
+		buf.putInt(count);
+		buf.putInt(0); // styles
+		buf.putInt(1 << 8); // UTF-8 flag
+		buf.putInt(stringsStart);
+		buf.putInt(0);
+		int offset = 0;
+		for (byte[] bytes : data) {
+			buf.putInt(offset);
+			offset += bytes.length + 3;
+		}
+		for (byte[] bytes : data) {
+			buf.put((byte) bytes.length); // chars count
+			buf.put((byte) bytes.length); // bytes count
+			buf.put(bytes);
+			buf.put((byte) 0);
+		}
+		return buf.array();
+	}
+
+	private static byte[] typeSpecChunk(int count) {
+		int size = 0x10 + count * 4;
+		ByteBuffer buf = buffer(size);
+		buf.putShort((short) 0x0202);
+		buf.putShort((short) 0x0010);
+		buf.putInt(size);
+		buf.put((byte) 1); // type id
+		buf.put((byte) 0);
+		buf.putShort((short) 0);
+		buf.putInt(count);
+		return buf.array(); // all config flags are zero
+	}
+
+	private static byte[] typeChunk(int count) {
+		int configSize = 64;
+		int headerSize = 20 + configSize;
+		int entrySize = 16;
+		int entriesStart = headerSize + count * 4;
+		int size = entriesStart + count * entrySize;
+		ByteBuffer buf = buffer(size);
+		buf.putShort((short) 0x0201);
+		buf.putShort((short) headerSize);
+		buf.putInt(size);
+		buf.put((byte) 1); // type id
+		buf.put((byte) 0);
+		buf.putShort((short) 0);
+		buf.putInt(count);
+		buf.putInt(entriesStart);
+		buf.putInt(configSize); // default config, all other fields are zero
+		buf.position(headerSize);
+		for (int i = 0; i < count; i++) {
+			buf.putInt(i * entrySize);
+		}
+		for (int i = 0; i < count; i++) {
+			buf.putShort((short) 8);
+			buf.putShort((short) 0);
+			buf.putInt(i); // key
+			buf.putShort((short) 8);
+			buf.put((byte) 0);
+			buf.put((byte) 0x03); // string type
+			buf.putInt(i); // global string index
+		}
+		return buf.array();
+	}
+
+	private static ByteBuffer buffer(int size) {
+		return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
@@ -0,0 +1,131 @@
+package jadx.benchmarks;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.impl.NoOpCodeCache;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.plugins.input.javaconvert.ConvertResult;
+import jadx.plugins.input.javaconvert.JavaConvertLoader;
+import jadx.plugins.input.smali.SmaliConvert;
+
+/**
+ * Benchmark input files converted to dex.
+ * <br>
+ * Input files and directories set by 'jadx.bench.input' system property (separated by path separator).
+ * Java classes and jars converted into dex, every smali file compiled into separate dex,
+ * because test smali files contain classes with same names.
+ */
+public class BenchInput implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(BenchInput.class);
+
+	public static final String INPUT_PROPERTY = "jadx.bench.input";
+
+	private final List<Path> dexFiles = new ArrayList<>();
+	private final List<Closeable> tmpFiles = new ArrayList<>();
+
+	public static BenchInput load() {
+		String input = System.getProperty(INPUT_PROPERTY);
+		if (input == null || input.isEmpty()) {
+			throw new JadxRuntimeException("Benchmark input not set, use '-D" + INPUT_PROPERTY + "=<files>' option");
+		}
+		List<Path> files = new ArrayList<>();
+		for (String path : input.split(File.pathSeparator)) {
+			files.addAll(expandDir(Paths.get(path)));
+		}
+		BenchInput benchInput = new BenchInput();
+		benchInput.convert(files);
+		if (benchInput.dexFiles.isEmpty()) {
+			throw new JadxRuntimeException("No dex files loaded from benchmark input: " + input);
+		}
+		return benchInput;
+	}
+
+	private void convert(List<Path> files) {
+		List<Path> javaFiles = new ArrayList<>();
+		for (Path file : files) {
+			String fileName = file.getFileName().toString();
+			if (fileName.endsWith(".dex") || fileName.endsWith(".apk")) {
+				dexFiles.add(file);
+			} else if (fileName.endsWith(".class") || fileName.endsWith(".jar")) {
+				javaFiles.add(file);
+			} else if (fileName.endsWith(".smali")) {
+				convertSmali(file);
+			}
+		}
+		if (!javaFiles.isEmpty()) {
+			ConvertResult result = JavaConvertLoader.process(javaFiles);
+			tmpFiles.add(result);
+			dexFiles.addAll(result.getConverted());
+		}
+	}
+
+	private void convertSmali(Path file) {
+		SmaliConvert convert = new SmaliConvert();
+		if (convert.execute(Collections.singletonList(file))) {
+			tmpFiles.add(convert);
+			dexFiles.addAll(convert.getDexFiles());
+		} else {
+			LOG.warn("Skip smali file: {}", file);
+		}
+	}
+
+	private static List<Path> expandDir(Path path) {
+		if (!Files.isDirectory(path)) {
+			return Collections.singletonList(path);
+		}
+		try (Stream<Path> pathStream = Files.walk(path)) {
+			return pathStream
+					.filter(p -> Files.isRegularFile(p, LinkOption.NOFOLLOW_LINKS))
+					.sorted()
+					.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to list files in dir: " + path, e);
+		}
+	}
+
+	/**
+	 * Create and load decompiler for converted input files
+	 */
+	public JadxDecompiler loadDecompiler() {
+		JadxArgs args = new JadxArgs();
+		args.setInputFiles(dexFiles.stream().map(Path::toFile).collect(Collectors.toList()));
+		args.setCodeCache(new NoOpCodeCache());
+		args.setSkipResources(true);
+		JadxDecompiler jadx = new JadxDecompiler(args);
+		jadx.load();
+		return jadx;
+	}
+
+	public List<Path> getDexFiles() {
+		return dexFiles;
+	}
+
+	@Override
+	public void close() {
+		for (Closeable tmpFile : tmpFiles) {
+			try {
+				tmpFile.close();
+			} catch (Exception e) {
+				LOG.warn("Failed to remove temp files: {}", tmpFile, e);
+			}
+		}
+		tmpFiles.clear();
+		dexFiles.clear();
+	}
+}
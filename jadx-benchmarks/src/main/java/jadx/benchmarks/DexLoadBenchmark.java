@@ -0,0 +1,78 @@
+package jadx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IMethodData;
+import jadx.plugins.input.dex.DexFileLoader;
+import jadx.plugins.input.dex.DexReader;
+
+/**
+ * Dex files reading and parsing of all classes data (like in class nodes loading)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DexLoadBenchmark {
+
+	private BenchInput input;
+	private List<DexReader> dexReaders;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		input = BenchInput.load();
+		dexReaders = DexFileLoader.collectDexFiles(input.getDexFiles());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		input.close();
+	}
+
+	@Benchmark
+	public void readDexFiles(Blackhole bh) {
+		bh.consume(DexFileLoader.collectDexFiles(input.getDexFiles()));
+	}
+
+	@Benchmark
+	public void visitClasses(Blackhole bh) {
+		for (DexReader dexReader : dexReaders) {
+			dexReader.visitClasses(cls -> {
+				bh.consume(cls.getType());
+				bh.consume(cls.getAnnotations());
+				cls.visitFieldsAndMethods(
+						fld -> bh.consume(fld.getName()),
+						mth -> visitMethod(bh, mth));
+			});
+		}
+	}
+
+	private static void visitMethod(Blackhole bh, IMethodData mth) {
+		bh.consume(mth.getMethodRef());
+		ICodeReader codeReader = mth.getCodeReader();
+		if (codeReader != null) {
+			codeReader.visitInstructions(insn -> {
+				insn.decode();
+				bh.consume(insn.getOpcode());
+			});
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package jadx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.ProcessClass;
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Full decompilation (all passes and code generation) of all input classes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GenerateCodeBenchmark {
+
+	private BenchInput input;
+	private JadxDecompiler jadx;
+	private List<ClassNode> classes;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		input = BenchInput.load();
+		jadx = input.loadDecompiler();
+		classes = jadx.getRoot().getClassesWithoutInner();
+	}
+
+	@Setup(Level.Invocation)
+	public void unload() {
+		for (ClassNode cls : classes) {
+			cls.unload();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		jadx.close();
+		input.close();
+	}
+
+	@Benchmark
+	public void generateCode(Blackhole bh) {
+		for (ClassNode cls : classes) {
+			if (cls.contains(AFlag.DONT_GENERATE)) {
+				continue;
+			}
+			try {
+				bh.consume(ProcessClass.generateCode(cls));
+			} catch (JadxRuntimeException e) {
+				bh.consume(e);
+			}
+		}
+	}
+}
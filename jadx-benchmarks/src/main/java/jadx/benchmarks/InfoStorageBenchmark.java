@@ -0,0 +1,103 @@
+package jadx.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.InfoStorage;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Concurrent interning of class, field and method infos (contention in {@link InfoStorage}).
+ * <br>
+ * Storage recreated on every iteration, so first lookups are misses and rest are hits (like in real decompilation).
+ * Use JMH option '-t' (or '-Pjmh.threads') to check scaling with different threads count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class InfoStorageBenchmark {
+	private static final int KEYS_COUNT = 16 * 1024;
+	private static final int KEYS_MASK = KEYS_COUNT - 1;
+
+	private ArgType[] types;
+	private String[] names;
+	private RootNode root;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		types = new ArgType[KEYS_COUNT];
+		names = new String[KEYS_COUNT];
+		for (int i = 0; i < KEYS_COUNT; i++) {
+			types[i] = ArgType.object("bench.pkg" + (i % 64) + ".Cls" + i);
+			names[i] = "m" + i;
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void resetStorage() {
+		root = new RootNode(new JadxArgs());
+	}
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int idx;
+
+		@Setup
+		public void setup() {
+			idx = ThreadLocalRandom.current().nextInt(KEYS_COUNT);
+		}
+
+		int next() {
+			idx = (idx + 1) & KEYS_MASK;
+			return idx;
+		}
+	}
+
+	@Benchmark
+	public ClassInfo classInfo(Cursor cursor) {
+		return ClassInfo.fromType(root, types[cursor.next()]);
+	}
+
+	@Benchmark
+	public FieldInfo fieldInfo(Cursor cursor) {
+		int i = cursor.next();
+		return FieldInfo.from(root, ClassInfo.fromType(root, types[i]), names[i], ArgType.INT);
+	}
+
+	@Benchmark
+	public MethodInfo methodInfo(Cursor cursor) {
+		int i = cursor.next();
+		InfoStorage infoStorage = root.getInfoStorage();
+		MethodInfo mth = infoStorage.getByUniqId(i);
+		if (mth != null) {
+			return mth;
+		}
+		ClassInfo cls = ClassInfo.fromType(root, types[i]);
+		MethodInfo newMth = MethodInfo.fromDetails(root, cls, names[i], Collections.emptyList(), ArgType.VOID);
+		infoStorage.putByUniqId(i, newMth);
+		return newMth;
+	}
+}
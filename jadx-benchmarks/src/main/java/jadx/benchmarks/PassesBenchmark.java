@@ -0,0 +1,90 @@
+package jadx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.JadxDecompiler;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.visitors.DepthTraversal;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Run one decompilation pass for all input classes.
+ * <br>
+ * Before every invocation classes reloaded and all previous passes applied (not included into measurement).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassesBenchmark {
+
+	@Param({ "BlockSplitter", "BlockProcessor", "SSATransform", "TypeInferenceVisitor", "RegionMakerVisitor" })
+	public String pass;
+
+	private BenchInput input;
+	private JadxDecompiler jadx;
+	private List<ClassNode> classes;
+	private List<IDexTreeVisitor> preparePasses;
+	private IDexTreeVisitor benchPass;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		input = BenchInput.load();
+		jadx = input.loadDecompiler();
+		classes = jadx.getRoot().getClassesWithoutInner();
+		List<IDexTreeVisitor> passes = jadx.getRoot().getPasses();
+		for (int i = 0; i < passes.size(); i++) {
+			IDexTreeVisitor visitor = passes.get(i);
+			if (visitor.getClass().getSimpleName().equals(pass)) {
+				preparePasses = passes.subList(0, i);
+				benchPass = visitor;
+				return;
+			}
+		}
+		throw new JadxRuntimeException("Pass not found: " + pass);
+	}
+
+	@Setup(Level.Invocation)
+	public void prepare() {
+		for (ClassNode cls : classes) {
+			cls.unload();
+			cls.load();
+		}
+		for (IDexTreeVisitor visitor : preparePasses) {
+			for (ClassNode cls : classes) {
+				DepthTraversal.visit(visitor, cls);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		jadx.close();
+		input.close();
+	}
+
+	@Benchmark
+	public void runPass() {
+		for (ClassNode cls : classes) {
+			DepthTraversal.visit(benchPass, cls);
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package jadx.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.impl.NoOpCodeCache;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Export of resources from zip file with many entries (like big apk).
+ * <br>
+ * Input zip generated, so benchmark don't depend on 'jadx.bench.input' property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResourcesSaveBenchmark {
+
+	@Param({ "5000" })
+	public int entriesCount;
+
+	private Path tmpDir;
+	private JadxDecompiler jadx;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		tmpDir = FileUtils.createTempDir("jadx-bench-res");
+		File zipFile = tmpDir.resolve("input.zip").toFile();
+		writeZip(zipFile);
+
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(zipFile);
+		args.setOutDir(tmpDir.resolve("out").toFile());
+		args.setCodeCache(new NoOpCodeCache());
+		jadx = new JadxDecompiler(args);
+		jadx.load();
+		if (jadx.getResources().size() != entriesCount) {
+			throw new JadxRuntimeException("Unexpected resources count: " + jadx.getResources().size());
+		}
+	}
+
+	private void writeZip(File zipFile) throws IOException {
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zipFile.toPath()))) {
+			for (int i = 0; i < entriesCount; i++) {
+				out.putNextEntry(new ZipEntry("res/raw/file" + i + ".txt"));
+				writeContent(out, i);
+				out.closeEntry();
+			}
+		}
+	}
+
+	private static void writeContent(OutputStream out, int i) throws IOException {
+		out.write(("resource file content " + i).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		jadx.close();
+		FileUtils.deleteDir(tmpDir);
+	}
+
+	@Benchmark
+	public void saveResources() {
+		jadx.saveResources();
+	}
+}
@@ -1,12 +1,16 @@
 package jadx.cli;
 
+import java.io.PrintStream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
+import jadx.api.impl.InMemoryCodeCache;
 import jadx.api.impl.NoOpCodeCache;
-import jadx.api.impl.SimpleCodeWriter;
+import jadx.api.impl.StreamCodeWriter;
+import jadx.cli.server.JadxServer;
 import jadx.core.utils.exceptions.JadxArgsValidateException;
 import jadx.core.utils.files.FileUtils;
 
@@ -32,14 +36,32 @@ public class JadxCLI {
 	public static int execute(String[] args) {
 		JadxCLIArgs jadxArgs = new JadxCLIArgs();
 		if (jadxArgs.processArgs(args)) {
+			if (jadxArgs.isServerMode()) {
+				return runServer(args, jadxArgs);
+			}
 			return processAndSave(jadxArgs.toJadxArgs());
 		}
 		return 0;
 	}
 
+	private static int runServer(String[] args, JadxCLIArgs serverArgs) {
+		PrintStream out = System.out;
+		// stdout used only for responses, redirect logs and other messages to stderr
+		System.setOut(System.err);
+		try {
+			return new JadxServer(args, serverArgs, out).run(System.in);
+		} finally {
+			System.setOut(out);
+		}
+	}
+
 	private static int processAndSave(JadxArgs jadxArgs) {
-		jadxArgs.setCodeCache(new NoOpCodeCache());
-		jadxArgs.setCodeWriterProvider(SimpleCodeWriter::new);
+		if (jadxArgs.getCodeCache() instanceof InMemoryCodeCache) {
+			// every class saved only once, no need to keep code in memory
+			jadxArgs.setCodeCache(new NoOpCodeCache());
+		}
+		// metadata not needed, big classes streamed into temp files and moved to output dir
+		jadxArgs.setCodeWriterProvider(StreamCodeWriter::new);
 		try (JadxDecompiler jadx = new JadxDecompiler(jadxArgs)) {
 			jadx.load();
 			jadx.save();
@@ -14,6 +14,7 @@ import com.beust.jcommander.Parameter;
 import jadx.api.JadxArgs;
 import jadx.api.JadxArgs.RenameEnum;
 import jadx.api.JadxDecompiler;
+import jadx.core.codecache.DiskCodeCache;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.files.FileUtils;
 
@@ -111,6 +112,12 @@ public class JadxCLIArgs {
 	@Parameter(names = { "--fs-case-sensitive" }, description = "treat filesystem as case sensitive, false by default")
 	protected boolean fsCaseSensitive = false;
 
+	@Parameter(names = { "--code-cache-dir" }, description = "directory for persistent cache of decompiled code, disabled by default")
+	protected String codeCacheDir;
+
+	@Parameter(names = { "--profile-passes" }, description = "collect time and memory allocations per pass and save report to json file")
+	protected String profilePasses;
+
 	@Parameter(names = { "--cfg" }, description = "save methods control flow graph to dot file")
 	protected boolean cfgOutput = false;
 
@@ -120,6 +127,21 @@ public class JadxCLIArgs {
 	@Parameter(names = { "-f", "--fallback" }, description = "make simple dump (using goto instead of 'if', 'for', etc)")
 	protected boolean fallbackMode = false;
 
+	@Parameter(
+			names = { "--server" },
+			description = "run as server: read jobs from stdin (one JSON object per line), write results to stdout"
+	)
+	protected boolean serverMode = false;
+
+	@Parameter(names = { "--server-jobs" }, description = "max jobs processed concurrently in server mode")
+	protected int serverJobs = 2;
+
+	@Parameter(
+			names = { "--server-heap-limit" },
+			description = "heap usage (in percents of max heap) above which new jobs wait for running ones to finish"
+	)
+	protected int serverHeapLimit = 80;
+
 	@Parameter(names = { "-v", "--verbose" }, description = "verbose output (set --log-level to DEBUG)")
 	protected boolean verbose = false;
 
@@ -174,6 +196,12 @@ public class JadxCLIArgs {
 			if (threadsCount <= 0) {
 				throw new JadxException("Threads count must be positive, got: " + threadsCount);
 			}
+			if (serverJobs <= 0) {
+				throw new JadxException("Server jobs count must be positive, got: " + serverJobs);
+			}
+			if (serverHeapLimit <= 0 || serverHeapLimit > 100) {
+				throw new JadxException("Server heap limit must be in range 1..100, got: " + serverHeapLimit);
+			}
 			LogHelper.setLogLevelFromArgs(this);
 		} catch (JadxException e) {
 			System.err.println("ERROR: " + e.getMessage());
@@ -219,6 +247,12 @@ public class JadxCLIArgs {
 		args.setRenameValid(isRenameValid());
 		args.setRenamePrintable(isRenamePrintable());
 		args.setFsCaseSensitive(fsCaseSensitive);
+		if (codeCacheDir != null) {
+			args.setCodeCache(new DiskCodeCache(FileUtils.toFile(codeCacheDir).toPath()));
+		}
+		if (profilePasses != null) {
+			args.setPassesProfileFile(FileUtils.toFile(profilePasses));
+		}
 		return args;
 	}
 
@@ -306,6 +340,14 @@ public class JadxCLIArgs {
 		return escapeUnicode;
 	}
 
+	public String getCodeCacheDir() {
+		return codeCacheDir;
+	}
+
+	public String getProfilePasses() {
+		return profilePasses;
+	}
+
 	public boolean isCfgOutput() {
 		return cfgOutput;
 	}
@@ -342,6 +384,18 @@ public class JadxCLIArgs {
 		return fsCaseSensitive;
 	}
 
+	public boolean isServerMode() {
+		return serverMode;
+	}
+
+	public int getServerJobs() {
+		return serverJobs;
+	}
+
+	public int getServerHeapLimit() {
+		return serverHeapLimit;
+	}
+
 	static class RenameConverter implements IStringConverter<Set<RenameEnum>> {
 		private final String paramName;
 
@@ -8,6 +8,7 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 
 import jadx.api.JadxDecompiler;
+import jadx.core.utils.PassesProfiler;
 
 public class LogHelper {
 	private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(LogHelper.class);
@@ -53,6 +54,7 @@ public class LogHelper {
 			// show progress for all levels except quiet
 			setLevelForClass(JadxCLI.class, Level.INFO);
 			setLevelForClass(JadxDecompiler.class, Level.INFO);
+			setLevelForClass(PassesProfiler.class, Level.INFO);
 		}
 	}
 
@@ -21,13 +21,15 @@ import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.visitors.SignatureProcessor;
 
 /**
- * Utility class for convert dex or jar to jadx classes set (.jcst)
+ * Utility class for convert dex or jar to jadx classes set (.jcst).
+ * Also can be used to convert '.jcst' file from old version to current format.
  */
 public class ConvertToClsSet {
 	private static final Logger LOG = LoggerFactory.getLogger(ConvertToClsSet.class);
 
 	public static void usage() {
 		LOG.info("<output .jcst or .jar file> <several input dex or jar files> ");
+		LOG.info("<output .jcst or .jar file> <input .jcst file>");
 	}
 
 	public static void main(String[] args) throws Exception {
@@ -38,6 +40,15 @@ public class ConvertToClsSet {
 		List<Path> inputPaths = Stream.of(args).map(Paths::get).collect(Collectors.toList());
 		Path output = inputPaths.remove(0);
 
+		if (inputPaths.size() == 1 && inputPaths.get(0).getFileName().toString().endsWith(".jcst")) {
+			RootNode root = new RootNode(new JadxArgs());
+			ClsSet set = new ClsSet(root);
+			set.load(inputPaths.get(0).toFile());
+			set.save(output);
+			LOG.info("Output: {}", output);
+			return;
+		}
+
 		JadxPluginManager pluginManager = new JadxPluginManager();
 		List<ILoadResult> loadedInputs = new ArrayList<>();
 		for (JadxInputPlugin inputPlugin : pluginManager.getInputPlugins()) {
@@ -0,0 +1,332 @@
+package jadx.cli.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import jadx.api.ICodeInfo;
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+import jadx.api.impl.InMemoryCodeCache;
+import jadx.api.impl.NoOpCodeCache;
+import jadx.api.impl.SimpleCodeWriter;
+import jadx.api.impl.StreamCodeWriter;
+import jadx.cli.JCommanderWrapper;
+import jadx.cli.JadxCLIArgs;
+import jadx.core.ProcessScheduler;
+import jadx.core.clsp.PlatformClasspath;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.utils.exceptions.JadxArgsValidateException;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Process decompilation jobs in one long-running JVM.
+ * <br>
+ * Jobs ({@link ServerJob}) read from input stream one per line in JSON format,
+ * results ({@link ServerResponse}) written to output stream also as JSON lines.
+ * Every job finished with 'done' or 'error' response (error response with class name is not final).
+ * <br>
+ * Up to 'jobs' count requests processed concurrently, next lines not read until one of running jobs finished.
+ * New job also not started while heap usage above limit, until all running jobs finished,
+ * so limit checked only between jobs and single big job still can use all heap.
+ * Classes of all jobs processed in one shared pool with 'threads' count size
+ * ('threads' option from job arguments ignored).
+ * Platform classpath loaded once and shared by all jobs.
+ */
+public class JadxServer {
+	private static final Logger LOG = LoggerFactory.getLogger(JadxServer.class);
+
+	private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+	private final String[] baseArgs;
+	private final int jobsCount;
+	private final int threadsCount;
+	private final double heapLimit;
+	private final Writer out;
+	private final AtomicInteger jobsCounter = new AtomicInteger();
+
+	private final Object jobsLock = new Object();
+	private int runningJobs;
+
+	private ExecutorService tasksExecutor;
+
+	/**
+	 * @param baseArgs   command line options used as defaults for all jobs
+	 * @param serverArgs parsed base options with server settings
+	 * @param out        stream for responses
+	 */
+	public JadxServer(String[] baseArgs, JadxCLIArgs serverArgs, OutputStream out) {
+		this.baseArgs = baseArgs;
+		this.jobsCount = serverArgs.getServerJobs();
+		this.threadsCount = serverArgs.getThreadsCount();
+		this.heapLimit = serverArgs.getServerHeapLimit() / 100.0;
+		this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Read and process jobs until end of input stream
+	 */
+	public int run(InputStream in) {
+		PlatformClasspath.getDefault();
+		LOG.info("server started, max concurrent jobs: {}, threads: {}", jobsCount, threadsCount);
+		ExecutorService executor = Executors.newFixedThreadPool(jobsCount);
+		tasksExecutor = Executors.newFixedThreadPool(threadsCount);
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				ServerJob job = parseJob(line);
+				if (job == null) {
+					continue;
+				}
+				startJob();
+				executor.execute(() -> {
+					try {
+						process(job);
+					} finally {
+						finishJob();
+					}
+				});
+			}
+			return 0;
+		} catch (IOException e) {
+			LOG.error("Failed to read jobs", e);
+			return 1;
+		} catch (InterruptedException e) {
+			LOG.error("Server interrupted", e);
+			Thread.currentThread().interrupt();
+			return 1;
+		} finally {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(1, TimeUnit.DAYS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			tasksExecutor.shutdownNow();
+			LOG.info("server stopped, processed jobs: {}", jobsCounter.get());
+		}
+	}
+
+	private void startJob() throws InterruptedException {
+		synchronized (jobsLock) {
+			while (runningJobs >= jobsCount || runningJobs != 0 && isHeapLimitReached()) {
+				jobsLock.wait();
+			}
+			runningJobs++;
+		}
+	}
+
+	private void finishJob() {
+		synchronized (jobsLock) {
+			runningJobs--;
+			jobsLock.notifyAll();
+		}
+	}
+
+	private boolean isHeapLimitReached() {
+		if (getHeapUsage() < heapLimit) {
+			return false;
+		}
+		// heap can be filled by garbage from finished jobs
+		System.gc();
+		double usage = getHeapUsage();
+		if (usage < heapLimit) {
+			return false;
+		}
+		LOG.debug("heap usage {}% above limit, wait for running jobs", Math.round(usage * 100));
+		return true;
+	}
+
+	private static double getHeapUsage() {
+		Runtime runtime = Runtime.getRuntime();
+		return (double) (runtime.totalMemory() - runtime.freeMemory()) / runtime.maxMemory();
+	}
+
+	private ServerJob parseJob(String line) {
+		if (line.trim().isEmpty()) {
+			return null;
+		}
+		int num = jobsCounter.incrementAndGet();
+		ServerJob job;
+		try {
+			job = GSON.fromJson(line, ServerJob.class);
+		} catch (JsonParseException e) {
+			send(ServerResponse.error(null, "Incorrect job format: " + e.getMessage()));
+			return null;
+		}
+		if (job.getId() == null) {
+			// use job number if id not provided
+			return copyWithId(job, Integer.toString(num));
+		}
+		return job;
+	}
+
+	private static ServerJob copyWithId(ServerJob job, String id) {
+		ServerJob newJob = new ServerJob(id, job.getType(), job.getInput());
+		newJob.setArgs(job.getArgs());
+		newJob.setClasses(job.getClasses());
+		return newJob;
+	}
+
+	private void process(ServerJob job) {
+		String id = job.getId();
+		long start = System.currentTimeMillis();
+		try {
+			JadxArgs args = buildArgs(job);
+			try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+				jadx.load();
+				String outDir;
+				switch (job.getType()) {
+					case ServerJob.TYPE_SAVE:
+						runTasks(jadx.getSaveTasks());
+						outDir = args.getOutDir().getAbsolutePath();
+						break;
+
+					case ServerJob.TYPE_DECOMPILE:
+						decompile(id, jadx);
+						outDir = null;
+						break;
+
+					default:
+						throw new JadxArgsValidateException("Unknown job type: " + job.getType());
+				}
+				long time = System.currentTimeMillis() - start;
+				LOG.info("job {} done in {} ms", id, time);
+				send(ServerResponse.done(id, outDir, jadx.getErrorsCount(), time));
+			}
+		} catch (Throwable e) {
+			// also catch errors (like OutOfMemoryError): client should receive final response for every job
+			LOG.error("Job {} failed", id, e);
+			send(ServerResponse.error(id, getMessage(e)));
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static String getMessage(Throwable e) {
+		return e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+	}
+
+	private JadxArgs buildArgs(ServerJob job) {
+		JadxCLIArgs cliArgs = new JadxCLIArgs();
+		if (!new JCommanderWrapper<>(cliArgs).parse(baseArgs)) {
+			throw new JadxArgsValidateException("Failed to parse server arguments");
+		}
+		List<String> jobArgs = new ArrayList<>(job.getArgs());
+		if (job.getInput() != null) {
+			jobArgs.add(job.getInput());
+		}
+		JCommanderWrapper<JadxCLIArgs> jcw = new JCommanderWrapper<>(new JadxCLIArgs());
+		if (!jcw.parse(jobArgs.toArray(new String[0]))) {
+			throw new JadxArgsValidateException("Failed to parse job arguments: " + jobArgs);
+		}
+		jcw.overrideProvided(cliArgs);
+
+		JadxArgs args = cliArgs.toJadxArgs();
+		args.setPlatformClasspath(PlatformClasspath.getDefault());
+		// clients can rewrite input file with same path while job is running
+		args.setMapInputFiles(false);
+		if (args.getCodeCache() instanceof InMemoryCodeCache) {
+			// code sent or saved only once
+			args.setCodeCache(new NoOpCodeCache());
+		}
+		if (job.getType().equals(ServerJob.TYPE_DECOMPILE)) {
+			args.setCodeWriterProvider(SimpleCodeWriter::new);
+		} else {
+			args.setCodeWriterProvider(StreamCodeWriter::new);
+		}
+		List<String> classes = job.getClasses();
+		if (classes != null) {
+			Set<String> classesSet = new HashSet<>(classes);
+			args.setClassFilter(classesSet::contains);
+		}
+		return args;
+	}
+
+	private void decompile(String id, JadxDecompiler jadx) throws InterruptedException {
+		Predicate<String> classFilter = jadx.getArgs().getClassFilter();
+		List<ClassNode> classes = new ArrayList<>();
+		for (JavaClass cls : jadx.getClasses()) {
+			if (classFilter == null || classFilter.test(cls.getFullName())) {
+				classes.add(cls.getClassNode());
+			}
+		}
+		runTasks(ProcessScheduler.buildTasks(classes, cls -> sendClassCode(id, cls)));
+	}
+
+	/**
+	 * Run job tasks in shared executor and wait for completion
+	 */
+	private void runTasks(List<Runnable> tasks) throws InterruptedException {
+		List<Future<?>> futures = new ArrayList<>(tasks.size());
+		for (Runnable task : tasks) {
+			futures.add(tasksExecutor.submit(task));
+		}
+		Throwable error = null;
+		try {
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if (error == null) {
+						error = e.getCause();
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			futures.forEach(f -> f.cancel(true));
+			throw e;
+		}
+		if (error != null) {
+			throw new JadxRuntimeException("Job task failed: " + getMessage(error), error);
+		}
+	}
+
+	private void sendClassCode(String id, ClassNode cls) {
+		try {
+			ICodeInfo code = cls.decompile();
+			if (code != null) {
+				send(ServerResponse.classCode(id, cls.getFullName(), code.getCodeStr()));
+			}
+		} catch (Throwable e) {
+			LOG.error("Error decompiling class: {}", cls.getFullName(), e);
+			send(ServerResponse.classError(id, cls.getFullName(), getMessage(e)));
+		}
+	}
+
+	private synchronized void send(ServerResponse response) {
+		try {
+			out.write(GSON.toJson(response));
+			out.write('\n');
+			out.flush();
+		} catch (IOException e) {
+			LOG.error("Failed to write response for job: {}", response.getId(), e);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package jadx.cli.server;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Job request, read from one input line in JSON format
+ */
+public class ServerJob {
+	public static final String TYPE_SAVE = "save";
+	public static final String TYPE_DECOMPILE = "decompile";
+
+	/**
+	 * Job id, copied into all responses for this job
+	 */
+	private String id;
+
+	/**
+	 * 'save' (default) - save sources and resources into output directory,
+	 * 'decompile' - send code of every class in response
+	 */
+	private String type;
+
+	/**
+	 * Input file, can be omitted if set in {@link #args}
+	 */
+	private String input;
+
+	/**
+	 * Command line options for this job, override options used to start server
+	 */
+	private List<String> args;
+
+	/**
+	 * Full names of classes to process, all classes processed if not set
+	 */
+	private List<String> classes;
+
+	public ServerJob() {
+	}
+
+	public ServerJob(String id, String type, String input) {
+		this.id = id;
+		this.type = type;
+		this.input = input;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getType() {
+		return type == null ? TYPE_SAVE : type;
+	}
+
+	@Nullable
+	public String getInput() {
+		return input;
+	}
+
+	public List<String> getArgs() {
+		return args == null ? Collections.emptyList() : args;
+	}
+
+	public void setArgs(List<String> args) {
+		this.args = args;
+	}
+
+	@Nullable
+	public List<String> getClasses() {
+		return classes;
+	}
+
+	public void setClasses(List<String> classes) {
+		this.classes = classes;
+	}
+}
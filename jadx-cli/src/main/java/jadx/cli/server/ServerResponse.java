@@ -0,0 +1,99 @@
+package jadx.cli.server;
+
+/**
+ * Job result, written as one output line in JSON format (fields with null values are omitted)
+ * <br>
+ * Job finished by 'done' or 'error' response without class name,
+ * 'error' response with class name reports failure of one class and job continues.
+ */
+public class ServerResponse {
+	public static final String STATUS_CLASS = "class";
+	public static final String STATUS_DONE = "done";
+	public static final String STATUS_ERROR = "error";
+
+	private final String id;
+	private final String status;
+
+	/**
+	 * Class full name and code, for 'class' status.
+	 * Class name also set for 'error' status if only this class failed.
+	 */
+	private String cls;
+	private String code;
+
+	/**
+	 * Output directory and decompilation errors count, for 'done' status
+	 */
+	private String outDir;
+	private Integer errors;
+	private Long time;
+
+	/**
+	 * Error description, for 'error' status
+	 */
+	private String message;
+
+	private ServerResponse(String id, String status) {
+		this.id = id;
+		this.status = status;
+	}
+
+	public static ServerResponse classCode(String id, String cls, String code) {
+		ServerResponse response = new ServerResponse(id, STATUS_CLASS);
+		response.cls = cls;
+		response.code = code;
+		return response;
+	}
+
+	public static ServerResponse done(String id, String outDir, int errors, long time) {
+		ServerResponse response = new ServerResponse(id, STATUS_DONE);
+		response.outDir = outDir;
+		response.errors = errors;
+		response.time = time;
+		return response;
+	}
+
+	public static ServerResponse error(String id, String message) {
+		ServerResponse response = new ServerResponse(id, STATUS_ERROR);
+		response.message = message;
+		return response;
+	}
+
+	public static ServerResponse classError(String id, String cls, String message) {
+		ServerResponse response = error(id, message);
+		response.cls = cls;
+		return response;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public String getCls() {
+		return cls;
+	}
+
+	public String getCode() {
+		return code;
+	}
+
+	public String getOutDir() {
+		return outDir;
+	}
+
+	public Integer getErrors() {
+		return errors;
+	}
+
+	public Long getTime() {
+		return time;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
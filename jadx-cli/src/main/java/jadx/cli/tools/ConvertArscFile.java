@@ -1,11 +1,13 @@
 package jadx.cli.tools;
 
-import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import jadx.api.JadxArgs;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.android.TextResMapFile;
+import jadx.core.xmlgen.ParserStream;
 import jadx.core.xmlgen.ResTableParser;
 
 /**
@@ -64,13 +67,14 @@ public class ConvertArscFile {
 						continue;
 					}
 					try (InputStream inputStream = zip.getInputStream(entry)) {
-						resTableParser.decode(inputStream);
+						resTableParser.decode(new ParserStream(inputStream, entry.getSize()));
 					}
 				}
 			} else {
 				// Load resources.arsc from extracted file
-				try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(resFile))) {
-					resTableParser.decode(inputStream);
+				try (FileChannel channel = FileChannel.open(resFile, StandardOpenOption.READ)) {
+					MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+					resTableParser.decode(new ParserStream(buf));
 				}
 			}
 			Map<Integer, String> singleResMap = resTableParser.getResStorage().getResourcesNames();
@@ -3,6 +3,7 @@ package jadx.cli;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
@@ -43,6 +44,24 @@ public class TestInput {
 		decompile("multi", "samples/hello.dex", "samples/HelloWorld.smali");
 	}
 
+	@Test
+	public void testPassesProfile() throws Exception {
+		Path tempDir = FileUtils.createTempDir("profile");
+		Path profileFile = tempDir.resolve("profile.json");
+		URL resource = getClass().getClassLoader().getResource("samples/hello.dex");
+		assertThat(resource).isNotNull();
+		String[] args = {
+				"--profile-passes", profileFile.toAbsolutePath().toString(),
+				"-d", tempDir.resolve("out").toAbsolutePath().toString(),
+				resource.toURI().getRawPath()
+		};
+		int result = JadxCLI.execute(args);
+		assertThat(result).isEqualTo(0);
+		assertThat(profileFile).exists();
+		String report = new String(Files.readAllBytes(profileFile), StandardCharsets.UTF_8);
+		assertThat(report).contains("\"passes\"", "TypeInferenceVisitor");
+	}
+
 	private void decompile(String tmpDirName, String... inputSamples) throws URISyntaxException, IOException {
 		StringBuilder args = new StringBuilder();
 		Path tempDir = FileUtils.createTempDir(tmpDirName);
@@ -0,0 +1,176 @@
+package jadx.cli.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+import jadx.cli.JCommanderWrapper;
+import jadx.cli.JadxCLIArgs;
+import jadx.core.utils.files.FileUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JadxServerTest {
+	private static final Gson GSON = new Gson();
+
+	@Test
+	public void testJobs() throws Exception {
+		String input = getSample("samples/hello.dex");
+		Path outDir = FileUtils.createTempDir("server").resolve("out");
+
+		ServerJob saveJob = new ServerJob("save", null, input);
+		saveJob.setArgs(Arrays.asList("-d", outDir.toAbsolutePath().toString()));
+		ServerJob decompileJob = new ServerJob("decompile", ServerJob.TYPE_DECOMPILE, input);
+		decompileJob.setClasses(Collections.singletonList("defpackage.HelloWorld"));
+		ServerJob badJob = new ServerJob("bad", ServerJob.TYPE_DECOMPILE, null);
+
+		List<ServerResponse> responses = runServer(
+				GSON.toJson(saveJob),
+				"",
+				GSON.toJson(decompileJob),
+				GSON.toJson(badJob),
+				"not json");
+
+		assertThat(responses).hasSize(5);
+		ServerResponse saveResult = getResponse(responses, "save", ServerResponse.STATUS_DONE);
+		assertThat(saveResult.getOutDir()).isEqualTo(outDir.toAbsolutePath().toString());
+		assertThat(saveResult.getErrors()).isEqualTo(0);
+		assertThat(outDir.resolve("sources").resolve("defpackage").resolve("HelloWorld.java")).exists();
+
+		ServerResponse clsResult = getResponse(responses, "decompile", ServerResponse.STATUS_CLASS);
+		assertThat(clsResult.getCls()).isEqualTo("defpackage.HelloWorld");
+		assertThat(clsResult.getCode()).contains("class HelloWorld {", "System.out.println(\"Hello, World\");");
+		ServerResponse decompileResult = getResponse(responses, "decompile", ServerResponse.STATUS_DONE);
+		assertThat(decompileResult.getOutDir()).isNull();
+
+		assertThat(getResponse(responses, "bad", ServerResponse.STATUS_ERROR).getMessage()).isNotEmpty();
+		ServerResponse formatError = getResponse(responses, null, ServerResponse.STATUS_ERROR);
+		assertThat(formatError.getMessage()).startsWith("Incorrect job format");
+	}
+
+	@Test
+	public void testParallelMultiDexJobs() throws Exception {
+		byte[] dex = Files.readAllBytes(Paths.get(getSample("samples/hello.dex")));
+		// copy of same class with other name (same name length keeps dex layout)
+		byte[] otherDex = replace(dex, "LHelloWorld;", "LHelloAgain;");
+		Path dir = FileUtils.createTempDir("server-multi-dex");
+		Path firstApk = writeZip(dir.resolve("first.apk"), dex, otherDex);
+		Path secondApk = writeZip(dir.resolve("second.apk"), otherDex, dex);
+
+		String[] lines = new String[8];
+		for (int i = 0; i < lines.length; i++) {
+			Path apk = i % 2 == 0 ? firstApk : secondApk;
+			lines[i] = GSON.toJson(new ServerJob("job" + i, ServerJob.TYPE_DECOMPILE, apk.toAbsolutePath().toString()));
+		}
+		List<ServerResponse> responses = runServer(lines);
+		for (int i = 0; i < lines.length; i++) {
+			String id = "job" + i;
+			assertThat(getResponse(responses, id, ServerResponse.STATUS_DONE).getErrors()).isEqualTo(0);
+			List<String> classes = new ArrayList<>();
+			for (ServerResponse response : responses) {
+				if (id.equals(response.getId()) && response.getStatus().equals(ServerResponse.STATUS_CLASS)) {
+					classes.add(response.getCls());
+					String shortName = response.getCls().substring(response.getCls().lastIndexOf('.') + 1);
+					assertThat(response.getCode()).contains("class " + shortName + " {", "System.out.println(\"Hello, World\");");
+				}
+			}
+			assertThat(classes).containsExactlyInAnyOrder("defpackage.HelloWorld", "defpackage.HelloAgain");
+		}
+	}
+
+	@Test
+	public void testHeapLimit() throws Exception {
+		String input = getSample("samples/hello.dex");
+		// limit always reached: jobs started one by one, but all processed
+		String[] args = { "--server", "--server-jobs", "3", "--server-heap-limit", "1" };
+		String[] lines = new String[4];
+		for (int i = 0; i < lines.length; i++) {
+			lines[i] = GSON.toJson(new ServerJob("job" + i, ServerJob.TYPE_DECOMPILE, input));
+		}
+		List<ServerResponse> responses = runServer(args, lines);
+		assertThat(responses).hasSize(lines.length * 2);
+		for (int i = 0; i < lines.length; i++) {
+			assertThat(getResponse(responses, "job" + i, ServerResponse.STATUS_CLASS).getCls()).isEqualTo("defpackage.HelloWorld");
+			assertThat(getResponse(responses, "job" + i, ServerResponse.STATUS_DONE).getErrors()).isEqualTo(0);
+		}
+	}
+
+	private static byte[] replace(byte[] data, String str, String replacement) {
+		byte[] strBytes = str.getBytes(StandardCharsets.UTF_8);
+		byte[] result = data.clone();
+		for (int i = 0; i <= result.length - strBytes.length; i++) {
+			if (Arrays.equals(Arrays.copyOfRange(result, i, i + strBytes.length), strBytes)) {
+				byte[] replacementBytes = replacement.getBytes(StandardCharsets.UTF_8);
+				System.arraycopy(replacementBytes, 0, result, i, replacementBytes.length);
+			}
+		}
+		return result;
+	}
+
+	private static Path writeZip(Path file, byte[]... dexFiles) throws Exception {
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file))) {
+			for (int i = 0; i < dexFiles.length; i++) {
+				out.putNextEntry(new ZipEntry(i == 0 ? "classes.dex" : "classes" + (i + 1) + ".dex"));
+				out.write(dexFiles[i]);
+				out.closeEntry();
+			}
+		}
+		return file;
+	}
+
+	private static List<ServerResponse> runServer(String... lines) {
+		return runServer(new String[] { "--server", "-j", "1" }, lines);
+	}
+
+	private static List<ServerResponse> runServer(String[] args, String... lines) {
+		JadxCLIArgs serverArgs = new JadxCLIArgs();
+		assertThat(new JCommanderWrapper<>(serverArgs).parse(args)).isTrue();
+		String in = String.join("\n", lines) + '\n';
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		JadxServer server = new JadxServer(args, serverArgs, out);
+		int result = server.run(new ByteArrayInputStream(in.getBytes(StandardCharsets.UTF_8)));
+		assertThat(result).isEqualTo(0);
+
+		List<ServerResponse> responses = new ArrayList<>();
+		for (String line : new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n")) {
+			responses.add(GSON.fromJson(line, ServerResponse.class));
+		}
+		return responses;
+	}
+
+	private static ServerResponse getResponse(List<ServerResponse> responses, String id, String status) {
+		for (ServerResponse response : responses) {
+			if (status.equals(response.getStatus()) && Objects.equals(id, response.getId())) {
+				return response;
+			}
+		}
+		throw new AssertionError("Response not found, id: " + id + ", status: " + status + ", all: " + responses);
+	}
+
+	private String getSample(String name) throws Exception {
+		URL resource = getClass().getClassLoader().getResource(name);
+		assertThat(resource).isNotNull();
+		return resource.toURI().getRawPath();
+	}
+
+	@AfterAll
+	public static void cleanup() {
+		FileUtils.clearTempRootDir();
+	}
+}
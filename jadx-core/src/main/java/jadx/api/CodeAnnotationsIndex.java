@@ -0,0 +1,141 @@
+package jadx.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Code annotations sorted by absolute position in code string.
+ * <br>
+ * Allow direct search by code offset (binary search in primitive array) instead of
+ * conversion to line and line offset pair for hash map lookup.
+ * Contains only annotations attached to code tokens (line annotations skipped).
+ */
+public final class CodeAnnotationsIndex {
+
+	public static final CodeAnnotationsIndex EMPTY = new CodeAnnotationsIndex(new int[0], new CodePosition[0], new Object[0]);
+
+	private final int[] offsets;
+	private final CodePosition[] positions;
+	private final Object[] annotations;
+
+	public static CodeAnnotationsIndex build(Map<CodePosition, Object> annotationsMap) {
+		if (annotationsMap.isEmpty()) {
+			return EMPTY;
+		}
+		List<Map.Entry<CodePosition, Object>> entries = new ArrayList<>(annotationsMap.size());
+		for (Map.Entry<CodePosition, Object> entry : annotationsMap.entrySet()) {
+			CodePosition pos = entry.getKey();
+			if (pos.getOffset() != 0 && pos.getPos() >= 0) {
+				entries.add(entry);
+			}
+		}
+		if (entries.isEmpty()) {
+			return EMPTY;
+		}
+		entries.sort(Comparator.comparingInt(e -> e.getKey().getPos()));
+		int size = entries.size();
+		int[] offsets = new int[size];
+		CodePosition[] positions = new CodePosition[size];
+		Object[] annotations = new Object[size];
+		for (int i = 0; i < size; i++) {
+			Map.Entry<CodePosition, Object> entry = entries.get(i);
+			CodePosition pos = entry.getKey();
+			offsets[i] = pos.getPos();
+			positions[i] = pos;
+			annotations[i] = entry.getValue();
+		}
+		return new CodeAnnotationsIndex(offsets, positions, annotations);
+	}
+
+	private CodeAnnotationsIndex(int[] offsets, CodePosition[] positions, Object[] annotations) {
+		this.offsets = offsets;
+		this.positions = positions;
+		this.annotations = annotations;
+	}
+
+	public int size() {
+		return offsets.length;
+	}
+
+	public boolean isEmpty() {
+		return offsets.length == 0;
+	}
+
+	public int getOffset(int idx) {
+		return offsets[idx];
+	}
+
+	public CodePosition getPosition(int idx) {
+		return positions[idx];
+	}
+
+	public Object getAnnotation(int idx) {
+		return annotations[idx];
+	}
+
+	/**
+	 * @return annotation attached exactly at provided code offset or null
+	 */
+	@Nullable
+	public Object getAt(int offset) {
+		int idx = indexOf(offset);
+		return idx < 0 ? null : annotations[idx];
+	}
+
+	/**
+	 * @return index of annotation at provided code offset or -1 if not found
+	 */
+	public int indexOf(int offset) {
+		int idx = searchFrom(offset);
+		if (idx < offsets.length && offsets[idx] == offset) {
+			return idx;
+		}
+		return -1;
+	}
+
+	/**
+	 * @return index of first annotation with code offset greater or equal to provided,
+	 *         {@link #size()} if no such annotations
+	 */
+	public int searchFrom(int offset) {
+		int low = 0;
+		int high = offsets.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midVal = offsets[mid];
+			if (midVal < offset) {
+				low = mid + 1;
+			} else if (midVal > offset) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Visit annotations in code range [start, end) in code order
+	 */
+	public void visitRange(int start, int end, BiConsumer<CodePosition, Object> visitor) {
+		int size = offsets.length;
+		for (int i = searchFrom(start); i < size && offsets[i] < end; i++) {
+			visitor.accept(positions[i], annotations[i]);
+		}
+	}
+
+	/**
+	 * Visit all annotations in code order
+	 */
+	public void visit(BiConsumer<CodePosition, Object> visitor) {
+		int size = offsets.length;
+		for (int i = 0; i < size; i++) {
+			visitor.accept(positions[i], annotations[i]);
+		}
+	}
+}
@@ -1,8 +1,20 @@
 package jadx.api;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 import org.jetbrains.annotations.Nullable;
 
-public interface ICodeCache {
+import jadx.core.dex.nodes.RootNode;
+
+public interface ICodeCache extends Closeable {
+
+	/**
+	 * Called after decompiler load, before any code requests
+	 */
+	default void init(RootNode root) {
+		// no initialization by default
+	}
 
 	void add(String clsFullName, ICodeInfo codeInfo);
 
@@ -10,4 +22,19 @@ public interface ICodeCache {
 
 	@Nullable
 	ICodeInfo get(String clsFullName);
+
+	/**
+	 * Check if code for class available in cache without loading it.
+	 * Should not change nodes state or cache statistics, result can be approximate
+	 * (used only to plan batch decompilation).
+	 */
+	default boolean contains(String clsFullName) {
+		ICodeInfo codeInfo = get(clsFullName);
+		return codeInfo != null && codeInfo != ICodeInfo.EMPTY;
+	}
+
+	@Override
+	default void close() throws IOException {
+		// nothing to close by default
+	}
 }
@@ -13,4 +13,12 @@ public interface ICodeInfo {
 	Map<Integer, Integer> getLineMapping();
 
 	Map<CodePosition, Object> getAnnotations();
+
+	/**
+	 * Annotations sorted by code offset, for search by absolute position in code string.
+	 * Default implementation build index on every call, so should be overridden to cache result.
+	 */
+	default CodeAnnotationsIndex getAnnotationsIndex() {
+		return CodeAnnotationsIndex.build(getAnnotations());
+	}
 }
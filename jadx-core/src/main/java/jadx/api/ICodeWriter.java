@@ -50,6 +50,14 @@ public interface ICodeWriter {
 
 	ICodeInfo finish();
 
+	/**
+	 * Release resources used by writer if collected code not needed (like on code generation error).
+	 * Writer can't be used after that.
+	 */
+	default void discard() {
+		// nothing to release by default
+	}
+
 	String getCodeStr();
 
 	int getLength();
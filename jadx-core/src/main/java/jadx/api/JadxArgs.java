@@ -12,6 +12,7 @@ import java.util.function.Predicate;
 import jadx.api.data.ICodeData;
 import jadx.api.impl.AnnotatedCodeWriter;
 import jadx.api.impl.InMemoryCodeCache;
+import jadx.core.clsp.PlatformClasspath;
 
 public class JadxArgs {
 
@@ -67,6 +68,17 @@ public class JadxArgs {
 
 	private boolean fsCaseSensitive;
 
+	/**
+	 * Allow input plugins to use memory mapping for input files.
+	 * Disable if input files can be changed or removed while decompiler is open.
+	 */
+	private boolean mapInputFiles = true;
+
+	/**
+	 * Collect time and allocations for every pass and save report to this file (disabled if null)
+	 */
+	private File passesProfileFile = null;
+
 	public enum RenameEnum {
 		CASE, VALID, PRINTABLE
 	}
@@ -81,6 +93,11 @@ public class JadxArgs {
 
 	private ICodeData codeData;
 
+	/**
+	 * Shared platform classes, if not set bundled classes set will be loaded for every decompiler instance
+	 */
+	private PlatformClasspath platformClasspath;
+
 	public JadxArgs() {
 		// use default options
 	}
@@ -319,6 +336,14 @@ public class JadxArgs {
 		this.fsCaseSensitive = fsCaseSensitive;
 	}
 
+	public boolean isMapInputFiles() {
+		return mapInputFiles;
+	}
+
+	public void setMapInputFiles(boolean mapInputFiles) {
+		this.mapInputFiles = mapInputFiles;
+	}
+
 	public boolean isRenameCaseSensitive() {
 		return renameFlags.contains(RenameEnum.CASE);
 	}
@@ -371,6 +396,14 @@ public class JadxArgs {
 		this.outputFormat = outputFormat;
 	}
 
+	public File getPassesProfileFile() {
+		return passesProfileFile;
+	}
+
+	public void setPassesProfileFile(File passesProfileFile) {
+		this.passesProfileFile = passesProfileFile;
+	}
+
 	public ICodeCache getCodeCache() {
 		return codeCache;
 	}
@@ -395,6 +428,17 @@ public class JadxArgs {
 		this.codeData = codeData;
 	}
 
+	public PlatformClasspath getPlatformClasspath() {
+		return platformClasspath;
+	}
+
+	/**
+	 * Reuse already loaded platform classes, see {@link PlatformClasspath#getDefault()}
+	 */
+	public void setPlatformClasspath(PlatformClasspath platformClasspath) {
+		this.platformClasspath = platformClasspath;
+	}
+
 	@Override
 	public String toString() {
 		return "JadxArgs{" + "inputFiles=" + inputFiles
@@ -421,8 +465,10 @@ public class JadxArgs {
 				+ ", respectBytecodeAccModifiers=" + respectBytecodeAccModifiers
 				+ ", exportAsGradleProject=" + exportAsGradleProject
 				+ ", fsCaseSensitive=" + fsCaseSensitive
+				+ ", mapInputFiles=" + mapInputFiles
 				+ ", renameFlags=" + renameFlags
 				+ ", outputFormat=" + outputFormat
+				+ ", passesProfileFile=" + passesProfileFile
 				+ ", codeCache=" + codeCache
 				+ ", codeWriter=" + codeWriterProvider.apply(this).getClass().getSimpleName()
 				+ '}';
@@ -28,6 +28,7 @@ import jadx.api.plugins.JadxPluginManager;
 import jadx.api.plugins.input.JadxInputPlugin;
 import jadx.api.plugins.input.data.ILoadResult;
 import jadx.core.Jadx;
+import jadx.core.ProcessScheduler;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.attributes.nodes.LineAttrNode;
 import jadx.core.dex.nodes.ClassNode;
@@ -37,8 +38,10 @@ import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.nodes.VariableNode;
 import jadx.core.dex.visitors.SaveCode;
 import jadx.core.export.ExportGradleProject;
+import jadx.core.utils.PassesProfiler;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.ZipFilePool;
 import jadx.core.xmlgen.BinaryXMLParser;
 import jadx.core.xmlgen.ResContainer;
 import jadx.core.xmlgen.ResourcesSaver;
@@ -85,6 +88,8 @@ public final class JadxDecompiler implements Closeable {
 	private final Map<MethodNode, JavaMethod> methodsMap = new ConcurrentHashMap<>();
 	private final Map<FieldNode, JavaField> fieldsMap = new ConcurrentHashMap<>();
 
+	private final ZipFilePool zipFilePool = new ZipFilePool();
+
 	public JadxDecompiler() {
 		this(new JadxArgs());
 	}
@@ -105,13 +110,14 @@ public final class JadxDecompiler implements Closeable {
 		root.loadResources(getResources());
 		root.runPreDecompileStage();
 		root.initPasses();
+		root.getCodeCache().init(root);
 	}
 
 	private void loadInputFiles() {
 		loadedInputs.clear();
 		List<Path> inputPaths = Utils.collectionMap(args.getInputFiles(), File::toPath);
 		for (JadxInputPlugin inputPlugin : pluginManager.getInputPlugins()) {
-			ILoadResult loadResult = inputPlugin.loadFiles(inputPaths);
+			ILoadResult loadResult = inputPlugin.loadFiles(inputPaths, args.isMapInputFiles());
 			if (loadResult != null && !loadResult.isEmpty()) {
 				loadedInputs.add(loadResult);
 			}
@@ -119,6 +125,7 @@ public final class JadxDecompiler implements Closeable {
 	}
 
 	private void reset() {
+		closeCodeCache();
 		root = null;
 		classes = null;
 		resources = null;
@@ -129,6 +136,17 @@ public final class JadxDecompiler implements Closeable {
 		fieldsMap.clear();
 
 		closeInputs();
+		zipFilePool.close();
+	}
+
+	private void closeCodeCache() {
+		if (root != null) {
+			try {
+				root.getCodeCache().close();
+			} catch (Exception e) {
+				LOG.error("Failed to close code cache", e);
+			}
+		}
 	}
 
 	private void closeInputs() {
@@ -176,6 +194,17 @@ public final class JadxDecompiler implements Closeable {
 			LOG.error("Save interrupted", e);
 			Thread.currentThread().interrupt();
 		}
+		root.releaseResTable();
+		root.getLockWaitStats().printReport(20);
+		savePassesProfile();
+	}
+
+	private void savePassesProfile() {
+		PassesProfiler profiler = root.getPassesProfiler();
+		if (profiler != null) {
+			profiler.printReport(20);
+			profiler.saveReport(args.getPassesProfileFile());
+		}
 	}
 
 	public ExecutorService getSaveExecutor() {
@@ -183,15 +212,30 @@ public final class JadxDecompiler implements Closeable {
 	}
 
 	private ExecutorService getSaveExecutor(boolean saveSources, boolean saveResources) {
-		if (root == null) {
-			throw new JadxRuntimeException("No loaded files");
-		}
+		List<Runnable> tasks = getSaveTasks(saveSources, saveResources);
 		int threadsCount = args.getThreadsCount();
 		LOG.debug("processing threads count: {}", threadsCount);
 
 		LOG.info("processing ...");
 		ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+		for (Runnable task : tasks) {
+			executor.execute(task);
+		}
+		return executor;
+	}
+
+	/**
+	 * Save tasks in execution order, allow to run save in external executor
+	 */
+	public List<Runnable> getSaveTasks() {
+		return getSaveTasks(!args.isSkipSources(), !args.isSkipResources());
+	}
 
+	private List<Runnable> getSaveTasks(boolean saveSources, boolean saveResources) {
+		if (root == null) {
+			throw new JadxRuntimeException("No loaded files");
+		}
+		List<Runnable> tasks = new ArrayList<>();
 		File sourcesOutDir;
 		File resOutDir;
 		if (args.isExportAsGradleProject()) {
@@ -220,15 +264,15 @@ public final class JadxDecompiler implements Closeable {
 			resOutDir = args.getOutDirRes();
 		}
 		if (saveResources) {
-			appendResourcesSave(executor, resOutDir);
+			appendResourcesSave(tasks, resOutDir);
 		}
 		if (saveSources) {
-			appendSourcesSave(executor, sourcesOutDir);
+			appendSourcesSave(tasks, sourcesOutDir);
 		}
-		return executor;
+		return tasks;
 	}
 
-	private void appendResourcesSave(ExecutorService executor, File outDir) {
+	private void appendResourcesSave(List<Runnable> tasks, File outDir) {
 		Set<String> inputFileNames = args.getInputFiles().stream().map(File::getAbsolutePath).collect(Collectors.toSet());
 		for (ResourceFile resourceFile : getResources()) {
 			if (resourceFile.getType() != ResourceType.ARSC
@@ -236,12 +280,13 @@ public final class JadxDecompiler implements Closeable {
 				// ignore resource made from input file
 				continue;
 			}
-			executor.execute(new ResourcesSaver(outDir, resourceFile));
+			tasks.add(new ResourcesSaver(outDir, resourceFile));
 		}
 	}
 
-	private void appendSourcesSave(ExecutorService executor, File outDir) {
+	private void appendSourcesSave(List<Runnable> tasks, File outDir) {
 		Predicate<String> classFilter = args.getClassFilter();
+		List<ClassNode> clsList = new ArrayList<>();
 		for (JavaClass cls : getClasses()) {
 			if (cls.getClassNode().contains(AFlag.DONT_GENERATE)) {
 				continue;
@@ -249,15 +294,17 @@ public final class JadxDecompiler implements Closeable {
 			if (classFilter != null && !classFilter.test(cls.getFullName())) {
 				continue;
 			}
-			executor.execute(() -> {
-				try {
-					ICodeInfo code = cls.getCodeInfo();
-					SaveCode.save(outDir, cls.getClassNode(), code);
-				} catch (Exception e) {
-					LOG.error("Error saving class: {}", cls.getFullName(), e);
-				}
-			});
+			clsList.add(cls.getClassNode());
 		}
+		tasks.addAll(ProcessScheduler.buildTasks(clsList, clsNode -> {
+			JavaClass cls = getJavaClassByNode(clsNode);
+			try {
+				ICodeInfo code = cls.getCodeInfo();
+				SaveCode.save(outDir, clsNode, code);
+			} catch (Exception e) {
+				LOG.error("Error saving class: {}", cls.getFullName(), e);
+			}
+		}));
 	}
 
 	public List<JavaClass> getClasses() {
@@ -341,6 +388,10 @@ public final class JadxDecompiler implements Closeable {
 		return root;
 	}
 
+	ZipFilePool getZipFilePool() {
+		return zipFilePool;
+	}
+
 	synchronized BinaryXMLParser getXmlParser() {
 		if (xmlParser == null) {
 			xmlParser = new BinaryXMLParser(root);
@@ -486,6 +537,18 @@ public final class JadxDecompiler implements Closeable {
 		return convertNode(obj);
 	}
 
+	/**
+	 * Search referenced node by absolute offset in code string
+	 */
+	@Nullable
+	public JavaNode getJavaNodeAtOffset(ICodeInfo codeInfo, int offset) {
+		Object obj = codeInfo.getAnnotationsIndex().getAt(offset);
+		if (obj == null) {
+			return null;
+		}
+		return convertNode(obj);
+	}
+
 	@Nullable
 	public CodePosition getDefinitionPosition(JavaNode javaNode) {
 		JavaClass jCls = javaNode.getTopParentClass();
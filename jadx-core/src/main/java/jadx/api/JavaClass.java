@@ -6,6 +6,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -62,6 +63,13 @@ public final class JavaClass implements JavaNode {
 		cls.reloadCode();
 	}
 
+	/**
+	 * Update code after changes in referenced nodes (like rename), cheaper than {@link #reload()}
+	 */
+	public synchronized void regenerate() {
+		cls.regenerateCode();
+	}
+
 	public synchronized String getSmali() {
 		return cls.getSmali();
 	}
@@ -143,6 +151,23 @@ public final class JavaClass implements JavaNode {
 		return getCodeAnnotations().get(pos);
 	}
 
+	/**
+	 * Visit references to other nodes in code order
+	 */
+	public void visitUsages(BiConsumer<CodePosition, JavaNode> visitor) {
+		ICodeInfo code = getCodeInfo();
+		if (code == null || decompiler == null) {
+			return;
+		}
+		JadxDecompiler rootDecompiler = getRootDecompiler();
+		code.getAnnotationsIndex().visit((codePosition, obj) -> {
+			JavaNode node = rootDecompiler.convertNode(obj);
+			if (node != null) {
+				visitor.accept(codePosition, node);
+			}
+		});
+	}
+
 	public Map<CodePosition, JavaNode> getUsageMap() {
 		Map<CodePosition, Object> map = getCodeAnnotations();
 		if (map.isEmpty() || decompiler == null) {
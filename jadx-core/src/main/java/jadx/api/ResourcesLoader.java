@@ -21,7 +21,9 @@ import jadx.core.utils.Utils;
 import jadx.core.utils.android.Res9patchStreamDecoder;
 import jadx.core.utils.exceptions.JadxException;
 import jadx.core.utils.files.FileUtils;
+import jadx.core.utils.files.ZipFilePool.ZipFileRef;
 import jadx.core.xmlgen.ResContainer;
+import jadx.core.xmlgen.ParserStream;
 import jadx.core.xmlgen.ResTableParser;
 
 import static jadx.core.utils.files.FileUtils.READ_BUFFER_SIZE;
@@ -58,28 +60,44 @@ public final class ResourcesLoader {
 				try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
 					return decoder.decode(file.length(), inputStream);
 				}
-			} else {
+			}
+			JadxDecompiler decompiler = rf.getDecompiler();
+			if (decompiler == null) {
 				try (ZipFile zipFile = new ZipFile(zipRef.getZipFile())) {
-					ZipEntry entry = zipFile.getEntry(zipRef.getEntryName());
-					if (entry == null) {
-						throw new IOException("Zip entry not found: " + zipRef);
-					}
-					if (!ZipSecurity.isValidZipEntry(entry)) {
-						return null;
-					}
-					try (InputStream inputStream = ZipSecurity.getInputStreamForEntry(zipFile, entry)) {
-						return decoder.decode(entry.getSize(), inputStream);
-					}
+					return decodeZipEntry(zipFile, zipRef, decoder);
 				}
 			}
+			// reuse opened zip file
+			try (ZipFileRef zipFileRef = decompiler.getZipFilePool().acquire(zipRef.getZipFile())) {
+				return decodeZipEntry(zipFileRef.getZipFile(), zipRef, decoder);
+			}
 		} catch (Exception e) {
 			throw new JadxException("Error decode: " + rf.getDeobfName(), e);
 		}
 	}
 
+	private static <T> T decodeZipEntry(ZipFile zipFile, ZipRef zipRef, ResourceDecoder<T> decoder) throws IOException {
+		ZipEntry entry = zipFile.getEntry(zipRef.getEntryName());
+		if (entry == null) {
+			throw new IOException("Zip entry not found: " + zipRef);
+		}
+		if (!ZipSecurity.isValidZipEntry(entry)) {
+			return null;
+		}
+		try (InputStream inputStream = ZipSecurity.getInputStreamForEntry(zipFile, entry)) {
+			return decoder.decode(entry.getSize(), inputStream);
+		}
+	}
+
 	static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf) {
 		try {
-			return decodeStream(rf, (size, is) -> loadContent(jadxRef, rf, is));
+			if (rf.getType() == ResourceType.ARSC) {
+				ResTableParser loadedTable = jadxRef.getRoot().takeLoadedResTable(rf);
+				if (loadedTable != null) {
+					return makeResContainer(rf, loadedTable);
+				}
+			}
+			return decodeStream(rf, (size, is) -> loadContent(jadxRef, rf, size, is));
 		} catch (JadxException e) {
 			LOG.error("Decode error", e);
 			ICodeWriter cw = jadxRef.getRoot().makeCodeWriter();
@@ -90,15 +108,15 @@ public final class ResourcesLoader {
 	}
 
 	private static ResContainer loadContent(JadxDecompiler jadxRef, ResourceFile rf,
-			InputStream inputStream) throws IOException {
+			long size, InputStream inputStream) throws IOException {
 		switch (rf.getType()) {
 			case MANIFEST:
 			case XML:
-				ICodeInfo content = jadxRef.getXmlParser().parse(inputStream);
+				ICodeInfo content = jadxRef.getXmlParser().parse(new ParserStream(inputStream, size));
 				return ResContainer.textResource(rf.getDeobfName(), content);
 
 			case ARSC:
-				return new ResTableParser(jadxRef.getRoot()).decodeFiles(inputStream);
+				return new ResTableParser(jadxRef.getRoot()).decodeFiles(new ParserStream(inputStream, size));
 
 			case IMG:
 				return decodeImage(rf, inputStream);
@@ -108,6 +126,16 @@ public final class ResourcesLoader {
 		}
 	}
 
+	private static ResContainer makeResContainer(ResourceFile rf, ResTableParser table) throws JadxException {
+		try {
+			return table.makeResContainer();
+		} catch (Exception e) {
+			throw new JadxException("Error decode: " + rf.getDeobfName(), e);
+		} finally {
+			table.release();
+		}
+	}
+
 	private static ResContainer decodeImage(ResourceFile rf, InputStream inputStream) {
 		String name = rf.getOriginalName();
 		if (name.endsWith(".9.png")) {
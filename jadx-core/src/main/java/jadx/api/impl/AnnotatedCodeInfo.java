@@ -2,6 +2,7 @@ package jadx.api.impl;
 
 import java.util.Map;
 
+import jadx.api.CodeAnnotationsIndex;
 import jadx.api.CodePosition;
 import jadx.api.ICodeInfo;
 
@@ -10,6 +11,7 @@ public class AnnotatedCodeInfo implements ICodeInfo {
 	private final String code;
 	private final Map<Integer, Integer> lineMapping;
 	private final Map<CodePosition, Object> annotations;
+	private volatile CodeAnnotationsIndex annotationsIndex;
 
 	public AnnotatedCodeInfo(ICodeInfo codeInfo) {
 		this(codeInfo.getCodeStr(), codeInfo.getLineMapping(), codeInfo.getAnnotations());
@@ -36,6 +38,17 @@ public class AnnotatedCodeInfo implements ICodeInfo {
 		return annotations;
 	}
 
+	@Override
+	public CodeAnnotationsIndex getAnnotationsIndex() {
+		CodeAnnotationsIndex index = annotationsIndex;
+		if (index == null) {
+			// build on first request, not needed for code saving
+			index = CodeAnnotationsIndex.build(annotations);
+			annotationsIndex = index;
+		}
+		return index;
+	}
+
 	@Override
 	public String toString() {
 		return code;
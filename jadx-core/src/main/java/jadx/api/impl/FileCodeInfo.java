@@ -0,0 +1,136 @@
+package jadx.api.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.CodeAnnotationsIndex;
+import jadx.api.CodePosition;
+import jadx.api.ICodeInfo;
+import jadx.api.ICodeWriter;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Code without meta information stored in UTF-8 file (produced by {@link StreamCodeWriter}).
+ * Code string not cached and read from file on every {@link #getCodeStr()} call.
+ * <br>
+ * Temp file moved on first save, if code not saved file should be removed by {@link #discard()}.
+ */
+public class FileCodeInfo implements ICodeInfo {
+	private static final Logger LOG = LoggerFactory.getLogger(FileCodeInfo.class);
+
+	private volatile Path file;
+	private final long size;
+	/**
+	 * Temp file moved to save target (new line added at the end)
+	 */
+	private boolean saved;
+
+	public FileCodeInfo(Path file, long size) {
+		this.file = file;
+		this.size = size;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Code size in bytes
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Move code file to target path and append new line at the end (same as for saved code string).
+	 * Code still available through {@link #getCodeStr()} after that.
+	 * Next calls copy already saved file, so result is same for every call.
+	 */
+	public synchronized void saveTo(Path target) throws IOException {
+		if (saved) {
+			if (!target.toAbsolutePath().normalize().equals(file.toAbsolutePath().normalize())) {
+				Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return;
+		}
+		Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+		file = target;
+		saved = true;
+		try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			ByteBuffer nl = ByteBuffer.wrap(ICodeWriter.NL.getBytes(StandardCharsets.UTF_8));
+			while (nl.hasRemaining()) {
+				out.write(nl);
+			}
+		}
+	}
+
+	/**
+	 * Delete temp file if code not saved, code not available after that
+	 */
+	public synchronized void discard() {
+		if (!saved) {
+			deleteFile(file);
+		}
+	}
+
+	static void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			LOG.warn("Failed to delete temp code file: {}", file, e);
+		}
+	}
+
+	@Override
+	public String getCodeStr() {
+		if (size > Integer.MAX_VALUE) {
+			throw new JadxRuntimeException("Code too big to load into string: " + file);
+		}
+		byte[] data = new byte[(int) size];
+		try (InputStream in = Files.newInputStream(file)) {
+			int pos = 0;
+			while (pos < data.length) {
+				int read = in.read(data, pos, data.length - pos);
+				if (read == -1) {
+					throw new JadxRuntimeException("Unexpected end of code file: " + file);
+				}
+				pos += read;
+			}
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to read code from file: " + file, e);
+		}
+		return new String(data, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public Map<Integer, Integer> getLineMapping() {
+		return Collections.emptyMap();
+	}
+
+	@Override
+	public Map<CodePosition, Object> getAnnotations() {
+		return Collections.emptyMap();
+	}
+
+	@Override
+	public CodeAnnotationsIndex getAnnotationsIndex() {
+		return CodeAnnotationsIndex.EMPTY;
+	}
+
+	@Override
+	public String toString() {
+		return "FileCodeInfo{" + file + ", size=" + size + '}';
+	}
+}
@@ -27,6 +27,12 @@ public class InMemoryCodeCache implements ICodeCache {
 		return storage.get(clsFullName);
 	}
 
+	@Override
+	public boolean contains(String clsFullName) {
+		ICodeInfo codeInfo = storage.get(clsFullName);
+		return codeInfo != null && codeInfo != ICodeInfo.EMPTY;
+	}
+
 	@Override
 	public String toString() {
 		return "InMemoryCodeCache";
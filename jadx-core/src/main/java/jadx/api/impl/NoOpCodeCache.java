@@ -22,6 +22,11 @@ public class NoOpCodeCache implements ICodeCache {
 		return null;
 	}
 
+	@Override
+	public boolean contains(String clsFullName) {
+		return false;
+	}
+
 	@Override
 	public String toString() {
 		return "NoOpCodeCache";
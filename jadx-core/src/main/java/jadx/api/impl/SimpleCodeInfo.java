@@ -3,6 +3,7 @@ package jadx.api.impl;
 import java.util.Collections;
 import java.util.Map;
 
+import jadx.api.CodeAnnotationsIndex;
 import jadx.api.CodePosition;
 import jadx.api.ICodeInfo;
 
@@ -29,6 +30,11 @@ public class SimpleCodeInfo implements ICodeInfo {
 		return Collections.emptyMap();
 	}
 
+	@Override
+	public CodeAnnotationsIndex getAnnotationsIndex() {
+		return CodeAnnotationsIndex.EMPTY;
+	}
+
 	@Override
 	public String toString() {
 		return code;
@@ -0,0 +1,245 @@
+package jadx.api.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.ICodeInfo;
+import jadx.api.ICodeWriter;
+import jadx.api.JadxArgs;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * CodeWriter without meta information support, which don't keep big code in memory.
+ * <br>
+ * Code collected in strings builder until size threshold reached,
+ * after that all complete lines encoded into UTF-8 and written through buffered channel into temp file.
+ * Result of such writer is {@link FileCodeInfo} which can be moved to target file without reading code into memory.
+ * Small code processed same as in {@link SimpleCodeWriter}.
+ * <br>
+ * Note: content of added writer ({@link #add(ICodeWriter)}) moved into this writer, so added writer can't be used after that.
+ * <br>
+ * Temp file deleted on {@link #discard()} or by {@link FileCodeInfo} (after save or {@link FileCodeInfo#discard()}).
+ */
+public class StreamCodeWriter extends SimpleCodeWriter {
+	private static final Logger LOG = LoggerFactory.getLogger(StreamCodeWriter.class);
+
+	public static final int DEFAULT_SPILL_THRESHOLD = 64 * 1024;
+
+	private static final int BYTE_BUFFER_SIZE = 16 * 1024;
+
+	private final int spillThreshold;
+
+	private @Nullable Path file;
+	private @Nullable FileChannel channel;
+	private @Nullable CharsetEncoder encoder;
+	private @Nullable ByteBuffer byteBuf;
+
+	/**
+	 * Code length moved from strings builder (including skipped first empty line)
+	 */
+	private int spilledLen;
+	/**
+	 * Chars count written into file
+	 */
+	private int fileChars;
+
+	public StreamCodeWriter() {
+		this.spillThreshold = DEFAULT_SPILL_THRESHOLD;
+	}
+
+	public StreamCodeWriter(JadxArgs args) {
+		this(args, DEFAULT_SPILL_THRESHOLD);
+	}
+
+	public StreamCodeWriter(JadxArgs args, int spillThreshold) {
+		super(args);
+		this.spillThreshold = spillThreshold;
+	}
+
+	public boolean isSpilled() {
+		return file != null;
+	}
+
+	@Nullable
+	Path getFile() {
+		return file;
+	}
+
+	@Override
+	protected void addLine() {
+		buf.append(NL);
+		if (buf.length() >= spillThreshold) {
+			spill();
+		}
+	}
+
+	@Override
+	public ICodeWriter add(ICodeWriter cw) {
+		if (!(cw instanceof StreamCodeWriter) || !((StreamCodeWriter) cw).isSpilled()) {
+			return super.add(cw);
+		}
+		StreamCodeWriter code = (StreamCodeWriter) cw;
+		spill();
+		try {
+			flushBytes();
+			code.closeChannel();
+			try (FileChannel in = FileChannel.open(code.file, StandardOpenOption.READ)) {
+				long size = in.size();
+				long pos = 0;
+				while (pos < size) {
+					pos += in.transferTo(pos, size - pos, channel);
+				}
+			}
+			Files.delete(code.file);
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to append code from temp file: " + code.file, e);
+		}
+		spilledLen += code.fileChars;
+		fileChars += code.fileChars;
+		buf.append(code.buf);
+		code.buf = null;
+		code.file = null;
+		return this;
+	}
+
+	@Override
+	public ICodeInfo finish() {
+		if (!isSpilled()) {
+			return super.finish();
+		}
+		spill();
+		buf = null;
+		try {
+			closeChannel();
+			return new FileCodeInfo(file, Files.size(file));
+		} catch (IOException e) {
+			Path failedFile = file;
+			discard();
+			throw new JadxRuntimeException("Failed to finish code writing into temp file: " + failedFile, e);
+		}
+	}
+
+	@Override
+	public void discard() {
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				LOG.warn("Failed to close temp code file: {}", file, e);
+			}
+			channel = null;
+			encoder = null;
+			byteBuf = null;
+		}
+		if (file != null) {
+			FileCodeInfo.deleteFile(file);
+			file = null;
+		}
+		buf = null;
+	}
+
+	@Override
+	public String getCodeStr() {
+		if (!isSpilled()) {
+			return super.getCodeStr();
+		}
+		try {
+			flushBytes();
+			return new String(Files.readAllBytes(file), StandardCharsets.UTF_8) + buf;
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to read code from temp file: " + file, e);
+		}
+	}
+
+	@Override
+	protected void removeFirstEmptyLine() {
+		if (!isSpilled()) {
+			super.removeFirstEmptyLine();
+		}
+		// else: first line already written
+	}
+
+	@Override
+	public int getLength() {
+		return spilledLen + buf.length();
+	}
+
+	/**
+	 * Write all collected code into file, strings builder will be empty after that.
+	 * Called only on line end or on finish, so surrogate pairs never split.
+	 */
+	private void spill() {
+		try {
+			int start = 0;
+			if (channel == null) {
+				openChannel();
+				int nlLen = NL.length();
+				if (buf.length() >= nlLen && buf.substring(0, nlLen).equals(NL)) {
+					start = nlLen;
+				}
+			}
+			CharBuffer in = CharBuffer.wrap(buf, start, buf.length());
+			while (true) {
+				CoderResult res = encoder.encode(in, byteBuf, false);
+				if (res.isOverflow()) {
+					flushBytes();
+				} else if (res.isUnderflow()) {
+					break;
+				} else {
+					res.throwException();
+				}
+			}
+			fileChars += buf.length() - start;
+			spilledLen += buf.length();
+			buf.setLength(0);
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to write code into temp file: " + file, e);
+		}
+	}
+
+	private void openChannel() throws IOException {
+		if (file == null) {
+			file = FileUtils.createTempFileNoDelete(".code");
+		}
+		channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		encoder = StandardCharsets.UTF_8.newEncoder();
+		byteBuf = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+	}
+
+	private void flushBytes() throws IOException {
+		if (channel == null) {
+			return;
+		}
+		byteBuf.flip();
+		while (byteBuf.hasRemaining()) {
+			channel.write(byteBuf);
+		}
+		byteBuf.clear();
+	}
+
+	private void closeChannel() throws IOException {
+		if (channel == null) {
+			return;
+		}
+		encoder.encode(CharBuffer.allocate(0), byteBuf, true);
+		encoder.flush(byteBuf);
+		flushBytes();
+		channel.close();
+		channel = null;
+		encoder = null;
+		byteBuf = null;
+	}
+}
@@ -29,7 +29,9 @@ public final class ProcessClass {
 			// nothing to do
 			return null;
 		}
+		long lockStart = System.nanoTime();
 		synchronized (cls.getClassInfo()) {
+			cls.root().getLockWaitStats().add(cls, System.nanoTime() - lockStart);
 			try {
 				if (cls.contains(AFlag.CLASS_DEEP_RELOAD)) {
 					cls.remove(AFlag.CLASS_DEEP_RELOAD);
@@ -74,6 +76,13 @@ public final class ProcessClass {
 		}
 	}
 
+	/**
+	 * Run only process stage for class, used to prepare dependencies before code generation
+	 */
+	public static void processDependency(ClassNode cls) {
+		process(cls.getTopParentClass(), false);
+	}
+
 	@NotNull
 	public static ICodeInfo generateCode(ClassNode cls) {
 		ClassNode topParentClass = cls.getTopParentClass();
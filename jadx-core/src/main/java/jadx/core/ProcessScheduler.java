@@ -0,0 +1,79 @@
+package jadx.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.utils.DepsGraph;
+
+/**
+ * Arrange batch decompilation tasks using classes dependencies graph.
+ * <br>
+ * Classes split into waves: dependencies placed in previous waves (or in same wave for cycles).
+ * Each wave contains process stage tasks for classes used by other classes (most used first)
+ * followed by code generation tasks for requested classes from this wave.
+ * <br>
+ * Tasks should be executed in returned order by executor with FIFO queue,
+ * so dependency processing always started before code generation of dependent classes
+ * and decompilation threads don't compete for lock of same popular class.
+ * <br>
+ * Classes with code available in code cache don't need processing,
+ * so only codegen tasks (which return cached code) added for them without dependencies.
+ * Process tasks added only for direct dependencies of requested classes
+ * (same as in {@link ProcessClass#generateCode(ClassNode)}), excluding not generated classes.
+ */
+public final class ProcessScheduler {
+
+	private ProcessScheduler() {
+	}
+
+	/**
+	 * @param classes     top level classes for code generation
+	 * @param codegenTask code generation task for class (will be called from executor threads)
+	 */
+	public static List<Runnable> buildTasks(List<ClassNode> classes, Consumer<ClassNode> codegenTask) {
+		// cache check can require disk read, check classes concurrently
+		Map<Boolean, List<ClassNode>> cacheCheck = classes.parallelStream()
+				.collect(Collectors.partitioningBy(ProcessScheduler::isCodeCached));
+		List<ClassNode> cachedClasses = cacheCheck.get(Boolean.TRUE);
+		List<ClassNode> processClasses = cacheCheck.get(Boolean.FALSE);
+
+		Set<ClassNode> targets = new HashSet<>(processClasses);
+		DepsGraph<ClassNode> graph = DepsGraph.build(processClasses,
+				cls -> targets.contains(cls) ? cls.getDependencies() : Collections.emptyList());
+		List<Runnable> tasks = new ArrayList<>(classes.size() + graph.getNodes().size());
+		for (ClassNode cls : cachedClasses) {
+			tasks.add(() -> codegenTask.accept(cls));
+		}
+		for (List<ClassNode> wave : graph.getWaves()) {
+			List<ClassNode> deps = new ArrayList<>();
+			for (ClassNode cls : wave) {
+				if (graph.getUsageCount(cls) != 0 && !cls.contains(AFlag.DONT_GENERATE)) {
+					deps.add(cls);
+				}
+			}
+			deps.sort(Comparator.comparingInt(graph::getUsageCount).reversed());
+			for (ClassNode dep : deps) {
+				tasks.add(() -> ProcessClass.processDependency(dep));
+			}
+			for (ClassNode cls : wave) {
+				if (targets.contains(cls)) {
+					tasks.add(() -> codegenTask.accept(cls));
+				}
+			}
+		}
+		return tasks;
+	}
+
+	private static boolean isCodeCached(ClassNode cls) {
+		return cls.root().getCodeCache().contains(cls.getTopParentClass().getRawName());
+	}
+}
@@ -1,20 +1,27 @@
 package jadx.core.clsp;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.DataInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -50,9 +57,22 @@ public class ClsSet {
 	private static final String CLST_PATH = "/clst/" + CLST_FILENAME;
 
 	private static final String JADX_CLS_SET_HEADER = "jadx-cst";
-	private static final int VERSION = 3;
-
-	private static final String STRING_CHARSET = "US-ASCII";
+	/**
+	 * Old stream format, all data decoded at once
+	 */
+	private static final int STREAM_VERSION = 3;
+	/**
+	 * Indexed format: string table and offsets of class data, so class members can be decoded on first access.
+	 * <br>
+	 * Layout:
+	 * header, version, strings count, classes count,
+	 * strings offsets, class name string indexes, class data offsets,
+	 * strings data, classes data (parents, type parameters, methods).
+	 */
+	private static final int VERSION = 4;
+	private static final int HEADER_SIZE = JADX_CLS_SET_HEADER.length() + 1 + 4 + 4;
+
+	private static final Charset STRING_CHARSET = StandardCharsets.US_ASCII;
 
 	private static final ArgType[] EMPTY_ARGTYPE_ARRAY = new ArgType[0];
 
@@ -74,18 +94,42 @@ public class ClsSet {
 
 	private ClspClass[] classes;
 
+	/**
+	 * Indexed format data, used for lazy loading of class members
+	 */
+	private ByteBuffer data;
+	private String[] strings;
+	private int[] membersOffsets;
+
 	public void loadFromClstFile() throws IOException, DecodeException {
 		long startTime = System.currentTimeMillis();
-		try (InputStream input = ClsSet.class.getResourceAsStream(CLST_PATH)) {
-			if (input == null) {
-				throw new JadxRuntimeException("Can't load classpath file: " + CLST_PATH);
-			}
-			load(input);
+		URL resource = ClsSet.class.getResource(CLST_PATH);
+		if (resource == null) {
+			throw new JadxRuntimeException("Can't load classpath file: " + CLST_PATH);
 		}
+		load(readResource(resource));
 		if (LOG.isDebugEnabled()) {
 			long time = System.currentTimeMillis() - startTime;
-			int methodsCount = Stream.of(classes).mapToInt(clspClass -> clspClass.getMethodsMap().size()).sum();
-			LOG.debug("Clst file loaded in {}ms, classes: {}, methods: {}", time, classes.length, methodsCount);
+			LOG.debug("Clst file loaded in {}ms, classes: {}, lazy: {}", time, classes.length, data != null);
+		}
+	}
+
+	private static ByteBuffer readResource(URL resource) throws IOException {
+		if ("file".equals(resource.getProtocol())) {
+			try {
+				return mapFile(Paths.get(resource.toURI()));
+			} catch (URISyntaxException | IllegalArgumentException e) {
+				LOG.debug("Can't map class set file: {}, fallback to read", resource, e);
+			}
+		}
+		try (InputStream input = resource.openStream()) {
+			return ByteBuffer.wrap(FileUtils.streamToByteArray(input));
+		}
+	}
+
+	private static ByteBuffer mapFile(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
 		}
 	}
 
@@ -210,54 +254,99 @@ public class ClsSet {
 	}
 
 	private void save(OutputStream output) throws IOException {
+		Map<String, ClspClass> names = new HashMap<>(classes.length);
+		Map<String, Integer> stringsMap = new LinkedHashMap<>();
+		int[] clsNames = new int[classes.length];
+		for (int i = 0; i < classes.length; i++) {
+			String clsName = classes[i].getName();
+			names.put(clsName, classes[i]);
+			clsNames[i] = addString(stringsMap, clsName);
+		}
+		ByteArrayOutputStream clsBytes = new ByteArrayOutputStream();
+		DataOutputStream clsOut = new DataOutputStream(clsBytes);
+		int[] clsOffsets = new int[classes.length];
+		for (int i = 0; i < classes.length; i++) {
+			ClspClass cls = classes[i];
+			clsOffsets[i] = clsOut.size();
+			writeArgTypesArray(clsOut, cls.getParents(), names, stringsMap);
+			writeArgTypesList(clsOut, cls.getTypeParameters(), names, stringsMap);
+			List<ClspMethod> methods = cls.getSortedMethodsList();
+			clsOut.writeShort(methods.size());
+			for (ClspMethod method : methods) {
+				writeMethod(clsOut, method, names, stringsMap);
+			}
+		}
+		ByteArrayOutputStream strBytes = new ByteArrayOutputStream();
+		DataOutputStream strOut = new DataOutputStream(strBytes);
+		int[] strOffsets = new int[stringsMap.size()];
+		int k = 0;
+		for (String str : stringsMap.keySet()) {
+			strOffsets[k++] = strOut.size();
+			writeString(strOut, str);
+		}
+		int stringsStart = HEADER_SIZE + 4 * strOffsets.length + 8 * classes.length;
+		int classesStart = stringsStart + strOut.size();
+
 		DataOutputStream out = new DataOutputStream(output);
 		out.writeBytes(JADX_CLS_SET_HEADER);
 		out.writeByte(VERSION);
-
-		Map<String, ClspClass> names = new HashMap<>(classes.length);
+		out.writeInt(strOffsets.length);
 		out.writeInt(classes.length);
-		for (ClspClass cls : classes) {
-			String clsName = cls.getName();
-			writeString(out, clsName);
-			names.put(clsName, cls);
+		for (int offset : strOffsets) {
+			out.writeInt(stringsStart + offset);
 		}
-		for (ClspClass cls : classes) {
-			writeArgTypesArray(out, cls.getParents(), names);
-			writeArgTypesList(out, cls.getTypeParameters(), names);
-			List<ClspMethod> methods = cls.getSortedMethodsList();
-			out.writeShort(methods.size());
-			for (ClspMethod method : methods) {
-				writeMethod(out, method, names);
-			}
+		for (int nameIdx : clsNames) {
+			out.writeInt(nameIdx);
+		}
+		for (int offset : clsOffsets) {
+			out.writeInt(classesStart + offset);
 		}
+		strBytes.writeTo(out);
+		clsBytes.writeTo(out);
+		out.flush();
+
 		int methodsCount = Stream.of(classes).mapToInt(c -> c.getMethodsMap().size()).sum();
-		LOG.info("Classes: {}, methods: {}, file size: {} bytes", classes.length, methodsCount, out.size());
+		LOG.info("Classes: {}, methods: {}, strings: {}, file size: {} bytes",
+				classes.length, methodsCount, strOffsets.length, out.size());
+	}
+
+	private static int addString(Map<String, Integer> stringsMap, String str) {
+		Integer idx = stringsMap.get(str);
+		if (idx != null) {
+			return idx;
+		}
+		int newIdx = stringsMap.size();
+		stringsMap.put(str, newIdx);
+		return newIdx;
 	}
 
-	private static void writeMethod(DataOutputStream out, ClspMethod method, Map<String, ClspClass> names) throws IOException {
+	private static void writeMethod(DataOutputStream out, ClspMethod method,
+			Map<String, ClspClass> names, Map<String, Integer> strings) throws IOException {
 		MethodInfo methodInfo = method.getMethodInfo();
-		writeString(out, methodInfo.getName());
-		writeArgTypesList(out, methodInfo.getArgumentsTypes(), names);
-		writeArgType(out, methodInfo.getReturnType(), names);
+		out.writeInt(addString(strings, methodInfo.getName()));
+		writeArgTypesList(out, methodInfo.getArgumentsTypes(), names, strings);
+		writeArgType(out, methodInfo.getReturnType(), names, strings);
 
-		writeArgTypesList(out, method.containsGenericArgs() ? method.getArgTypes() : Collections.emptyList(), names);
-		writeArgType(out, method.getReturnType(), names);
-		writeArgTypesList(out, method.getTypeParameters(), names);
+		writeArgTypesList(out, method.containsGenericArgs() ? method.getArgTypes() : Collections.emptyList(), names, strings);
+		writeArgType(out, method.getReturnType(), names, strings);
+		writeArgTypesList(out, method.getTypeParameters(), names, strings);
 		out.writeInt(method.getRawAccessFlags());
-		writeArgTypesList(out, method.getThrows(), names);
+		writeArgTypesList(out, method.getThrows(), names, strings);
 	}
 
-	private static void writeArgTypesList(DataOutputStream out, List<ArgType> list, Map<String, ClspClass> names) throws IOException {
+	private static void writeArgTypesList(DataOutputStream out, List<ArgType> list,
+			Map<String, ClspClass> names, Map<String, Integer> strings) throws IOException {
 		int size = list.size();
 		writeUnsignedByte(out, size);
 		if (size != 0) {
 			for (ArgType type : list) {
-				writeArgType(out, type, names);
+				writeArgType(out, type, names, strings);
 			}
 		}
 	}
 
-	private static void writeArgTypesArray(DataOutputStream out, @Nullable ArgType[] arr, Map<String, ClspClass> names) throws IOException {
+	private static void writeArgTypesArray(DataOutputStream out, @Nullable ArgType[] arr,
+			Map<String, ClspClass> names, Map<String, Integer> strings) throws IOException {
 		if (arr == null) {
 			out.writeByte(-1);
 			return;
@@ -266,12 +355,13 @@ public class ClsSet {
 		out.writeByte(size);
 		if (size != 0) {
 			for (ArgType type : arr) {
-				writeArgType(out, type, names);
+				writeArgType(out, type, names, strings);
 			}
 		}
 	}
 
-	private static void writeArgType(DataOutputStream out, ArgType argType, Map<String, ClspClass> names) throws IOException {
+	private static void writeArgType(DataOutputStream out, ArgType argType,
+			Map<String, ClspClass> names, Map<String, Integer> strings) throws IOException {
 		if (argType == null) {
 			out.writeByte(-1);
 			return;
@@ -281,47 +371,48 @@ public class ClsSet {
 			out.writeByte(argType.getPrimitiveType().getShortName().charAt(0));
 		} else if (argType.getOuterType() != null) {
 			out.writeByte(TypeEnum.OUTER_GENERIC.ordinal());
-			writeArgType(out, argType.getOuterType(), names);
-			writeArgType(out, argType.getInnerType(), names);
+			writeArgType(out, argType.getOuterType(), names, strings);
+			writeArgType(out, argType.getInnerType(), names, strings);
 		} else if (argType.getWildcardType() != null) {
 			out.writeByte(TypeEnum.WILDCARD.ordinal());
 			ArgType.WildcardBound bound = argType.getWildcardBound();
 			out.writeByte(bound.getNum());
 			if (bound != ArgType.WildcardBound.UNBOUND) {
-				writeArgType(out, argType.getWildcardType(), names);
+				writeArgType(out, argType.getWildcardType(), names, strings);
 			}
 		} else if (argType.isGeneric()) {
 			out.writeByte(TypeEnum.GENERIC.ordinal());
 			out.writeInt(getCls(argType, names).getId());
-			writeArgTypesList(out, argType.getGenericTypes(), names);
+			writeArgTypesList(out, argType.getGenericTypes(), names, strings);
 		} else if (argType.isGenericType()) {
 			out.writeByte(TypeEnum.GENERIC_TYPE_VARIABLE.ordinal());
-			writeString(out, argType.getObject());
-			writeArgTypesList(out, argType.getExtendTypes(), names);
+			out.writeInt(addString(strings, argType.getObject()));
+			writeArgTypesList(out, argType.getExtendTypes(), names, strings);
 		} else if (argType.isObject()) {
 			out.writeByte(TypeEnum.OBJECT.ordinal());
 			out.writeInt(getCls(argType, names).getId());
 		} else if (argType.isArray()) {
 			out.writeByte(TypeEnum.ARRAY.ordinal());
-			writeArgType(out, argType.getArrayElement(), names);
+			writeArgType(out, argType.getArrayElement(), names, strings);
 		} else {
 			throw new JadxRuntimeException("Cannot save type: " + argType);
 		}
 	}
 
-	private void load(File input) throws IOException, DecodeException {
+	/**
+	 * Load class set from '.jcst' file or from jar with '.jcst' file inside
+	 */
+	public void load(File input) throws IOException, DecodeException {
 		String name = input.getName();
 		if (name.endsWith(CLST_EXTENSION)) {
-			try (InputStream inputStream = new FileInputStream(input)) {
-				load(inputStream);
-			}
+			load(mapFile(input.toPath()));
 		} else if (name.endsWith(".jar")) {
 			ZipSecurity.readZipEntries(input, (entry, in) -> {
 				if (entry.getName().endsWith(CLST_EXTENSION)) {
 					try {
-						load(in);
+						load(ByteBuffer.wrap(FileUtils.streamToByteArray(in)));
 					} catch (Exception e) {
-						throw new JadxRuntimeException("Failed to load jadx class set");
+						throw new JadxRuntimeException("Failed to load jadx class set", e);
 					}
 				}
 			});
@@ -330,33 +421,99 @@ public class ClsSet {
 		}
 	}
 
-	private void load(InputStream input) throws IOException, DecodeException {
-		try (DataInputStream in = new DataInputStream(new BufferedInputStream(input))) {
-			byte[] header = new byte[JADX_CLS_SET_HEADER.length()];
-			int readHeaderLength = in.read(header);
-			int version = in.readByte();
-			if (readHeaderLength != JADX_CLS_SET_HEADER.length()
-					|| !JADX_CLS_SET_HEADER.equals(new String(header, STRING_CHARSET))
-					|| version != VERSION) {
-				throw new DecodeException("Wrong jadx class set header");
-			}
-			int clsCount = in.readInt();
-			classes = new ClspClass[clsCount];
-			for (int i = 0; i < clsCount; i++) {
-				String name = readString(in);
-				classes[i] = new ClspClass(ArgType.object(name), i);
-			}
-			for (int i = 0; i < clsCount; i++) {
-				ClspClass nClass = classes[i];
-				ClassInfo clsInfo = ClassInfo.fromType(root, nClass.getClsType());
-				nClass.setParents(readArgTypesArray(in));
-				nClass.setTypeParameters(readArgTypesList(in));
-				nClass.setMethods(readClsMethods(in, clsInfo));
-			}
+	private void load(ByteBuffer buf) throws DecodeException {
+		DataReader in = new DataReader(buf, 0);
+		int headerLen = JADX_CLS_SET_HEADER.length();
+		if (buf.limit() < HEADER_SIZE || !JADX_CLS_SET_HEADER.equals(in.readString(headerLen))) {
+			throw new DecodeException("Wrong jadx class set header");
+		}
+		int version = in.readByte();
+		switch (version) {
+			case VERSION:
+				loadIndexed(buf, in);
+				break;
+			case STREAM_VERSION:
+				loadStream(in);
+				break;
+			default:
+				throw new DecodeException("Unsupported jadx class set version: " + version);
+		}
+	}
+
+	private void loadStream(DataReader in) {
+		data = null;
+		strings = null;
+		membersOffsets = null;
+		int clsCount = in.readInt();
+		classes = new ClspClass[clsCount];
+		for (int i = 0; i < clsCount; i++) {
+			String name = in.readString(in.readUnsignedByte());
+			classes[i] = new ClspClass(root.getArgTypeStorage().object(name), i);
+		}
+		for (int i = 0; i < clsCount; i++) {
+			ClspClass nClass = classes[i];
+			nClass.setParents(readArgTypesArray(in));
+			readMembers(in, nClass);
+		}
+	}
+
+	/**
+	 * Decode only class names and parents, other data will be decoded on first access
+	 */
+	private void loadIndexed(ByteBuffer buf, DataReader in) {
+		int stringsCount = in.readInt();
+		int clsCount = in.readInt();
+		data = buf;
+		strings = new String[stringsCount];
+		int namesPos = HEADER_SIZE + 4 * stringsCount;
+		int offsetsPos = namesPos + 4 * clsCount;
+		classes = new ClspClass[clsCount];
+		for (int i = 0; i < clsCount; i++) {
+			String name = getString(buf.getInt(namesPos + 4 * i));
+			classes[i] = new ClspClass(root.getArgTypeStorage().object(name), i);
+		}
+		membersOffsets = new int[clsCount];
+		for (int i = 0; i < clsCount; i++) {
+			ClspClass nClass = classes[i];
+			DataReader clsIn = new DataReader(buf, buf.getInt(offsetsPos + 4 * i));
+			nClass.setParents(readArgTypesArray(clsIn));
+			membersOffsets[i] = clsIn.getPos();
+			nClass.setLazyLoad(this::loadMembers);
+		}
+	}
+
+	private void loadMembers(ClspClass cls) {
+		try {
+			readMembers(new DataReader(data, membersOffsets[cls.getId()]), cls);
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to load class set data for class: " + cls, e);
+		}
+	}
+
+	private void readMembers(DataReader in, ClspClass cls) {
+		ClassInfo clsInfo = ClassInfo.fromType(root, cls.getClsType());
+		cls.setTypeParameters(readArgTypesList(in));
+		cls.setMethods(readClsMethods(in, clsInfo));
+	}
+
+	private String getString(int idx) {
+		String str = strings[idx];
+		if (str == null) {
+			DataReader in = new DataReader(data, data.getInt(HEADER_SIZE + 4 * idx));
+			str = in.readString(in.readUnsignedByte());
+			strings[idx] = str;
 		}
+		return str;
 	}
 
-	private List<ClspMethod> readClsMethods(DataInputStream in, ClassInfo clsInfo) throws IOException {
+	private String readStringRef(DataReader in) {
+		if (strings == null) {
+			return in.readString(in.readUnsignedByte());
+		}
+		return getString(in.readInt());
+	}
+
+	private List<ClspMethod> readClsMethods(DataReader in, ClassInfo clsInfo) {
 		int mCount = in.readShort();
 		List<ClspMethod> methods = new ArrayList<>(mCount);
 		for (int j = 0; j < mCount; j++) {
@@ -365,8 +522,8 @@ public class ClsSet {
 		return methods;
 	}
 
-	private ClspMethod readMethod(DataInputStream in, ClassInfo clsInfo) throws IOException {
-		String name = readString(in);
+	private ClspMethod readMethod(DataReader in, ClassInfo clsInfo) {
+		String name = readStringRef(in);
 		List<ArgType> argTypes = readArgTypesList(in);
 		ArgType retType = readArgType(in);
 		List<ArgType> genericArgTypes = readArgTypesList(in);
@@ -386,7 +543,7 @@ public class ClsSet {
 				typeParameters, throwList, accFlags);
 	}
 
-	private List<ArgType> readArgTypesList(DataInputStream in) throws IOException {
+	private List<ArgType> readArgTypesList(DataReader in) {
 		int count = in.readByte();
 		if (count == 0) {
 			return Collections.emptyList();
@@ -399,7 +556,7 @@ public class ClsSet {
 	}
 
 	@Nullable
-	private ArgType[] readArgTypesArray(DataInputStream in) throws IOException {
+	private ArgType[] readArgTypesArray(DataReader in) {
 		int count = in.readByte();
 		if (count == -1) {
 			return null;
@@ -414,7 +571,7 @@ public class ClsSet {
 		return arr;
 	}
 
-	private ArgType readArgType(DataInputStream in) throws IOException {
+	private ArgType readArgType(DataReader in) {
 		int ordinal = in.readByte();
 		if (ordinal == -1) {
 			return null;
@@ -429,19 +586,19 @@ public class ClsSet {
 					return ArgType.WILDCARD;
 				}
 				ArgType objType = readArgType(in);
-				return ArgType.wildcard(objType, bound);
+				return intern(ArgType.wildcard(objType, bound));
 
 			case OUTER_GENERIC:
 				ArgType outerType = readArgType(in);
 				ArgType innerType = readArgType(in);
-				return ArgType.outerGeneric(outerType, innerType);
+				return intern(ArgType.outerGeneric(outerType, innerType));
 
 			case GENERIC:
 				ArgType clsType = classes[in.readInt()].getClsType();
-				return ArgType.generic(clsType, readArgTypesList(in));
+				return intern(ArgType.generic(clsType, readArgTypesList(in)));
 
 			case GENERIC_TYPE_VARIABLE:
-				String typeVar = readString(in);
+				String typeVar = readStringRef(in);
 				List<ArgType> extendTypes = readArgTypesList(in);
 				return ArgType.genericType(typeVar, extendTypes);
 
@@ -449,7 +606,7 @@ public class ClsSet {
 				return classes[in.readInt()].getClsType();
 
 			case ARRAY:
-				return ArgType.array(readArgType(in));
+				return intern(ArgType.array(readArgType(in)));
 
 			case PRIMITIVE:
 				char shortName = (char) in.readByte();
@@ -460,6 +617,10 @@ public class ClsSet {
 		}
 	}
 
+	private ArgType intern(ArgType type) {
+		return root.getArgTypeStorage().intern(type);
+	}
+
 	private static void writeString(DataOutputStream out, String name) throws IOException {
 		byte[] bytes = name.getBytes(STRING_CHARSET);
 		int len = bytes.length;
@@ -470,25 +631,6 @@ public class ClsSet {
 		out.write(bytes);
 	}
 
-	private static String readString(DataInputStream in) throws IOException {
-		int len = readUnsignedByte(in);
-		return readString(in, len);
-	}
-
-	private static String readString(DataInputStream in, int len) throws IOException {
-		byte[] bytes = new byte[len];
-		int count = in.read(bytes);
-		while (count != len) {
-			int res = in.read(bytes, count, len - count);
-			if (res == -1) {
-				throw new IOException("String read error");
-			} else {
-				count += res;
-			}
-		}
-		return new String(bytes, STRING_CHARSET);
-	}
-
 	private static void writeUnsignedByte(DataOutputStream out, int value) throws IOException {
 		if (value < 0 || value >= 0xFF) {
 			throw new JadxRuntimeException("Unsigned byte value is too big: " + value);
@@ -496,10 +638,6 @@ public class ClsSet {
 		out.writeByte(value);
 	}
 
-	private static int readUnsignedByte(DataInputStream in) throws IOException {
-		return ((int) in.readByte()) & 0xFF;
-	}
-
 	public int getClassesCount() {
 		return classes.length;
 	}
@@ -509,4 +647,50 @@ public class ClsSet {
 			nameMap.put(cls.getName(), cls);
 		}
 	}
+
+	/**
+	 * Read data by absolute positions, so one buffer can be used concurrently
+	 */
+	private static final class DataReader {
+		private final ByteBuffer buf;
+		private int pos;
+
+		private DataReader(ByteBuffer buf, int pos) {
+			this.buf = buf;
+			this.pos = pos;
+		}
+
+		public int getPos() {
+			return pos;
+		}
+
+		public byte readByte() {
+			return buf.get(pos++);
+		}
+
+		public int readUnsignedByte() {
+			return readByte() & 0xFF;
+		}
+
+		public short readShort() {
+			short value = buf.getShort(pos);
+			pos += 2;
+			return value;
+		}
+
+		public int readInt() {
+			int value = buf.getInt(pos);
+			pos += 4;
+			return value;
+		}
+
+		public String readString(int len) {
+			byte[] bytes = new byte[len];
+			for (int i = 0; i < len; i++) {
+				bytes[i] = buf.get(pos + i);
+			}
+			pos += len;
+			return new String(bytes, STRING_CHARSET);
+		}
+	}
 }
@@ -6,6 +6,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
 
 import jadx.core.dex.instructions.args.ArgType;
 
@@ -20,6 +23,12 @@ public class ClspClass {
 	private Map<String, ClspMethod> methodsMap = Collections.emptyMap();
 	private List<ArgType> typeParameters = Collections.emptyList();
 
+	/**
+	 * Load methods and type parameters on first access
+	 */
+	@Nullable
+	private volatile Consumer<ClspClass> lazyLoad;
+
 	public ClspClass(ArgType clsType, int id) {
 		this.clsType = clsType;
 		this.id = id;
@@ -46,10 +55,12 @@ public class ClspClass {
 	}
 
 	public Map<String, ClspMethod> getMethodsMap() {
+		ensureLoaded();
 		return methodsMap;
 	}
 
 	public List<ClspMethod> getSortedMethodsList() {
+		ensureLoaded();
 		List<ClspMethod> list = new ArrayList<>(methodsMap.size());
 		list.addAll(methodsMap.values());
 		Collections.sort(list);
@@ -69,6 +80,7 @@ public class ClspClass {
 	}
 
 	public List<ArgType> getTypeParameters() {
+		ensureLoaded();
 		return typeParameters;
 	}
 
@@ -76,6 +88,22 @@ public class ClspClass {
 		this.typeParameters = typeParameters;
 	}
 
+	public void setLazyLoad(@Nullable Consumer<ClspClass> lazyLoad) {
+		this.lazyLoad = lazyLoad;
+	}
+
+	private void ensureLoaded() {
+		if (lazyLoad != null) {
+			synchronized (this) {
+				Consumer<ClspClass> load = lazyLoad;
+				if (load != null) {
+					load.accept(this);
+					lazyLoad = null;
+				}
+			}
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		return clsType.hashCode();
@@ -5,10 +5,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,49 +33,113 @@ public class ClspGraph {
 
 	private final RootNode root;
 	private final Map<String, Set<String>> superTypesCache = Collections.synchronizedMap(new WeakHashMap<>());
-	private Map<String, ClspClass> nameMap;
+	/**
+	 * Classpath (platform) classes, can be shared between graphs, not changed after load
+	 */
+	private Map<String, ClspClass> baseClasses;
+	private ClspHierarchy baseHierarchy;
+	/**
+	 * Base classes loaded only for this graph (not shared), so app classes can be added directly into base map.
+	 * This way hierarchy built from one map and classes order is same as without shared classpath.
+	 */
+	private boolean ownBase;
+	/**
+	 * App classes for shared base, override classpath classes with same names
+	 */
+	private final Map<String, ClspClass> appClasses = new LinkedHashMap<>();
+	private ClspHierarchy hierarchy;
 
-	private final Set<String> missingClasses = new HashSet<>();
+	private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
 
 	public ClspGraph(RootNode rootNode) {
 		this.root = rootNode;
 	}
 
 	public void load() throws IOException, DecodeException {
+		PlatformClasspath platformClasspath = root.getArgs().getPlatformClasspath();
+		if (platformClasspath != null) {
+			addClasspath(platformClasspath);
+			return;
+		}
 		ClsSet set = new ClsSet(root);
 		set.loadFromClstFile();
 		addClasspath(set);
 	}
 
 	public void addClasspath(ClsSet set) {
-		if (nameMap == null) {
-			nameMap = new HashMap<>(set.getClassesCount());
-			set.addToMap(nameMap);
-		} else {
+		Map<String, ClspClass> nameMap = new HashMap<>(set.getClassesCount());
+		set.addToMap(nameMap);
+		setBase(nameMap, ClspHierarchy.build(nameMap));
+		ownBase = true;
+	}
+
+	/**
+	 * Use shared platform classes and hierarchy, app classes added later will be stored only in this graph
+	 */
+	public void addClasspath(PlatformClasspath platformClasspath) {
+		setBase(platformClasspath.getClasses(), platformClasspath.getHierarchy());
+	}
+
+	private void setBase(Map<String, ClspClass> classes, ClspHierarchy classesHierarchy) {
+		if (baseClasses != null) {
 			throw new JadxRuntimeException("Classpath already loaded");
 		}
+		baseClasses = classes;
+		baseHierarchy = classesHierarchy;
+		hierarchy = classesHierarchy;
 	}
 
 	public void addApp(List<ClassNode> classes) {
-		if (nameMap == null) {
+		if (baseClasses == null) {
 			throw new JadxRuntimeException("Classpath must be loaded first");
 		}
+		Map<String, ClspClass> classesMap = ownBase ? baseClasses : appClasses;
 		for (ClassNode cls : classes) {
-			addClass(cls);
+			addClass(classesMap, cls);
+		}
+		hierarchy = ownBase ? ClspHierarchy.build(baseClasses) : buildHierarchy();
+	}
+
+	/**
+	 * Put app classes layer over base hierarchy,
+	 * rebuild full hierarchy only if some base classes overridden by app classes
+	 */
+	private ClspHierarchy buildHierarchy() {
+		boolean override = false;
+		for (String appCls : appClasses.keySet()) {
+			if (baseClasses.containsKey(appCls)) {
+				override = true;
+				break;
+			}
+		}
+		if (!override) {
+			return ClspHierarchy.build(baseHierarchy, appClasses);
+		}
+		Map<String, ClspClass> allClasses = new LinkedHashMap<>(baseClasses);
+		allClasses.putAll(appClasses);
+		return ClspHierarchy.build(allClasses);
+	}
+
+	@Nullable
+	private ClspClass getCls(String fullName) {
+		ClspClass appCls = appClasses.get(fullName);
+		if (appCls != null) {
+			return appCls;
 		}
+		return baseClasses.get(fullName);
 	}
 
 	public boolean isClsKnown(String fullName) {
-		return nameMap.containsKey(fullName);
+		return getCls(fullName) != null;
 	}
 
 	public ClspClass getClsDetails(ArgType type) {
-		return nameMap.get(type.getObject());
+		return getCls(type.getObject());
 	}
 
 	@Nullable
 	public IMethodDetails getMethodDetails(MethodInfo methodInfo) {
-		ClspClass cls = nameMap.get(methodInfo.getDeclClass().getRawName());
+		ClspClass cls = getCls(methodInfo.getDeclClass().getRawName());
 		if (cls == null) {
 			return null;
 		}
@@ -99,63 +165,53 @@ public class ClspGraph {
 		return cls.getMethodsMap().get(methodInfo.getShortId());
 	}
 
-	private void addClass(ClassNode cls) {
+	private static void addClass(Map<String, ClspClass> classesMap, ClassNode cls) {
 		ArgType clsType = cls.getClassInfo().getType();
 		String rawName = clsType.getObject();
 		ClspClass clspClass = new ClspClass(clsType, -1);
 		clspClass.setParents(ClsSet.makeParentsArray(cls));
-		nameMap.put(rawName, clspClass);
+		classesMap.put(rawName, clspClass);
 	}
 
 	/**
 	 * @return {@code clsName} instanceof {@code implClsName}
 	 */
 	public boolean isImplements(String clsName, String implClsName) {
-		Set<String> anc = getSuperTypes(clsName);
-		return anc.contains(implClsName);
+		int clsId = hierarchy.getId(clsName);
+		if (clsId == -1) {
+			missingClasses.add(clsName);
+			return false;
+		}
+		int implId = hierarchy.getId(implClsName);
+		return implId != -1 && hierarchy.isAncestor(clsId, implId);
 	}
 
 	public List<String> getImplementations(String clsName) {
-		List<String> list = new ArrayList<>();
-		for (String cls : nameMap.keySet()) {
-			if (isImplements(cls, clsName)) {
-				list.add(cls);
-			}
+		int id = hierarchy.getId(clsName);
+		if (id == -1) {
+			return Collections.emptyList();
 		}
-		return list;
+		return hierarchy.getDescendants(id);
 	}
 
 	public String getCommonAncestor(String clsName, String implClsName) {
 		if (clsName.equals(implClsName)) {
 			return clsName;
 		}
-		ClspClass cls = nameMap.get(implClsName);
-		if (cls == null) {
+		int implId = hierarchy.getId(implClsName);
+		if (implId == -1) {
 			missingClasses.add(clsName);
 			return null;
 		}
-		if (isImplements(clsName, implClsName)) {
-			return implClsName;
+		int clsId = hierarchy.getId(clsName);
+		if (clsId == -1) {
+			missingClasses.add(clsName);
+			return null;
 		}
-		Set<String> anc = getSuperTypes(clsName);
-		return searchCommonParent(anc, cls);
-	}
-
-	private String searchCommonParent(Set<String> anc, ClspClass cls) {
-		for (ArgType p : cls.getParents()) {
-			String name = p.getObject();
-			if (anc.contains(name)) {
-				return name;
-			}
-			ClspClass nCls = getClspClass(p);
-			if (nCls != null) {
-				String r = searchCommonParent(anc, nCls);
-				if (r != null) {
-					return r;
-				}
-			}
+		if (hierarchy.isAncestor(clsId, implId)) {
+			return implClsName;
 		}
-		return null;
+		return hierarchy.searchCommonParent(clsId, implId);
 	}
 
 	public Set<String> getSuperTypes(String clsName) {
@@ -163,7 +219,7 @@ public class ClspGraph {
 		if (fromCache != null) {
 			return fromCache;
 		}
-		ClspClass cls = nameMap.get(clsName);
+		ClspClass cls = getCls(clsName);
 		if (cls == null) {
 			missingClasses.add(clsName);
 			return Collections.emptySet();
@@ -201,7 +257,7 @@ public class ClspGraph {
 
 	@Nullable
 	private ClspClass getClspClass(ArgType clsType) {
-		ClspClass clspClass = nameMap.get(clsType.getObject());
+		ClspClass clspClass = getCls(clsType.getObject());
 		if (clspClass == null) {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("External class not found: {}", clsType.getObject());
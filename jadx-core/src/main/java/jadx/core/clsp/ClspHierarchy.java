@@ -0,0 +1,302 @@
+package jadx.core.clsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+/**
+ * Immutable snapshot of classpath classes hierarchy.
+ * <br>
+ * Classes got dense int ids (in class map iteration order),
+ * for every class stored sorted ids of all ancestors and ids of direct subclasses,
+ * so subtype checks done by binary search and subtypes collected without full classes scan.
+ * <br>
+ * Can be built as layer over base hierarchy (app classes over shared platform classes):
+ * layer ids continue base ids, base not changed and only children of base classes extended by layer classes.
+ */
+final class ClspHierarchy {
+	private static final int[] EMPTY = new int[0];
+
+	@Nullable
+	private final ClspHierarchy base;
+	/**
+	 * First id of this layer (count of classes in base)
+	 */
+	private final int offset;
+	private final String[] names;
+	private final Map<String, Integer> ids;
+	/**
+	 * Known parents in declaration order
+	 */
+	private final int[][] parents;
+	/**
+	 * All known ancestors, sorted
+	 */
+	private final int[][] ancestors;
+	/**
+	 * Direct subclasses and implementations
+	 */
+	private final int[][] children;
+	/**
+	 * Direct children of base classes extended with this layer classes
+	 */
+	private final Map<Integer, int[]> baseChildren;
+
+	private ClspHierarchy(@Nullable ClspHierarchy base, String[] names, Map<String, Integer> ids,
+			int[][] parents, int[][] ancestors, int[][] children, Map<Integer, int[]> baseChildren) {
+		this.base = base;
+		this.offset = base == null ? 0 : base.size();
+		this.names = names;
+		this.ids = ids;
+		this.parents = parents;
+		this.ancestors = ancestors;
+		this.children = children;
+		this.baseChildren = baseChildren;
+	}
+
+	static ClspHierarchy build(Map<String, ClspClass> nameMap) {
+		return build(null, nameMap);
+	}
+
+	/**
+	 * Build layer over {@code base} hierarchy, classes from {@code nameMap} must not be present in base
+	 */
+	static ClspHierarchy build(@Nullable ClspHierarchy base, Map<String, ClspClass> nameMap) {
+		int offset = base == null ? 0 : base.size();
+		int count = nameMap.size();
+		String[] names = new String[count];
+		ClspClass[] classes = new ClspClass[count];
+		Map<String, Integer> ids = new HashMap<>(count * 4 / 3 + 1);
+		int n = 0;
+		for (Map.Entry<String, ClspClass> entry : nameMap.entrySet()) {
+			names[n] = entry.getKey();
+			classes[n] = entry.getValue();
+			ids.put(entry.getKey(), offset + n);
+			n++;
+		}
+		int[][] parents = new int[count][];
+		int[] childrenCount = new int[count];
+		Map<Integer, List<Integer>> baseChildrenLists = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			int[] clsParents = resolveParents(base, ids, classes[i].getParents());
+			for (int parent : clsParents) {
+				if (parent >= offset) {
+					childrenCount[parent - offset]++;
+				} else {
+					baseChildrenLists.computeIfAbsent(parent, p -> new ArrayList<>()).add(offset + i);
+				}
+			}
+			parents[i] = clsParents;
+		}
+		int[][] children = new int[count][];
+		for (int i = 0; i < count; i++) {
+			children[i] = childrenCount[i] == 0 ? EMPTY : new int[childrenCount[i]];
+			childrenCount[i] = 0;
+		}
+		for (int i = 0; i < count; i++) {
+			for (int parent : parents[i]) {
+				if (parent >= offset) {
+					int p = parent - offset;
+					children[p][childrenCount[p]++] = offset + i;
+				}
+			}
+		}
+		Map<Integer, int[]> baseChildren;
+		if (baseChildrenLists.isEmpty()) {
+			baseChildren = Collections.emptyMap();
+		} else {
+			baseChildren = new HashMap<>(baseChildrenLists.size() * 4 / 3 + 1);
+			for (Map.Entry<Integer, List<Integer>> entry : baseChildrenLists.entrySet()) {
+				int[] prevChildren = base.getChildren(entry.getKey());
+				List<Integer> added = entry.getValue();
+				int[] arr = Arrays.copyOf(prevChildren, prevChildren.length + added.size());
+				for (int i = 0; i < added.size(); i++) {
+					arr[prevChildren.length + i] = added.get(i);
+				}
+				baseChildren.put(entry.getKey(), arr);
+			}
+		}
+		return new ClspHierarchy(base, names, ids, parents, collectAncestors(base, offset, parents), children, baseChildren);
+	}
+
+	private static int[] resolveParents(@Nullable ClspHierarchy base, Map<String, Integer> ids, ArgType[] parentTypes) {
+		if (parentTypes == null || parentTypes.length == 0) {
+			return EMPTY;
+		}
+		int[] result = new int[parentTypes.length];
+		int k = 0;
+		for (ArgType parentType : parentTypes) {
+			if (parentType != null) {
+				String parentName = parentType.getObject();
+				Integer parentId = ids.get(parentName);
+				if (parentId != null) {
+					result[k++] = parentId;
+				} else if (base != null) {
+					int baseId = base.getId(parentName);
+					if (baseId != -1) {
+						result[k++] = baseId;
+					}
+				}
+			}
+		}
+		return k == result.length ? result : Arrays.copyOf(result, k);
+	}
+
+	/**
+	 * Walk only over classes from this layer, for reached base class add all its (already collected) ancestors
+	 */
+	private static int[][] collectAncestors(@Nullable ClspHierarchy base, int offset, int[][] parents) {
+		int count = parents.length;
+		int[][] ancestors = new int[count][];
+		// visit marks, store 'class id + 1' to avoid clearing between classes
+		int[] marks = new int[count];
+		int[] stack = new int[16];
+		int[] buf = new int[16];
+		for (int i = 0; i < count; i++) {
+			int mark = i + 1;
+			int size = 0;
+			int top = 0;
+			boolean baseAdded = false;
+			for (int parent : parents[i]) {
+				stack = push(stack, top++, parent);
+			}
+			while (top > 0) {
+				int cur = stack[--top];
+				if (cur < offset) {
+					buf = push(buf, size++, cur);
+					for (int baseAncestor : base.getAncestors(cur)) {
+						buf = push(buf, size++, baseAncestor);
+					}
+					baseAdded = true;
+					continue;
+				}
+				int local = cur - offset;
+				if (marks[local] == mark) {
+					continue;
+				}
+				marks[local] = mark;
+				buf = push(buf, size++, cur);
+				for (int parent : parents[local]) {
+					if (parent < offset || marks[parent - offset] != mark) {
+						stack = push(stack, top++, parent);
+					}
+				}
+			}
+			if (size == 0) {
+				ancestors[i] = EMPTY;
+			} else {
+				int[] arr = Arrays.copyOf(buf, size);
+				Arrays.sort(arr);
+				ancestors[i] = baseAdded ? removeDuplicates(arr) : arr;
+			}
+		}
+		return ancestors;
+	}
+
+	private static int[] removeDuplicates(int[] sorted) {
+		int k = 1;
+		for (int i = 1; i < sorted.length; i++) {
+			if (sorted[i] != sorted[k - 1]) {
+				sorted[k++] = sorted[i];
+			}
+		}
+		return k == sorted.length ? sorted : Arrays.copyOf(sorted, k);
+	}
+
+	private static int[] push(int[] arr, int pos, int value) {
+		int[] result = pos < arr.length ? arr : Arrays.copyOf(arr, arr.length * 2);
+		result[pos] = value;
+		return result;
+	}
+
+	int size() {
+		return offset + names.length;
+	}
+
+	/**
+	 * @return class id or -1 if class not known
+	 */
+	int getId(String clsName) {
+		Integer id = ids.get(clsName);
+		if (id != null) {
+			return id;
+		}
+		return base == null ? -1 : base.getId(clsName);
+	}
+
+	private String getName(int id) {
+		return id < offset ? base.getName(id) : names[id - offset];
+	}
+
+	private int[] getParents(int id) {
+		return id < offset ? base.getParents(id) : parents[id - offset];
+	}
+
+	private int[] getAncestors(int id) {
+		return id < offset ? base.getAncestors(id) : ancestors[id - offset];
+	}
+
+	private int[] getChildren(int id) {
+		if (id >= offset) {
+			return children[id - offset];
+		}
+		int[] extended = baseChildren.get(id);
+		return extended != null ? extended : base.getChildren(id);
+	}
+
+	boolean isAncestor(int clsId, int ancestorId) {
+		return Arrays.binarySearch(getAncestors(clsId), ancestorId) >= 0;
+	}
+
+	/**
+	 * Collect all subclasses and implementations ordered by id
+	 */
+	List<String> getDescendants(int id) {
+		if (getChildren(id).length == 0) {
+			return Collections.emptyList();
+		}
+		BitSet found = new BitSet(size());
+		int[] stack = new int[16];
+		int top = 0;
+		stack = push(stack, top++, id);
+		while (top > 0) {
+			int cur = stack[--top];
+			for (int child : getChildren(cur)) {
+				if (!found.get(child)) {
+					found.set(child);
+					stack = push(stack, top++, child);
+				}
+			}
+		}
+		List<String> list = new ArrayList<>(found.cardinality());
+		for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+			list.add(getName(i));
+		}
+		return list;
+	}
+
+	/**
+	 * Search first ancestor of class {@code id} (in depth-first order) which is also ancestor of class {@code otherId}
+	 */
+	@Nullable
+	String searchCommonParent(int otherId, int id) {
+		for (int parent : getParents(id)) {
+			if (isAncestor(otherId, parent)) {
+				return getName(parent);
+			}
+			String r = searchCommonParent(otherId, parent);
+			if (r != null) {
+				return r;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,82 @@
+package jadx.core.clsp;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Bundled platform classes set, loaded once and shared between several decompiler instances
+ * (set with {@link JadxArgs#setPlatformClasspath(PlatformClasspath)}).
+ * <br>
+ * Not changed after load, classes members decoded on first access with synchronization,
+ * so can be used from several threads.
+ * Classes hierarchy also built once at load.
+ * App classes are not added here: each {@link ClspGraph} put them into own classes map
+ * and hierarchy layer over platform classes.
+ */
+public final class PlatformClasspath {
+	private static final Logger LOG = LoggerFactory.getLogger(PlatformClasspath.class);
+
+	private static volatile PlatformClasspath defaultInstance;
+
+	private final Map<String, ClspClass> classes;
+	private final ClspHierarchy hierarchy;
+
+	private PlatformClasspath(ClsSet clsSet) {
+		Map<String, ClspClass> nameMap = new HashMap<>(clsSet.getClassesCount());
+		clsSet.addToMap(nameMap);
+		this.classes = Collections.unmodifiableMap(nameMap);
+		this.hierarchy = ClspHierarchy.build(nameMap);
+	}
+
+	/**
+	 * Load new instance of bundled classes set
+	 */
+	public static PlatformClasspath load() {
+		try {
+			// separate root node: only used to store types and infos for platform classes
+			ClsSet set = new ClsSet(new RootNode(new JadxArgs()));
+			set.loadFromClstFile();
+			return new PlatformClasspath(set);
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Error loading jadx class set", e);
+		}
+	}
+
+	/**
+	 * Instance loaded on first call and reused for whole JVM lifetime
+	 */
+	public static PlatformClasspath getDefault() {
+		PlatformClasspath instance = defaultInstance;
+		if (instance == null) {
+			synchronized (PlatformClasspath.class) {
+				instance = defaultInstance;
+				if (instance == null) {
+					instance = load();
+					defaultInstance = instance;
+					LOG.debug("Shared platform classpath loaded, classes: {}", instance.getClassesCount());
+				}
+			}
+		}
+		return instance;
+	}
+
+	public int getClassesCount() {
+		return classes.size();
+	}
+
+	Map<String, ClspClass> getClasses() {
+		return classes;
+	}
+
+	ClspHierarchy getHierarchy() {
+		return hierarchy;
+	}
+}
@@ -0,0 +1,339 @@
+package jadx.core.codecache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jadx.api.data.ICodeComment;
+import jadx.api.data.ICodeData;
+import jadx.api.plugins.input.data.ICallSite;
+import jadx.api.plugins.input.data.ICatch;
+import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IDebugInfo;
+import jadx.api.plugins.input.data.IFieldData;
+import jadx.api.plugins.input.data.ILocalVar;
+import jadx.api.plugins.input.data.IMethodData;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.api.plugins.input.data.ITry;
+import jadx.api.plugins.input.data.annotations.EncodedValue;
+import jadx.api.plugins.input.data.annotations.IAnnotation;
+import jadx.api.plugins.input.insns.InsnData;
+import jadx.api.plugins.input.insns.Opcode;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Compute class fingerprint used to check if cached code is still valid.
+ * <br>
+ * Fingerprint split into two parts:
+ * <ul>
+ * <li>data hash: class data from input (all instructions with resolved references, debug info, annotations)</li>
+ * <li>names hash: current names (aliases) of class and its members and user comments</li>
+ * </ul>
+ * Both parts also include same info for all classes used in this class (dependencies).
+ * Input data hash is stable and cached, names hash is cheap and calculated on every request.
+ */
+final class ClassFingerprint {
+
+	private final RootNode root;
+	private final Map<ClassNode, String> dataHashCache = new ConcurrentHashMap<>();
+
+	ClassFingerprint(RootNode root) {
+		this.root = root;
+	}
+
+	public String getDataHash(ClassNode cls) {
+		HashBuilder hash = new HashBuilder();
+		for (ClassNode c : withDeps(cls)) {
+			hash.add(dataHashCache.computeIfAbsent(c, ClassFingerprint::calcDataHash));
+		}
+		return hash.build();
+	}
+
+	public String getNamesHash(ClassNode cls) {
+		HashBuilder hash = new HashBuilder();
+		for (ClassNode c : withDeps(cls)) {
+			addNames(hash, c);
+			addComments(hash, c);
+		}
+		return hash.build();
+	}
+
+	private static List<ClassNode> withDeps(ClassNode cls) {
+		List<ClassNode> deps = new ArrayList<>(cls.getDependencies());
+		deps.sort(ClassNode::compareTo);
+		List<ClassNode> list = new ArrayList<>(deps.size() + 1);
+		list.add(cls);
+		list.addAll(deps);
+		return list;
+	}
+
+	private static void addNames(HashBuilder hash, ClassNode cls) {
+		hash.add(cls.getClassInfo().getAliasFullName());
+		for (FieldNode fld : cls.getFields()) {
+			hash.add(fld.getAlias());
+		}
+		for (MethodNode mth : cls.getMethods()) {
+			hash.add(mth.getAlias());
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			addNames(hash, innerCls);
+		}
+	}
+
+	private void addComments(HashBuilder hash, ClassNode cls) {
+		ICodeData codeData = root.getArgs().getCodeData();
+		if (codeData == null) {
+			return;
+		}
+		String clsFullName = cls.getClassInfo().getFullName();
+		String innerPrefix = clsFullName + '.';
+		for (ICodeComment comment : codeData.getComments()) {
+			String declCls = comment.getNodeRef().getDeclaringClass();
+			if (declCls.equals(clsFullName) || declCls.startsWith(innerPrefix)) {
+				hash.add(comment.toString());
+			}
+		}
+	}
+
+	private static String calcDataHash(ClassNode cls) {
+		HashBuilder hash = new HashBuilder();
+		addClassData(hash, cls);
+		return hash.build();
+	}
+
+	private static void addClassData(HashBuilder hash, ClassNode cls) {
+		IClassData clsData = cls.getClsData();
+		if (clsData == null) {
+			hash.add(cls.getRawName());
+		} else {
+			// use copy to not interfere with class loading in other threads
+			addClassData(hash, clsData.copy());
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			addClassData(hash, innerCls);
+		}
+	}
+
+	private static void addClassData(HashBuilder hash, IClassData cls) {
+		hash.add(cls.getType());
+		hash.add(cls.getAccessFlags());
+		hash.add(cls.getSuperType());
+		for (String intf : cls.getInterfacesTypes()) {
+			hash.add(intf);
+		}
+		hash.add(cls.getSourceFile());
+		addAnnotations(hash, cls.getAnnotations());
+		for (EncodedValue value : cls.getStaticFieldInitValues()) {
+			addEncodedValue(hash, value);
+		}
+		cls.visitFieldsAndMethods(
+				fld -> addField(hash, fld),
+				mth -> addMethod(hash, mth));
+	}
+
+	private static void addField(HashBuilder hash, IFieldData fld) {
+		hash.add(fld.getName());
+		hash.add(fld.getType());
+		hash.add(fld.getAccessFlags());
+		addAnnotations(hash, fld.getAnnotations());
+	}
+
+	private static void addMethod(HashBuilder hash, IMethodData mth) {
+		addMethodRef(hash, mth.getMethodRef());
+		hash.add(mth.getAccessFlags());
+		addAnnotations(hash, mth.getAnnotations());
+		for (List<IAnnotation> paramAnnotations : mth.getParamsAnnotations()) {
+			addAnnotations(hash, paramAnnotations);
+		}
+		ICodeReader codeReader = mth.getCodeReader();
+		if (codeReader != null) {
+			addCode(hash, codeReader);
+		}
+	}
+
+	private static void addCode(HashBuilder hash, ICodeReader codeReader) {
+		hash.add(codeReader.getRegistersCount());
+		hash.add(codeReader.getInsnsCount());
+		codeReader.visitInstructions(insn -> {
+			insn.decode();
+			hash.add(insn.getOffset());
+			hash.add(insn.getByteCode());
+			addInsnRef(hash, insn);
+		});
+		for (ITry tryData : codeReader.getTries()) {
+			hash.add(tryData.getStartAddress());
+			hash.add(tryData.getInstructionCount());
+			ICatch catchData = tryData.getCatch();
+			for (String type : catchData.getTypes()) {
+				hash.add(type);
+			}
+			for (int addr : catchData.getAddresses()) {
+				hash.add(addr);
+			}
+			hash.add(catchData.getCatchAllAddress());
+		}
+		IDebugInfo debugInfo = codeReader.getDebugInfo();
+		if (debugInfo != null) {
+			for (Map.Entry<Integer, Integer> entry : new TreeMap<>(debugInfo.getSourceLineMapping()).entrySet()) {
+				hash.add(entry.getKey());
+				hash.add(entry.getValue());
+			}
+			for (ILocalVar localVar : debugInfo.getLocalVars()) {
+				hash.add(localVar.getName());
+				hash.add(localVar.getType());
+				hash.add(localVar.getSignature());
+				hash.add(localVar.getRegNum());
+				hash.add(localVar.getStartOffset());
+				hash.add(localVar.getEndOffset());
+			}
+		}
+	}
+
+	/**
+	 * Raw bytecode contains only indexes, so add referenced data to detect changes in constant pools
+	 */
+	private static void addInsnRef(HashBuilder hash, InsnData insn) {
+		Opcode opcode = insn.getOpcode();
+		if (opcode == Opcode.INVOKE_CUSTOM || opcode == Opcode.INVOKE_CUSTOM_RANGE) {
+			ICallSite callSite = insn.getIndexAsCallSite();
+			callSite.load();
+			for (EncodedValue value : callSite.getValues()) {
+				addEncodedValue(hash, value);
+			}
+			return;
+		}
+		switch (insn.getIndexType()) {
+			case STRING_REF:
+				hash.add(insn.getIndexAsString());
+				break;
+			case TYPE_REF:
+				hash.add(insn.getIndexAsType());
+				break;
+			case FIELD_REF:
+				IFieldData fld = insn.getIndexAsField();
+				hash.add(fld.getParentClassType());
+				hash.add(fld.getName());
+				hash.add(fld.getType());
+				break;
+			case METHOD_REF:
+				addMethodRef(hash, insn.getIndexAsMethod());
+				break;
+			default:
+				break;
+		}
+	}
+
+	private static void addMethodRef(HashBuilder hash, IMethodRef mthRef) {
+		mthRef.load();
+		hash.add(mthRef.getParentClassType());
+		hash.add(mthRef.getName());
+		hash.add(mthRef.getReturnType());
+		for (String argType : mthRef.getArgTypes()) {
+			hash.add(argType);
+		}
+	}
+
+	private static void addAnnotations(HashBuilder hash, List<IAnnotation> annotations) {
+		hash.add(annotations.size());
+		for (IAnnotation annotation : annotations) {
+			addAnnotation(hash, annotation);
+		}
+	}
+
+	private static void addAnnotation(HashBuilder hash, IAnnotation annotation) {
+		hash.add(annotation.getAnnotationClass());
+		hash.add(String.valueOf(annotation.getVisibility()));
+		for (Map.Entry<String, EncodedValue> entry : new TreeMap<>(annotation.getValues()).entrySet()) {
+			hash.add(entry.getKey());
+			addEncodedValue(hash, entry.getValue());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void addEncodedValue(HashBuilder hash, EncodedValue value) {
+		hash.add(value.getType().ordinal());
+		Object obj = value.getValue();
+		if (obj instanceof List) {
+			for (EncodedValue element : (List<EncodedValue>) obj) {
+				addEncodedValue(hash, element);
+			}
+		} else if (obj instanceof IAnnotation) {
+			addAnnotation(hash, (IAnnotation) obj);
+		} else if (obj instanceof IFieldData) {
+			IFieldData fld = (IFieldData) obj;
+			hash.add(fld.getParentClassType());
+			hash.add(fld.getName());
+			hash.add(fld.getType());
+		} else if (obj instanceof IMethodRef) {
+			addMethodRef(hash, (IMethodRef) obj);
+		} else {
+			hash.add(String.valueOf(obj));
+		}
+	}
+
+	static final class HashBuilder {
+		private final MessageDigest md;
+
+		HashBuilder() {
+			try {
+				this.md = MessageDigest.getInstance("SHA-256");
+			} catch (NoSuchAlgorithmException e) {
+				throw new JadxRuntimeException("SHA-256 digest not available", e);
+			}
+		}
+
+		HashBuilder add(String str) {
+			if (str == null) {
+				add(-1);
+			} else {
+				byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+				add(bytes.length);
+				md.update(bytes);
+			}
+			return this;
+		}
+
+		HashBuilder add(byte[] bytes) {
+			return add(bytes, bytes.length);
+		}
+
+		HashBuilder add(byte[] bytes, int len) {
+			add(len);
+			md.update(bytes, 0, len);
+			return this;
+		}
+
+		HashBuilder add(long value) {
+			add((int) (value >>> 32));
+			return add((int) value);
+		}
+
+		HashBuilder add(int value) {
+			md.update((byte) (value >>> 24));
+			md.update((byte) (value >>> 16));
+			md.update((byte) (value >>> 8));
+			md.update((byte) value);
+			return this;
+		}
+
+		String build() {
+			byte[] digest = md.digest();
+			StringBuilder sb = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+				sb.append(Character.forDigit(b & 0xF, 16));
+			}
+			return sb.toString();
+		}
+	}
+}
@@ -0,0 +1,370 @@
+package jadx.core.codecache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.CodePosition;
+import jadx.api.ICodeInfo;
+import jadx.api.data.ICodeComment;
+import jadx.api.data.annotations.CustomOffsetRef;
+import jadx.api.data.annotations.InsnCodeOffset;
+import jadx.api.impl.AnnotatedCodeInfo;
+import jadx.core.codegen.TypeGen;
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.attributes.nodes.LineAttrNode;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.dex.nodes.VariableNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Binary format for cached code.
+ * Code annotations store references to nodes, so they saved as node ids and resolved on load.
+ * Also save node attributes set in codegen and required for code navigation:
+ * definition positions, variables and 'DONT_GENERATE' flags.
+ */
+final class CodeInfoSerializer {
+	private static final int FORMAT_VERSION = 2;
+
+	private static final byte CLASS_REF = 1;
+	private static final byte METHOD_REF = 2;
+	private static final byte FIELD_REF = 3;
+	private static final byte VAR_REF = 4;
+	private static final byte INSN_OFFSET = 5;
+	private static final byte CUSTOM_OFFSET = 6;
+
+	private final RootNode root;
+
+	CodeInfoSerializer(RootNode root) {
+		this.root = root;
+	}
+
+	static final class Header {
+		private final String clsRawName;
+		private final String inputsHash;
+		private final String dataHash;
+		private final String namesHash;
+
+		Header(String clsRawName, String inputsHash, String dataHash, String namesHash) {
+			this.clsRawName = clsRawName;
+			this.inputsHash = inputsHash;
+			this.dataHash = dataHash;
+			this.namesHash = namesHash;
+		}
+
+		public String getClsRawName() {
+			return clsRawName;
+		}
+
+		public String getInputsHash() {
+			return inputsHash;
+		}
+
+		public String getDataHash() {
+			return dataHash;
+		}
+
+		public String getNamesHash() {
+			return namesHash;
+		}
+	}
+
+	public void write(DataOutputStream out, Header header, ClassNode cls, ICodeInfo codeInfo) throws IOException {
+		out.writeInt(FORMAT_VERSION);
+		out.writeUTF(header.getClsRawName());
+		out.writeUTF(header.getInputsHash());
+		out.writeUTF(header.getDataHash());
+		out.writeUTF(header.getNamesHash());
+		writeString(out, codeInfo.getCodeStr());
+
+		Map<Integer, Integer> lineMapping = codeInfo.getLineMapping();
+		out.writeInt(lineMapping.size());
+		for (Map.Entry<Integer, Integer> entry : lineMapping.entrySet()) {
+			out.writeInt(entry.getKey());
+			out.writeInt(entry.getValue());
+		}
+
+		List<LineAttrNode> nodes = new ArrayList<>();
+		collectNodes(cls, nodes);
+		Map<CodePosition, Object> annotations = new HashMap<>();
+		for (Map.Entry<CodePosition, Object> entry : codeInfo.getAnnotations().entrySet()) {
+			if (isSupported(entry.getValue())) {
+				annotations.put(entry.getKey(), entry.getValue());
+			}
+		}
+		// variables created in codegen, save them before any reference
+		Set<MethodNode> varMethods = new LinkedHashSet<>();
+		for (Object ann : annotations.values()) {
+			if (ann instanceof VariableNode) {
+				varMethods.add(((VariableNode) ann).getMethodNode());
+			}
+		}
+		for (LineAttrNode node : nodes) {
+			if (node instanceof MethodNode) {
+				varMethods.add((MethodNode) node);
+			}
+		}
+		List<VariableNode> vars = new ArrayList<>();
+		for (MethodNode mth : varMethods) {
+			vars.addAll(mth.getVars());
+		}
+		out.writeInt(vars.size());
+		for (VariableNode var : vars) {
+			writeMethodRef(out, var.getMethodNode());
+			out.writeInt(var.getIndex());
+			out.writeByte(var.getVarKind().ordinal());
+			out.writeUTF(var.getName());
+			writeType(out, var.getType());
+		}
+		nodes.addAll(vars);
+
+		out.writeInt(annotations.size());
+		for (Map.Entry<CodePosition, Object> entry : annotations.entrySet()) {
+			CodePosition pos = entry.getKey();
+			out.writeInt(pos.getLine());
+			out.writeInt(pos.getOffset());
+			out.writeInt(pos.getPos());
+			writeAnnotation(out, entry.getValue());
+		}
+
+		List<LineAttrNode> defNodes = new ArrayList<>();
+		List<LineAttrNode> skipNodes = new ArrayList<>();
+		for (LineAttrNode node : nodes) {
+			if (node.getDecompiledLine() != 0) {
+				defNodes.add(node);
+			}
+			if (node.contains(AFlag.DONT_GENERATE)) {
+				skipNodes.add(node);
+			}
+		}
+		out.writeInt(defNodes.size());
+		for (LineAttrNode node : defNodes) {
+			writeAnnotation(out, node);
+			out.writeInt(node.getDecompiledLine());
+			out.writeInt(node.getDefPosition());
+		}
+		out.writeInt(skipNodes.size());
+		for (LineAttrNode node : skipNodes) {
+			writeAnnotation(out, node);
+		}
+	}
+
+	public Header readHeader(DataInputStream in) throws IOException {
+		int version = in.readInt();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Unexpected code cache format version: " + version);
+		}
+		return new Header(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+	}
+
+	/**
+	 * Read rest of data after {@link #readHeader(DataInputStream)} call.
+	 * Restore node attributes only if all references resolved successfully.
+	 * Nodes state changed, so caller should hold class process lock ({@link ClassNode#getClassInfo()}).
+	 */
+	public ICodeInfo readCodeInfo(DataInputStream in) throws IOException {
+		String code = readString(in);
+
+		int linesCount = in.readInt();
+		Map<Integer, Integer> lineMapping = new TreeMap<>();
+		for (int i = 0; i < linesCount; i++) {
+			lineMapping.put(in.readInt(), in.readInt());
+		}
+
+		int varsCount = in.readInt();
+		Map<MethodNode, List<VariableNode>> vars = new HashMap<>();
+		List<VariableNode> newVars = new ArrayList<>();
+		for (int i = 0; i < varsCount; i++) {
+			MethodNode mth = readMethodRef(in);
+			int index = in.readInt();
+			VariableNode.VarKind kind = VariableNode.VarKind.values()[in.readByte()];
+			String name = in.readUTF();
+			ArgType type = readType(in);
+			VariableNode var = mth.getVariable(index);
+			if (var == null) {
+				var = new VariableNode(mth, name, type, kind, index);
+				newVars.add(var);
+			}
+			vars.computeIfAbsent(mth, m -> new ArrayList<>()).add(var);
+		}
+
+		int annCount = in.readInt();
+		Map<CodePosition, Object> annotations = annCount == 0 ? new HashMap<>() : new HashMap<>(annCount);
+		for (int i = 0; i < annCount; i++) {
+			CodePosition pos = new CodePosition(in.readInt(), in.readInt(), in.readInt());
+			annotations.put(pos, readAnnotation(in, vars));
+		}
+
+		List<Runnable> restoreActions = new ArrayList<>();
+		int defsCount = in.readInt();
+		for (int i = 0; i < defsCount; i++) {
+			LineAttrNode node = (LineAttrNode) readAnnotation(in, vars);
+			int decompiledLine = in.readInt();
+			int defPosition = in.readInt();
+			restoreActions.add(() -> {
+				node.setDecompiledLine(decompiledLine);
+				node.setDefPosition(defPosition);
+			});
+		}
+		int skipCount = in.readInt();
+		for (int i = 0; i < skipCount; i++) {
+			LineAttrNode node = (LineAttrNode) readAnnotation(in, vars);
+			restoreActions.add(() -> node.add(AFlag.DONT_GENERATE));
+		}
+		for (VariableNode var : newVars) {
+			var.getMethodNode().restoreVar(var);
+		}
+		restoreActions.forEach(Runnable::run);
+		return new AnnotatedCodeInfo(code, lineMapping, annotations);
+	}
+
+	private static void collectNodes(ClassNode cls, List<LineAttrNode> nodes) {
+		nodes.add(cls);
+		nodes.addAll(cls.getFields());
+		nodes.addAll(cls.getMethods());
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			collectNodes(innerCls, nodes);
+		}
+	}
+
+	private static boolean isSupported(Object ann) {
+		return ann instanceof ClassNode
+				|| ann instanceof MethodNode
+				|| ann instanceof FieldNode
+				|| ann instanceof VariableNode
+				|| ann instanceof InsnCodeOffset
+				|| ann instanceof CustomOffsetRef;
+	}
+
+	private void writeAnnotation(DataOutputStream out, Object ann) throws IOException {
+		if (ann instanceof ClassNode) {
+			out.writeByte(CLASS_REF);
+			out.writeUTF(((ClassNode) ann).getRawName());
+		} else if (ann instanceof MethodNode) {
+			out.writeByte(METHOD_REF);
+			writeMethodRef(out, (MethodNode) ann);
+		} else if (ann instanceof FieldNode) {
+			FieldNode fld = (FieldNode) ann;
+			out.writeByte(FIELD_REF);
+			out.writeUTF(fld.getParentClass().getRawName());
+			out.writeUTF(fld.getFieldInfo().getShortId());
+		} else if (ann instanceof VariableNode) {
+			VariableNode var = (VariableNode) ann;
+			out.writeByte(VAR_REF);
+			writeMethodRef(out, var.getMethodNode());
+			out.writeInt(var.getIndex());
+		} else if (ann instanceof InsnCodeOffset) {
+			out.writeByte(INSN_OFFSET);
+			out.writeInt(((InsnCodeOffset) ann).getOffset());
+		} else if (ann instanceof CustomOffsetRef) {
+			CustomOffsetRef offsetRef = (CustomOffsetRef) ann;
+			out.writeByte(CUSTOM_OFFSET);
+			out.writeInt(offsetRef.getOffset());
+			out.writeByte(offsetRef.getAttachType().ordinal());
+		} else {
+			throw new JadxRuntimeException("Unexpected code annotation: " + ann);
+		}
+	}
+
+	private Object readAnnotation(DataInputStream in, Map<MethodNode, List<VariableNode>> vars) throws IOException {
+		byte tag = in.readByte();
+		switch (tag) {
+			case CLASS_REF:
+				return readClassRef(in);
+			case METHOD_REF:
+				return readMethodRef(in);
+			case FIELD_REF: {
+				ClassNode cls = readClassRef(in);
+				String shortId = in.readUTF();
+				return checkResolved(cls.searchFieldByShortId(shortId), shortId);
+			}
+			case VAR_REF: {
+				MethodNode mth = readMethodRef(in);
+				int index = in.readInt();
+				return checkResolved(searchVar(vars.get(mth), index), mth + " var " + index);
+			}
+			case INSN_OFFSET:
+				return new InsnCodeOffset(in.readInt());
+			case CUSTOM_OFFSET:
+				return new CustomOffsetRef(in.readInt(), ICodeComment.AttachType.values()[in.readByte()]);
+			default:
+				throw new IOException("Unknown code annotation tag: " + tag);
+		}
+	}
+
+	@Nullable
+	private static VariableNode searchVar(@Nullable List<VariableNode> vars, int index) {
+		if (vars != null) {
+			for (VariableNode var : vars) {
+				if (var.getIndex() == index) {
+					return var;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static void writeMethodRef(DataOutputStream out, MethodNode mth) throws IOException {
+		out.writeUTF(mth.getParentClass().getRawName());
+		out.writeUTF(mth.getMethodInfo().getShortId());
+	}
+
+	private MethodNode readMethodRef(DataInputStream in) throws IOException {
+		ClassNode cls = readClassRef(in);
+		String shortId = in.readUTF();
+		return checkResolved(cls.searchMethodByShortId(shortId), shortId);
+	}
+
+	private ClassNode readClassRef(DataInputStream in) throws IOException {
+		String rawName = in.readUTF();
+		return checkResolved(root.resolveClass(rawName), rawName);
+	}
+
+	private static <T> T checkResolved(@Nullable T node, String ref) throws IOException {
+		if (node == null) {
+			throw new IOException("Failed to resolve node reference: " + ref);
+		}
+		return node;
+	}
+
+	/**
+	 * Generic info not saved, variable type used only for display
+	 */
+	private static void writeType(DataOutputStream out, ArgType type) throws IOException {
+		out.writeUTF(type.isTypeKnown() ? TypeGen.signature(type) : "");
+	}
+
+	private static ArgType readType(DataInputStream in) throws IOException {
+		String sign = in.readUTF();
+		return sign.isEmpty() ? ArgType.UNKNOWN : ArgType.parse(sign);
+	}
+
+	/**
+	 * {@link DataOutputStream#writeUTF(String)} limited to 64KB
+	 */
+	private static void writeString(DataOutputStream out, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
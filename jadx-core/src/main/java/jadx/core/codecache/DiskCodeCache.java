@@ -0,0 +1,315 @@
+package jadx.core.codecache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.JadxArgs;
+import jadx.core.Jadx;
+import jadx.core.codecache.ClassFingerprint.HashBuilder;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Persistent code cache, allow to reuse decompiled code across sessions.
+ * <br>
+ * Cache directory selected by jadx version and options which change generated code
+ * (including deobfuscation map), only few most recently used directories kept.
+ * Each entry checked by names and comments hash of class and its dependencies,
+ * input data hash checked only if input files changed (calculation of this hash requires full class data scan),
+ * so only changed classes (and classes which use them) will be decompiled again.
+ * <br>
+ * Loaded entries kept in memory using soft references.
+ */
+public class DiskCodeCache implements ICodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(DiskCodeCache.class);
+
+	private static final String CODE_FILE_EXT = ".jcode";
+
+	/**
+	 * Count of most recently used cache directories (for different options or jadx versions) to keep
+	 */
+	private static final int MAX_CACHE_DIRS = 3;
+	private static final Pattern CACHE_DIR_NAME = Pattern.compile("[0-9a-f]{64}");
+
+	private final Path baseDir;
+	private final Map<String, SoftReference<ICodeInfo>> loaded = new ConcurrentHashMap<>();
+
+	private RootNode root;
+	private Path cacheDir;
+	private String inputsHash;
+	private ClassFingerprint fingerprint;
+	private CodeInfoSerializer serializer;
+
+	public DiskCodeCache(Path baseDir) {
+		this.baseDir = baseDir;
+	}
+
+	@Override
+	public void init(RootNode root) {
+		JadxArgs args = root.getArgs();
+		this.root = root;
+		this.cacheDir = baseDir.resolve(buildArgsHash(args));
+		this.inputsHash = buildInputsHash(args);
+		this.fingerprint = new ClassFingerprint(root);
+		this.serializer = new CodeInfoSerializer(root);
+		this.loaded.clear();
+		FileUtils.makeDirs(cacheDir);
+		LOG.debug("Code cache dir: {}", cacheDir);
+		pruneCacheDirs();
+	}
+
+	/**
+	 * Mark current directory as used and remove least recently used directories above limit
+	 */
+	private void pruneCacheDirs() {
+		try {
+			Files.setLastModifiedTime(cacheDir, FileTime.fromMillis(System.currentTimeMillis()));
+			List<Path> dirs;
+			try (Stream<Path> stream = Files.list(baseDir)) {
+				dirs = stream
+						.filter(dir -> Files.isDirectory(dir) && CACHE_DIR_NAME.matcher(dir.getFileName().toString()).matches())
+						.sorted(Comparator.comparing(DiskCodeCache::getLastModified).reversed())
+						.collect(Collectors.toList());
+			}
+			for (int i = MAX_CACHE_DIRS; i < dirs.size(); i++) {
+				Path dir = dirs.get(i);
+				if (!dir.equals(cacheDir)) {
+					LOG.debug("Remove unused code cache dir: {}", dir);
+					FileUtils.deleteDir(dir);
+				}
+			}
+		} catch (Exception e) {
+			LOG.warn("Failed to remove unused code cache directories in: {}", baseDir, e);
+		}
+	}
+
+	private static FileTime getLastModified(Path dir) {
+		try {
+			return Files.getLastModifiedTime(dir);
+		} catch (IOException e) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		loaded.put(clsFullName, new SoftReference<>(codeInfo));
+		if (root == null || codeInfo == ICodeInfo.EMPTY) {
+			return;
+		}
+		ClassNode cls = root.resolveClass(clsFullName);
+		if (cls == null) {
+			return;
+		}
+		Path file = getCodeFile(clsFullName);
+		Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp" + Thread.currentThread().getId());
+		try {
+			CodeInfoSerializer.Header header = new CodeInfoSerializer.Header(clsFullName, inputsHash,
+					fingerprint.getDataHash(cls), fingerprint.getNamesHash(cls));
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+				serializer.write(out, header, cls, codeInfo);
+			}
+			Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (Exception e) {
+			LOG.warn("Failed to save code cache for class: {}", clsFullName, e);
+			deleteFile(tmpFile);
+		}
+	}
+
+	@Override
+	public void remove(String clsFullName) {
+		loaded.remove(clsFullName);
+		if (root != null) {
+			deleteFile(getCodeFile(clsFullName));
+		}
+	}
+
+	@Override
+	public @Nullable ICodeInfo get(String clsFullName) {
+		SoftReference<ICodeInfo> ref = loaded.get(clsFullName);
+		if (ref != null) {
+			ICodeInfo codeInfo = ref.get();
+			if (codeInfo != null) {
+				return codeInfo;
+			}
+		}
+		if (root == null) {
+			return null;
+		}
+		ICodeInfo codeInfo = load(clsFullName);
+		if (codeInfo != null) {
+			loaded.put(clsFullName, new SoftReference<>(codeInfo));
+		}
+		return codeInfo;
+	}
+
+	/**
+	 * Check only entry header, code not deserialized and nodes not changed
+	 */
+	@Override
+	public boolean contains(String clsFullName) {
+		SoftReference<ICodeInfo> ref = loaded.get(clsFullName);
+		if (ref != null && ref.get() != null) {
+			return true;
+		}
+		if (root == null) {
+			return false;
+		}
+		ClassNode cls = root.resolveClass(clsFullName);
+		if (cls == null) {
+			return false;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(getCodeFile(clsFullName))))) {
+			return checkHeader(in, cls, clsFullName);
+		} catch (NoSuchFileException e) {
+			return false;
+		} catch (Exception e) {
+			LOG.debug("Failed to check code cache for class: {}", clsFullName, e);
+			return false;
+		}
+	}
+
+	@Nullable
+	private ICodeInfo load(String clsFullName) {
+		ClassNode cls = root.resolveClass(clsFullName);
+		if (cls == null) {
+			return null;
+		}
+		Path file = getCodeFile(clsFullName);
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (!checkHeader(in, cls, clsFullName)) {
+				return null;
+			}
+			// nodes state restored, use same lock as in class processing
+			synchronized (cls.getClassInfo()) {
+				return serializer.readCodeInfo(in);
+			}
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (Exception e) {
+			LOG.warn("Failed to load code cache for class: {}", clsFullName, e);
+			return null;
+		}
+	}
+
+	private boolean checkHeader(DataInputStream in, ClassNode cls, String clsFullName) throws IOException {
+		CodeInfoSerializer.Header header = serializer.readHeader(in);
+		if (!header.getClsRawName().equals(clsFullName)) {
+			return false;
+		}
+		if (!header.getNamesHash().equals(fingerprint.getNamesHash(cls))) {
+			return false;
+		}
+		return header.getInputsHash().equals(inputsHash)
+				|| header.getDataHash().equals(fingerprint.getDataHash(cls));
+	}
+
+	@Override
+	public void close() {
+		loaded.clear();
+		root = null;
+		fingerprint = null;
+		serializer = null;
+	}
+
+	private Path getCodeFile(String clsFullName) {
+		return cacheDir.resolve(new HashBuilder().add(clsFullName).build() + CODE_FILE_EXT);
+	}
+
+	private static void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			LOG.warn("Failed to delete code cache file: {}", file, e);
+		}
+	}
+
+	/**
+	 * Include only options which affect generated code
+	 */
+	private static String buildArgsHash(JadxArgs args) {
+		HashBuilder hash = new HashBuilder();
+		hash.add(Jadx.getVersion());
+		hash.add(args.getCodeWriterProvider().apply(args).isMetadataSupported() ? 1 : 0);
+		hash.add(args.isFallbackMode() ? 1 : 0);
+		hash.add(args.isShowInconsistentCode() ? 1 : 0);
+		hash.add(args.isUseImports() ? 1 : 0);
+		hash.add(args.isDebugInfo() ? 1 : 0);
+		hash.add(args.isInsertDebugLines() ? 1 : 0);
+		hash.add(args.isInlineAnonymousClasses() ? 1 : 0);
+		hash.add(args.isDeobfuscationOn() ? 1 : 0);
+		hash.add(args.getDeobfuscationMinLength());
+		hash.add(args.getDeobfuscationMaxLength());
+		hash.add(args.isUseSourceNameAsClassAlias() ? 1 : 0);
+		hash.add(args.isParseKotlinMetadata() ? 1 : 0);
+		hash.add(args.isEscapeUnicode() ? 1 : 0);
+		hash.add(args.isReplaceConsts() ? 1 : 0);
+		hash.add(args.isRespectBytecodeAccModifiers() ? 1 : 0);
+		hash.add(args.isFsCaseSensitive() ? 1 : 0);
+		hash.add(args.getRenameFlags().toString());
+		if (args.isDeobfuscationOn() && args.getDeobfuscationMapFile() != null) {
+			// map content can be updated by jadx at the end of load, changed names detected by class names hash
+			hash.add(args.getDeobfuscationMapFile().getAbsolutePath());
+		}
+		// user comments not included: checked for every class by names hash
+		return hash.build();
+	}
+
+	private static String buildInputsHash(JadxArgs args) {
+		HashBuilder hash = new HashBuilder();
+		for (File file : args.getInputFiles()) {
+			addFile(hash, file);
+		}
+		return hash.build();
+	}
+
+	private static void addFile(HashBuilder hash, File file) {
+		hash.add(file.getAbsolutePath());
+		if (!file.isFile()) {
+			return;
+		}
+		byte[] buffer = new byte[FileUtils.READ_BUFFER_SIZE];
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			while (true) {
+				int len = in.read(buffer);
+				if (len == -1) {
+					break;
+				}
+				hash.add(buffer, len);
+			}
+		} catch (IOException e) {
+			LOG.warn("Failed to read file: {}", file, e);
+			hash.add(file.length());
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DiskCodeCache{" + baseDir + '}';
+	}
+}
@@ -0,0 +1,399 @@
+package jadx.core.codecache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.api.ICodeCache;
+import jadx.api.ICodeInfo;
+import jadx.api.impl.FileCodeInfo;
+import jadx.core.codecache.ClassFingerprint.HashBuilder;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * In-memory code cache with limited size, least recently used entries evicted first.
+ * <br>
+ * Entry weight is approximate memory usage in bytes: code string length and annotations count
+ * (code stored in file has fixed weight).
+ * If spill directory is set, evicted entries saved into compressed files and restored on next request,
+ * so code will not be decompiled again.
+ */
+public class LruCodeCache implements ICodeCache {
+	private static final Logger LOG = LoggerFactory.getLogger(LruCodeCache.class);
+
+	private static final String SPILL_FILE_EXT = ".jcodez";
+
+	/**
+	 * Approximate size of one annotation (map entry, position and reference)
+	 */
+	private static final int ANNOTATION_WEIGHT = 64;
+
+	/**
+	 * Weight of code stored in file ({@link FileCodeInfo}), only path kept in memory
+	 */
+	private static final int FILE_CODE_WEIGHT = 256;
+
+	private final long maxWeight;
+	@Nullable
+	private final Path spillDir;
+
+	/**
+	 * Access ordered map, guarded by 'this'
+	 */
+	private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private long weight;
+
+	/**
+	 * Classes with valid spill file, spill files changed only under 'spillLock'
+	 */
+	private final Set<String> spilled = ConcurrentHashMap.newKeySet();
+	private final Object spillLock = new Object();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder restores = new LongAdder();
+
+	private RootNode root;
+	private CodeInfoSerializer serializer;
+
+	/**
+	 * @param maxWeight approximate memory limit in bytes
+	 * @param spillDir  directory to save evicted entries, null to drop them
+	 */
+	public LruCodeCache(long maxWeight, @Nullable Path spillDir) {
+		this.maxWeight = maxWeight;
+		this.spillDir = spillDir;
+	}
+
+	private static final class Entry {
+		private final String clsName;
+		private final ICodeInfo codeInfo;
+		private final long weight;
+
+		private Entry(String clsName, ICodeInfo codeInfo, long weight) {
+			this.clsName = clsName;
+			this.codeInfo = codeInfo;
+			this.weight = weight;
+		}
+	}
+
+	@Override
+	public void init(RootNode root) {
+		clear();
+		this.root = root;
+		this.serializer = new CodeInfoSerializer(root);
+		if (spillDir != null) {
+			FileUtils.makeDirs(spillDir);
+		}
+	}
+
+	@Override
+	public void add(String clsFullName, ICodeInfo codeInfo) {
+		List<Entry> evicted = put(new Entry(clsFullName, codeInfo, calcWeight(codeInfo)));
+		if (spilled.contains(clsFullName)) {
+			synchronized (spillLock) {
+				// new code replace saved one
+				if (spilled.remove(clsFullName)) {
+					deleteFile(getSpillFile(clsFullName));
+				}
+			}
+		}
+		spill(evicted);
+	}
+
+	@Override
+	public void remove(String clsFullName) {
+		synchronized (this) {
+			Entry entry = entries.remove(clsFullName);
+			if (entry != null) {
+				weight -= entry.weight;
+			}
+		}
+		synchronized (spillLock) {
+			if (spilled.remove(clsFullName)) {
+				deleteFile(getSpillFile(clsFullName));
+			}
+		}
+	}
+
+	@Override
+	public @Nullable ICodeInfo get(String clsFullName) {
+		synchronized (this) {
+			Entry entry = entries.get(clsFullName);
+			if (entry != null) {
+				hits.increment();
+				return entry.codeInfo;
+			}
+		}
+		if (spilled.contains(clsFullName)) {
+			ICodeInfo codeInfo = restore(clsFullName);
+			if (codeInfo != null) {
+				restores.increment();
+				// spill file still valid, so don't delete it
+				spill(put(new Entry(clsFullName, codeInfo, calcWeight(codeInfo))));
+				return codeInfo;
+			}
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Don't change access order and statistics, spill file not checked
+	 */
+	@Override
+	public boolean contains(String clsFullName) {
+		return isInMemory(clsFullName) || spilled.contains(clsFullName);
+	}
+
+	/**
+	 * Evict least recently used entries until summary weight become lower than provided part of max weight.
+	 * Can be used to release memory on low memory notifications.
+	 */
+	public void shrink(double ratio) {
+		List<Entry> evicted;
+		synchronized (this) {
+			evicted = evict((long) (maxWeight * ratio), 0);
+		}
+		spill(evicted);
+	}
+
+	private synchronized List<Entry> put(Entry entry) {
+		Entry prev = entries.put(entry.clsName, entry);
+		if (prev != null) {
+			weight -= prev.weight;
+		}
+		weight += entry.weight;
+		// keep at least just added entry
+		return evict(maxWeight, 1);
+	}
+
+	private List<Entry> evict(long limit, int minCount) {
+		if (weight <= limit) {
+			return Collections.emptyList();
+		}
+		List<Entry> evicted = new ArrayList<>();
+		Iterator<Entry> it = entries.values().iterator();
+		while (weight > limit && entries.size() > minCount) {
+			Entry entry = it.next();
+			it.remove();
+			weight -= entry.weight;
+			evicted.add(entry);
+		}
+		evictions.add(evicted.size());
+		return evicted;
+	}
+
+	private void spill(List<Entry> evicted) {
+		if (spillDir == null || evicted.isEmpty() || root == null) {
+			return;
+		}
+		for (Entry entry : evicted) {
+			String clsName = entry.clsName;
+			if (entry.codeInfo == ICodeInfo.EMPTY) {
+				continue;
+			}
+			synchronized (spillLock) {
+				if (spilled.contains(clsName) || isInMemory(clsName)) {
+					continue;
+				}
+				ClassNode cls = root.resolveClass(clsName);
+				if (cls != null && save(cls, entry.codeInfo)) {
+					spilled.add(clsName);
+				}
+			}
+		}
+	}
+
+	private synchronized boolean isInMemory(String clsName) {
+		return entries.containsKey(clsName);
+	}
+
+	private boolean save(ClassNode cls, ICodeInfo codeInfo) {
+		String clsName = cls.getRawName();
+		Path file = getSpillFile(clsName);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+				new DeflaterOutputStream(Files.newOutputStream(file))))) {
+			CodeInfoSerializer.Header header = new CodeInfoSerializer.Header(clsName, "", "", "");
+			serializer.write(out, header, cls, codeInfo);
+			return true;
+		} catch (Exception e) {
+			LOG.warn("Failed to save evicted code for class: {}", clsName, e);
+			deleteFile(file);
+			return false;
+		}
+	}
+
+	/**
+	 * Restore also change nodes state (variables, definition lines),
+	 * so executed under class process lock (same as used in {@link jadx.core.ProcessClass}).
+	 */
+	@Nullable
+	private ICodeInfo restore(String clsName) {
+		RootNode rootNode = root;
+		ClassNode cls = rootNode == null ? null : rootNode.resolveClass(clsName);
+		if (cls == null) {
+			return null;
+		}
+		Path file = getSpillFile(clsName);
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new InflaterInputStream(Files.newInputStream(file))))) {
+			CodeInfoSerializer.Header header = serializer.readHeader(in);
+			if (!header.getClsRawName().equals(clsName)) {
+				return null;
+			}
+			synchronized (cls.getClassInfo()) {
+				return serializer.readCodeInfo(in);
+			}
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (Exception e) {
+			LOG.warn("Failed to restore evicted code for class: {}", clsName, e);
+			return null;
+		}
+	}
+
+	private Path getSpillFile(String clsName) {
+		return spillDir.resolve(new HashBuilder().add(clsName).build() + SPILL_FILE_EXT);
+	}
+
+	private static void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			LOG.warn("Failed to delete code cache file: {}", file, e);
+		}
+	}
+
+	private static long calcWeight(ICodeInfo codeInfo) {
+		if (codeInfo == ICodeInfo.EMPTY) {
+			return 0;
+		}
+		if (codeInfo instanceof FileCodeInfo) {
+			// don't read code back from file
+			return FILE_CODE_WEIGHT;
+		}
+		return codeInfo.getCodeStr().length() * 2L + codeInfo.getAnnotations().size() * (long) ANNOTATION_WEIGHT;
+	}
+
+	private void clear() {
+		synchronized (this) {
+			entries.clear();
+			weight = 0;
+		}
+		synchronized (spillLock) {
+			for (String clsName : spilled) {
+				deleteFile(getSpillFile(clsName));
+			}
+			spilled.clear();
+		}
+	}
+
+	@Override
+	public void close() {
+		clear();
+		root = null;
+		serializer = null;
+	}
+
+	public Stats getStats() {
+		synchronized (this) {
+			return new Stats(entries.size(), weight, spilled.size(),
+					hits.sum(), misses.sum(), evictions.sum(), restores.sum());
+		}
+	}
+
+	public static final class Stats {
+		private final int count;
+		private final long weight;
+		private final int spilledCount;
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+		private final long restores;
+
+		private Stats(int count, long weight, int spilledCount, long hits, long misses, long evictions, long restores) {
+			this.count = count;
+			this.weight = weight;
+			this.spilledCount = spilledCount;
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+			this.restores = restores;
+		}
+
+		/**
+		 * Entries count in memory
+		 */
+		public int getCount() {
+			return count;
+		}
+
+		/**
+		 * Approximate memory usage in bytes
+		 */
+		public long getWeight() {
+			return weight;
+		}
+
+		/**
+		 * Entries count saved to spill files
+		 */
+		public int getSpilledCount() {
+			return spilledCount;
+		}
+
+		public long getHits() {
+			return hits;
+		}
+
+		public long getMisses() {
+			return misses;
+		}
+
+		public long getEvictions() {
+			return evictions;
+		}
+
+		/**
+		 * Hits restored from spill files
+		 */
+		public long getRestores() {
+			return restores;
+		}
+
+		@Override
+		public String toString() {
+			return "count=" + count + ", weight=" + weight + ", spilled=" + spilledCount
+					+ ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", restores=" + restores;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "LruCodeCache{maxWeight=" + maxWeight + ", spillDir=" + spillDir + '}';
+	}
+}
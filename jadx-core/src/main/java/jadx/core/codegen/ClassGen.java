@@ -87,9 +87,20 @@ public class ClassGen {
 
 	public ICodeInfo makeClass() throws CodegenException {
 		ICodeWriter clsBody = cls.root().makeCodeWriter();
+		ICodeWriter clsCode = cls.root().makeCodeWriter();
+		try {
+			return makeClass(clsBody, clsCode);
+		} catch (Throwable e) {
+			// release temp files used by writers
+			clsBody.discard();
+			clsCode.discard();
+			throw e;
+		}
+	}
+
+	private ICodeInfo makeClass(ICodeWriter clsBody, ICodeWriter clsCode) throws CodegenException {
 		addClassCode(clsBody);
 
-		ICodeWriter clsCode = cls.root().makeCodeWriter();
 		if (!"".equals(cls.getPackage())) {
 			clsCode.add("package ").add(cls.getPackage()).add(';');
 			clsCode.newLine();
@@ -3,8 +3,6 @@ package jadx.core.codegen;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +23,7 @@ import jadx.core.dex.info.AccessInfo;
 import jadx.core.dex.instructions.ConstStringNode;
 import jadx.core.dex.instructions.IfNode;
 import jadx.core.dex.instructions.InsnType;
+import jadx.core.dex.instructions.InsnsByOffset;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.instructions.args.CodeVar;
 import jadx.core.dex.instructions.args.RegisterArg;
@@ -304,18 +303,20 @@ public class MethodGen {
 				return;
 			}
 		}
-		InsnNode[] insnArr = mth.getInstructions();
-		if (insnArr == null) {
+		InsnsByOffset insns = mth.getInstructions();
+		if (insns == null) {
 			code.startLine("// Can't load method instructions.");
 			return;
 		}
 		if (fallbackOption == COMMENTED_DUMP) {
-			long insnCountEstimate = Stream.of(insnArr)
-					.filter(Objects::nonNull)
-					.filter(insn -> insn.getType() != InsnType.NOP)
-					.count();
+			long insnCountEstimate = 0;
+			for (InsnNode insn : insns) {
+				if (insn.getType() != InsnType.NOP) {
+					insnCountEstimate++;
+				}
+			}
 			if (insnCountEstimate > 100) {
-				code.startLine("// Method dump skipped, instructions count: " + insnArr.length);
+				code.startLine("// Method dump skipped, instructions count: " + mth.getInsnsCount());
 				return;
 			}
 		}
@@ -323,7 +324,7 @@ public class MethodGen {
 		if (mth.getThisArg() != null) {
 			code.startLine(nameGen.useArg(mth.getThisArg())).add(" = this;");
 		}
-		addFallbackInsns(code, mth, insnArr, fallbackOption);
+		addFallbackInsns(code, mth, insns, fallbackOption);
 		code.decIndent();
 	}
 
@@ -333,14 +334,11 @@ public class MethodGen {
 		COMMENTED_DUMP
 	}
 
-	public static void addFallbackInsns(ICodeWriter code, MethodNode mth, InsnNode[] insnArr, FallbackOption option) {
+	public static void addFallbackInsns(ICodeWriter code, MethodNode mth, Iterable<InsnNode> insns, FallbackOption option) {
 		int startIndent = code.getIndent();
 		InsnGen insnGen = new InsnGen(getFallbackMethodGen(mth), true);
 		InsnNode prevInsn = null;
-		for (InsnNode insn : insnArr) {
-			if (insn == null) {
-				continue;
-			}
+		for (InsnNode insn : insns) {
 			if (insn.contains(AType.JADX_ERROR)) {
 				for (JadxError error : insn.getAll(AType.JADX_ERROR)) {
 					code.startLine("// ").add(error.getError());
@@ -37,7 +37,7 @@ public final class ClassInfo implements Comparable<ClassInfo> {
 	}
 
 	public static ClassInfo fromName(RootNode root, String clsName) {
-		return fromType(root, ArgType.object(clsName));
+		return fromType(root, root.getArgTypeStorage().object(clsName));
 	}
 
 	private static ArgType checkClassType(ArgType type) {
@@ -1,61 +1,60 @@
 package jadx.core.dex.info;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.utils.ConcurrentIntTable;
 
+/**
+ * Interning storage for class, field and method infos.
+ * <br>
+ * Safe for concurrent use without locks on lookup, on race first stored instance wins.
+ */
 public class InfoStorage {
 
-	private final Map<ArgType, ClassInfo> classes = new HashMap<>();
-	private final Map<FieldInfo, FieldInfo> fields = new HashMap<>();
+	private final Map<ArgType, ClassInfo> classes = new ConcurrentHashMap<>();
+	private final Map<FieldInfo, FieldInfo> fields = new ConcurrentHashMap<>();
 	// use only one MethodInfo instance
-	private final Map<MethodInfo, MethodInfo> uniqueMethods = new HashMap<>();
+	private final Map<MethodInfo, MethodInfo> uniqueMethods = new ConcurrentHashMap<>();
 	// can contain same method with different ids (from different dex files)
-	private final Map<Integer, MethodInfo> methods = new HashMap<>();
+	private final ConcurrentIntTable<MethodInfo> methods = new ConcurrentIntTable<>();
 
 	public ClassInfo getCls(ArgType type) {
 		return classes.get(type);
 	}
 
 	public ClassInfo putCls(ClassInfo cls) {
-		synchronized (classes) {
-			ClassInfo prev = classes.put(cls.getType(), cls);
-			return prev == null ? cls : prev;
-		}
+		return intern(classes, cls.getType(), cls);
 	}
 
 	public MethodInfo getByUniqId(int id) {
-		synchronized (methods) {
-			return methods.get(id);
-		}
+		return methods.get(id);
 	}
 
 	public void putByUniqId(int id, MethodInfo mth) {
-		synchronized (methods) {
-			methods.put(id, mth);
-		}
+		methods.put(id, mth);
+	}
+
+	public int getMethodsTableCapacity() {
+		return methods.getCapacity();
 	}
 
 	public MethodInfo putMethod(MethodInfo newMth) {
-		synchronized (uniqueMethods) {
-			MethodInfo prev = uniqueMethods.get(newMth);
-			if (prev != null) {
-				return prev;
-			}
-			uniqueMethods.put(newMth, newMth);
-			return newMth;
-		}
+		return intern(uniqueMethods, newMth, newMth);
 	}
 
 	public FieldInfo getField(FieldInfo field) {
-		synchronized (fields) {
-			FieldInfo f = fields.get(field);
-			if (f != null) {
-				return f;
-			}
-			fields.put(field, field);
-			return field;
+		return intern(fields, field, field);
+	}
+
+	private static <K, V> V intern(Map<K, V> map, K key, V value) {
+		// plain get first: don't lock map bin if value already added
+		V prev = map.get(key);
+		if (prev != null) {
+			return prev;
 		}
+		prev = map.putIfAbsent(key, value);
+		return prev == null ? value : prev;
 	}
 }
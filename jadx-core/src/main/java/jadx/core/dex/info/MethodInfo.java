@@ -8,6 +8,7 @@ import jadx.api.plugins.input.data.IMethodProto;
 import jadx.api.plugins.input.data.IMethodRef;
 import jadx.core.codegen.TypeGen;
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.ArgTypeStorage;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.nodes.VariableNode;
 import jadx.core.utils.Utils;
@@ -39,10 +40,11 @@ public final class MethodInfo implements Comparable<MethodInfo> {
 			return prevMth;
 		}
 		methodRef.load();
-		ArgType parentClsType = ArgType.parse(methodRef.getParentClassType());
+		ArgTypeStorage typeStorage = root.getArgTypeStorage();
+		ArgType parentClsType = typeStorage.parse(methodRef.getParentClassType());
 		ClassInfo parentClass = ClassInfo.fromType(root, parentClsType);
-		ArgType returnType = ArgType.parse(methodRef.getReturnType());
-		List<ArgType> args = Utils.collectionMap(methodRef.getArgTypes(), ArgType::parse);
+		ArgType returnType = typeStorage.parse(methodRef.getReturnType());
+		List<ArgType> args = Utils.collectionMap(methodRef.getArgTypes(), typeStorage::parse);
 		MethodInfo newMth = new MethodInfo(parentClass, methodRef.getName(), args, returnType);
 		MethodInfo uniqMth = infoStorage.putMethod(newMth);
 		infoStorage.putByUniqId(uniqId, uniqMth);
@@ -55,8 +57,9 @@ public final class MethodInfo implements Comparable<MethodInfo> {
 	}
 
 	public static MethodInfo fromMethodProto(RootNode root, ClassInfo declClass, String name, IMethodProto proto) {
-		List<ArgType> args = Utils.collectionMap(proto.getArgTypes(), ArgType::parse);
-		ArgType returnType = ArgType.parse(proto.getReturnType());
+		ArgTypeStorage typeStorage = root.getArgTypeStorage();
+		List<ArgType> args = Utils.collectionMap(proto.getArgTypes(), typeStorage::parse);
+		ArgType returnType = typeStorage.parse(proto.getReturnType());
 		return fromDetails(root, declClass, name, args, returnType);
 	}
 
@@ -34,8 +34,8 @@ public class InsnDecoder {
 		this.root = method.root();
 	}
 
-	public InsnNode[] process(ICodeReader codeReader) {
-		InsnNode[] instructions = new InsnNode[codeReader.getInsnsCount()];
+	public InsnsByOffset process(ICodeReader codeReader) {
+		InsnsByOffset.Builder builder = new InsnsByOffset.Builder(codeReader.getInsnsCount());
 		codeReader.visitInstructions(rawInsn -> {
 			int offset = rawInsn.getOffset();
 			InsnNode insn;
@@ -48,9 +48,9 @@ public class InsnDecoder {
 				insn.addAttr(AType.JADX_ERROR, new JadxError("decode failed: " + e.getMessage(), e));
 			}
 			insn.setOffset(offset);
-			instructions[offset] = insn;
+			builder.add(offset, insn);
 		});
-		return instructions;
+		return builder.build();
 	}
 
 	@NotNull
@@ -77,7 +77,7 @@ public class InsnDecoder {
 				return constStrInsn;
 
 			case CONST_CLASS: {
-				ArgType clsType = ArgType.parse(insn.getIndexAsType());
+				ArgType clsType = parseType(insn);
 				InsnNode constClsInsn = new ConstClassNode(clsType);
 				constClsInsn.setResult(InsnArg.reg(insn, 0, ArgType.generic(Consts.CLASS_CLASS, clsType)));
 				return constClsInsn;
@@ -330,13 +330,13 @@ public class InsnDecoder {
 						InsnArg.reg(insn, 0, method.getReturnType()));
 
 			case INSTANCE_OF:
-				InsnNode instInsn = new IndexInsnNode(InsnType.INSTANCE_OF, ArgType.parse(insn.getIndexAsType()), 1);
+				InsnNode instInsn = new IndexInsnNode(InsnType.INSTANCE_OF, parseType(insn), 1);
 				instInsn.setResult(InsnArg.reg(insn, 0, ArgType.BOOLEAN));
 				instInsn.addArg(InsnArg.reg(insn, 1, ArgType.UNKNOWN_OBJECT));
 				return instInsn;
 
 			case CHECK_CAST:
-				ArgType castType = ArgType.parse(insn.getIndexAsType());
+				ArgType castType = parseType(insn);
 				InsnNode checkCastInsn = new IndexInsnNode(InsnType.CHECK_CAST, castType, 1);
 				checkCastInsn.setResult(InsnArg.reg(insn, 0, castType));
 				checkCastInsn.addArg(InsnArg.reg(insn, 0, ArgType.UNKNOWN_OBJECT));
@@ -433,13 +433,13 @@ public class InsnDecoder {
 				return invoke(insn, InvokeType.CUSTOM, true);
 
 			case NEW_INSTANCE:
-				ArgType clsType = ArgType.parse(insn.getIndexAsType());
+				ArgType clsType = parseType(insn);
 				IndexInsnNode newInstInsn = new IndexInsnNode(InsnType.NEW_INSTANCE, clsType, 0);
 				newInstInsn.setResult(InsnArg.reg(insn, 0, clsType));
 				return newInstInsn;
 
 			case NEW_ARRAY:
-				ArgType arrType = ArgType.parse(insn.getIndexAsType());
+				ArgType arrType = parseType(insn);
 				return new NewArrayNode(arrType,
 						InsnArg.reg(insn, 0, arrType),
 						InsnArg.typeImmutableReg(insn, 1, ArgType.INT));
@@ -478,6 +478,10 @@ public class InsnDecoder {
 		}
 	}
 
+	private ArgType parseType(InsnData insn) {
+		return root.getArgTypeStorage().parse(insn.getIndexAsType());
+	}
+
 	private ArgType tryResolveFieldType(FieldInfo igetFld) {
 		FieldNode fieldNode = root.resolveField(igetFld);
 		if (fieldNode != null) {
@@ -487,7 +491,7 @@ public class InsnDecoder {
 	}
 
 	private InsnNode filledNewArray(InsnData insn, boolean isRange) {
-		ArgType arrType = ArgType.parse(insn.getIndexAsType());
+		ArgType arrType = parseType(insn);
 		ArgType elType = arrType.getArrayElement();
 		boolean typeImmutable = elType.isPrimitive();
 		int regsCount = insn.getRegsCount();
@@ -0,0 +1,182 @@
+package jadx.core.dex.instructions;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.dex.nodes.InsnNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Decoded method instructions in dense array with sorted offsets array for lookup by code offset.
+ * <br>
+ * Instruction can be removed from this list, in that case slot still exists,
+ * but instruction at it will be null (iterator skip such slots).
+ */
+public final class InsnsByOffset implements Iterable<InsnNode> {
+
+	private final InsnNode[] insns;
+	private final int[] offsets;
+
+	public static final class Builder {
+		private InsnNode[] insns;
+		private int[] offsets;
+		private int size;
+
+		/**
+		 * @param codeUnitsCount method code size, used to estimate instructions count
+		 */
+		public Builder(int codeUnitsCount) {
+			int capacity = Math.max(8, codeUnitsCount / 2);
+			this.insns = new InsnNode[capacity];
+			this.offsets = new int[capacity];
+		}
+
+		/**
+		 * Instructions should be added in code order
+		 */
+		public void add(int offset, InsnNode insn) {
+			if (size != 0 && offsets[size - 1] >= offset) {
+				throw new JadxRuntimeException("Instructions not sorted by offset: " + offset + " after " + offsets[size - 1]);
+			}
+			if (size == insns.length) {
+				int newCapacity = size + (size >> 1) + 1;
+				insns = Arrays.copyOf(insns, newCapacity);
+				offsets = Arrays.copyOf(offsets, newCapacity);
+			}
+			insns[size] = insn;
+			offsets[size] = offset;
+			size++;
+		}
+
+		public InsnsByOffset build() {
+			if (size == insns.length) {
+				return new InsnsByOffset(insns, offsets);
+			}
+			return new InsnsByOffset(Arrays.copyOf(insns, size), Arrays.copyOf(offsets, size));
+		}
+	}
+
+	private InsnsByOffset(InsnNode[] insns, int[] offsets) {
+		this.insns = insns;
+		this.offsets = offsets;
+	}
+
+	/**
+	 * Slots count (removed instructions included)
+	 */
+	public int size() {
+		return insns.length;
+	}
+
+	@Nullable
+	public InsnNode get(int idx) {
+		return insns[idx];
+	}
+
+	public int getOffset(int idx) {
+		return offsets[idx];
+	}
+
+	public void remove(int idx) {
+		insns[idx] = null;
+	}
+
+	/**
+	 * @return instruction at provided code offset or null if not found or removed
+	 */
+	@Nullable
+	public InsnNode getByOffset(int offset) {
+		int idx = indexOf(offset);
+		return idx < 0 ? null : insns[idx];
+	}
+
+	/**
+	 * @return slot index for provided code offset or -1 if not found
+	 */
+	public int indexOf(int offset) {
+		int idx = Arrays.binarySearch(offsets, offset);
+		return idx < 0 ? -1 : idx;
+	}
+
+	/**
+	 * @return index of first slot with code offset greater or equal to provided,
+	 *         {@link #size()} if no such slots
+	 */
+	public int searchFrom(int offset) {
+		int idx = Arrays.binarySearch(offsets, offset);
+		return idx < 0 ? -idx - 1 : idx;
+	}
+
+	/**
+	 * @return index of first not removed and not NOP instruction after provided index or -1 if not found
+	 */
+	public int getNextInsnIndex(int idx) {
+		int len = insns.length;
+		for (int i = idx + 1; i < len; i++) {
+			InsnNode insnNode = insns[i];
+			if (insnNode != null && insnNode.getType() != InsnType.NOP) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return first not removed and not NOP instruction with code offset greater or equal to provided
+	 */
+	@Nullable
+	public InsnNode getInsnAtOffset(int offset) {
+		int len = insns.length;
+		for (int i = searchFrom(offset); i < len; i++) {
+			InsnNode insnNode = insns[i];
+			if (insnNode != null && insnNode.getType() != InsnType.NOP) {
+				return insnNode;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Iterate over not removed instructions
+	 */
+	@NotNull
+	@Override
+	public Iterator<InsnNode> iterator() {
+		return new Iterator<InsnNode>() {
+			private int next = skipRemoved(0);
+
+			@Override
+			public boolean hasNext() {
+				return next < insns.length;
+			}
+
+			@Override
+			public InsnNode next() {
+				if (next >= insns.length) {
+					throw new NoSuchElementException();
+				}
+				InsnNode insn = insns[next];
+				next = skipRemoved(next + 1);
+				return insn;
+			}
+		};
+	}
+
+	private int skipRemoved(int idx) {
+		int len = insns.length;
+		int i = idx;
+		while (i < len && insns[i] == null) {
+			i++;
+		}
+		return i;
+	}
+
+	@Override
+	public String toString() {
+		return "InsnsByOffset{size=" + insns.length + '}';
+	}
+}
@@ -0,0 +1,117 @@
+package jadx.core.dex.instructions.args;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning storage for types: only one instance used for equal objects, arrays and generic objects.
+ * This allow to reduce memory usage and make most type comparisons by identity.
+ * <br>
+ * Types with type variables are not interned, because bounds of type variable can be changed.
+ * <br>
+ * Safe for concurrent use without locks on lookup, on race first stored instance wins.
+ */
+public class ArgTypeStorage {
+
+	private final Map<ArgType, ArgType> types = new ConcurrentHashMap<>();
+	// parse results cache
+	private final Map<String, ArgType> descriptors = new ConcurrentHashMap<>();
+	private final Map<String, ArgType> objects = new ConcurrentHashMap<>();
+
+	public ArgTypeStorage() {
+		// use constants as canonical instances
+		for (ArgType type : new ArgType[] {
+				ArgType.OBJECT, ArgType.CLASS, ArgType.STRING, ArgType.ENUM,
+				ArgType.THROWABLE, ArgType.EXCEPTION, ArgType.OBJECT_ARRAY, ArgType.WILDCARD
+		}) {
+			types.put(type, type);
+		}
+	}
+
+	/**
+	 * Same as {@link ArgType#parse(String)}, but return interned instance
+	 */
+	public ArgType parse(String descriptor) {
+		ArgType cached = descriptors.get(descriptor);
+		if (cached != null) {
+			return cached;
+		}
+		ArgType type = ArgType.parse(descriptor);
+		if (!isInternable(type)) {
+			return type;
+		}
+		return putIfAbsent(descriptors, descriptor, intern(type));
+	}
+
+	/**
+	 * Same as {@link ArgType#object(String)}, but return interned instance
+	 */
+	public ArgType object(String obj) {
+		ArgType cached = objects.get(obj);
+		if (cached != null) {
+			return cached;
+		}
+		return putIfAbsent(objects, obj, intern(ArgType.object(obj)));
+	}
+
+	/**
+	 * Return canonical instance equal to provided type or type itself if type can't be interned
+	 */
+	public ArgType intern(ArgType type) {
+		if (type.isPrimitive() || !isInternable(type)) {
+			return type;
+		}
+		ArgType prev = types.get(type);
+		if (prev != null) {
+			return prev;
+		}
+		ArgType newType = type;
+		if (type.isArray()) {
+			// also share element type
+			ArgType element = type.getArrayElement();
+			ArgType internedElement = intern(element);
+			if (internedElement != element) {
+				newType = ArgType.array(internedElement);
+			}
+		}
+		return putIfAbsent(types, newType, newType);
+	}
+
+	public int size() {
+		return types.size();
+	}
+
+	private static boolean isInternable(ArgType type) {
+		if (!type.isTypeKnown() || type.isGenericType()) {
+			return false;
+		}
+		if (type.isArray()) {
+			return isInternable(type.getArrayElement());
+		}
+		if (type.isWildcard()) {
+			return type.getWildcardBound() == ArgType.WildcardBound.UNBOUND
+					|| isInternable(type.getWildcardType());
+		}
+		ArgType outerType = type.getOuterType();
+		if (outerType != null) {
+			return isInternable(outerType) && isInternable(type.getInnerType());
+		}
+		if (type.isGeneric()) {
+			List<ArgType> genericTypes = type.getGenericTypes();
+			if (genericTypes != null) {
+				for (ArgType genericType : genericTypes) {
+					if (!isInternable(genericType)) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private static <K> ArgType putIfAbsent(Map<K, ArgType> map, K key, ArgType value) {
+		ArgType prev = map.putIfAbsent(key, value);
+		return prev == null ? value : prev;
+	}
+}
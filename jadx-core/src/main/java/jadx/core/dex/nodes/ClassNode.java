@@ -45,6 +45,11 @@ import static jadx.core.dex.nodes.ProcessState.PROCESS_COMPLETE;
 public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeNode, Comparable<ClassNode> {
 	private static final Logger LOG = LoggerFactory.getLogger(ClassNode.class);
 
+	/**
+	 * Guard fields list and map replace, used only on map build and field add, so shared for all classes
+	 */
+	private static final Object FIELDS_UPDATE_LOCK = new Object();
+
 	private final RootNode root;
 	private final IClassData clsData;
 
@@ -55,7 +60,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	private List<ArgType> generics = Collections.emptyList();
 
 	private List<MethodNode> methods;
-	private List<FieldNode> fields;
+	private volatile List<FieldNode> fields;
 	private List<ClassNode> innerClasses = Collections.emptyList();
 
 	private List<ClassNode> inlinedClasses = Collections.emptyList();
@@ -77,10 +82,12 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 
 	// cache maps
 	private Map<MethodInfo, MethodNode> mthInfoMap = Collections.emptyMap();
+	// fields by name, built on first search, reset on field add
+	private volatile Map<String, List<FieldNode>> fieldsMap;
 
 	public ClassNode(RootNode root, IClassData cls) {
 		this.root = root;
-		this.clsInfo = ClassInfo.fromType(root, ArgType.object(cls.getType()));
+		this.clsInfo = ClassInfo.fromType(root, root.getArgTypeStorage().object(cls.getType()));
 		this.clsData = cls.copy();
 		initialLoad(clsData);
 	}
@@ -95,9 +102,9 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 				}
 				this.superClass = null;
 			} else {
-				this.superClass = ArgType.object(superType);
+				this.superClass = root.getArgTypeStorage().object(superType);
 			}
-			this.interfaces = Utils.collectionMap(cls.getInterfacesTypes(), ArgType::object);
+			this.interfaces = Utils.collectionMap(cls.getInterfacesTypes(), root.getArgTypeStorage()::object);
 
 			methods = new ArrayList<>();
 			fields = new ArrayList<>();
@@ -137,10 +144,18 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public static ClassNode addSyntheticClass(RootNode root, String name, int accessFlags) {
+		ClassNode cls = buildSyntheticClass(root, name, accessFlags);
+		root.addClassNode(cls);
+		return cls;
+	}
+
+	/**
+	 * Create synthetic class without adding it into root
+	 */
+	static ClassNode buildSyntheticClass(RootNode root, String name, int accessFlags) {
 		ClassNode cls = new ClassNode(root, name, accessFlags);
 		cls.add(AFlag.SYNTHETIC);
 		cls.setState(ProcessState.PROCESS_COMPLETE);
-		root.addClassNode(cls);
 		return cls;
 	}
 
@@ -227,6 +242,21 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		return decompile(false);
 	}
 
+	/**
+	 * Generate code again without deep reload.
+	 * Enough if only nodes referenced from this class changed (like rename),
+	 * because class processing result don't depend on names.
+	 * <br>
+	 * Processed state of class regenerated this way is kept after codegen,
+	 * so next calls will run only codegen stage.
+	 * First call for already unloaded class still repeat process stage
+	 * (class data and pre-decompile stage results are kept).
+	 */
+	public ICodeInfo regenerateCode() {
+		getTopParentClass().add(AFlag.DONT_UNLOAD_CLASS);
+		return decompile(false);
+	}
+
 	public void deepUnload() {
 		if (clsData == null) {
 			// manually added class
@@ -236,6 +266,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		clearAttributes();
 		root().getConstValues().removeForClass(this);
 		initialLoad(clsData);
+		root.getResolveIndex().invalidate();
 
 		innerClasses.forEach(ClassNode::deepUnload);
 	}
@@ -289,6 +320,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		for (MethodNode mth : methods) {
 			mthInfoMap.put(mth.getMethodInfo(), mth);
 		}
+		fieldsMap = null;
 	}
 
 	@Nullable
@@ -320,8 +352,19 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		return fields;
 	}
 
+	/**
+	 * Add field to loaded class, can be called during parallel decompilation.
+	 * Fields list replaced by updated copy, so concurrent readers don't need synchronization.
+	 */
 	public void addField(FieldNode fld) {
-		fields.add(fld);
+		synchronized (FIELDS_UPDATE_LOCK) {
+			List<FieldNode> newFields = new ArrayList<>(fields.size() + 1);
+			newFields.addAll(fields);
+			newFields.add(fld);
+			fields = newFields;
+			fieldsMap = null;
+		}
+		root.getResolveIndex().invalidateClass(this);
 	}
 
 	public FieldNode getConstField(Object obj) {
@@ -339,7 +382,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public FieldNode searchField(FieldInfo field) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFieldsByName(field.getName())) {
 			if (f.getFieldInfo().equals(field)) {
 				return f;
 			}
@@ -348,7 +391,7 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public FieldNode searchFieldByNameAndType(FieldInfo field) {
-		for (FieldNode f : fields) {
+		for (FieldNode f : getFieldsByName(field.getName())) {
 			if (f.getFieldInfo().equalsNameAndType(field)) {
 				return f;
 			}
@@ -357,16 +400,16 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 	}
 
 	public FieldNode searchFieldByName(String name) {
-		for (FieldNode f : fields) {
-			if (f.getName().equals(name)) {
-				return f;
-			}
-		}
-		return null;
+		List<FieldNode> list = getFieldsByName(name);
+		return list.isEmpty() ? null : list.get(0);
 	}
 
 	public FieldNode searchFieldByShortId(String shortId) {
-		for (FieldNode f : fields) {
+		int sep = shortId.lastIndexOf(':');
+		if (sep == -1) {
+			return null;
+		}
+		for (FieldNode f : getFieldsByName(shortId.substring(0, sep))) {
 			if (f.getFieldInfo().getShortId().equals(shortId)) {
 				return f;
 			}
@@ -374,6 +417,25 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		return null;
 	}
 
+	private List<FieldNode> getFieldsByName(String name) {
+		Map<String, List<FieldNode>> map = fieldsMap;
+		if (map == null) {
+			synchronized (FIELDS_UPDATE_LOCK) {
+				map = fieldsMap;
+				if (map == null) {
+					List<FieldNode> fieldsList = fields;
+					map = new HashMap<>(fieldsList.size());
+					for (FieldNode f : fieldsList) {
+						map.computeIfAbsent(f.getName(), k -> new ArrayList<>(1)).add(f);
+					}
+					fieldsMap = map;
+				}
+			}
+		}
+		List<FieldNode> list = map.get(name);
+		return list == null ? Collections.emptyList() : list;
+	}
+
 	public MethodNode searchMethod(MethodInfo mth) {
 		return mthInfoMap.get(mth);
 	}
@@ -646,6 +708,11 @@ public class ClassNode extends NotificationAttrNode implements ILoadable, ICodeN
 		this.useInMth = useInMth;
 	}
 
+	@Nullable
+	public IClassData getClsData() {
+		return clsData;
+	}
+
 	@Override
 	public String getInputFileName() {
 		return clsData == null ? "synthetic" : clsData.getInputFileName();
@@ -24,6 +24,7 @@ import jadx.core.dex.info.AccessInfo.AFType;
 import jadx.core.dex.info.ClassInfo;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.InsnDecoder;
+import jadx.core.dex.instructions.InsnsByOffset;
 import jadx.core.dex.instructions.args.*;
 import jadx.core.dex.nodes.VariableNode.VarKind;
 import jadx.core.dex.nodes.utils.TypeUtils;
@@ -59,7 +60,7 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 	// decompilation data, reset on unload
 	private RegisterArg thisArg;
 	private List<RegisterArg> argsList;
-	private InsnNode[] instructions;
+	private InsnsByOffset instructions;
 	private List<BlockNode> blocks;
 	private BlockNode enterBlock;
 	private List<BlockNode> exitBlocks;
@@ -140,6 +141,22 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 		return varNode;
 	}
 
+	/**
+	 * Add variable restored from saved code metadata (without code generation)
+	 */
+	public VariableNode restoreVar(VariableNode var) {
+		int index = var.getIndex();
+		VariableNode existVar = getVariable(index);
+		if (existVar != null) {
+			return existVar;
+		}
+		if (index != variables.size()) {
+			throw new JadxRuntimeException("Unexpected variable index: " + index + ", method: " + this);
+		}
+		variables.add(var);
+		return var;
+	}
+
 	@Override
 	public void unload() {
 		loaded = false;
@@ -203,9 +220,6 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 	public void checkInstructions() {
 		List<RegisterArg> list = new ArrayList<>();
 		for (InsnNode insnNode : instructions) {
-			if (insnNode == null) {
-				continue;
-			}
 			list.clear();
 			RegisterArg resultArg = insnNode.getResult();
 			if (resultArg != null) {
@@ -347,7 +361,7 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 		return noCode;
 	}
 
-	public InsnNode[] getInstructions() {
+	public InsnsByOffset getInstructions() {
 		return instructions;
 	}
 
@@ -617,7 +631,7 @@ public class MethodNode extends NotificationAttrNode implements IMethodDetails,
 	 */
 	public long countInsns() {
 		if (instructions != null) {
-			return instructions.length;
+			return instructions.size();
 		}
 		if (blocks != null) {
 			return blocks.stream().mapToLong(block -> block.getInstructions().size()).sum();
@@ -3,8 +3,15 @@ package jadx.core.dex.nodes;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.NotNull;
@@ -19,6 +26,7 @@ import jadx.api.ResourceFile;
 import jadx.api.ResourceType;
 import jadx.api.ResourcesLoader;
 import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.IClassesSource;
 import jadx.api.plugins.input.data.ILoadResult;
 import jadx.core.Jadx;
 import jadx.core.clsp.ClspGraph;
@@ -29,17 +37,24 @@ import jadx.core.dex.info.FieldInfo;
 import jadx.core.dex.info.InfoStorage;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.ArgTypeStorage;
 import jadx.core.dex.nodes.utils.MethodUtils;
+import jadx.core.dex.nodes.utils.ResolveIndex;
 import jadx.core.dex.nodes.utils.TypeUtils;
 import jadx.core.dex.visitors.DepthTraversal;
 import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.dex.visitors.JadxVisitor;
 import jadx.core.dex.visitors.typeinference.TypeCompare;
 import jadx.core.dex.visitors.typeinference.TypeUpdate;
 import jadx.core.utils.CacheStorage;
 import jadx.core.utils.ErrorsCounter;
+import jadx.core.utils.LockWaitStats;
+import jadx.core.utils.PassesProfiler;
 import jadx.core.utils.StringUtils;
+import jadx.core.utils.Utils;
 import jadx.core.utils.android.AndroidResourcesUtils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.xmlgen.ParserStream;
 import jadx.core.xmlgen.ResTableParser;
 import jadx.core.xmlgen.ResourceStorage;
 import jadx.core.xmlgen.entry.ResourceEntry;
@@ -56,9 +71,14 @@ public class RootNode {
 	private final StringUtils stringUtils;
 	private final ConstStorage constValues;
 	private final InfoStorage infoStorage = new InfoStorage();
+	private final ArgTypeStorage argTypeStorage = new ArgTypeStorage();
 	private final CacheStorage cacheStorage = new CacheStorage();
+	private final LockWaitStats lockWaitStats = new LockWaitStats();
+	@Nullable
+	private final PassesProfiler passesProfiler;
 	private final TypeUpdate typeUpdate;
 	private final MethodUtils methodUtils;
+	private final ResolveIndex resolveIndex;
 	private final TypeUtils typeUtils;
 
 	private final ICodeCache codeCache;
@@ -71,6 +91,14 @@ public class RootNode {
 	private String appPackage;
 	@Nullable
 	private ClassNode appResClass;
+	/**
+	 * Table indexed at load, shared with resources files generation.
+	 * Released after first use or save, so values data not kept for whole session.
+	 */
+	@Nullable
+	private ResTableParser resTable;
+	@Nullable
+	private ResourceFile resTableFile;
 
 	public RootNode(JadxArgs args) {
 		this.args = args;
@@ -81,18 +109,24 @@ public class RootNode {
 		this.typeUpdate = new TypeUpdate(this);
 		this.codeCache = args.getCodeCache();
 		this.methodUtils = new MethodUtils(this);
+		this.resolveIndex = new ResolveIndex(this);
 		this.typeUtils = new TypeUtils(this);
+		this.passesProfiler = args.getPassesProfileFile() != null ? new PassesProfiler() : null;
 	}
 
 	public void loadClasses(List<ILoadResult> loadedInputs) {
+		List<IClassesSource> sources = new ArrayList<>();
 		for (ILoadResult loadedInput : loadedInputs) {
-			loadedInput.visitClasses(cls -> {
-				try {
-					addClassNode(new ClassNode(RootNode.this, cls));
-				} catch (Exception e) {
-					addDummyClass(cls, e);
-				}
-			});
+			sources.addAll(loadedInput.getClassesSources());
+		}
+		// ids allocated per instance: don't depend on other decompilers and stay small
+		for (int i = 0; i < sources.size(); i++) {
+			sources.get(i).setSourceId(i + 1);
+		}
+		for (List<ClassNode> sourceClasses : loadClassesSources(sources)) {
+			for (ClassNode cls : sourceClasses) {
+				addClassNode(cls);
+			}
 		}
 		if (classes.size() != clsMap.size()) {
 			// class name duplication detected
@@ -112,7 +146,49 @@ public class RootNode {
 		LOG.info("Classes loaded: {}", classes.size());
 	}
 
-	private void addDummyClass(IClassData classData, Exception exc) {
+	/**
+	 * Build class nodes for every source in separate thread.
+	 * Results returned in sources order, so merge into classes map don't depend on threads scheduling.
+	 */
+	private List<List<ClassNode>> loadClassesSources(List<IClassesSource> sources) {
+		int threadsCount = Math.min(args.getThreadsCount(), sources.size());
+		if (threadsCount <= 1) {
+			return Utils.collectionMap(sources, this::loadClassesSource);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+		try {
+			List<Future<List<ClassNode>>> futures = new ArrayList<>(sources.size());
+			for (IClassesSource source : sources) {
+				futures.add(executor.submit(() -> loadClassesSource(source)));
+			}
+			List<List<ClassNode>> result = new ArrayList<>(futures.size());
+			for (Future<List<ClassNode>> future : futures) {
+				result.add(future.get());
+			}
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JadxRuntimeException("Classes loading interrupted", e);
+		} catch (ExecutionException e) {
+			throw new JadxRuntimeException("Classes loading failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<ClassNode> loadClassesSource(IClassesSource source) {
+		List<ClassNode> list = new ArrayList<>();
+		source.visitClasses(cls -> {
+			try {
+				list.add(new ClassNode(RootNode.this, cls));
+			} catch (Exception e) {
+				list.add(buildDummyClass(cls, e));
+			}
+		});
+		return list;
+	}
+
+	private ClassNode buildDummyClass(IClassData classData, Exception exc) {
 		String typeStr = classData.getType();
 		String name = null;
 		try {
@@ -126,13 +202,15 @@ public class RootNode {
 		if (name == null || name.isEmpty()) {
 			name = "CLASS_" + typeStr;
 		}
-		ClassNode clsNode = ClassNode.addSyntheticClass(this, name, classData.getAccessFlags());
+		ClassNode clsNode = ClassNode.buildSyntheticClass(this, name, classData.getAccessFlags());
 		ErrorsCounter.error(clsNode, "Load error", exc);
+		return clsNode;
 	}
 
 	public void addClassNode(ClassNode clsNode) {
 		classes.add(clsNode);
 		clsMap.put(clsNode.getClassInfo(), clsNode);
+		resolveIndex.invalidate();
 	}
 
 	public void loadResources(List<ResourceFile> resources) {
@@ -150,12 +228,17 @@ public class RootNode {
 		try {
 			ResTableParser parser = ResourcesLoader.decodeStream(arsc, (size, is) -> {
 				ResTableParser tableParser = new ResTableParser(this);
-				tableParser.decode(is);
+				tableParser.decode(new ParserStream(is, size));
 				return tableParser;
 			});
 			if (parser != null) {
 				processResources(parser.getResStorage());
 				updateObfuscatedFiles(parser, resources);
+				if (args.isSkipResources()) {
+					parser.release();
+				} else {
+					setResTable(parser, arsc);
+				}
 			}
 		} catch (Exception e) {
 			LOG.error("Failed to parse '.arsc' file", e);
@@ -176,6 +259,7 @@ public class RootNode {
 				newClsp.addApp(classes);
 				this.clsp = newClsp;
 			}
+			resolveIndex.invalidate();
 		} catch (Exception e) {
 			throw new JadxRuntimeException("Error loading jadx class set", e);
 		}
@@ -191,6 +275,10 @@ public class RootNode {
 		ValuesParser valuesParser = new ValuesParser(parser.getStrings(), resStorage.getResourcesNames());
 		Map<String, ResourceEntry> entryNames = new HashMap<>();
 		for (ResourceEntry resEntry : resStorage.getResources()) {
+			if (resEntry.getTypeName().equals("string")) {
+				// never a file path, skip values loading
+				continue;
+			}
 			String val = valuesParser.getSimpleValueString(resEntry);
 			if (val != null) {
 				entryNames.put(val, resEntry);
@@ -238,18 +326,74 @@ public class RootNode {
 	}
 
 	public void runPreDecompileStage() {
-		for (IDexTreeVisitor pass : preDecompilePasses) {
-			long start = System.currentTimeMillis();
-			try {
-				pass.init(this);
-			} catch (Exception e) {
-				LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
+		ForkJoinPool pool = null;
+		List<List<ClassNode>> clsGroups = null;
+		try {
+			for (IDexTreeVisitor pass : preDecompilePasses) {
+				long start = System.currentTimeMillis();
+				try {
+					pass.init(this);
+				} catch (Exception e) {
+					LOG.error("Visitor init failed: {}", pass.getClass().getSimpleName(), e);
+				}
+				if (isClassLocalPass(pass) && args.getThreadsCount() > 1) {
+					if (pool == null) {
+						pool = new ForkJoinPool(args.getThreadsCount());
+						clsGroups = groupByTopClass(classes);
+					}
+					visitInParallel(pool, pass, clsGroups);
+				} else {
+					for (ClassNode cls : classes) {
+						DepthTraversal.visit(pass, cls);
+					}
+				}
+				if (LOG.isDebugEnabled()) {
+					LOG.debug("{} time: {}ms", pass.getClass().getSimpleName(), System.currentTimeMillis() - start);
+				}
 			}
-			for (ClassNode cls : classes) {
-				DepthTraversal.visit(pass, cls);
+		} finally {
+			if (pool != null) {
+				pool.shutdown();
 			}
-			if (LOG.isDebugEnabled()) {
-				LOG.debug("{} time: {}ms", pass.getClass().getSimpleName(), System.currentTimeMillis() - start);
+		}
+	}
+
+	private static boolean isClassLocalPass(IDexTreeVisitor pass) {
+		JadxVisitor info = pass.getClass().getAnnotation(JadxVisitor.class);
+		return info != null && info.classLocal();
+	}
+
+	/**
+	 * Split classes list by top level class, order of classes inside group is the same as in the source list.
+	 * Inner classes are visited with parent class and also directly,
+	 * so keeping all classes of one top class in one task allow to preserve sequential visit order.
+	 */
+	private static List<List<ClassNode>> groupByTopClass(List<ClassNode> classes) {
+		Map<ClassNode, List<ClassNode>> groups = new LinkedHashMap<>();
+		for (ClassNode cls : classes) {
+			groups.computeIfAbsent(cls.getTopParentClass(), c -> new ArrayList<>()).add(cls);
+		}
+		return new ArrayList<>(groups.values());
+	}
+
+	private void visitInParallel(ForkJoinPool pool, IDexTreeVisitor pass, List<List<ClassNode>> clsGroups) {
+		List<Callable<Void>> tasks = new ArrayList<>(clsGroups.size());
+		for (List<ClassNode> group : clsGroups) {
+			tasks.add(() -> {
+				for (ClassNode cls : group) {
+					DepthTraversal.visit(pass, cls);
+				}
+				return null;
+			});
+		}
+		for (Future<Void> future : pool.invokeAll(tasks)) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JadxRuntimeException("Pass interrupted: " + pass.getClass().getSimpleName(), e);
+			} catch (ExecutionException e) {
+				throw new JadxRuntimeException("Pass failed: " + pass.getClass().getSimpleName(), e.getCause());
 			}
 		}
 	}
@@ -347,37 +491,7 @@ public class RootNode {
 		if (methodNode != null) {
 			return methodNode;
 		}
-		return deepResolveMethod(cls, mth.makeSignature(false));
-	}
-
-	@Nullable
-	private MethodNode deepResolveMethod(@NotNull ClassNode cls, String signature) {
-		for (MethodNode m : cls.getMethods()) {
-			if (m.getMethodInfo().getShortId().startsWith(signature)) {
-				return m;
-			}
-		}
-		MethodNode found;
-		ArgType superClass = cls.getSuperClass();
-		if (superClass != null) {
-			ClassNode superNode = resolveClass(superClass);
-			if (superNode != null) {
-				found = deepResolveMethod(superNode, signature);
-				if (found != null) {
-					return found;
-				}
-			}
-		}
-		for (ArgType iFaceType : cls.getInterfaces()) {
-			ClassNode iFaceNode = resolveClass(iFaceType);
-			if (iFaceNode != null) {
-				found = deepResolveMethod(iFaceNode, signature);
-				if (found != null) {
-					return found;
-				}
-			}
-		}
-		return null;
+		return resolveIndex.searchMethod(cls, mth.makeSignature(false));
 	}
 
 	@Nullable
@@ -395,35 +509,7 @@ public class RootNode {
 		if (cls == null) {
 			return null;
 		}
-		return deepResolveField(cls, field);
-	}
-
-	@Nullable
-	private FieldNode deepResolveField(@NotNull ClassNode cls, FieldInfo fieldInfo) {
-		FieldNode field = cls.searchFieldByNameAndType(fieldInfo);
-		if (field != null) {
-			return field;
-		}
-		ArgType superClass = cls.getSuperClass();
-		if (superClass != null) {
-			ClassNode superNode = resolveClass(superClass);
-			if (superNode != null) {
-				FieldNode found = deepResolveField(superNode, fieldInfo);
-				if (found != null) {
-					return found;
-				}
-			}
-		}
-		for (ArgType iFaceType : cls.getInterfaces()) {
-			ClassNode iFaceNode = resolveClass(iFaceType);
-			if (iFaceNode != null) {
-				FieldNode found = deepResolveField(iFaceNode, fieldInfo);
-				if (found != null) {
-					return found;
-				}
-			}
-		}
-		return null;
+		return resolveIndex.searchField(cls, field);
 	}
 
 	public List<IDexTreeVisitor> getPasses() {
@@ -463,6 +549,33 @@ public class RootNode {
 		return appResClass;
 	}
 
+	private synchronized void setResTable(ResTableParser parser, ResourceFile arsc) {
+		resTable = parser;
+		resTableFile = arsc;
+	}
+
+	/**
+	 * Get table indexed at load for provided file, caller should release table after use
+	 */
+	@Nullable
+	public synchronized ResTableParser takeLoadedResTable(ResourceFile rf) {
+		if (rf != resTableFile) {
+			return null;
+		}
+		ResTableParser table = resTable;
+		resTable = null;
+		resTableFile = null;
+		return table;
+	}
+
+	public synchronized void releaseResTable() {
+		if (resTable != null) {
+			resTable.release();
+			resTable = null;
+			resTableFile = null;
+		}
+	}
+
 	public StringUtils getStringUtils() {
 		return stringUtils;
 	}
@@ -475,10 +588,23 @@ public class RootNode {
 		return infoStorage;
 	}
 
+	public ArgTypeStorage getArgTypeStorage() {
+		return argTypeStorage;
+	}
+
 	public CacheStorage getCacheStorage() {
 		return cacheStorage;
 	}
 
+	public LockWaitStats getLockWaitStats() {
+		return lockWaitStats;
+	}
+
+	@Nullable
+	public PassesProfiler getPassesProfiler() {
+		return passesProfiler;
+	}
+
 	public JadxArgs getArgs() {
 		return args;
 	}
@@ -499,6 +625,10 @@ public class RootNode {
 		return methodUtils;
 	}
 
+	public ResolveIndex getResolveIndex() {
+		return resolveIndex;
+	}
+
 	public TypeUtils getTypeUtils() {
 		return typeUtils;
 	}
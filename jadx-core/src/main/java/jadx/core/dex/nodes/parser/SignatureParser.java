@@ -14,6 +14,7 @@ import jadx.api.plugins.input.data.annotations.IAnnotation;
 import jadx.core.Consts;
 import jadx.core.dex.attributes.IAttributeNode;
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.ArgTypeStorage;
 import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 
@@ -24,23 +25,38 @@ public class SignatureParser {
 
 	private final String sign;
 	private final int end;
+	@Nullable
+	private final ArgTypeStorage typeStorage;
 	private int pos;
 	private int mark;
 
 	public SignatureParser(String signature) {
-		sign = signature;
-		end = sign.length();
-		pos = -1;
-		mark = 0;
+		this(signature, null);
+	}
+
+	/**
+	 * @param typeStorage if not null used to intern parsed types
+	 */
+	public SignatureParser(String signature, @Nullable ArgTypeStorage typeStorage) {
+		this.sign = signature;
+		this.end = sign.length();
+		this.typeStorage = typeStorage;
+		this.pos = -1;
+		this.mark = 0;
 	}
 
 	@Nullable
 	public static SignatureParser fromNode(IAttributeNode node) {
+		return fromNode(node, null);
+	}
+
+	@Nullable
+	public static SignatureParser fromNode(IAttributeNode node, @Nullable ArgTypeStorage typeStorage) {
 		String signature = getSignature(node);
 		if (signature == null) {
 			return null;
 		}
-		return new SignatureParser(signature);
+		return new SignatureParser(signature, typeStorage);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -159,7 +175,7 @@ public class SignatureParser {
 				break;
 
 			case '[':
-				return ArgType.array(consumeType());
+				return intern(ArgType.array(consumeType()));
 
 			case STOP_CHAR:
 				return null;
@@ -181,7 +197,7 @@ public class SignatureParser {
 		do {
 			if (innerType && lookAhead('.')) {
 				// stop before next nested inner class
-				return ArgType.object(inclusiveSlice());
+				return object(inclusiveSlice());
 			}
 			ch = next();
 			if (ch == STOP_CHAR) {
@@ -196,7 +212,7 @@ public class SignatureParser {
 			} else {
 				obj = inclusiveSlice();
 			}
-			return ArgType.object(obj);
+			return object(obj);
 		}
 		// generic type start ('<')
 		String obj = slice();
@@ -209,7 +225,7 @@ public class SignatureParser {
 		ArgType genericType = ArgType.generic(obj, typeVars);
 		if (!lookAhead('.')) {
 			consume(';');
-			return genericType;
+			return intern(genericType);
 		}
 		consume('.');
 		next();
@@ -228,7 +244,15 @@ public class SignatureParser {
 				throw new JadxRuntimeException("Unexpected inner type found: " + debugString());
 			}
 		}
-		return ArgType.outerGeneric(genericType, inner);
+		return intern(ArgType.outerGeneric(genericType, inner));
+	}
+
+	private ArgType object(String obj) {
+		return typeStorage == null ? ArgType.object(obj) : typeStorage.object(obj);
+	}
+
+	private ArgType intern(ArgType type) {
+		return typeStorage == null ? type : typeStorage.intern(type);
 	}
 
 	private List<ArgType> consumeGenericArgs() {
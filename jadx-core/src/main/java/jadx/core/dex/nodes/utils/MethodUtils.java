@@ -5,13 +5,10 @@ import java.util.List;
 
 import org.jetbrains.annotations.Nullable;
 
-import jadx.core.clsp.ClspClass;
-import jadx.core.clsp.ClspMethod;
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.BaseInvokeNode;
 import jadx.core.dex.instructions.args.ArgType;
-import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.IMethodDetails;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.RootNode;
@@ -68,58 +65,16 @@ public class MethodUtils {
 	}
 
 	public boolean processMethodArgsOverloaded(ArgType startCls, MethodInfo mthInfo, @Nullable List<IMethodDetails> collectedMths) {
-		if (startCls == null || !startCls.isObject()) {
-			return false;
-		}
-		boolean isMthConstructor = mthInfo.isConstructor() || mthInfo.isClassInit();
-		ClassNode classNode = root.resolveClass(startCls);
-		if (classNode != null) {
-			for (MethodNode mth : classNode.getMethods()) {
-				if (mthInfo.isOverloadedBy(mth.getMethodInfo())) {
-					if (collectedMths == null) {
-						return true;
-					}
-					collectedMths.add(mth);
-				}
-			}
-			if (!isMthConstructor) {
-				if (processMethodArgsOverloaded(classNode.getSuperClass(), mthInfo, collectedMths)) {
-					if (collectedMths == null) {
-						return true;
-					}
-				}
-				for (ArgType parentInterface : classNode.getInterfaces()) {
-					if (processMethodArgsOverloaded(parentInterface, mthInfo, collectedMths)) {
-						if (collectedMths == null) {
-							return true;
-						}
-					}
-				}
-			}
-		} else {
-			ClspClass clsDetails = root.getClsp().getClsDetails(startCls);
-			if (clsDetails == null) {
-				// class info not available
-				return false;
-			}
-			for (ClspMethod clspMth : clsDetails.getMethodsMap().values()) {
-				if (mthInfo.isOverloadedBy(clspMth.getMethodInfo())) {
-					if (collectedMths == null) {
-						return true;
-					}
-					collectedMths.add(clspMth);
-				}
-			}
-			if (!isMthConstructor) {
-				for (ArgType parent : clsDetails.getParents()) {
-					if (processMethodArgsOverloaded(parent, mthInfo, collectedMths)) {
-						if (collectedMths == null) {
-							return true;
-						}
-					}
+		boolean found = false;
+		for (IMethodDetails mth : root.getResolveIndex().getMethodsByNameAndArgsCount(startCls, mthInfo)) {
+			if (mthInfo.isOverloadedBy(mth.getMethodInfo())) {
+				if (collectedMths == null) {
+					return true;
 				}
+				collectedMths.add(mth);
+				found = true;
 			}
 		}
-		return false;
+		return found;
 	}
 }
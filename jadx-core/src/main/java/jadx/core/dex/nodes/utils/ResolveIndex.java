@@ -0,0 +1,278 @@
+package jadx.core.dex.nodes.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.core.clsp.ClspClass;
+import jadx.core.clsp.ClspMethod;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.IMethodDetails;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Flattened view of class hierarchy for fast methods and fields resolving.
+ * <br>
+ * For every class stored all available (declared and inherited) methods by signature without return type
+ * and fields by name and type.
+ * Lookup order is same as in depth-first search: class itself, super class, interfaces in declaration order.
+ * <br>
+ * Data for class built on first request and reused until {@link #invalidate()} call
+ * (class reload or classes added) or {@link #invalidateClass(ClassNode)} call (fields added).
+ * Safe for concurrent use, on race data can be built twice, but only one instance will be stored.
+ */
+public class ResolveIndex {
+	private final RootNode root;
+
+	private volatile Storage storage = new Storage();
+
+	public ResolveIndex(RootNode root) {
+		this.root = root;
+	}
+
+	private static final class Storage {
+		private final Map<ClassNode, ClassData> classes = new ConcurrentHashMap<>();
+		/**
+		 * Overload candidates: class node or classpath class -> 'name/args count' -> methods list
+		 */
+		private final Map<Object, Map<String, List<IMethodDetails>>> overloads = new ConcurrentHashMap<>();
+		/**
+		 * Parent -> direct subclasses with built data, used for partial invalidation
+		 */
+		private final Map<ClassNode, Set<ClassNode>> subclasses = new ConcurrentHashMap<>();
+		/**
+		 * Incremented on partial invalidation, data built before that is not stored
+		 */
+		private final AtomicInteger version = new AtomicInteger();
+	}
+
+	private static final class ClassData {
+		private static final ClassData EMPTY = new ClassData(Collections.emptyMap(), Collections.emptyMap());
+
+		private final Map<String, MethodNode> methods;
+		/**
+		 * Field name -> fields with different types
+		 */
+		private final Map<String, List<FieldNode>> fields;
+
+		private ClassData(Map<String, MethodNode> methods, Map<String, List<FieldNode>> fields) {
+			this.methods = methods;
+			this.fields = fields;
+		}
+	}
+
+	/**
+	 * Drop all collected data, must be called after class hierarchy or class members change
+	 */
+	public void invalidate() {
+		storage = new Storage();
+	}
+
+	/**
+	 * Drop collected data for class and all its subclasses, must be called after class fields change.
+	 * Overload candidates contain only methods and are kept.
+	 */
+	public void invalidateClass(ClassNode cls) {
+		Storage s = storage;
+		s.version.incrementAndGet();
+		Set<ClassNode> visited = new HashSet<>();
+		Deque<ClassNode> queue = new ArrayDeque<>();
+		queue.add(cls);
+		while (!queue.isEmpty()) {
+			ClassNode current = queue.poll();
+			if (visited.add(current)) {
+				s.classes.remove(current);
+				Set<ClassNode> children = s.subclasses.get(current);
+				if (children != null) {
+					queue.addAll(children);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Search method by signature without return type (see {@link MethodInfo#makeSignature(boolean)})
+	 * in class and all its parents
+	 */
+	@Nullable
+	public MethodNode searchMethod(ClassNode cls, String signature) {
+		return getClassData(storage, cls, null).methods.get(signature);
+	}
+
+	/**
+	 * Search field with same name and type in class and all its parents
+	 */
+	@Nullable
+	public FieldNode searchField(ClassNode cls, FieldInfo fieldInfo) {
+		List<FieldNode> list = getClassData(storage, cls, null).fields.get(fieldInfo.getName());
+		if (list != null) {
+			for (FieldNode fld : list) {
+				if (fld.getFieldInfo().equalsNameAndType(fieldInfo)) {
+					return fld;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Collect methods with same name and args count from class hierarchy (including classpath classes).
+	 * For constructors parents are not checked.
+	 */
+	public List<IMethodDetails> getMethodsByNameAndArgsCount(ArgType startCls, MethodInfo mthInfo) {
+		String key = mthInfo.getName() + '/' + mthInfo.getArgsCount();
+		return getOverloadCandidates(storage, startCls, mthInfo, key, null);
+	}
+
+	private ClassData getClassData(Storage s, ClassNode cls, @Nullable Set<ClassNode> visited) {
+		ClassData data = s.classes.get(cls);
+		if (data != null) {
+			return data;
+		}
+		Set<ClassNode> visitedSet = visited == null ? new HashSet<>() : visited;
+		if (!visitedSet.add(cls)) {
+			// inheritance loop
+			return ClassData.EMPTY;
+		}
+		int version = s.version.get();
+		ClassData newData = buildClassData(s, cls, visitedSet);
+		visitedSet.remove(cls);
+		// skip store if fields changed during build (atomic check for this key)
+		ClassData stored = s.classes.compute(cls, (c, prev) -> {
+			if (prev != null) {
+				return prev;
+			}
+			return s.version.get() == version ? newData : null;
+		});
+		return stored != null ? stored : newData;
+	}
+
+	private ClassData buildClassData(Storage s, ClassNode cls, Set<ClassNode> visited) {
+		Map<String, MethodNode> methods = new HashMap<>();
+		Map<String, List<FieldNode>> fields = new HashMap<>();
+		for (MethodNode mth : cls.getMethods()) {
+			methods.putIfAbsent(mth.getMethodInfo().makeSignature(false), mth);
+		}
+		for (FieldNode fld : cls.getFields()) {
+			addField(fields, fld);
+		}
+		List<ClassData> parents = new ArrayList<>(cls.getInterfaces().size() + 1);
+		ArgType superClass = cls.getSuperClass();
+		if (superClass != null) {
+			addParentData(s, cls, parents, superClass, visited);
+		}
+		for (ArgType iFaceType : cls.getInterfaces()) {
+			addParentData(s, cls, parents, iFaceType, visited);
+		}
+		for (ClassData parent : parents) {
+			for (Map.Entry<String, MethodNode> entry : parent.methods.entrySet()) {
+				methods.putIfAbsent(entry.getKey(), entry.getValue());
+			}
+			for (List<FieldNode> list : parent.fields.values()) {
+				for (FieldNode fld : list) {
+					addField(fields, fld);
+				}
+			}
+		}
+		return new ClassData(methods, fields);
+	}
+
+	private void addParentData(Storage s, ClassNode cls, List<ClassData> parents, ArgType parentType, Set<ClassNode> visited) {
+		ClassNode parentNode = root.resolveClass(parentType);
+		if (parentNode != null) {
+			s.subclasses.computeIfAbsent(parentNode, p -> ConcurrentHashMap.newKeySet()).add(cls);
+			parents.add(getClassData(s, parentNode, visited));
+		}
+	}
+
+	private static void addField(Map<String, List<FieldNode>> fields, FieldNode fld) {
+		List<FieldNode> list = fields.computeIfAbsent(fld.getName(), k -> new ArrayList<>(1));
+		for (FieldNode prev : list) {
+			if (prev.getFieldInfo().equalsNameAndType(fld.getFieldInfo())) {
+				return;
+			}
+		}
+		list.add(fld);
+	}
+
+	private List<IMethodDetails> getOverloadCandidates(Storage s, ArgType startCls, MethodInfo mthInfo, String key,
+			@Nullable Set<Object> visited) {
+		if (startCls == null || !startCls.isObject()) {
+			return Collections.emptyList();
+		}
+		Object cls = root.resolveClass(startCls);
+		if (cls == null) {
+			cls = root.getClsp().getClsDetails(startCls);
+			if (cls == null) {
+				// class info not available
+				return Collections.emptyList();
+			}
+		}
+		Map<String, List<IMethodDetails>> clsMap = s.overloads.computeIfAbsent(cls, c -> new ConcurrentHashMap<>());
+		List<IMethodDetails> list = clsMap.get(key);
+		if (list != null) {
+			return list;
+		}
+		Set<Object> visitedSet = visited == null ? new HashSet<>() : visited;
+		if (!visitedSet.add(cls)) {
+			return Collections.emptyList();
+		}
+		List<IMethodDetails> newList = collectOverloadCandidates(s, cls, mthInfo, key, visitedSet);
+		visitedSet.remove(cls);
+		List<IMethodDetails> prev = clsMap.putIfAbsent(key, newList);
+		return prev != null ? prev : newList;
+	}
+
+	private List<IMethodDetails> collectOverloadCandidates(Storage s, Object cls, MethodInfo mthInfo, String key,
+			Set<Object> visited) {
+		boolean isMthConstructor = mthInfo.isConstructor() || mthInfo.isClassInit();
+		List<IMethodDetails> list = new ArrayList<>();
+		if (cls instanceof ClassNode) {
+			ClassNode classNode = (ClassNode) cls;
+			for (MethodNode mth : classNode.getMethods()) {
+				if (isSameNameAndArgsCount(mthInfo, mth.getMethodInfo())) {
+					list.add(mth);
+				}
+			}
+			if (!isMthConstructor) {
+				list.addAll(getOverloadCandidates(s, classNode.getSuperClass(), mthInfo, key, visited));
+				for (ArgType parentInterface : classNode.getInterfaces()) {
+					list.addAll(getOverloadCandidates(s, parentInterface, mthInfo, key, visited));
+				}
+			}
+		} else {
+			ClspClass clsDetails = (ClspClass) cls;
+			for (ClspMethod clspMth : clsDetails.getMethodsMap().values()) {
+				if (isSameNameAndArgsCount(mthInfo, clspMth.getMethodInfo())) {
+					list.add(clspMth);
+				}
+			}
+			if (!isMthConstructor) {
+				for (ArgType parent : clsDetails.getParents()) {
+					list.addAll(getOverloadCandidates(s, parent, mthInfo, key, visited));
+				}
+			}
+		}
+		return list.isEmpty() ? Collections.emptyList() : list;
+	}
+
+	private static boolean isSameNameAndArgsCount(MethodInfo mthInfo, MethodInfo otherMthInfo) {
+		return mthInfo.getArgsCount() == otherMthInfo.getArgsCount()
+				&& mthInfo.getName().equals(otherMthInfo.getName());
+	}
+}
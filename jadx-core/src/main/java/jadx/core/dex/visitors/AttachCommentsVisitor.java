@@ -15,6 +15,7 @@ import jadx.api.data.ICodeData;
 import jadx.api.data.IJavaNodeRef;
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.attributes.IAttributeNode;
+import jadx.core.dex.instructions.InsnsByOffset;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.FieldNode;
@@ -82,13 +83,15 @@ public class AttachCommentsVisitor extends AbstractVisitor {
 		}
 	}
 
+	@Nullable
 	private static InsnNode getInsnByOffset(MethodNode mth, int offset) {
-		try {
-			return mth.getInstructions()[offset];
-		} catch (Exception e) {
+		InsnsByOffset insns = mth.getInstructions();
+		int idx = insns == null ? -1 : insns.indexOf(offset);
+		if (idx == -1) {
 			LOG.warn("Insn reference not found in: {} with offset: {}", mth, offset);
 			return null;
 		}
+		return insns.get(idx);
 	}
 
 	private static void processCustomAttach(MethodNode mth, ICodeComment comment) {
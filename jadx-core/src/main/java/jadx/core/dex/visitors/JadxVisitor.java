@@ -30,4 +30,11 @@ public @interface JadxVisitor {
 	 * This visitor must be run <b>before</b> listed visitors
 	 */
 	Class<? extends IDexTreeVisitor>[] runBefore() default {};
+
+	/**
+	 * Class visit change and use data only from visited class and its inner classes,
+	 * so such visitor can process different top level classes in parallel.
+	 * Visitors without this mark run sequentially and act as barrier between parallel visitors.
+	 */
+	boolean classLocal() default false;
 }
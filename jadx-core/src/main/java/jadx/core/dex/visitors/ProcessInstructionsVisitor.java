@@ -1,7 +1,5 @@
 package jadx.core.dex.visitors;
 
-import org.jetbrains.annotations.Nullable;
-
 import jadx.core.dex.attributes.AType;
 import jadx.core.dex.attributes.nodes.JumpInfo;
 import jadx.core.dex.instructions.BaseInvokeNode;
@@ -11,6 +9,7 @@ import jadx.core.dex.instructions.FilledNewArrayNode;
 import jadx.core.dex.instructions.GotoNode;
 import jadx.core.dex.instructions.IfNode;
 import jadx.core.dex.instructions.InsnType;
+import jadx.core.dex.instructions.InsnsByOffset;
 import jadx.core.dex.instructions.SwitchData;
 import jadx.core.dex.instructions.SwitchInsn;
 import jadx.core.dex.instructions.args.ArgType;
@@ -40,58 +39,61 @@ public class ProcessInstructionsVisitor extends AbstractVisitor {
 		initJumps(mth, mth.getInstructions());
 	}
 
-	private static void initJumps(MethodNode mth, InsnNode[] insnByOffset) {
-		for (int offset = 0; offset < insnByOffset.length; offset++) {
-			InsnNode insn = insnByOffset[offset];
+	private static void initJumps(MethodNode mth, InsnsByOffset insns) {
+		int size = insns.size();
+		for (int idx = 0; idx < size; idx++) {
+			InsnNode insn = insns.get(idx);
 			if (insn == null) {
 				continue;
 			}
+			int offset = insns.getOffset(idx);
 			switch (insn.getType()) {
 				case SWITCH:
 					SwitchInsn sw = (SwitchInsn) insn;
 					// default case
-					int nextInsnOffset = getNextInsnOffset(insnByOffset, offset);
+					int nextInsnIdx = insns.getNextInsnIndex(idx);
+					int nextInsnOffset = nextInsnIdx == -1 ? -1 : insns.getOffset(nextInsnIdx);
 					if (nextInsnOffset != -1) {
-						addJump(mth, insnByOffset, offset, nextInsnOffset);
+						addJump(mth, insns, offset, nextInsnOffset);
 					}
 					int dataTarget = sw.getDataTarget();
-					InsnNode switchDataInsn = getInsnAtOffset(insnByOffset, dataTarget);
+					InsnNode switchDataInsn = insns.getInsnAtOffset(dataTarget);
 					if (switchDataInsn != null && switchDataInsn.getType() == InsnType.SWITCH_DATA) {
 						sw.attachSwitchData((SwitchData) switchDataInsn, nextInsnOffset);
 					} else {
 						throw new JadxRuntimeException("Payload for fill-array not found at " + InsnUtils.formatOffset(dataTarget));
 					}
 					for (int target : sw.getTargets()) {
-						addJump(mth, insnByOffset, offset, target);
+						addJump(mth, insns, offset, target);
 					}
 					break;
 
 				case IF:
-					int next = getNextInsnOffset(insnByOffset, offset);
+					int next = insns.getNextInsnIndex(idx);
 					if (next != -1) {
-						addJump(mth, insnByOffset, offset, next);
+						addJump(mth, insns, offset, insns.getOffset(next));
 					}
-					addJump(mth, insnByOffset, offset, ((IfNode) insn).getTarget());
+					addJump(mth, insns, offset, ((IfNode) insn).getTarget());
 					break;
 
 				case GOTO:
-					addJump(mth, insnByOffset, offset, ((GotoNode) insn).getTarget());
+					addJump(mth, insns, offset, ((GotoNode) insn).getTarget());
 					break;
 
 				case INVOKE:
 					ArgType retType = ((BaseInvokeNode) insn).getCallMth().getReturnType();
-					mergeMoveResult(insnByOffset, offset, insn, retType);
+					mergeMoveResult(insns, idx, insn, retType);
 					break;
 
 				case FILLED_NEW_ARRAY:
 					ArgType arrType = ((FilledNewArrayNode) insn).getArrayType();
-					mergeMoveResult(insnByOffset, offset, insn, arrType);
+					mergeMoveResult(insns, idx, insn, arrType);
 					break;
 
 				case FILL_ARRAY:
 					FillArrayInsn fillArrayInsn = (FillArrayInsn) insn;
 					int target = fillArrayInsn.getTarget();
-					InsnNode arrDataInsn = getInsnAtOffset(insnByOffset, target);
+					InsnNode arrDataInsn = insns.getInsnAtOffset(target);
 					if (arrDataInsn != null && arrDataInsn.getType() == InsnType.FILL_ARRAY_DATA) {
 						fillArrayInsn.setArrayData((FillArrayData) arrDataInsn);
 					} else {
@@ -105,49 +107,26 @@ public class ProcessInstructionsVisitor extends AbstractVisitor {
 		}
 	}
 
-	private static void mergeMoveResult(InsnNode[] insnByOffset, int offset, InsnNode insn, ArgType resType) {
-		int nextInsnOffset = getNextInsnOffset(insnByOffset, offset);
-		if (nextInsnOffset == -1) {
+	private static void mergeMoveResult(InsnsByOffset insns, int idx, InsnNode insn, ArgType resType) {
+		int nextInsnIdx = insns.getNextInsnIndex(idx);
+		if (nextInsnIdx == -1) {
 			return;
 		}
-		InsnNode nextInsn = insnByOffset[nextInsnOffset];
+		InsnNode nextInsn = insns.get(nextInsnIdx);
 		if (nextInsn.getType() != InsnType.MOVE_RESULT) {
 			return;
 		}
 		RegisterArg moveRes = nextInsn.getResult();
 		insn.setResult(moveRes.duplicate(resType));
 		insn.copyAttributesFrom(nextInsn);
-		insnByOffset[nextInsnOffset] = null;
+		insns.remove(nextInsnIdx);
 	}
 
-	private static void addJump(MethodNode mth, InsnNode[] insnByOffset, int offset, int target) {
+	private static void addJump(MethodNode mth, InsnsByOffset insns, int offset, int target) {
 		try {
-			insnByOffset[target].addAttr(AType.JUMP, new JumpInfo(offset, target));
+			insns.getByOffset(target).addAttr(AType.JUMP, new JumpInfo(offset, target));
 		} catch (Exception e) {
 			mth.addError("Failed to set jump: " + InsnUtils.formatOffset(offset) + " -> " + InsnUtils.formatOffset(target), e);
 		}
 	}
-
-	public static int getNextInsnOffset(InsnNode[] insnByOffset, int offset) {
-		int len = insnByOffset.length;
-		for (int i = offset + 1; i < len; i++) {
-			InsnNode insnNode = insnByOffset[i];
-			if (insnNode != null && insnNode.getType() != InsnType.NOP) {
-				return i;
-			}
-		}
-		return -1;
-	}
-
-	@Nullable
-	private static InsnNode getInsnAtOffset(InsnNode[] insnByOffset, int offset) {
-		int len = insnByOffset.length;
-		for (int i = offset; i < len; i++) {
-			InsnNode insnNode = insnByOffset[i];
-			if (insnNode != null && insnNode.getType() != InsnType.NOP) {
-				return insnNode;
-			}
-		}
-		return null;
-	}
 }
@@ -3,11 +3,14 @@ package jadx.core.dex.visitors;
 import java.io.File;
 import java.io.PrintWriter;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jadx.api.ICodeInfo;
 import jadx.api.JadxArgs;
+import jadx.api.impl.FileCodeInfo;
+import jadx.api.impl.SimpleCodeInfo;
 import jadx.api.plugins.utils.ZipSecurity;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.nodes.ClassNode;
@@ -22,6 +25,7 @@ public class SaveCode {
 
 	public static void save(File dir, ClassNode cls, ICodeInfo code) {
 		if (cls.contains(AFlag.DONT_GENERATE)) {
+			discard(code);
 			return;
 		}
 		if (code == null) {
@@ -30,25 +34,55 @@ public class SaveCode {
 		if (code == ICodeInfo.EMPTY) {
 			return;
 		}
-		String codeStr = code.getCodeStr();
-		if (codeStr.isEmpty()) {
+		if (code instanceof FileCodeInfo) {
+			if (((FileCodeInfo) code).getSize() == 0) {
+				discard(code);
+				return;
+			}
+		} else if (code.getCodeStr().isEmpty()) {
 			return;
 		}
 		String fileName = cls.getClassInfo().getAliasFullPath() + getFileExtension(cls);
-		save(codeStr, dir, fileName);
+		save(code, dir, fileName);
 	}
 
 	public static void save(String code, File dir, String fileName) {
+		save(new SimpleCodeInfo(code), dir, fileName);
+	}
+
+	public static void save(ICodeInfo code, File dir, String fileName) {
 		if (!ZipSecurity.isValidZipEntryName(fileName)) {
+			discard(code);
 			return;
 		}
 		save(code, new File(dir, fileName));
 	}
 
 	public static void save(ICodeInfo codeInfo, File file) {
+		if (codeInfo instanceof FileCodeInfo) {
+			// code already written into temp file, just move it
+			FileCodeInfo fileCodeInfo = (FileCodeInfo) codeInfo;
+			try {
+				File outFile = FileUtils.prepareFile(file);
+				fileCodeInfo.saveTo(outFile.toPath());
+			} catch (Exception e) {
+				LOG.error("Save file error", e);
+				fileCodeInfo.discard();
+			}
+			return;
+		}
 		save(codeInfo.getCodeStr(), file);
 	}
 
+	/**
+	 * Release temp file if code will not be saved
+	 */
+	private static void discard(@Nullable ICodeInfo code) {
+		if (code instanceof FileCodeInfo) {
+			((FileCodeInfo) code).discard();
+		}
+	}
+
 	public static void save(String code, File file) {
 		File outFile = FileUtils.prepareFile(file);
 		try (PrintWriter out = new PrintWriter(outFile, "UTF-8")) {
@@ -18,6 +18,11 @@ import jadx.core.utils.exceptions.JadxException;
 
 import static java.util.Collections.unmodifiableList;
 
+@JadxVisitor(
+		name = "SignatureProcessor",
+		desc = "Apply generic types from signatures to classes, fields and methods",
+		classLocal = true
+)
 public class SignatureProcessor extends AbstractVisitor {
 
 	private RootNode root;
@@ -40,7 +45,7 @@ public class SignatureProcessor extends AbstractVisitor {
 	}
 
 	private void parseClassSignature(ClassNode cls) {
-		SignatureParser sp = SignatureParser.fromNode(cls);
+		SignatureParser sp = SignatureParser.fromNode(cls, root.getArgTypeStorage());
 		if (sp == null) {
 			return;
 		}
@@ -75,7 +80,7 @@ public class SignatureProcessor extends AbstractVisitor {
 	}
 
 	private void parseFieldSignature(FieldNode field) {
-		SignatureParser sp = SignatureParser.fromNode(field);
+		SignatureParser sp = SignatureParser.fromNode(field, root.getArgTypeStorage());
 		if (sp == null) {
 			return;
 		}
@@ -97,7 +102,7 @@ public class SignatureProcessor extends AbstractVisitor {
 	}
 
 	private void parseMethodSignature(MethodNode mth) {
-		SignatureParser sp = SignatureParser.fromNode(mth);
+		SignatureParser sp = SignatureParser.fromNode(mth, root.getArgTypeStorage());
 		if (sp == null) {
 			return;
 		}
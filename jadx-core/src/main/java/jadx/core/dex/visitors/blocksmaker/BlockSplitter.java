@@ -82,9 +82,6 @@ public class BlockSplitter extends AbstractVisitor {
 
 		// split into blocks
 		for (InsnNode insn : mth.getInstructions()) {
-			if (insn == null) {
-				continue;
-			}
 			boolean startNew = false;
 			if (prevInsn != null) {
 				InsnType type = prevInsn.getType();
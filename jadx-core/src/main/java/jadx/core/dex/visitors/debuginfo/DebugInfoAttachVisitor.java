@@ -11,7 +11,9 @@ import jadx.api.plugins.input.data.IDebugInfo;
 import jadx.api.plugins.input.data.ILocalVar;
 import jadx.core.dex.attributes.nodes.LocalVarsDebugInfoAttr;
 import jadx.core.dex.attributes.nodes.RegDebugInfoAttr;
+import jadx.core.dex.instructions.InsnsByOffset;
 import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.instructions.args.ArgTypeStorage;
 import jadx.core.dex.instructions.args.InsnArg;
 import jadx.core.dex.instructions.args.RegisterArg;
 import jadx.core.dex.nodes.InsnNode;
@@ -52,24 +54,22 @@ public class DebugInfoAttachVisitor extends AbstractVisitor {
 	}
 
 	private void processDebugInfo(MethodNode mth, IDebugInfo debugInfo) {
-		InsnNode[] insnArr = mth.getInstructions();
-		attachSourceLines(debugInfo.getSourceLineMapping(), insnArr);
-		attachDebugInfo(mth, debugInfo.getLocalVars(), insnArr);
-		setMethodSourceLine(mth, insnArr);
+		InsnsByOffset insns = mth.getInstructions();
+		attachSourceLines(debugInfo.getSourceLineMapping(), insns);
+		attachDebugInfo(mth, debugInfo.getLocalVars(), insns);
+		setMethodSourceLine(mth, insns);
 	}
 
-	private void attachSourceLines(Map<Integer, Integer> lineMapping, InsnNode[] insnArr) {
-		for (InsnNode insn : insnArr) {
-			if (insn != null) {
-				Integer sourceLine = lineMapping.get(insn.getOffset());
-				if (sourceLine != null) {
-					insn.setSourceLine(sourceLine);
-				}
+	private void attachSourceLines(Map<Integer, Integer> lineMapping, InsnsByOffset insns) {
+		for (InsnNode insn : insns) {
+			Integer sourceLine = lineMapping.get(insn.getOffset());
+			if (sourceLine != null) {
+				insn.setSourceLine(sourceLine);
 			}
 		}
 	}
 
-	private void attachDebugInfo(MethodNode mth, List<ILocalVar> localVars, InsnNode[] insnArr) {
+	private void attachDebugInfo(MethodNode mth, List<ILocalVar> localVars, InsnsByOffset insns) {
 		if (localVars.isEmpty()) {
 			return;
 		}
@@ -91,8 +91,9 @@ public class DebugInfoAttachVisitor extends AbstractVisitor {
 				}
 				start = 0;
 			}
-			for (int i = start; i <= end; i++) {
-				InsnNode insn = insnArr[i];
+			int size = insns.size();
+			for (int i = insns.searchFrom(start); i < size && insns.getOffset(i) <= end; i++) {
+				InsnNode insn = insns.get(i);
 				if (insn != null) {
 					attachDebugInfo(insn.getResult(), debugInfoAttr, regNum);
 					for (InsnArg arg : insn.getArguments()) {
@@ -115,13 +116,14 @@ public class DebugInfoAttachVisitor extends AbstractVisitor {
 	}
 
 	public static ArgType getVarType(MethodNode mth, ILocalVar var) {
-		ArgType type = ArgType.parse(var.getType());
+		ArgTypeStorage typeStorage = mth.root().getArgTypeStorage();
+		ArgType type = typeStorage.parse(var.getType());
 		String sign = var.getSignature();
 		if (sign == null) {
 			return type;
 		}
 		try {
-			ArgType gType = new SignatureParser(sign).consumeType();
+			ArgType gType = new SignatureParser(sign, typeStorage).consumeType();
 			ArgType expandedType = mth.root().getTypeUtils().expandTypeVariables(mth, gType);
 			if (checkSignature(type, expandedType)) {
 				return expandedType;
@@ -149,14 +151,12 @@ public class DebugInfoAttachVisitor extends AbstractVisitor {
 	/**
 	 * Set method source line from first instruction
 	 */
-	private void setMethodSourceLine(MethodNode mth, InsnNode[] insnArr) {
-		for (InsnNode insn : insnArr) {
-			if (insn != null) {
-				int line = insn.getSourceLine();
-				if (line != 0) {
-					mth.setSourceLine(line - 1);
-					return;
-				}
+	private void setMethodSourceLine(MethodNode mth, InsnsByOffset insns) {
+		for (InsnNode insn : insns) {
+			int line = insn.getSourceLine();
+			if (line != 0) {
+				mth.setSourceLine(line - 1);
+				return;
 			}
 		}
 	}
@@ -0,0 +1,120 @@
+package jadx.core.dex.visitors.usage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import jadx.api.plugins.input.insns.InsnData;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * Cache resolved nodes by raw reference index from instructions.
+ * <br>
+ * Indexes are unique only in references scope (i.e. dex file), so separate tables created for every scope.
+ * Reference data loaded and resolved only once for every index,
+ * this allow to skip strings decoding and info objects creation for repeated references.
+ */
+final class RefsResolveTable {
+	private static final Object NOT_FOUND = new Object();
+	private static final int INITIAL_SIZE = 256;
+
+	private final RootNode root;
+	private final Map<Integer, Scope> scopes = new HashMap<>();
+
+	RefsResolveTable(RootNode root) {
+		this.root = root;
+	}
+
+	/**
+	 * @param scopeId references scope id, if negative new not shared scope returned
+	 */
+	Scope getScope(int scopeId) {
+		if (scopeId < 0) {
+			return new Scope(root);
+		}
+		return scopes.computeIfAbsent(scopeId, id -> new Scope(root));
+	}
+
+	static final class Scope {
+		private final RootNode root;
+		private Object[] types = new Object[0];
+		private Object[] fields = new Object[0];
+		private Object[] methods = new Object[0];
+
+		private Scope(RootNode root) {
+			this.root = root;
+		}
+
+		@Nullable
+		ClassNode resolveType(InsnData insn) {
+			int idx = insn.getIndex();
+			types = ensureSize(types, idx);
+			Object cached = types[idx];
+			if (cached == null) {
+				cached = nullToNotFound(loadType(insn));
+				types[idx] = cached;
+			}
+			return cached == NOT_FOUND ? null : (ClassNode) cached;
+		}
+
+		@Nullable
+		FieldNode resolveField(InsnData insn) {
+			int idx = insn.getIndex();
+			fields = ensureSize(fields, idx);
+			Object cached = fields[idx];
+			if (cached == null) {
+				cached = nullToNotFound(root.resolveField(FieldInfo.fromData(root, insn.getIndexAsField())));
+				fields[idx] = cached;
+			}
+			return cached == NOT_FOUND ? null : (FieldNode) cached;
+		}
+
+		@Nullable
+		MethodNode resolveMethod(InsnData insn) {
+			int idx = insn.getIndex();
+			methods = ensureSize(methods, idx);
+			Object cached = methods[idx];
+			if (cached == null) {
+				cached = nullToNotFound(root.resolveMethod(MethodInfo.fromRef(root, insn.getIndexAsMethod())));
+				methods[idx] = cached;
+			}
+			return cached == NOT_FOUND ? null : (MethodNode) cached;
+		}
+
+		@Nullable
+		private ClassNode loadType(InsnData insn) {
+			ArgType type = root.getArgTypeStorage().parse(insn.getIndexAsType());
+			if (type.isArray()) {
+				type = type.getArrayRootElement();
+			}
+			if (!type.isObject()) {
+				return null;
+			}
+			return root.resolveClass(type);
+		}
+	}
+
+	private static Object nullToNotFound(@Nullable Object obj) {
+		return obj == null ? NOT_FOUND : obj;
+	}
+
+	private static Object[] ensureSize(Object[] arr, int idx) {
+		int len = arr.length;
+		if (idx < len) {
+			return arr;
+		}
+		int newLen = Math.max(INITIAL_SIZE, len);
+		while (newLen <= idx) {
+			newLen *= 2;
+		}
+		return Arrays.copyOf(arr, newLen);
+	}
+}
@@ -2,9 +2,6 @@ package jadx.core.dex.visitors.usage;
 
 import jadx.api.plugins.input.data.ICodeReader;
 import jadx.api.plugins.input.insns.InsnData;
-import jadx.api.plugins.input.insns.Opcode;
-import jadx.core.dex.info.FieldInfo;
-import jadx.core.dex.info.MethodInfo;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.FieldNode;
@@ -28,13 +25,14 @@ public class UsageInfoVisitor extends AbstractVisitor {
 	@Override
 	public void init(RootNode root) {
 		UsageInfo usageInfo = new UsageInfo(root);
+		RefsResolveTable refsTable = new RefsResolveTable(root);
 		for (ClassNode cls : root.getClasses()) {
-			processClass(cls, usageInfo);
+			processClass(cls, usageInfo, refsTable);
 		}
 		usageInfo.apply();
 	}
 
-	private static void processClass(ClassNode cls, UsageInfo usageInfo) {
+	private static void processClass(ClassNode cls, UsageInfo usageInfo, RefsResolveTable refsTable) {
 		usageInfo.clsUse(cls, cls.getSuperClass());
 		for (ArgType interfaceType : cls.getInterfaces()) {
 			usageInfo.clsUse(cls, interfaceType);
@@ -44,24 +42,24 @@ public class UsageInfoVisitor extends AbstractVisitor {
 		}
 		// TODO: process annotations and generics
 		for (MethodNode methodNode : cls.getMethods()) {
-			processMethod(methodNode, usageInfo);
+			processMethod(methodNode, usageInfo, refsTable);
 		}
 	}
 
-	private static void processMethod(MethodNode mth, UsageInfo usageInfo) {
+	private static void processMethod(MethodNode mth, UsageInfo usageInfo, RefsResolveTable refsTable) {
 		ClassNode cls = mth.getParentClass();
 		usageInfo.clsUse(cls, mth.getReturnType());
 		for (ArgType argType : mth.getMethodInfo().getArgumentsTypes()) {
 			usageInfo.clsUse(cls, argType);
 		}
 		try {
-			processInstructions(mth, usageInfo);
+			processInstructions(mth, usageInfo, refsTable);
 		} catch (Exception e) {
 			mth.addError("Dependency scan failed", e);
 		}
 	}
 
-	private static void processInstructions(MethodNode mth, UsageInfo usageInfo) {
+	private static void processInstructions(MethodNode mth, UsageInfo usageInfo, RefsResolveTable refsTable) {
 		if (mth.isNoCode()) {
 			return;
 		}
@@ -69,42 +67,41 @@ public class UsageInfoVisitor extends AbstractVisitor {
 		if (codeReader == null) {
 			return;
 		}
-		RootNode root = mth.root();
-		codeReader.visitInstructions(insnData -> {
+		RefsResolveTable.Scope refs = refsTable.getScope(codeReader.getRefsScopeId());
+		codeReader.visitRefs(insnData -> {
 			try {
-				processInsn(root, mth, insnData, usageInfo);
+				processInsn(mth, insnData, usageInfo, refs);
 			} catch (Exception e) {
 				mth.addError("Dependency scan failed at insn: " + insnData, e);
 			}
 		});
 	}
 
-	private static void processInsn(RootNode root, MethodNode mth, InsnData insnData, UsageInfo usageInfo) {
-		if (insnData.getOpcode() == Opcode.UNKNOWN) {
-			return;
-		}
+	private static void processInsn(MethodNode mth, InsnData insnData, UsageInfo usageInfo, RefsResolveTable.Scope refs) {
 		switch (insnData.getIndexType()) {
 			case TYPE_REF:
-				insnData.decode();
-				ArgType usedType = ArgType.parse(insnData.getIndexAsType());
-				usageInfo.clsUse(mth, usedType);
+				ClassNode usedCls = refs.resolveType(insnData);
+				if (usedCls != null) {
+					usageInfo.clsUse(mth, usedCls);
+				}
 				break;
 
 			case FIELD_REF:
-				insnData.decode();
-				FieldNode fieldNode = root.resolveField(FieldInfo.fromData(root, insnData.getIndexAsField()));
+				FieldNode fieldNode = refs.resolveField(insnData);
 				if (fieldNode != null) {
 					usageInfo.fieldUse(mth, fieldNode);
 				}
 				break;
 
 			case METHOD_REF:
-				insnData.decode();
-				MethodNode methodNode = root.resolveMethod(MethodInfo.fromRef(root, insnData.getIndexAsMethod()));
+				MethodNode methodNode = refs.resolveMethod(insnData);
 				if (methodNode != null) {
 					usageInfo.methodUse(mth, methodNode);
 				}
 				break;
+
+			default:
+				break;
 		}
 	}
 }
@@ -0,0 +1,80 @@
+package jadx.core.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lock-free for reads table with primitive int keys.
+ * <br>
+ * Values stored in pages of {@link #PAGE_SIZE} elements indexed by high key bits,
+ * so keys should be dense and small (like dex method uniq ids: dex id in high bits and method index in low).
+ * Pages created on demand under lock, all other operations are lock-free.
+ */
+public final class ConcurrentIntTable<V> {
+	private static final int PAGE_BITS = 10;
+	private static final int PAGE_SIZE = 1 << PAGE_BITS;
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+	private volatile AtomicReferenceArray<AtomicReferenceArray<V>> pages = new AtomicReferenceArray<>(0);
+
+	@Nullable
+	public V get(int key) {
+		AtomicReferenceArray<V> page = getPage(key >>> PAGE_BITS);
+		if (page == null) {
+			return null;
+		}
+		return page.get(key & PAGE_MASK);
+	}
+
+	public void put(int key, V value) {
+		getOrCreatePage(key >>> PAGE_BITS).set(key & PAGE_MASK, value);
+	}
+
+	/**
+	 * Keys range covered by pages array (grows with max used key)
+	 */
+	public int getCapacity() {
+		return pages.length() * PAGE_SIZE;
+	}
+
+	@Nullable
+	private AtomicReferenceArray<V> getPage(int pageIdx) {
+		AtomicReferenceArray<AtomicReferenceArray<V>> curPages = pages;
+		if (pageIdx >= curPages.length()) {
+			return null;
+		}
+		return curPages.get(pageIdx);
+	}
+
+	private AtomicReferenceArray<V> getOrCreatePage(int pageIdx) {
+		AtomicReferenceArray<V> page = getPage(pageIdx);
+		if (page != null) {
+			return page;
+		}
+		return createPage(pageIdx);
+	}
+
+	/**
+	 * Pages array changed only under lock, so copy on grow can't lose concurrently added page
+	 */
+	private synchronized AtomicReferenceArray<V> createPage(int pageIdx) {
+		AtomicReferenceArray<AtomicReferenceArray<V>> curPages = pages;
+		int len = curPages.length();
+		if (pageIdx >= len) {
+			int newLen = Math.max(pageIdx + 1, len * 2);
+			AtomicReferenceArray<AtomicReferenceArray<V>> newPages = new AtomicReferenceArray<>(newLen);
+			for (int i = 0; i < len; i++) {
+				newPages.set(i, curPages.get(i));
+			}
+			pages = newPages;
+			curPages = newPages;
+		}
+		AtomicReferenceArray<V> page = curPages.get(pageIdx);
+		if (page == null) {
+			page = new AtomicReferenceArray<>(PAGE_SIZE);
+			curPages.set(pageIdx, page);
+		}
+		return page;
+	}
+}
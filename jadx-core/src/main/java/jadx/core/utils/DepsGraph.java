@@ -0,0 +1,190 @@
+package jadx.core.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+/**
+ * Dependencies graph for nodes reachable from provided roots.
+ * <br>
+ * Nodes split into waves (topological levels): all dependencies of node placed in previous waves.
+ * Nodes from same cycle (strongly connected component) placed in same wave.
+ */
+public final class DepsGraph<T> {
+
+	private final List<T> nodes;
+	private final Map<T, Integer> ids;
+	private final int[][] deps;
+	private final int[] usageCount;
+	private final int[] levels;
+	private int levelsCount;
+
+	public static <T> DepsGraph<T> build(Collection<T> roots, Function<T, List<T>> depsProvider) {
+		return new DepsGraph<>(roots, depsProvider);
+	}
+
+	private DepsGraph(Collection<T> roots, Function<T, List<T>> depsProvider) {
+		this.nodes = new ArrayList<>(roots.size());
+		this.ids = new HashMap<>(roots.size());
+		List<int[]> depsList = new ArrayList<>(roots.size());
+		for (T root : roots) {
+			addNode(root);
+		}
+		for (int i = 0; i < nodes.size(); i++) {
+			List<T> nodeDeps = depsProvider.apply(nodes.get(i));
+			int[] depIds = new int[nodeDeps.size()];
+			int count = 0;
+			for (T dep : nodeDeps) {
+				int depId = addNode(dep);
+				if (depId != i) {
+					depIds[count++] = depId;
+				}
+			}
+			depsList.add(count == depIds.length ? depIds : Arrays.copyOf(depIds, count));
+		}
+		int size = nodes.size();
+		this.deps = depsList.toArray(new int[size][]);
+		this.usageCount = new int[size];
+		for (int[] nodeDeps : deps) {
+			for (int dep : nodeDeps) {
+				usageCount[dep]++;
+			}
+		}
+		this.levels = new int[size];
+		calcLevels();
+	}
+
+	private int addNode(T node) {
+		Integer id = ids.get(node);
+		if (id != null) {
+			return id;
+		}
+		int newId = nodes.size();
+		nodes.add(node);
+		ids.put(node, newId);
+		return newId;
+	}
+
+	/**
+	 * Iterative Tarjan's algorithm.
+	 * Components found in reverse topological order (dependencies first),
+	 * so level of component can be calculated right after component found.
+	 */
+	private void calcLevels() {
+		int size = nodes.size();
+		int[] index = new int[size];
+		int[] low = new int[size];
+		int[] component = new int[size];
+		int[] edgePos = new int[size];
+		boolean[] onStack = new boolean[size];
+		Arrays.fill(index, -1);
+		Arrays.fill(component, -1);
+		Deque<Integer> stack = new ArrayDeque<>();
+		Deque<Integer> callStack = new ArrayDeque<>();
+		int nextIndex = 0;
+		int componentsCount = 0;
+		for (int start = 0; start < size; start++) {
+			if (index[start] != -1) {
+				continue;
+			}
+			index[start] = nextIndex;
+			low[start] = nextIndex;
+			nextIndex++;
+			stack.push(start);
+			onStack[start] = true;
+			callStack.push(start);
+			while (!callStack.isEmpty()) {
+				int v = callStack.peek();
+				int[] vDeps = deps[v];
+				if (edgePos[v] < vDeps.length) {
+					int w = vDeps[edgePos[v]++];
+					if (index[w] == -1) {
+						index[w] = nextIndex;
+						low[w] = nextIndex;
+						nextIndex++;
+						stack.push(w);
+						onStack[w] = true;
+						callStack.push(w);
+					} else if (onStack[w]) {
+						low[v] = Math.min(low[v], index[w]);
+					}
+					continue;
+				}
+				callStack.pop();
+				if (!callStack.isEmpty()) {
+					int parent = callStack.peek();
+					low[parent] = Math.min(low[parent], low[v]);
+				}
+				if (low[v] == index[v]) {
+					int compId = componentsCount++;
+					List<Integer> members = new ArrayList<>();
+					int w;
+					do {
+						w = stack.pop();
+						onStack[w] = false;
+						component[w] = compId;
+						members.add(w);
+					} while (w != v);
+					int level = 0;
+					for (int member : members) {
+						for (int dep : deps[member]) {
+							if (component[dep] != compId) {
+								level = Math.max(level, levels[dep] + 1);
+							}
+						}
+					}
+					for (int member : members) {
+						levels[member] = level;
+					}
+					levelsCount = Math.max(levelsCount, level + 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Nodes grouped by levels, nodes order inside wave preserved
+	 */
+	public List<List<T>> getWaves() {
+		List<List<T>> waves = new ArrayList<>(levelsCount);
+		for (int i = 0; i < levelsCount; i++) {
+			waves.add(new ArrayList<>());
+		}
+		int size = nodes.size();
+		for (int i = 0; i < size; i++) {
+			waves.get(levels[i]).add(nodes.get(i));
+		}
+		return waves;
+	}
+
+	public List<T> getNodes() {
+		return nodes;
+	}
+
+	public int getLevel(T node) {
+		return levels[getId(node)];
+	}
+
+	/**
+	 * Count of other nodes depends on this node
+	 */
+	public int getUsageCount(T node) {
+		return usageCount[getId(node)];
+	}
+
+	private int getId(T node) {
+		Integer id = ids.get(node);
+		if (id == null) {
+			throw new JadxRuntimeException("Unknown node: " + node);
+		}
+		return id;
+	}
+}
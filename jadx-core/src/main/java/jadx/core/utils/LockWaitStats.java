@@ -0,0 +1,94 @@
+package jadx.core.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.dex.nodes.ClassNode;
+
+/**
+ * Collect time spent by decompilation threads on waiting for class process lock
+ */
+public class LockWaitStats {
+	private static final Logger LOG = LoggerFactory.getLogger(LockWaitStats.class);
+
+	/**
+	 * Ignore uncontended locks
+	 */
+	private static final long MIN_WAIT_NS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private final Map<ClassNode, ClassLockWait> waits = new ConcurrentHashMap<>();
+
+	public void add(ClassNode cls, long waitNs) {
+		if (waitNs < MIN_WAIT_NS) {
+			return;
+		}
+		ClassLockWait clsWait = waits.computeIfAbsent(cls, ClassLockWait::new);
+		clsWait.count.increment();
+		clsWait.time.add(waitNs);
+	}
+
+	public long getTotalWaitMs() {
+		long total = 0;
+		for (ClassLockWait clsWait : waits.values()) {
+			total += clsWait.time.sum();
+		}
+		return TimeUnit.NANOSECONDS.toMillis(total);
+	}
+
+	/**
+	 * Classes with the longest total wait time
+	 */
+	public List<ClassLockWait> getTop(int count) {
+		List<ClassLockWait> list = new ArrayList<>(waits.values());
+		list.sort(Comparator.comparingLong(ClassLockWait::getWaitNs).reversed());
+		return list.size() > count ? list.subList(0, count) : list;
+	}
+
+	public void printReport(int count) {
+		if (!LOG.isDebugEnabled() || waits.isEmpty()) {
+			return;
+		}
+		LOG.debug("Class lock wait time: {} ms, contended classes: {}", getTotalWaitMs(), waits.size());
+		for (ClassLockWait clsWait : getTop(count)) {
+			LOG.debug("  {} ms ({} waits) - {}", clsWait.getWaitMs(), clsWait.getCount(), clsWait.getCls());
+		}
+	}
+
+	public void reset() {
+		waits.clear();
+	}
+
+	public static final class ClassLockWait {
+		private final ClassNode cls;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder time = new LongAdder();
+
+		private ClassLockWait(ClassNode cls) {
+			this.cls = cls;
+		}
+
+		public ClassNode getCls() {
+			return cls;
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public long getWaitNs() {
+			return time.sum();
+		}
+
+		public long getWaitMs() {
+			return TimeUnit.NANOSECONDS.toMillis(time.sum());
+		}
+	}
+}
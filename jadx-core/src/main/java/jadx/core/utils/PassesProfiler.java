@@ -0,0 +1,228 @@
+package jadx.core.utils;
+
+import java.io.File;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.visitors.IDexTreeVisitor;
+import jadx.core.utils.exceptions.JadxException;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Collect wall time, CPU time and allocated bytes for every pass (per visitor and per method).
+ * <br>
+ * Time of nested passes (started from other pass) also included into outer pass time.
+ * CPU time and allocations are collected only if supported by JVM.
+ */
+public class PassesProfiler {
+	private static final Logger LOG = LoggerFactory.getLogger(PassesProfiler.class);
+
+	private static final int REPORT_METHODS_LIMIT = 1000;
+
+	private static final Gson GSON = new GsonBuilder()
+			.setPrettyPrinting()
+			.disableHtmlEscaping()
+			.create();
+
+	private final ThreadMXBean threadBean;
+	private final boolean cpuTimeSupported;
+	private final boolean allocSupported;
+
+	private final Map<String, Stats> passes = new ConcurrentHashMap<>();
+	private final Map<MethodNode, Stats> methods = new ConcurrentHashMap<>();
+
+	public PassesProfiler() {
+		this.threadBean = ManagementFactory.getThreadMXBean();
+		this.cpuTimeSupported = threadBean.isCurrentThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled();
+		this.allocSupported = isAllocSupported(threadBean);
+	}
+
+	private static boolean isAllocSupported(ThreadMXBean threadBean) {
+		try {
+			if (threadBean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+				return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+			}
+		} catch (Throwable e) {
+			LOG.debug("Thread allocated memory not supported", e);
+		}
+		return false;
+	}
+
+	public boolean visit(IDexTreeVisitor visitor, ClassNode cls) throws JadxException {
+		long wallStart = System.nanoTime();
+		long cpuStart = getCpuTime();
+		long allocStart = getAllocatedBytes();
+		try {
+			return visitor.visit(cls);
+		} finally {
+			long wall = System.nanoTime() - wallStart;
+			long cpu = getCpuTime() - cpuStart;
+			long alloc = getAllocatedBytes() - allocStart;
+			getPassStats(visitor).add(wall, cpu, alloc);
+		}
+	}
+
+	public void visit(IDexTreeVisitor visitor, MethodNode mth) throws JadxException {
+		long wallStart = System.nanoTime();
+		long cpuStart = getCpuTime();
+		long allocStart = getAllocatedBytes();
+		try {
+			visitor.visit(mth);
+		} finally {
+			long wall = System.nanoTime() - wallStart;
+			long cpu = getCpuTime() - cpuStart;
+			long alloc = getAllocatedBytes() - allocStart;
+			getPassStats(visitor).add(wall, cpu, alloc);
+			methods.computeIfAbsent(mth, m -> new Stats(m.toString())).add(wall, cpu, alloc);
+		}
+	}
+
+	private Stats getPassStats(IDexTreeVisitor visitor) {
+		String name = visitor.getClass().getSimpleName();
+		Stats stats = passes.get(name);
+		if (stats != null) {
+			return stats;
+		}
+		return passes.computeIfAbsent(name, Stats::new);
+	}
+
+	private long getCpuTime() {
+		return cpuTimeSupported ? threadBean.getCurrentThreadCpuTime() : 0;
+	}
+
+	private long getAllocatedBytes() {
+		if (!allocSupported) {
+			return 0;
+		}
+		long threadId = Thread.currentThread().getId();
+		return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(threadId);
+	}
+
+	public List<Stats> getPassesStats() {
+		return sorted(passes.values());
+	}
+
+	public List<Stats> getMethodsStats() {
+		return sorted(methods.values());
+	}
+
+	private static List<Stats> sorted(Iterable<Stats> values) {
+		List<Stats> list = new ArrayList<>();
+		values.forEach(list::add);
+		list.sort(Comparator.comparingLong(Stats::getWallTime).reversed());
+		return list;
+	}
+
+	public void printReport(int count) {
+		LOG.info("Slowest passes:");
+		for (Stats stats : limit(getPassesStats(), count)) {
+			LOG.info("  {}", stats.format());
+		}
+		LOG.info("Slowest methods:");
+		for (Stats stats : limit(getMethodsStats(), count)) {
+			LOG.info("  {}", stats.format());
+		}
+	}
+
+	public void saveReport(File file) {
+		JsonObject report = new JsonObject();
+		report.addProperty("cpuTimeSupported", cpuTimeSupported);
+		report.addProperty("allocSupported", allocSupported);
+		report.add("passes", toJson(getPassesStats()));
+		report.add("methods", toJson(limit(getMethodsStats(), REPORT_METHODS_LIMIT)));
+		FileUtils.makeDirsForFile(file);
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			GSON.toJson(report, writer);
+			LOG.info("Passes profile saved to {}", file.getAbsolutePath());
+		} catch (Exception e) {
+			throw new JadxRuntimeException("Failed to save passes profile", e);
+		}
+	}
+
+	private static JsonArray toJson(List<Stats> list) {
+		JsonArray array = new JsonArray();
+		for (Stats stats : list) {
+			JsonObject obj = new JsonObject();
+			obj.addProperty("name", stats.getName());
+			obj.addProperty("calls", stats.getCalls());
+			obj.addProperty("wallTimeMs", toMs(stats.getWallTime()));
+			obj.addProperty("cpuTimeMs", toMs(stats.getCpuTime()));
+			obj.addProperty("allocatedBytes", stats.getAllocatedBytes());
+			array.add(obj);
+		}
+		return array;
+	}
+
+	private static List<Stats> limit(List<Stats> list, int count) {
+		return list.size() > count ? list.subList(0, count) : list;
+	}
+
+	private static long toMs(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+	public static final class Stats {
+		private final String name;
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder wallTime = new LongAdder();
+		private final LongAdder cpuTime = new LongAdder();
+		private final LongAdder allocatedBytes = new LongAdder();
+
+		private Stats(String name) {
+			this.name = name;
+		}
+
+		private void add(long wall, long cpu, long alloc) {
+			calls.increment();
+			wallTime.add(wall);
+			cpuTime.add(cpu);
+			allocatedBytes.add(alloc);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getCalls() {
+			return calls.sum();
+		}
+
+		public long getWallTime() {
+			return wallTime.sum();
+		}
+
+		public long getCpuTime() {
+			return cpuTime.sum();
+		}
+
+		public long getAllocatedBytes() {
+			return allocatedBytes.sum();
+		}
+
+		private String format() {
+			return String.format("%6d ms, cpu: %6d ms, alloc: %8d KB, calls: %6d - %s",
+					toMs(getWallTime()), toMs(getCpuTime()), getAllocatedBytes() / 1024, getCalls(), name);
+		}
+	}
+}
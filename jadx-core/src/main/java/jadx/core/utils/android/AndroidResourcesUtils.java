@@ -106,7 +106,7 @@ public class AndroidResourcesUtils {
 				rField = new FieldNode(typeCls, rFieldInfo, AccessFlags.PUBLIC | AccessFlags.STATIC | AccessFlags.FINAL);
 				EncodedValue value = new EncodedValue(EncodedType.ENCODED_INT, resource.getId());
 				rField.addAttr(FieldInitAttr.constValue(value));
-				typeCls.getFields().add(rField);
+				typeCls.addField(rField);
 				if (rClsExists) {
 					rField.addAttr(AType.COMMENTS, "added by JADX");
 				}
@@ -0,0 +1,104 @@
+package jadx.core.utils.files;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keep zip files opened for repeated access to entries (central directory parsed only once).
+ * <br>
+ * Opened {@link ZipFile} shared between threads (concurrent entries reading is supported by ZipFile),
+ * references counted, so {@link #close()} don't break readers in progress:
+ * files in use will be closed after last release.
+ */
+public final class ZipFilePool implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(ZipFilePool.class);
+
+	private final Map<File, SharedZipFile> openedFiles = new HashMap<>();
+
+	public synchronized ZipFileRef acquire(File file) throws IOException {
+		File key = file.getAbsoluteFile();
+		SharedZipFile shared = openedFiles.get(key);
+		if (shared == null) {
+			shared = new SharedZipFile(new ZipFile(key));
+			openedFiles.put(key, shared);
+		}
+		shared.refCount++;
+		return new ZipFileRef(this, shared);
+	}
+
+	private synchronized void release(SharedZipFile shared) {
+		shared.refCount--;
+		if (shared.closeOnRelease && shared.refCount == 0) {
+			closeZip(shared);
+		}
+	}
+
+	/**
+	 * Close all opened files, pool can be used again after close
+	 */
+	@Override
+	public synchronized void close() {
+		List<SharedZipFile> list = new ArrayList<>(openedFiles.values());
+		openedFiles.clear();
+		for (SharedZipFile shared : list) {
+			if (shared.refCount == 0) {
+				closeZip(shared);
+			} else {
+				shared.closeOnRelease = true;
+			}
+		}
+	}
+
+	private static void closeZip(SharedZipFile shared) {
+		try {
+			shared.zipFile.close();
+		} catch (Exception e) {
+			LOG.error("Failed to close zip file: {}", shared.zipFile.getName(), e);
+		}
+	}
+
+	private static final class SharedZipFile {
+		private final ZipFile zipFile;
+		private int refCount;
+		private boolean closeOnRelease;
+
+		private SharedZipFile(ZipFile zipFile) {
+			this.zipFile = zipFile;
+		}
+	}
+
+	public static final class ZipFileRef implements Closeable {
+		private final ZipFilePool pool;
+		private final SharedZipFile shared;
+		private boolean released;
+
+		private ZipFileRef(ZipFilePool pool, SharedZipFile shared) {
+			this.pool = pool;
+			this.shared = shared;
+		}
+
+		public ZipFile getZipFile() {
+			return shared.zipFile;
+		}
+
+		/**
+		 * Release reference, zip file will stay opened in pool
+		 */
+		@Override
+		public void close() {
+			if (!released) {
+				released = true;
+				pool.release(shared);
+			}
+		}
+	}
+}
@@ -2,6 +2,7 @@ package jadx.core.xmlgen;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -13,7 +14,7 @@ import org.slf4j.LoggerFactory;
 
 import jadx.api.ICodeInfo;
 import jadx.api.ICodeWriter;
-import jadx.api.ResourcesLoader;
+import jadx.api.impl.SimpleCodeInfo;
 import jadx.core.dex.info.ConstStorage;
 import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.RootNode;
@@ -66,22 +67,36 @@ public class BinaryXMLParser extends CommonBinaryParser {
 		}
 	}
 
-	public synchronized ICodeInfo parse(InputStream inputStream) throws IOException {
-		is = new ParserStream(inputStream);
+	public ICodeInfo parse(InputStream inputStream) throws IOException {
+		return parse(new ParserStream(inputStream));
+	}
+
+	public synchronized ICodeInfo parse(ParserStream stream) throws IOException {
+		is = stream;
 		if (!isBinaryXml()) {
-			return ResourcesLoader.loadToCodeWriter(inputStream);
+			byte[] data = is.readInt8Array((int) (is.size() - is.getPos()));
+			return new SimpleCodeInfo(new String(data, StandardCharsets.UTF_8));
 		}
 		nsMapGenerated = new HashSet<>();
 		nsMap = new HashMap<>();
 		writer = rootNode.makeCodeWriter();
-		writer.add("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
-		firstElement = true;
-		decode();
-		nsMap = null;
-		return writer.finish();
+		try {
+			writer.add("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
+			firstElement = true;
+			decode();
+			nsMap = null;
+			return writer.finish();
+		} catch (Throwable e) {
+			// release temp file used by writer
+			writer.discard();
+			throw e;
+		}
 	}
 
 	private boolean isBinaryXml() throws IOException {
+		if (is.size() - is.getPos() < 4) {
+			return false;
+		}
 		is.mark(4);
 		int v = is.readInt16(); // version
 		int h = is.readInt16(); // header size
@@ -1,12 +1,23 @@
 package jadx.core.xmlgen;
 
+import java.io.ByteArrayOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import org.jetbrains.annotations.NotNull;
 
+import jadx.core.utils.files.FileUtils;
+
+/**
+ * Little-endian reader for binary resources (ARSC and binary XML) with random access support.
+ * <br>
+ * Data stored in {@link ByteBuffer} (heap or memory mapped), streams are fully read into memory.
+ */
 public class ParserStream {
 
 	protected static final Charset STRING_CHARSET_UTF16 = Charset.forName("UTF-16LE");
@@ -15,37 +26,56 @@ public class ParserStream {
 	private static final int[] EMPTY_INT_ARRAY = new int[0];
 	private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
-	private final InputStream input;
-	private long readPos = 0;
+	private final ByteBuffer buf;
+	private int markPos = -1;
+
+	public ParserStream(@NotNull InputStream inputStream) throws IOException {
+		this(inputStream, -1);
+	}
 
-	public ParserStream(@NotNull InputStream inputStream) {
-		this.input = inputStream;
+	/**
+	 * @param sizeHint expected data size, use -1 if unknown
+	 */
+	public ParserStream(@NotNull InputStream inputStream, long sizeHint) throws IOException {
+		this(ByteBuffer.wrap(readAll(inputStream, sizeHint)));
+	}
+
+	public ParserStream(@NotNull ByteBuffer buffer) {
+		this.buf = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
 	}
 
 	public long getPos() {
-		return readPos;
+		return buf.position();
+	}
+
+	public long size() {
+		return buf.limit();
+	}
+
+	/**
+	 * Move to absolute position (both directions)
+	 */
+	public void seek(long pos) throws IOException {
+		if (pos < 0 || pos > buf.limit()) {
+			throw new EOFException("Can't seek to 0x" + Long.toHexString(pos)
+					+ ", data size: 0x" + Integer.toHexString(buf.limit()));
+		}
+		buf.position((int) pos);
 	}
 
 	public int readInt8() throws IOException {
-		readPos++;
-		return input.read();
+		require(1);
+		return buf.get() & 0xFF;
 	}
 
 	public int readInt16() throws IOException {
-		readPos += 2;
-		int b1 = input.read();
-		int b2 = input.read();
-		return (b2 & 0xFF) << 8 | b1 & 0xFF;
+		require(2);
+		return buf.getShort() & 0xFFFF;
 	}
 
 	public int readInt32() throws IOException {
-		readPos += 4;
-		InputStream in = input;
-		int b1 = in.read();
-		int b2 = in.read();
-		int b3 = in.read();
-		int b4 = in.read();
-		return b4 << 24 | (b3 & 0xFF) << 16 | (b2 & 0xFF) << 8 | b1 & 0xFF;
+		require(4);
+		return buf.getInt();
 	}
 
 	public long readUInt32() throws IOException {
@@ -61,10 +91,10 @@ public class ParserStream {
 		if (count == 0) {
 			return EMPTY_INT_ARRAY;
 		}
+		require((long) count * 4);
 		int[] arr = new int[count];
-		for (int i = 0; i < count; i++) {
-			arr[i] = readInt32();
-		}
+		buf.asIntBuffer().get(arr);
+		buf.position(buf.position() + count * 4);
 		return arr;
 	}
 
@@ -72,29 +102,15 @@ public class ParserStream {
 		if (count == 0) {
 			return EMPTY_BYTE_ARRAY;
 		}
-		readPos += count;
+		require(count);
 		byte[] arr = new byte[count];
-		int pos = input.read(arr, 0, count);
-		while (pos < count) {
-			int read = input.read(arr, pos, count - pos);
-			if (read == -1) {
-				throw new IOException("No data, can't read " + count + " bytes");
-			}
-			pos += read;
-		}
+		buf.get(arr);
 		return arr;
 	}
 
 	public void skip(long count) throws IOException {
-		readPos += count;
-		long pos = input.skip(count);
-		while (pos < count) {
-			long skipped = input.skip(count - pos);
-			if (skipped == -1) {
-				throw new IOException("No data, can't skip " + count + " bytes");
-			}
-			pos += skipped;
-		}
+		require(count);
+		buf.position(buf.position() + (int) count);
 	}
 
 	public void checkInt8(int expected, String error) throws IOException {
@@ -133,15 +149,18 @@ public class ParserStream {
 		checkPos(expectedOffset, error);
 	}
 
-	public void mark(int len) throws IOException {
-		if (!input.markSupported()) {
-			throw new IOException("Mark not supported for input stream " + input.getClass());
-		}
-		input.mark(len);
+	/**
+	 * Remember current position, read limit not used (all data available)
+	 */
+	public void mark(int len) {
+		markPos = buf.position();
 	}
 
 	public void reset() throws IOException {
-		input.reset();
+		if (markPos == -1) {
+			throw new IOException("Mark not set");
+		}
+		buf.position(markPos);
 	}
 
 	public void readFully(byte[] b) throws IOException {
@@ -149,22 +168,50 @@ public class ParserStream {
 	}
 
 	public void readFully(byte[] b, int off, int len) throws IOException {
-		readPos += len;
 		if (len < 0) {
 			throw new IndexOutOfBoundsException();
 		}
-		int n = 0;
-		while (n < len) {
-			int count = input.read(b, off + n, len - n);
-			if (count < 0) {
-				throw new EOFException();
+		require(len);
+		buf.get(b, off, len);
+	}
+
+	private void require(long count) throws EOFException {
+		if (count > buf.remaining()) {
+			throw new EOFException("No data, can't read " + count + " bytes"
+					+ ", offset: 0x" + Integer.toHexString(buf.position()));
+		}
+	}
+
+	private static byte[] readAll(InputStream in, long sizeHint) throws IOException {
+		if (sizeHint <= 0 || sizeHint >= Integer.MAX_VALUE) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+			FileUtils.copyStream(in, out);
+			return out.toByteArray();
+		}
+		int size = (int) sizeHint;
+		byte[] data = new byte[size];
+		int pos = 0;
+		while (pos < size) {
+			int read = in.read(data, pos, size - pos);
+			if (read == -1) {
+				return Arrays.copyOf(data, pos);
 			}
-			n += count;
+			pos += read;
+		}
+		int next = in.read();
+		if (next == -1) {
+			return data;
 		}
+		// size hint is wrong, read the rest
+		ByteArrayOutputStream out = new ByteArrayOutputStream(size * 2);
+		out.write(data);
+		out.write(next);
+		FileUtils.copyStream(in, out);
+		return out.toByteArray();
 	}
 
 	@Override
 	public String toString() {
-		return "pos: 0x" + Long.toHexString(readPos);
+		return "pos: 0x" + Integer.toHexString(buf.position());
 	}
 }
@@ -19,12 +19,20 @@ import jadx.core.deobf.NameMapper;
 import jadx.core.dex.attributes.AFlag;
 import jadx.core.dex.nodes.FieldNode;
 import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.xmlgen.entry.EntryConfig;
 import jadx.core.xmlgen.entry.RawNamedValue;
 import jadx.core.xmlgen.entry.RawValue;
 import jadx.core.xmlgen.entry.ResourceEntry;
 import jadx.core.xmlgen.entry.ValuesParser;
 
+/**
+ * Resources table (ARSC) parser.
+ * <br>
+ * On decode all entries indexed with names (required for names deduplication), but values
+ * and strings from global pool parsed on first request from retained table data.
+ * Use {@link #release()} to drop table data after values usage.
+ */
 public class ResTableParser extends CommonBinaryParser {
 	private static final Logger LOG = LoggerFactory.getLogger(ResTableParser.class);
 
@@ -66,7 +74,7 @@ public class ResTableParser extends CommonBinaryParser {
 	private final boolean useRawResName;
 	private final RootNode root;
 	private final ResourceStorage resStorage = new ResourceStorage();
-	private String[] strings;
+	private StringPool strings;
 
 	public ResTableParser(RootNode root) {
 		this(root, false);
@@ -78,14 +86,40 @@ public class ResTableParser extends CommonBinaryParser {
 	}
 
 	public void decode(InputStream inputStream) throws IOException {
-		is = new ParserStream(inputStream);
+		decode(new ParserStream(inputStream));
+	}
+
+	public void decode(ParserStream stream) throws IOException {
+		is = stream;
 		decodeTableChunk();
 		resStorage.finish();
 	}
 
+	/**
+	 * Drop table data, values not loaded before this call can't be requested after
+	 */
+	public synchronized void release() {
+		is = null;
+		strings = null;
+	}
+
 	public ResContainer decodeFiles(InputStream inputStream) throws IOException {
-		decode(inputStream);
+		return decodeFiles(new ParserStream(inputStream));
+	}
+
+	public ResContainer decodeFiles(ParserStream stream) throws IOException {
+		decode(stream);
+		try {
+			return makeResContainer();
+		} finally {
+			release();
+		}
+	}
 
+	/**
+	 * Generate resources files from already decoded table
+	 */
+	public ResContainer makeResContainer() {
 		ValuesParser vp = new ValuesParser(strings, resStorage.getResourcesNames());
 		ResXmlGen resGen = new ResXmlGen(resStorage, vp);
 
@@ -117,7 +151,7 @@ public class ResTableParser extends CommonBinaryParser {
 		return resStorage;
 	}
 
-	public String[] getStrings() {
+	public StringPool getStrings() {
 		return strings;
 	}
 
@@ -128,7 +162,7 @@ public class ResTableParser extends CommonBinaryParser {
 		is.readInt32();
 		int pkgCount = is.readInt32();
 
-		strings = parseStringPool();
+		strings = readStringPool();
 		for (int i = 0; i < pkgCount; i++) {
 			parsePackage();
 		}
@@ -179,11 +213,17 @@ public class ResTableParser extends CommonBinaryParser {
 			if (type == RES_NULL_TYPE) {
 				continue;
 			}
-			if (type == RES_TABLE_TYPE_SPEC_TYPE) {
-				parseTypeSpecChunk();
-			} else if (type == RES_TABLE_TYPE_TYPE) {
+			/* int headerSize = */
+			is.readInt16();
+			long chunkSize = is.readUInt32();
+			if (chunkSize < 8) {
+				die("Invalid chunk size: " + chunkSize);
+			}
+			if (type == RES_TABLE_TYPE_TYPE) {
 				parseTypeChunk(chunkStart, pkg);
 			}
+			// type spec (only config change flags) and other chunks not used, just jump over
+			is.seek(chunkStart + chunkSize);
 		}
 		return pkg;
 	}
@@ -214,26 +254,7 @@ public class ResTableParser extends CommonBinaryParser {
 		return "JADX_DEOBF_" + idx;
 	}
 
-	@SuppressWarnings("unused")
-	private void parseTypeSpecChunk() throws IOException {
-		is.checkInt16(0x0010, "Unexpected type spec header size");
-		/* int size = */
-		is.readInt32();
-
-		int id = is.readInt8();
-		is.skip(3);
-		int entryCount = is.readInt32();
-		for (int i = 0; i < entryCount; i++) {
-			int entryFlag = is.readInt32();
-		}
-	}
-
 	private void parseTypeChunk(long start, PackageChunk pkg) throws IOException {
-		/* int headerSize = */
-		is.readInt16();
-		/* int size = */
-		is.readInt32();
-
 		int id = is.readInt8();
 		is.checkInt8(0, "type chunk, res0");
 		is.checkInt16(0, "type chunk, res1");
@@ -247,21 +268,19 @@ public class ResTableParser extends CommonBinaryParser {
 			LOG.warn("Invalid config flags detected: {}{}", typeName, config.getQualifiers());
 		}
 
-		int[] entryIndexes = new int[entryCount];
-		for (int i = 0; i < entryCount; i++) {
-			entryIndexes[i] = is.readInt32();
-		}
-
-		is.checkPos(entriesStart, "Expected entry start");
+		int[] entryIndexes = is.readInt32Array(entryCount);
 		for (int i = 0; i < entryCount; i++) {
-			if (entryIndexes[i] != NO_ENTRY) {
+			int entryOffset = entryIndexes[i];
+			if (entryOffset != NO_ENTRY) {
+				is.seek(entriesStart + entryOffset);
 				parseEntry(pkg, id, i, config.getQualifiers());
 			}
 		}
 	}
 
 	private void parseEntry(PackageChunk pkg, int typeId, int entryId, String config) throws IOException {
-		int size = is.readInt16();
+		long entryStart = is.getPos();
+		is.readInt16(); // size
 		int flags = is.readInt16();
 		int key = is.readInt32();
 		if (key == -1) {
@@ -284,20 +303,35 @@ public class ResTableParser extends CommonBinaryParser {
 		if (!Objects.equals(origKeyName, newResEntry.getKeyName())) {
 			resStorage.addRename(newResEntry);
 		}
+		// values not needed for names, parse on first use
+		newResEntry.setValuesLoader(this::loadValues, entryStart);
+		resStorage.add(newResEntry);
+	}
 
-		if ((flags & FLAG_COMPLEX) != 0 || size == 16) {
-			int parentRef = is.readInt32();
-			int count = is.readInt32();
-			newResEntry.setParentRef(parentRef);
-			List<RawNamedValue> values = new ArrayList<>(count);
-			for (int i = 0; i < count; i++) {
-				values.add(parseValueMap());
+	private synchronized void loadValues(ResourceEntry entry, long pos) {
+		if (is == null) {
+			throw new JadxRuntimeException("Resources table already released, can't load values for entry: " + entry);
+		}
+		try {
+			is.seek(pos);
+			int size = is.readInt16();
+			int flags = is.readInt16();
+			is.readInt32(); // key
+			if ((flags & FLAG_COMPLEX) != 0 || size == 16) {
+				int parentRef = is.readInt32();
+				int count = is.readInt32();
+				List<RawNamedValue> values = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					values.add(parseValueMap());
+				}
+				entry.setParentRef(parentRef);
+				entry.setNamedValues(values);
+			} else {
+				entry.setSimpleValue(parseValue());
 			}
-			newResEntry.setNamedValues(values);
-		} else {
-			newResEntry.setSimpleValue(parseValue());
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to load values for resource entry: " + entry, e);
 		}
-		resStorage.add(newResEntry);
 	}
 
 	private String getResName(int resRef, String origKeyName) {
@@ -5,23 +5,18 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
 import jadx.core.xmlgen.entry.ResourceEntry;
 
 public class ResourceStorage {
-	private static final Comparator<ResourceEntry> RES_ENTRY_NAME_COMPARATOR = Comparator
-			.comparing(ResourceEntry::getConfig)
-			.thenComparing(ResourceEntry::getTypeName)
-			.thenComparing(ResourceEntry::getKeyName);
-
 	private final List<ResourceEntry> list = new ArrayList<>();
 	private String appPackage;
 
 	/**
-	 * Names in one config and type must be unique
+	 * Names in one config and type must be unique.
+	 * Mapping: config -> type -> key name -> entry
 	 */
-	private final Map<ResourceEntry, ResourceEntry> uniqNameEntries = new TreeMap<>(RES_ENTRY_NAME_COMPARATOR);
+	private final Map<String, Map<String, Map<String, ResourceEntry>>> uniqNameEntries = new HashMap<>();
 
 	/**
 	 * Preserve same name for same id across different configs
@@ -30,7 +25,7 @@ public class ResourceStorage {
 
 	public void add(ResourceEntry resEntry) {
 		list.add(resEntry);
-		uniqNameEntries.put(resEntry, resEntry);
+		getUniqNames(resEntry).put(resEntry.getKeyName(), resEntry);
 	}
 
 	public void replace(ResourceEntry prevResEntry, ResourceEntry newResEntry) {
@@ -54,7 +49,13 @@ public class ResourceStorage {
 	}
 
 	public ResourceEntry searchEntryWithSameName(ResourceEntry resourceEntry) {
-		return uniqNameEntries.get(resourceEntry);
+		return getUniqNames(resourceEntry).get(resourceEntry.getKeyName());
+	}
+
+	private Map<String, ResourceEntry> getUniqNames(ResourceEntry resEntry) {
+		return uniqNameEntries
+				.computeIfAbsent(resEntry.getConfig(), c -> new HashMap<>())
+				.computeIfAbsent(resEntry.getTypeName(), t -> new HashMap<>());
 	}
 
 	public void finish() {
@@ -0,0 +1,106 @@
+package jadx.core.xmlgen;
+
+import java.util.Arrays;
+
+/**
+ * Strings from binary resources string pool, each string decoded on first request
+ */
+public final class StringPool {
+
+	private final byte[] data;
+	private final int[] offsets;
+	private final boolean utf8;
+	private final String[] strings;
+
+	StringPool(byte[] data, int[] offsets, boolean utf8) {
+		this.data = data;
+		this.offsets = offsets;
+		this.utf8 = utf8;
+		this.strings = new String[offsets.length];
+	}
+
+	private StringPool(String[] strings) {
+		this.data = null;
+		this.offsets = null;
+		this.utf8 = false;
+		this.strings = strings;
+	}
+
+	/**
+	 * Wrap already decoded strings
+	 */
+	public static StringPool of(String[] strings) {
+		return new StringPool(strings);
+	}
+
+	public int size() {
+		return strings.length;
+	}
+
+	public String get(int idx) {
+		String str = strings[idx];
+		if (str == null) {
+			// concurrent decode is possible, but result will be the same
+			str = decode(idx);
+			strings[idx] = str;
+		}
+		return str;
+	}
+
+	public String[] getAll() {
+		for (int i = 0; i < strings.length; i++) {
+			get(i);
+		}
+		return strings;
+	}
+
+	private String decode(int idx) {
+		if (utf8) {
+			return extractString8(data, offsets[idx]);
+		}
+		// don't trust specified string length, read until \0
+		// stringsOffset can be same for different indexes
+		return extractString16(data, offsets[idx]);
+	}
+
+	private static String extractString8(byte[] strArray, int offset) {
+		if (offset >= strArray.length) {
+			return "STRING_DECODE_ERROR";
+		}
+		int start = offset + skipStrLen8(strArray, offset);
+		int len = strArray[start++];
+		if (len == 0) {
+			return "";
+		}
+		if ((len & 0x80) != 0) {
+			len = (len & 0x7F) << 8 | strArray[start++] & 0xFF;
+		}
+		byte[] arr = Arrays.copyOfRange(strArray, start, start + len);
+		return new String(arr, ParserStream.STRING_CHARSET_UTF8);
+	}
+
+	private static String extractString16(byte[] strArray, int offset) {
+		int len = strArray.length;
+		int start = offset + skipStrLen16(strArray, offset);
+		int end = start;
+		while (true) {
+			if (end + 1 >= len) {
+				break;
+			}
+			if (strArray[end] == 0 && strArray[end + 1] == 0) {
+				break;
+			}
+			end += 2;
+		}
+		byte[] arr = Arrays.copyOfRange(strArray, start, end);
+		return new String(arr, ParserStream.STRING_CHARSET_UTF16);
+	}
+
+	private static int skipStrLen8(byte[] strArray, int offset) {
+		return (strArray[offset] & 0x80) == 0 ? 1 : 2;
+	}
+
+	private static int skipStrLen16(byte[] strArray, int offset) {
+		return (strArray[offset + 1] & 0x80) == 0 ? 2 : 4;
+	}
+}
@@ -4,6 +4,16 @@ import java.util.List;
 
 public final class ResourceEntry {
 
+	/**
+	 * Parse entry values on first access
+	 */
+	public interface ValuesLoader {
+		/**
+		 * Should set simple value or parent ref and named values into provided entry
+		 */
+		void load(ResourceEntry entry, long pos);
+	}
+
 	private final int id;
 	private final String pkgName;
 	private final String typeName;
@@ -14,6 +24,9 @@ public final class ResourceEntry {
 	private RawValue simpleValue;
 	private List<RawNamedValue> namedValues;
 
+	private volatile ValuesLoader valuesLoader;
+	private long valuesPos;
+
 	public ResourceEntry(int id, String pkgName, String typeName, String keyName, String config) {
 		this.id = id;
 		this.pkgName = pkgName;
@@ -27,6 +40,8 @@ public final class ResourceEntry {
 		copy.parentRef = this.parentRef;
 		copy.simpleValue = this.simpleValue;
 		copy.namedValues = this.namedValues;
+		copy.valuesPos = this.valuesPos;
+		copy.valuesLoader = this.valuesLoader;
 		return copy;
 	}
 
@@ -59,10 +74,12 @@ public final class ResourceEntry {
 	}
 
 	public int getParentRef() {
+		loadValues();
 		return parentRef;
 	}
 
 	public RawValue getSimpleValue() {
+		loadValues();
 		return simpleValue;
 	}
 
@@ -75,9 +92,27 @@ public final class ResourceEntry {
 	}
 
 	public List<RawNamedValue> getNamedValues() {
+		loadValues();
 		return namedValues;
 	}
 
+	/**
+	 * Delay values parsing until first request of any value
+	 */
+	public void setValuesLoader(ValuesLoader loader, long pos) {
+		this.valuesPos = pos;
+		this.valuesLoader = loader;
+	}
+
+	private void loadValues() {
+		ValuesLoader loader = this.valuesLoader;
+		if (loader != null) {
+			// concurrent load is possible, but result will be the same
+			loader.load(this, valuesPos);
+			this.valuesLoader = null;
+		}
+	}
+
 	@Override
 	public String toString() {
 		return "  0x" + Integer.toHexString(id) + " (" + id + ')' + config + " = " + typeName + '.' + keyName;
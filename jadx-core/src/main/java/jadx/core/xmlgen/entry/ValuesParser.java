@@ -14,16 +14,21 @@ import org.slf4j.LoggerFactory;
 import jadx.core.utils.android.TextResMapFile;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.core.xmlgen.ParserConstants;
+import jadx.core.xmlgen.StringPool;
 
 public class ValuesParser extends ParserConstants {
 	private static final Logger LOG = LoggerFactory.getLogger(ValuesParser.class);
 
 	private static Map<Integer, String> androidResMap;
 
-	private final String[] strings;
+	private final StringPool strings;
 	private final Map<Integer, String> resMap;
 
 	public ValuesParser(String[] strings, Map<Integer, String> resMap) {
+		this(StringPool.of(strings), resMap);
+	}
+
+	public ValuesParser(StringPool strings, Map<Integer, String> resMap) {
 		this.strings = strings;
 		this.resMap = resMap;
 		getAndroidResMap();
@@ -86,7 +91,7 @@ public class ValuesParser extends ParserConstants {
 			case TYPE_NULL:
 				return null;
 			case TYPE_STRING:
-				return strings[data];
+				return strings.get(data);
 			case TYPE_INT_DEC:
 				return Integer.toString(data);
 			case TYPE_INT_HEX:
@@ -0,0 +1,60 @@
+package jadx.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class CodeAnnotationsIndexTest {
+
+	@Test
+	public void testSearch() {
+		Map<CodePosition, Object> map = new HashMap<>();
+		map.put(new CodePosition(3, 5, 40), "c");
+		map.put(new CodePosition(1, 1, 0), "a");
+		map.put(new CodePosition(2, 0, 10), "line");
+		map.put(new CodePosition(2, 3, 12), "b");
+
+		CodeAnnotationsIndex index = CodeAnnotationsIndex.build(map);
+		assertThat(index.size(), is(3));
+		assertThat(index.getAt(0), is("a"));
+		assertThat(index.getAt(12), is("b"));
+		assertThat(index.getAt(40), is("c"));
+		assertThat(index.getAt(10), nullValue());
+		assertThat(index.getAt(11), nullValue());
+		assertThat(index.getAt(100), nullValue());
+		assertThat(index.getPosition(1).getLine(), is(2));
+
+		assertThat(index.searchFrom(-1), is(0));
+		assertThat(index.searchFrom(1), is(1));
+		assertThat(index.searchFrom(12), is(1));
+		assertThat(index.searchFrom(41), is(3));
+
+		List<Object> range = new ArrayList<>();
+		index.visitRange(1, 40, (pos, ann) -> range.add(ann));
+		assertThat(range, contains("b"));
+
+		List<Object> all = new ArrayList<>();
+		index.visit((pos, ann) -> all.add(ann));
+		assertThat(all, contains("a", "b", "c"));
+	}
+
+	@Test
+	public void testEmpty() {
+		Map<CodePosition, Object> map = new HashMap<>();
+		assertThat(CodeAnnotationsIndex.build(map), sameInstance(CodeAnnotationsIndex.EMPTY));
+		map.put(new CodePosition(1), "line");
+		CodeAnnotationsIndex index = CodeAnnotationsIndex.build(map);
+		assertThat(index.isEmpty(), is(true));
+		assertThat(index.getAt(0), nullValue());
+		assertThat(index.searchFrom(5), is(0));
+	}
+}
@@ -2,10 +2,15 @@ package jadx.api;
 
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
+import jadx.core.dex.info.ClassInfo;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
 import jadx.core.utils.files.FileUtils;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -38,6 +43,32 @@ public class JadxDecompilerTest {
 		}
 	}
 
+	@Test
+	public void testParallelClassesLoad() {
+		List<String> singleThread = loadClassNames(1);
+		List<String> multiThread = loadClassNames(4);
+		assertThat(singleThread, Matchers.not(Matchers.empty()));
+		assertThat(multiThread, Matchers.is(singleThread));
+	}
+
+	private static List<String> loadClassNames(int threadsCount) {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getFileFromSampleDir("app-with-fake-dex.apk"));
+		args.getInputFiles().add(new File("src/test/smali/inner/TestInnerClassSyntheticRename.smali"));
+		args.getInputFiles().add(new File("src/test/smali/generics/TestClassSignature.smali"));
+		args.setThreadsCount(threadsCount);
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			RootNode root = jadx.getRoot();
+			List<String> names = new ArrayList<>();
+			for (ClassNode cls : root.getClasses()) {
+				assertThat(ClassInfo.fromType(root, cls.getType()), Matchers.sameInstance(cls.getClassInfo()));
+				names.add(cls.getFullName());
+			}
+			return names;
+		}
+	}
+
 	private static final String TEST_SAMPLES_DIR = "test-samples/";
 
 	public static File getFileFromSampleDir(String fileName) {
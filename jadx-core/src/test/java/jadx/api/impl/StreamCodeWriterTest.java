@@ -0,0 +1,130 @@
+package jadx.api.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.ICodeInfo;
+import jadx.api.ICodeWriter;
+import jadx.api.JadxArgs;
+import jadx.core.dex.visitors.SaveCode;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+class StreamCodeWriterTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testSmallCodeKeptInMemory() {
+		StreamCodeWriter cw = new StreamCodeWriter(new JadxArgs(), 1024);
+		fill(cw, 3);
+		assertThat(cw.isSpilled(), is(false));
+		ICodeInfo code = cw.finish();
+		assertThat(code, instanceOf(SimpleCodeInfo.class));
+		assertThat(code.getCodeStr(), is(expected(3)));
+	}
+
+	@Test
+	public void testSpill() {
+		StreamCodeWriter cw = new StreamCodeWriter(new JadxArgs(), 100);
+		SimpleCodeWriter ref = new SimpleCodeWriter();
+		fill(cw, 50);
+		fill(ref, 50);
+		assertThat(cw.isSpilled(), is(true));
+		assertThat(cw.getLength(), is(ref.getLength()));
+		assertThat(cw.getCodeStr(), is(ref.getCodeStr()));
+
+		ICodeInfo code = cw.finish();
+		assertThat(code, instanceOf(FileCodeInfo.class));
+		assertThat(code.getCodeStr(), is(expected(50)));
+	}
+
+	@Test
+	public void testAddSpilledWriter() {
+		StreamCodeWriter body = new StreamCodeWriter(new JadxArgs(), 100);
+		fill(body, 50);
+		StreamCodeWriter header = new StreamCodeWriter(new JadxArgs(), 100);
+		header.add("package a;").newLine();
+		int bodyLen = body.getCodeStr().length();
+		int headerLen = header.getLength();
+		header.add(body);
+		assertThat(header.getLength(), is(headerLen + bodyLen));
+		header.add(" // end");
+
+		String code = header.finish().getCodeStr();
+		assertThat(code, is("package a;" + ICodeWriter.NL + expected(50) + " // end"));
+	}
+
+	@Test
+	public void testSave() throws IOException {
+		StreamCodeWriter cw = new StreamCodeWriter(new JadxArgs(), 100);
+		fill(cw, 50);
+		ICodeInfo code = cw.finish();
+		Path tmpFile = ((FileCodeInfo) code).getFile();
+		File outFile = tempDir.resolve("a").resolve("A.java").toFile();
+		SaveCode.save(code, outFile);
+
+		assertThat(Files.exists(tmpFile), is(false));
+		String saved = new String(Files.readAllBytes(outFile.toPath()), StandardCharsets.UTF_8);
+		assertThat(saved, is(expected(50) + ICodeWriter.NL));
+		assertThat(code.getCodeStr(), is(expected(50)));
+	}
+
+	@Test
+	public void testSaveTwice() throws IOException {
+		StreamCodeWriter cw = new StreamCodeWriter(new JadxArgs(), 100);
+		fill(cw, 50);
+		ICodeInfo code = cw.finish();
+		File outFile = tempDir.resolve("A.java").toFile();
+		File otherFile = tempDir.resolve("B.java").toFile();
+		SaveCode.save(code, outFile);
+		SaveCode.save(code, outFile);
+		SaveCode.save(code, otherFile);
+
+		String expected = expected(50) + ICodeWriter.NL;
+		assertThat(new String(Files.readAllBytes(outFile.toPath()), StandardCharsets.UTF_8), is(expected));
+		assertThat(new String(Files.readAllBytes(otherFile.toPath()), StandardCharsets.UTF_8), is(expected));
+	}
+
+	@Test
+	public void testDiscard() {
+		StreamCodeWriter cw = new StreamCodeWriter(new JadxArgs(), 100);
+		fill(cw, 50);
+		Path tmpFile = cw.getFile();
+		assertThat(Files.exists(tmpFile), is(true));
+		cw.discard();
+		assertThat(Files.exists(tmpFile), is(false));
+
+		StreamCodeWriter other = new StreamCodeWriter(new JadxArgs(), 100);
+		fill(other, 50);
+		FileCodeInfo code = (FileCodeInfo) other.finish();
+		code.discard();
+		assertThat(Files.exists(code.getFile()), is(false));
+	}
+
+	private static void fill(ICodeWriter cw, int count) {
+		for (int i = 0; i < count; i++) {
+			cw.startLine("line ").add(Integer.toString(i)).add(" é😀");
+		}
+	}
+
+	private static String expected(int count) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			if (i != 0) {
+				sb.append(ICodeWriter.NL);
+			}
+			sb.append("line ").append(i).append(" é😀");
+		}
+		return sb.toString();
+	}
+}
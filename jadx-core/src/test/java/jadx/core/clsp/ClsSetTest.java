@@ -0,0 +1,56 @@
+package jadx.core.clsp;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.files.FileUtils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+class ClsSetTest {
+
+	@Test
+	public void testSaveAndLoad() throws Exception {
+		ClsSet set = new ClsSet(new RootNode(new JadxArgs()));
+		set.loadFromClstFile();
+		Map<String, ClspClass> map = toMap(set);
+
+		Path file = FileUtils.createTempDir("clst").resolve("test.jcst");
+		set.save(file);
+
+		ClsSet loadedSet = new ClsSet(new RootNode(new JadxArgs()));
+		loadedSet.load(file.toFile());
+		Map<String, ClspClass> loadedMap = toMap(loadedSet);
+		assertThat(loadedMap.keySet(), is(map.keySet()));
+
+		for (String clsName : new String[] { "java.lang.String", "java.util.Map", "java.util.ArrayList" }) {
+			ClspClass cls = map.get(clsName);
+			ClspClass loadedCls = loadedMap.get(clsName);
+			assertThat(loadedCls, notNullValue());
+			assertThat(loadedCls.getParents(), is(cls.getParents()));
+			assertThat(loadedCls.getTypeParameters(), is(cls.getTypeParameters()));
+			assertThat(loadedCls.getMethodsMap().keySet(), is(cls.getMethodsMap().keySet()));
+			for (ClspMethod mth : cls.getMethodsMap().values()) {
+				ClspMethod loadedMth = loadedCls.getMethodsMap().get(mth.getMethodInfo().getShortId());
+				assertThat(loadedMth.getArgTypes(), is(mth.getArgTypes()));
+				assertThat(loadedMth.getReturnType(), is(mth.getReturnType()));
+				assertThat(loadedMth.getTypeParameters(), is(mth.getTypeParameters()));
+				assertThat(loadedMth.getThrows(), is(mth.getThrows()));
+				assertThat(loadedMth.getRawAccessFlags(), is(mth.getRawAccessFlags()));
+			}
+		}
+	}
+
+	private static Map<String, ClspClass> toMap(ClsSet set) {
+		Map<String, ClspClass> map = new HashMap<>(set.getClassesCount());
+		set.addToMap(map);
+		return map;
+	}
+}
@@ -0,0 +1,124 @@
+package jadx.core.clsp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class PlatformClasspathTest {
+
+	@Test
+	public void testShared() {
+		PlatformClasspath platformClasspath = PlatformClasspath.getDefault();
+		assertThat(PlatformClasspath.getDefault(), sameInstance(platformClasspath));
+
+		ClspGraph first = initClsp(platformClasspath);
+		ClspGraph second = initClsp(platformClasspath);
+
+		ClspClass strCls = first.getClsDetails(ArgType.STRING);
+		assertThat(strCls, notNullValue());
+		assertThat(second.getClsDetails(ArgType.STRING), sameInstance(strCls));
+		assertThat(strCls.getMethodsMap().get("length()I"), notNullValue());
+
+		assertThat(first.isImplements("java.lang.Exception", "java.lang.Throwable"), is(true));
+		assertThat(second.isImplements("java.lang.Exception", "java.lang.Throwable"), is(true));
+	}
+
+	@Test
+	public void testAppClassesIsolated() {
+		PlatformClasspath platformClasspath = PlatformClasspath.getDefault();
+		ClspGraph first = initClsp(platformClasspath,
+				root -> addAppClass(root, "test.AppRunnable", ArgType.OBJECT, ArgType.object("java.lang.Runnable")));
+		ClspGraph second = initClsp(platformClasspath);
+
+		assertThat(first.isClsKnown("test.AppRunnable"), is(true));
+		assertThat(first.isImplements("test.AppRunnable", "java.lang.Runnable"), is(true));
+		assertThat(first.getImplementations("java.lang.Runnable"), hasItem("test.AppRunnable"));
+		assertThat(first.getImplementations("java.lang.Runnable"), hasItem("java.lang.Thread"));
+
+		assertThat(second.isClsKnown("test.AppRunnable"), is(false));
+		assertThat(second.getClsDetails(ArgType.object("test.AppRunnable")), nullValue());
+		assertThat(second.isImplements("test.AppRunnable", "java.lang.Runnable"), is(false));
+		assertThat(second.getImplementations("java.lang.Runnable"), not(hasItem("test.AppRunnable")));
+		assertThat(second.getImplementations("java.lang.Runnable"), hasItem("java.lang.Thread"));
+	}
+
+	@Test
+	public void testAppClassOverridePlatform() {
+		PlatformClasspath platformClasspath = PlatformClasspath.getDefault();
+		// app class with same name as platform class, but without parents
+		ClspGraph first = initClsp(platformClasspath,
+				root -> addAppClass(root, "java.lang.Exception", ArgType.OBJECT));
+		ClspGraph second = initClsp(platformClasspath);
+
+		assertThat(first.isImplements("java.lang.Exception", "java.lang.Throwable"), is(false));
+		assertThat(first.isImplements("java.io.IOException", "java.lang.Throwable"), is(false));
+		assertThat(first.isImplements("java.io.IOException", "java.lang.Exception"), is(true));
+
+		assertThat(second.isImplements("java.lang.Exception", "java.lang.Throwable"), is(true));
+		assertThat(second.isImplements("java.io.IOException", "java.lang.Throwable"), is(true));
+	}
+
+	@Test
+	public void testNotSharedOrder() throws Exception {
+		JadxArgs args = new JadxArgs();
+		RootNode root = new RootNode(args);
+		root.loadClasses(Collections.emptyList());
+		addAppClass(root, "test.AppRunnable", ArgType.OBJECT, ArgType.object("java.lang.Runnable"));
+		root.initClassPath();
+
+		// same order as hierarchy built from one map with classpath and app classes
+		ClsSet set = new ClsSet(root);
+		set.loadFromClstFile();
+		Map<String, ClspClass> nameMap = new HashMap<>(set.getClassesCount());
+		set.addToMap(nameMap);
+		ClassNode appCls = root.resolveClass("test.AppRunnable");
+		ClspClass appClspCls = new ClspClass(appCls.getType(), -1);
+		appClspCls.setParents(ClsSet.makeParentsArray(appCls));
+		nameMap.put("test.AppRunnable", appClspCls);
+		ClspHierarchy hierarchy = ClspHierarchy.build(nameMap);
+
+		List<String> expected = hierarchy.getDescendants(hierarchy.getId("java.lang.Runnable"));
+		assertThat(expected, hasItem("test.AppRunnable"));
+		assertThat(root.getClsp().getImplementations("java.lang.Runnable"), is(expected));
+	}
+
+	private static void addAppClass(RootNode root, String name, ArgType superCls, ArgType... interfaces) {
+		ClassNode cls = ClassNode.addSyntheticClass(root, name, AccessFlags.PUBLIC);
+		cls.updateGenericClsData(superCls, new ArrayList<>(Arrays.asList(interfaces)), Collections.emptyList());
+	}
+
+	private static ClspGraph initClsp(PlatformClasspath platformClasspath) {
+		return initClsp(platformClasspath, root -> {
+		});
+	}
+
+	private static ClspGraph initClsp(PlatformClasspath platformClasspath, Consumer<RootNode> addClasses) {
+		JadxArgs args = new JadxArgs();
+		args.setPlatformClasspath(platformClasspath);
+		RootNode root = new RootNode(args);
+		root.loadClasses(Collections.emptyList());
+		addClasses.accept(root);
+		root.initClassPath();
+		return root.getClsp();
+	}
+}
@@ -0,0 +1,79 @@
+package jadx.core.dex.instructions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.InsnNode;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+class InsnsByOffsetTest {
+
+	@Test
+	public void testLookup() {
+		InsnNode nop = insn(InsnType.NOP, 0);
+		InsnNode ret = insn(InsnType.RETURN, 3);
+		InsnNode data = insn(InsnType.FILL_ARRAY_DATA, 5);
+		InsnsByOffset insns = build(nop, ret, data);
+
+		assertThat(insns.size(), is(3));
+		assertThat(insns.getByOffset(3), sameInstance(ret));
+		assertThat(insns.getByOffset(4), nullValue());
+		assertThat(insns.indexOf(5), is(2));
+		assertThat(insns.indexOf(100), is(-1));
+		assertThat(insns.searchFrom(1), is(1));
+		assertThat(insns.searchFrom(6), is(3));
+
+		assertThat(insns.getInsnAtOffset(0), sameInstance(ret));
+		assertThat(insns.getInsnAtOffset(4), sameInstance(data));
+		assertThat(insns.getNextInsnIndex(0), is(1));
+		assertThat(insns.getNextInsnIndex(2), is(-1));
+	}
+
+	@Test
+	public void testRemove() {
+		InsnNode first = insn(InsnType.GOTO, 0);
+		InsnNode second = insn(InsnType.MOVE_RESULT, 1);
+		InsnNode third = insn(InsnType.RETURN, 2);
+		InsnsByOffset insns = build(first, second, third);
+		insns.remove(1);
+
+		assertThat(insns.size(), is(3));
+		assertThat(insns.getByOffset(1), nullValue());
+		assertThat(insns.getNextInsnIndex(0), is(2));
+		List<InsnNode> list = new ArrayList<>();
+		insns.forEach(list::add);
+		assertThat(list, contains(first, third));
+	}
+
+	@Test
+	public void testGrow() {
+		InsnsByOffset.Builder builder = new InsnsByOffset.Builder(0);
+		for (int i = 0; i < 100; i++) {
+			builder.add(i * 3, insn(InsnType.NOP, i * 3));
+		}
+		InsnsByOffset insns = builder.build();
+		assertThat(insns.size(), is(100));
+		assertThat(insns.getByOffset(297).getOffset(), is(297));
+	}
+
+	private static InsnsByOffset build(InsnNode... insnArr) {
+		InsnsByOffset.Builder builder = new InsnsByOffset.Builder(insnArr.length * 2);
+		for (InsnNode insn : insnArr) {
+			builder.add(insn.getOffset(), insn);
+		}
+		return builder.build();
+	}
+
+	private static InsnNode insn(InsnType type, int offset) {
+		InsnNode insn = new InsnNode(type, 0);
+		insn.setOffset(offset);
+		return insn;
+	}
+}
@@ -0,0 +1,50 @@
+package jadx.core.dex.instructions.args;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.nodes.parser.SignatureParser;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class ArgTypeStorageTest {
+
+	@Test
+	public void testObjects() {
+		ArgTypeStorage storage = new ArgTypeStorage();
+		ArgType type = storage.parse("Ljava/util/List;");
+		assertThat(storage.object("java.util.List"), sameInstance(type));
+		assertThat(storage.object("Ljava/util/List;"), sameInstance(type));
+		assertThat(storage.intern(ArgType.object("java.util.List")), sameInstance(type));
+
+		assertThat(storage.parse("Ljava/lang/Object;"), sameInstance(ArgType.OBJECT));
+		assertThat(storage.parse("[Ljava/lang/Object;"), sameInstance(ArgType.OBJECT_ARRAY));
+		assertThat(storage.parse("I"), sameInstance(ArgType.INT));
+	}
+
+	@Test
+	public void testArrays() {
+		ArgTypeStorage storage = new ArgTypeStorage();
+		ArgType arr = storage.parse("[[Ljava/util/List;");
+		assertThat(storage.intern(ArgType.array(ArgType.array(ArgType.object("java.util.List")))), sameInstance(arr));
+		assertThat(arr.getArrayElement(), sameInstance(storage.parse("[Ljava/util/List;")));
+		assertThat(arr.getArrayRootElement(), sameInstance(storage.object("java.util.List")));
+	}
+
+	@Test
+	public void testGenerics() {
+		ArgTypeStorage storage = new ArgTypeStorage();
+		ArgType listOfStrings = new SignatureParser("Ljava/util/List<Ljava/lang/String;>;", storage).consumeType();
+		ArgType same = new SignatureParser("Ljava/util/List<Ljava/lang/String;>;", storage).consumeType();
+		assertThat(same, sameInstance(listOfStrings));
+
+		// types with type variables can be changed, so they not shared
+		ArgType listOfT = new SignatureParser("Ljava/util/List<TT;>;", storage).consumeType();
+		ArgType otherListOfT = new SignatureParser("Ljava/util/List<TT;>;", storage).consumeType();
+		assertThat(otherListOfT, is(listOfT));
+		assertThat(otherListOfT, not(sameInstance(listOfT)));
+		assertThat(storage.parse("TT;"), not(sameInstance(storage.parse("TT;"))));
+	}
+}
@@ -0,0 +1,61 @@
+package jadx.core.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class ConcurrentIntTableTest {
+
+	@Test
+	public void testPutGet() {
+		ConcurrentIntTable<String> table = new ConcurrentIntTable<>();
+		assertThat(table.get(0), nullValue());
+		assertThat(table.get(1 << 20), nullValue());
+
+		table.put(5, "a");
+		table.put(3 << 16 | 7, "b");
+		assertThat(table.get(5), is("a"));
+		assertThat(table.get(3 << 16 | 7), is("b"));
+		assertThat(table.get(6), nullValue());
+		assertThat(table.get(2 << 16 | 7), nullValue());
+
+		table.put(5, "c");
+		assertThat(table.get(5), is("c"));
+	}
+
+	@Test
+	public void testConcurrentPut() throws Exception {
+		ConcurrentIntTable<Integer> table = new ConcurrentIntTable<>();
+		int threads = 8;
+		int count = 50_000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int start = t;
+				futures.add(executor.submit(() -> {
+					// interleaved keys to create pages from different threads
+					for (int i = start; i < count; i += threads) {
+						table.put(i, i);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		for (int i = 0; i < count; i++) {
+			assertThat(table.get(i), is(i));
+		}
+	}
+}
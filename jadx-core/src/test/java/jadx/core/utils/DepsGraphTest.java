@@ -0,0 +1,62 @@
+package jadx.core.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+class DepsGraphTest {
+
+	private final Map<String, List<String>> deps = new HashMap<>();
+
+	@Test
+	public void testWaves() {
+		addDeps("A", "B", "C");
+		addDeps("B", "C");
+		addDeps("D", "C", "E");
+
+		DepsGraph<String> graph = DepsGraph.build(Arrays.asList("A", "D"), this::getDeps);
+		List<List<String>> waves = graph.getWaves();
+		assertThat(waves, hasSize(3));
+		assertThat(waves.get(0), containsInAnyOrder("C", "E"));
+		assertThat(waves.get(1), containsInAnyOrder("B", "D"));
+		assertThat(waves.get(2), contains("A"));
+
+		assertThat(graph.getUsageCount("C"), is(3));
+		assertThat(graph.getUsageCount("A"), is(0));
+	}
+
+	@Test
+	public void testCycles() {
+		addDeps("A", "B");
+		addDeps("B", "C");
+		addDeps("C", "B", "D");
+		addDeps("D", "D");
+
+		DepsGraph<String> graph = DepsGraph.build(Collections.singletonList("A"), this::getDeps);
+		assertThat(graph.getNodes(), hasSize(4));
+		assertThat(graph.getLevel("D"), is(0));
+		assertThat(graph.getLevel("B"), is(1));
+		assertThat(graph.getLevel("C"), is(1));
+		assertThat(graph.getLevel("A"), is(2));
+		// self usage ignored
+		assertThat(graph.getUsageCount("D"), is(1));
+	}
+
+	private void addDeps(String node, String... nodeDeps) {
+		deps.put(node, Arrays.asList(nodeDeps));
+	}
+
+	private List<String> getDeps(String node) {
+		return deps.getOrDefault(node, Collections.emptyList());
+	}
+}
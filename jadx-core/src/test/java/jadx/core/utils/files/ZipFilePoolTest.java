@@ -0,0 +1,69 @@
+package jadx.core.utils.files;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.utils.files.ZipFilePool.ZipFileRef;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZipFilePoolTest {
+
+	@Test
+	public void testShared() throws IOException {
+		File file = makeZip();
+		ZipFilePool pool = new ZipFilePool();
+		ZipFile first;
+		try (ZipFileRef ref1 = pool.acquire(file);
+				ZipFileRef ref2 = pool.acquire(file)) {
+			first = ref1.getZipFile();
+			assertThat(ref2.getZipFile(), sameInstance(first));
+		}
+		// still opened after release
+		try (ZipFileRef ref = pool.acquire(file)) {
+			assertThat(ref.getZipFile(), sameInstance(first));
+			assertThat(first.getEntry("a.txt"), notNullValue());
+		}
+		pool.close();
+		assertThrows(IllegalStateException.class, () -> first.getEntry("a.txt"));
+
+		// reopen after close
+		try (ZipFileRef ref = pool.acquire(file)) {
+			assertThat(ref.getZipFile(), not(sameInstance(first)));
+		}
+		pool.close();
+	}
+
+	@Test
+	public void testCloseInUse() throws IOException {
+		File file = makeZip();
+		ZipFilePool pool = new ZipFilePool();
+		ZipFileRef ref = pool.acquire(file);
+		ZipFile zipFile = ref.getZipFile();
+		pool.close();
+		// not closed until released
+		assertThat(zipFile.getEntry("a.txt"), notNullValue());
+		ref.close();
+		assertThrows(IllegalStateException.class, () -> zipFile.getEntry("a.txt"));
+	}
+
+	private static File makeZip() throws IOException {
+		File file = FileUtils.createTempFile(".zip").toFile();
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+			out.putNextEntry(new ZipEntry("a.txt"));
+			out.write(1);
+			out.closeEntry();
+		}
+		return file;
+	}
+}
@@ -0,0 +1,90 @@
+package jadx.core.xmlgen;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParserStreamTest {
+
+	private static final byte[] DATA = {
+			0x01, 0x02, 0x03, 0x04,
+			(byte) 0xFF, (byte) 0xFF, (byte) 0xFE, (byte) 0xFF,
+			0x10, 0x00, 0x00, 0x00,
+			0x20, 0x00, 0x00, 0x00
+	};
+
+	@Test
+	public void testRead() throws IOException {
+		ParserStream is = new ParserStream(ByteBuffer.wrap(DATA));
+		assertThat(is.size(), is(16L));
+		assertThat(is.readInt8(), is(0x01));
+		assertThat(is.readInt8(), is(0x02));
+		assertThat(is.readInt16(), is(0x0403));
+		assertThat(is.readInt32(), is(0xFFFEFFFF));
+		assertArrayEquals(new int[] { 0x10, 0x20 }, is.readInt32Array(2));
+		assertThat(is.getPos(), is(16L));
+		assertThrows(EOFException.class, is::readInt8);
+	}
+
+	@Test
+	public void testUnsigned() throws IOException {
+		ParserStream is = new ParserStream(ByteBuffer.wrap(DATA));
+		is.seek(4);
+		assertThat(is.readInt8(), is(0xFF));
+		assertThat(is.readInt16(), is(0xFEFF));
+		is.seek(4);
+		assertThat(is.readUInt32(), is(0xFFFEFFFFL));
+	}
+
+	@Test
+	public void testSeek() throws IOException {
+		ParserStream is = new ParserStream(ByteBuffer.wrap(DATA));
+		is.seek(12);
+		assertThat(is.readInt32(), is(0x20));
+		is.seek(8);
+		assertThat(is.readInt32(), is(0x10));
+		is.skipToPos(12, "skip");
+		assertThat(is.readInt32(), is(0x20));
+		assertThrows(EOFException.class, () -> is.seek(17));
+		assertThrows(EOFException.class, () -> is.skip(1));
+	}
+
+	@Test
+	public void testMarkReset() throws IOException {
+		ParserStream is = new ParserStream(ByteBuffer.wrap(DATA));
+		is.skip(2);
+		is.mark(4);
+		assertThat(is.readInt16(), is(0x0403));
+		is.reset();
+		assertThat(is.getPos(), is(2L));
+		assertThat(is.readInt16(), is(0x0403));
+	}
+
+	@Test
+	public void testSlicedBuffer() throws IOException {
+		ByteBuffer buf = ByteBuffer.wrap(DATA);
+		buf.position(8);
+		ParserStream is = new ParserStream(buf);
+		assertThat(is.getPos(), is(0L));
+		assertThat(is.size(), is(8L));
+		assertThat(is.readInt32(), is(0x10));
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		for (long sizeHint : new long[] { -1, 4, 16, 100 }) {
+			ParserStream is = new ParserStream(new ByteArrayInputStream(DATA), sizeHint);
+			assertThat(is.size(), is(16L));
+			is.seek(12);
+			assertThat(is.readInt32(), is(0x20));
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package jadx.core.xmlgen;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxArgs;
+import jadx.core.dex.nodes.RootNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import jadx.core.xmlgen.entry.ResourceEntry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResTableParserTest {
+	private static final int TYPE_STRING = 0x03;
+	private static final int TYPE_INT_DEC = 0x10;
+
+	@Test
+	public void testDecode() throws IOException {
+		ResTableParser parser = new ResTableParser(new RootNode(new JadxArgs()), true);
+		parser.decode(new ParserStream(ByteBuffer.wrap(buildTable())));
+
+		Map<Integer, String> names = parser.getResStorage().getResourcesNames();
+		assertThat(names.get(0x7f010000), is("string/app_name"));
+		assertThat(names.get(0x7f010001), is("string/title"));
+		assertThat(names.get(0x7f020000), is("style/AppTheme"));
+		assertThat(names.get(0x7f020001), is("style/AppTheme.Child"));
+
+		ResourceEntry child = getEntry(parser, 0x7f020001);
+		assertThat(child.getSimpleValue(), nullValue());
+		assertThat(child.getParentRef(), is(0x7f020000));
+		assertThat(child.getNamedValues(), hasSize(2));
+		assertThat(child.getNamedValues().get(1).getRawValue().getData(), is(42));
+
+		ResContainer container = parser.makeResContainer();
+		String styles = getFile(container, "res/values/styles.xml");
+		assertThat(styles, containsString("<style name=\"AppTheme.Child\" parent=\"@style/AppTheme\">"));
+		assertThat(styles, containsString("<item name=\"android:textSize\">42</item>"));
+		String strings = getFile(container, "res/values/strings.xml");
+		assertThat(strings, containsString("<string name=\"title\">Title</string>"));
+	}
+
+	@Test
+	public void testValuesParsedOnRequest() throws IOException {
+		byte[] table = buildTable();
+		// break value size of last item in 'AppTheme.Child' style
+		table[table.length - 8] = 7;
+		ResTableParser parser = new ResTableParser(new RootNode(new JadxArgs()), true);
+		parser.decode(new ParserStream(ByteBuffer.wrap(table)));
+
+		assertThat(parser.getResStorage().getResourcesNames().get(0x7f020001), is("style/AppTheme.Child"));
+		ResourceEntry child = getEntry(parser, 0x7f020001);
+		assertThrows(JadxRuntimeException.class, child::getNamedValues);
+		assertThat(getEntry(parser, 0x7f010001).getSimpleValue().getData(), is(1));
+		assertThat(parser.getStrings().get(1), is("Title"));
+	}
+
+	@Test
+	public void testRelease() throws IOException {
+		ResTableParser parser = new ResTableParser(new RootNode(new JadxArgs()), true);
+		parser.decode(new ParserStream(ByteBuffer.wrap(buildTable())));
+		ResourceEntry loaded = getEntry(parser, 0x7f010000);
+		assertThat(loaded.getSimpleValue().getData(), is(0));
+		parser.release();
+
+		assertThat(loaded.getSimpleValue().getData(), is(0));
+		assertThrows(JadxRuntimeException.class, () -> getEntry(parser, 0x7f010001).getSimpleValue());
+	}
+
+	private static ResourceEntry getEntry(ResTableParser parser, int id) {
+		for (ResourceEntry entry : parser.getResStorage().getResources()) {
+			if (entry.getId() == id) {
+				return entry;
+			}
+		}
+		throw new AssertionError("Entry not found: " + id);
+	}
+
+	private static String getFile(ResContainer container, String name) {
+		for (ResContainer subFile : container.getSubFiles()) {
+			if (subFile.getName().equals(name)) {
+				return subFile.getText().getCodeStr();
+			}
+		}
+		throw new AssertionError("File not found: " + name);
+	}
+
+	/**
+	 * Package 0x7f with two strings and two styles (second style have parent and two items)
+	 */
+	private static byte[] buildTable() {
+		byte[] globalPool = stringPool(Arrays.asList("Simple", "Title", "Bold"));
+		byte[] typesPool = stringPool(Arrays.asList("string", "style"));
+		byte[] keysPool = stringPool(Arrays.asList("app_name", "title", "AppTheme", "AppTheme.Child"));
+
+		ByteBuffer strings = buffer(16 + 16);
+		simpleEntry(strings, 0, TYPE_STRING, 0);
+		simpleEntry(strings, 1, TYPE_STRING, 1);
+		byte[] stringsType = typeChunk(1, new int[] { 0, 16 }, strings.array());
+
+		ByteBuffer styles = buffer(16 + 16 + 2 * 12);
+		styles.putShort((short) 16);
+		styles.putShort((short) 0x0001); // complex
+		styles.putInt(2);
+		styles.putInt(0); // no parent
+		styles.putInt(0);
+		styles.putShort((short) 16);
+		styles.putShort((short) 0x0001);
+		styles.putInt(3);
+		styles.putInt(0x7f020000); // parent
+		styles.putInt(2);
+		styles.putInt(0x01010097); // android:textStyle
+		value(styles, TYPE_INT_DEC, 1);
+		styles.putInt(0x01010095); // android:textSize
+		value(styles, TYPE_INT_DEC, 42);
+		byte[] stylesType = typeChunk(2, new int[] { 0, 16 }, styles.array());
+
+		int pkgHeaderSize = 0x011c;
+		int pkgSize = pkgHeaderSize + typesPool.length + keysPool.length + stringsType.length + stylesType.length;
+		ByteBuffer pkg = buffer(pkgSize);
+		pkg.putShort((short) 0x0200);
+		pkg.putShort((short) pkgHeaderSize);
+		pkg.putInt(pkgSize);
+		pkg.putInt(0x7f);
+		byte[] name = "jadx.test".getBytes(StandardCharsets.UTF_16LE);
+		pkg.put(name);
+		pkg.position(pkg.position() + 256 - name.length);
+		pkg.putInt(pkgHeaderSize);
+		pkg.putInt(0);
+		pkg.putInt(pkgHeaderSize + typesPool.length);
+		pkg.putInt(0);
+		pkg.put(typesPool).put(keysPool).put(stringsType).put(stylesType);
+
+		int tableSize = 12 + globalPool.length + pkgSize;
+		ByteBuffer table = buffer(tableSize);
+		table.putShort((short) 0x0002);
+		table.putShort((short) 0x000c);
+		table.putInt(tableSize);
+		table.putInt(1);
+		table.put(globalPool).put(pkg.array());
+		return table.array();
+	}
+
+	private static void simpleEntry(ByteBuffer buf, int key, int dataType, int data) {
+		buf.putShort((short) 8);
+		buf.putShort((short) 0);
+		buf.putInt(key);
+		value(buf, dataType, data);
+	}
+
+	private static void value(ByteBuffer buf, int dataType, int data) {
+		buf.putShort((short) 8);
+		buf.put((byte) 0);
+		buf.put((byte) dataType);
+		buf.putInt(data);
+	}
+
+	private static byte[] typeChunk(int id, int[] offsets, byte[] entries) {
+		int configSize = 64;
+		int headerSize = 20 + configSize;
+		int entriesStart = headerSize + offsets.length * 4;
+		int size = entriesStart + entries.length;
+		ByteBuffer buf = buffer(size);
+		buf.putShort((short) 0x0201);
+		buf.putShort((short) headerSize);
+		buf.putInt(size);
+		buf.put((byte) id);
+		buf.put((byte) 0);
+		buf.putShort((short) 0);
+		buf.putInt(offsets.length);
+		buf.putInt(entriesStart);
+		buf.putInt(configSize);
+		buf.position(headerSize);
+		for (int offset : offsets) {
+			buf.putInt(offset);
+		}
+		buf.put(entries);
+		return buf.array();
+	}
+
+	private static byte[] stringPool(List<String> strings) {
+		int count = strings.size();
+		int dataSize = 0;
+		for (String str : strings) {
+			dataSize += str.length() + 3;
+		}
+		dataSize = (dataSize + 3) & ~3;
+		int stringsStart = 0x1c + count * 4;
+		int size = stringsStart + dataSize;
+		ByteBuffer buf = buffer(size);
+		buf.putShort((short) 0x0001);
+		buf.putShort((short) 0x001c);
+		buf.putInt(size);
+		buf.putInt(count);
+		buf.putInt(0);
+		buf.putInt(1 << 8); // UTF-8
+		buf.putInt(stringsStart);
+		buf.putInt(0);
+		int offset = 0;
+		for (String str : strings) {
+			buf.putInt(offset);
+			offset += str.length() + 3;
+		}
+		for (String str : strings) {
+			byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+			buf.put((byte) bytes.length);
+			buf.put((byte) bytes.length);
+			buf.put(bytes);
+			buf.put((byte) 0);
+		}
+		return buf.array();
+	}
+
+	private static ByteBuffer buffer(int size) {
+		return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
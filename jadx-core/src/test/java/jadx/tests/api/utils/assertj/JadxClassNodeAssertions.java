@@ -42,4 +42,17 @@ public class JadxClassNodeAssertions extends AbstractObjectAssert<JadxClassNodeA
 		testInstance.runChecks(actual);
 		return codeAssertions;
 	}
+
+	public JadxCodeAssertions regenerateCode(IntegrationTest testInstance) {
+		isNotNull();
+		ICodeInfo code = actual.regenerateCode();
+		Assertions.assertThat(code).isNotNull();
+		String codeStr = code.getCodeStr();
+		Assertions.assertThat(codeStr).isNotBlank();
+
+		JadxCodeAssertions codeAssertions = new JadxCodeAssertions(codeStr);
+		codeAssertions.print();
+		testInstance.runChecks(actual);
+		return codeAssertions;
+	}
 }
@@ -1,6 +1,7 @@
 package jadx.tests.functional;
 
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import jadx.core.dex.nodes.RootNode;
 
 import static jadx.core.dex.instructions.args.ArgType.STRING;
 import static jadx.core.dex.instructions.args.ArgType.object;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -44,4 +46,20 @@ public class JadxClasspathTest {
 
 		assertTrue(ArgType.isCastNeeded(root, ArgType.OBJECT, STRING));
 	}
+
+	@Test
+	public void testHierarchy() {
+		assertFalse(clsp.isImplements(JAVA_LANG_EXCEPTION, JAVA_LANG_EXCEPTION));
+		assertTrue(clsp.isImplements(JAVA_LANG_EXCEPTION, "java.io.Serializable"));
+		assertFalse(clsp.isImplements("unknown.Cls", JAVA_LANG_THROWABLE));
+
+		List<String> impls = clsp.getImplementations(JAVA_LANG_THROWABLE);
+		assertTrue(impls.contains(JAVA_LANG_EXCEPTION));
+		assertTrue(impls.contains("java.lang.RuntimeException"));
+		assertFalse(impls.contains(JAVA_LANG_THROWABLE));
+
+		assertEquals(JAVA_LANG_THROWABLE, clsp.getCommonAncestor(JAVA_LANG_EXCEPTION, JAVA_LANG_THROWABLE));
+		assertEquals(JAVA_LANG_EXCEPTION, clsp.getCommonAncestor("java.lang.RuntimeException", JAVA_LANG_EXCEPTION));
+		assertEquals(JAVA_LANG_EXCEPTION, clsp.getCommonAncestor("java.io.IOException", "java.lang.RuntimeException"));
+	}
 }
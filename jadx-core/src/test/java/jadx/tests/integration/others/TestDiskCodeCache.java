@@ -0,0 +1,162 @@
+package jadx.tests.integration.others;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.ICodeInfo;
+import jadx.api.JadxInternalAccess;
+import jadx.api.data.IJavaNodeRef.RefType;
+import jadx.api.data.impl.JadxCodeComment;
+import jadx.api.data.impl.JadxCodeData;
+import jadx.api.data.impl.JadxNodeRef;
+import jadx.core.codecache.DiskCodeCache;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.ProcessState;
+import jadx.core.utils.files.FileUtils;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestDiskCodeCache extends IntegrationTest {
+
+	public static class TestCls {
+		private int field;
+
+		public int test(int a) {
+			int sum = 0;
+			for (int i = 0; i < a; i++) {
+				sum += i * field;
+			}
+			return sum;
+		}
+
+		public Runnable getRunnable() {
+			return new Runnable() {
+				@Override
+				public void run() {
+					field++;
+				}
+			};
+		}
+	}
+
+	@Test
+	public void test() {
+		Path cacheDir = FileUtils.createTempDir("jadx-code-cache");
+		args.setCodeCache(new DiskCodeCache(cacheDir));
+		ClassNode cls = getClassNode(TestCls.class);
+		ICodeInfo codeInfo = cls.getCode();
+		int mthDefLine = cls.searchMethodByShortName("test").getDecompiledLine();
+		List<File> inputFiles = args.getInputFiles();
+		jadxDecompiler.close();
+
+		// new session with same inputs
+		DiskCodeCache cache = new DiskCodeCache(cacheDir);
+		args.setCodeCache(cache);
+		jadxDecompiler = loadFiles(inputFiles);
+		ClassNode cachedCls = JadxInternalAccess.getRoot(jadxDecompiler).resolveClass(TestCls.class.getName());
+		// check without code loading
+		assertThat(cache.contains(cachedCls.getRawName())).isTrue();
+		assertThat(cachedCls.searchMethodByShortName("test").getDecompiledLine()).isEqualTo(0);
+		ICodeInfo cachedCodeInfo = cachedCls.getCode();
+
+		assertThat(cachedCls.getState()).isNotIn(ProcessState.PROCESS_COMPLETE, ProcessState.GENERATED_AND_UNLOADED);
+		assertThat(cachedCodeInfo.getCodeStr()).isEqualTo(codeInfo.getCodeStr());
+		assertThat(cachedCodeInfo.getLineMapping()).isEqualTo(codeInfo.getLineMapping());
+		assertThat(cachedCodeInfo.getAnnotations()).hasSameSizeAs(codeInfo.getAnnotations());
+		codeInfo.getAnnotations().forEach((pos, ann) -> assertThat(cachedCodeInfo.getAnnotations().get(pos))
+				.describedAs("Annotation at %s", pos)
+				.hasSameClassAs(ann)
+				.hasToString(ann.toString()));
+
+		MethodNode cachedMth = cachedCls.searchMethodByShortName("test");
+		assertThat(cachedMth.getDecompiledLine()).isEqualTo(mthDefLine);
+		assertThat(cachedMth.getVars()).isNotEmpty();
+	}
+
+	@Test
+	public void testCommentAdded() throws Exception {
+		Path cacheDir = FileUtils.createTempDir("jadx-code-cache");
+		args.setCodeCache(new DiskCodeCache(cacheDir));
+		assertThat(getClassNode(TestCls.class).getCode().getCodeStr()).doesNotContain("// new comment");
+		List<File> inputFiles = args.getInputFiles();
+		jadxDecompiler.close();
+
+		// new session with user comment: same cache dir, but class code updated
+		JadxNodeRef mthRef = new JadxNodeRef(RefType.METHOD, TestCls.class.getName(), "test(I)I");
+		JadxCodeData codeData = new JadxCodeData();
+		codeData.setComments(Collections.singletonList(new JadxCodeComment(mthRef, "new comment")));
+		args.setCodeData(codeData);
+		args.setCodeCache(new DiskCodeCache(cacheDir));
+		jadxDecompiler = loadFiles(inputFiles);
+		ClassNode cls = JadxInternalAccess.getRoot(jadxDecompiler).resolveClass(TestCls.class.getName());
+		assertThat(cls.getCode().getCodeStr()).contains("// new comment");
+		assertThat(listDirs(cacheDir)).hasSize(1);
+	}
+
+	@Test
+	public void testRemoveUnusedDirs() throws Exception {
+		Path cacheDir = FileUtils.createTempDir("jadx-code-cache");
+		long time = System.currentTimeMillis();
+		List<Path> oldDirs = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Path dir = Files.createDirectories(cacheDir.resolve(String.join("", Collections.nCopies(64, Integer.toString(i)))));
+			Files.setLastModifiedTime(dir, FileTime.fromMillis(time - TimeUnit.HOURS.toMillis(4 - i)));
+			oldDirs.add(dir);
+		}
+		Path otherDir = Files.createDirectories(cacheDir.resolve("other"));
+		Files.setLastModifiedTime(otherDir, FileTime.fromMillis(time - TimeUnit.DAYS.toMillis(1)));
+
+		args.setCodeCache(new DiskCodeCache(cacheDir));
+		getClassNode(TestCls.class);
+
+		// current dir and 2 most recent old dirs kept, not cache dirs ignored
+		assertThat(listDirs(cacheDir)).hasSize(4);
+		assertThat(oldDirs.get(0)).doesNotExist();
+		assertThat(oldDirs.get(1)).doesNotExist();
+		assertThat(oldDirs.get(2)).exists();
+		assertThat(oldDirs.get(3)).exists();
+		assertThat(otherDir).exists();
+	}
+
+	private static List<Path> listDirs(Path dir) throws IOException {
+		try (Stream<Path> stream = Files.list(dir)) {
+			return stream.filter(Files::isDirectory).collect(Collectors.toList());
+		}
+	}
+
+	@Test
+	public void testRename() throws Exception {
+		Path cacheDir = FileUtils.createTempDir("jadx-code-cache");
+		Path mapFile = cacheDir.resolve("test.jobf");
+		args.setDeobfuscationOn(true);
+		args.setDeobfuscationMapFile(mapFile.toFile());
+		args.setCodeCache(new DiskCodeCache(cacheDir));
+		ClassNode cls = getClassNode(TestCls.class);
+		String fieldId = cls.searchFieldByName("field").getFieldInfo().getRawFullId();
+		assertThat(cls.getCode().getCodeStr()).contains("this.field * i");
+		List<File> inputFiles = args.getInputFiles();
+		jadxDecompiler.close();
+
+		// new session with same inputs, but field renamed by deobfuscation map
+		Files.write(mapFile, Collections.singletonList("f " + fieldId + " = renamedField"));
+		args.setCodeCache(new DiskCodeCache(cacheDir));
+		jadxDecompiler = loadFiles(inputFiles);
+		ClassNode renamedCls = JadxInternalAccess.getRoot(jadxDecompiler).resolveClass(TestCls.class.getName());
+		assertThat(renamedCls.getCode().getCodeStr())
+				.contains("this.renamedField * i")
+				.doesNotContain("this.field * i");
+	}
+}
@@ -0,0 +1,105 @@
+package jadx.tests.integration.others;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.ICodeInfo;
+import jadx.api.impl.FileCodeInfo;
+import jadx.api.impl.SimpleCodeInfo;
+import jadx.core.codecache.LruCodeCache;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.utils.files.FileUtils;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestLruCodeCache extends IntegrationTest {
+
+	public static class TestCls {
+		private int field;
+
+		public int test(int a) {
+			int sum = 0;
+			for (int i = 0; i < a; i++) {
+				sum += i * field;
+			}
+			return sum;
+		}
+	}
+
+	@Test
+	public void testEviction() {
+		LruCodeCache cache = new LruCodeCache(100, null);
+		cache.add("a", new SimpleCodeInfo(repeat('a', 20)));
+		cache.add("b", new SimpleCodeInfo(repeat('b', 20)));
+		assertThat(inCache(cache, "a")).isTrue(); // 'b' become least recently used
+		cache.add("c", new SimpleCodeInfo(repeat('c', 20)));
+
+		assertThat(inCache(cache, "b")).isFalse();
+		assertThat(inCache(cache, "a")).isTrue();
+		assertThat(inCache(cache, "c")).isTrue();
+		// don't change statistics
+		assertThat(cache.contains("a")).isTrue();
+		assertThat(cache.contains("b")).isFalse();
+
+		LruCodeCache.Stats stats = cache.getStats();
+		assertThat(stats.getCount()).isEqualTo(2);
+		assertThat(stats.getWeight()).isEqualTo(80);
+		assertThat(stats.getHits()).isEqualTo(3);
+		assertThat(stats.getMisses()).isEqualTo(1);
+		assertThat(stats.getEvictions()).isEqualTo(1);
+
+		cache.shrink(0.5);
+		assertThat(cache.getStats().getCount()).isEqualTo(1);
+		assertThat(inCache(cache, "c")).isTrue();
+	}
+
+	@Test
+	public void testFileCodeWeight() {
+		LruCodeCache cache = new LruCodeCache(1000, null);
+		// code file not exists, so any read will fail
+		Path missingFile = FileUtils.createTempDir("jadx-code-file").resolve("missing.java");
+		cache.add("file", new FileCodeInfo(missingFile, 1_000_000));
+		assertThat(cache.getStats().getWeight()).isLessThan(1000);
+		assertThat(inCache(cache, "file")).isTrue();
+	}
+
+	@Test
+	public void testSpill() {
+		Path spillDir = FileUtils.createTempDir("jadx-code-spill");
+		LruCodeCache cache = new LruCodeCache(100, spillDir);
+		args.setCodeCache(cache);
+		ClassNode cls = getClassNode(TestCls.class);
+		ICodeInfo codeInfo = cls.getCode();
+		String clsName = cls.getTopParentClass().getRawName();
+
+		// push class code out of memory
+		cache.add("other", new SimpleCodeInfo(repeat('o', 10)));
+		assertThat(cache.getStats().getSpilledCount()).isEqualTo(1);
+
+		ICodeInfo restoredCodeInfo = cache.get(clsName);
+		assertThat(restoredCodeInfo).isNotNull();
+		assertThat(restoredCodeInfo.getCodeStr()).isEqualTo(codeInfo.getCodeStr());
+		assertThat(restoredCodeInfo.getLineMapping()).isEqualTo(codeInfo.getLineMapping());
+		assertThat(restoredCodeInfo.getAnnotations()).hasSameSizeAs(codeInfo.getAnnotations());
+		assertThat(cache.getStats().getRestores()).isEqualTo(1);
+
+		// new code should replace spilled one
+		cache.add(clsName, new SimpleCodeInfo("new code"));
+		assertThat(cache.getStats().getSpilledCount()).isEqualTo(0);
+		assertThat(cache.get(clsName).getCodeStr()).isEqualTo("new code");
+	}
+
+	private static boolean inCache(LruCodeCache cache, String clsName) {
+		return cache.get(clsName) != null;
+	}
+
+	private static String repeat(char c, int count) {
+		StringBuilder sb = new StringBuilder(count);
+		for (int i = 0; i < count; i++) {
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+}
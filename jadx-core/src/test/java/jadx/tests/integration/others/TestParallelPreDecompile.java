@@ -0,0 +1,161 @@
+package jadx.tests.integration.others;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxInternalAccess;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.RootNode;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.JadxMatchers.containsOne;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Class local pre-decompile passes (signatures) should give same result
+ * when running in several threads
+ */
+public class TestParallelPreDecompile extends IntegrationTest {
+
+	public static class TestCls<T extends Comparable<T>> {
+		private final List<T> list = new ArrayList<>();
+
+		public class Inner<V extends T> {
+			public V get(V v) {
+				list.add(v);
+				return v;
+			}
+		}
+
+		public Runnable test(T value) {
+			return new Runnable() {
+				@Override
+				public void run() {
+					list.add(value);
+				}
+			};
+		}
+	}
+
+	/**
+	 * Classes below also added into input (names started with 'TestCls'),
+	 * outer test class not added, so every class became separate top level class
+	 */
+	public static class TestClsMap<K, V extends List<K>> {
+		private final Map<K, V> map = new HashMap<>();
+
+		public V get(K key) {
+			return map.get(key);
+		}
+
+		public Iterator<K> keys() {
+			return new Iterator<K>() {
+				private final Iterator<K> it = map.keySet().iterator();
+
+				@Override
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				@Override
+				public K next() {
+					return it.next();
+				}
+			};
+		}
+	}
+
+	public static class TestClsPair<A, B extends Comparable<? super B>> {
+		private A first;
+		private B second;
+
+		public A getFirst() {
+			return first;
+		}
+
+		public Comparator<TestClsPair<A, B>> comparator() {
+			return new Comparator<TestClsPair<A, B>>() {
+				@Override
+				public int compare(TestClsPair<A, B> p1, TestClsPair<A, B> p2) {
+					return p1.second.compareTo(p2.second);
+				}
+			};
+		}
+	}
+
+	public static class TestClsNumbers<N extends Number> extends ArrayList<N> {
+		private static final long serialVersionUID = 1L;
+
+		public <R extends N> R first(List<? extends R> list) {
+			return list.get(0);
+		}
+
+		public Set<N> toSet() {
+			return new HashSet<>(this);
+		}
+	}
+
+	@Test
+	public void test() {
+		args.setThreadsCount(4);
+		ClassNode cls = getClassNode(TestCls.class);
+		String code = cls.getCode().toString();
+
+		assertThat(code, containsOne("TestCls<T extends Comparable<T>> {"));
+		assertThat(code, containsOne("private final List<T> list = new ArrayList();"));
+		assertThat(code, containsOne("public class Inner<V extends T> {"));
+		assertThat(code, containsOne("public V get(V v) {"));
+		assertThat(code, containsOne("return new Runnable() {"));
+		assertThat(code, not(containsString("AnonymousClass1")));
+	}
+
+	@Test
+	public void testSameAsSequential() {
+		args.setThreadsCount(1);
+		getClassNode(TestCls.class);
+		List<File> inputFiles = args.getInputFiles();
+		RootNode root = JadxInternalAccess.getRoot(jadxDecompiler);
+		Map<String, String> sequentialCode = collectCode(root);
+		assertThat(countTopClasses(root), greaterThan(3));
+		jadxDecompiler.close();
+
+		args.setThreadsCount(4);
+		jadxDecompiler = loadFiles(inputFiles);
+		Map<String, String> parallelCode = collectCode(JadxInternalAccess.getRoot(jadxDecompiler));
+
+		assertThat(parallelCode, is(sequentialCode));
+		assertThat(parallelCode.get(TestClsMap.class.getName()), containsString("V extends List<K>> {"));
+		assertThat(parallelCode.get(TestClsPair.class.getName()), containsString("B extends Comparable<? super B>> {"));
+		assertThat(parallelCode.get(TestClsNumbers.class.getName()), containsString("<R extends N> R first(List<? extends R> list) {"));
+	}
+
+	private static Map<String, String> collectCode(RootNode root) {
+		Map<String, String> map = new LinkedHashMap<>();
+		for (ClassNode cls : root.getClassesWithoutInner()) {
+			map.put(cls.getClassInfo().getFullName(), cls.getCode().getCodeStr());
+		}
+		return map;
+	}
+
+	private static int countTopClasses(RootNode root) {
+		Set<ClassNode> topClasses = new HashSet<>();
+		for (ClassNode cls : root.getClasses()) {
+			topClasses.add(cls.getTopParentClass());
+		}
+		return topClasses.size();
+	}
+}
@@ -0,0 +1,126 @@
+package jadx.tests.integration.others;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.core.dex.info.FieldInfo;
+import jadx.core.dex.info.MethodInfo;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.IMethodDetails;
+import jadx.core.dex.nodes.RootNode;
+import jadx.tests.api.IntegrationTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Check methods and fields resolving in class hierarchy
+ */
+public class TestResolveIndex extends IntegrationTest {
+
+	public static class TestCls {
+		public interface I {
+			int CONST = 1;
+
+			void call(long a);
+		}
+
+		public abstract static class Base implements I {
+			protected int field;
+
+			public int get() {
+				return field;
+			}
+
+			public void call(String s) {
+			}
+		}
+
+		public static class Child extends Base {
+			@Override
+			public void call(long a) {
+			}
+		}
+
+		public int test(Child c) {
+			c.call(2L);
+			c.call("str");
+			return c.get() + c.field + Child.CONST;
+		}
+	}
+
+	@Test
+	public void test() {
+		ClassNode testCls = getClassNode(TestCls.class);
+		RootNode root = testCls.root();
+		ClassNode iface = root.resolveClass(TestCls.I.class.getName());
+		ClassNode base = root.resolveClass(TestCls.Base.class.getName());
+		ClassNode child = root.resolveClass(TestCls.Child.class.getName());
+		assertThat(child, notNullValue());
+
+		ArgType childType = child.getClassInfo().getType();
+		MethodInfo getMth = MethodInfo.fromDetails(root, child.getClassInfo(), "get", Collections.emptyList(), ArgType.INT);
+		assertThat(root.deepResolveMethod(getMth), sameInstance(base.searchMethodByShortId("get()I")));
+
+		MethodInfo callMth = MethodInfo.fromDetails(root, child.getClassInfo(), "call",
+				Collections.singletonList(ArgType.LONG), ArgType.VOID);
+		assertThat(root.deepResolveMethod(callMth), sameInstance(child.searchMethodByShortId("call(J)V")));
+		assertThat(root.getMethodUtils().isMethodArgsOverloaded(childType, callMth), is(true));
+		assertThat(root.getMethodUtils().collectOverloadedMethods(childType, callMth), hasSize(1));
+
+		FieldInfo constFld = FieldInfo.from(root, child.getClassInfo(), "CONST", ArgType.INT);
+		assertThat(root.deepResolveField(constFld), sameInstance(iface.searchFieldByName("CONST")));
+		FieldInfo fld = FieldInfo.from(root, child.getClassInfo(), "field", ArgType.INT);
+		assertThat(root.deepResolveField(fld), sameInstance(base.searchFieldByName("field")));
+
+		// added field should be visible in subclasses
+		FieldInfo newFld = FieldInfo.from(root, base.getClassInfo(), "newField", ArgType.STRING);
+		FieldInfo newFldRef = FieldInfo.from(root, child.getClassInfo(), "newField", ArgType.STRING);
+		assertThat(root.deepResolveField(newFldRef), nullValue());
+		List<IMethodDetails> overloads = root.getResolveIndex().getMethodsByNameAndArgsCount(childType, callMth);
+		FieldNode newFieldNode = new FieldNode(base, newFld, AccessFlags.PUBLIC);
+		base.addField(newFieldNode);
+		assertThat(root.deepResolveField(newFldRef), sameInstance(newFieldNode));
+		assertThat(base.searchField(newFld), sameInstance(newFieldNode));
+		// methods data not changed by field add
+		assertThat(root.getResolveIndex().getMethodsByNameAndArgsCount(childType, callMth), sameInstance(overloads));
+	}
+
+	@Test
+	public void testConcurrentAddField() {
+		ClassNode testCls = getClassNode(TestCls.class);
+		RootNode root = testCls.root();
+		ClassNode base = root.resolveClass(TestCls.Base.class.getName());
+		ClassNode child = root.resolveClass(TestCls.Child.class.getName());
+		FieldInfo fld = FieldInfo.from(root, child.getClassInfo(), "field", ArgType.INT);
+		FieldNode baseField = base.searchFieldByName("field");
+
+		List<FieldNode> added = IntStream.range(0, 200).parallel()
+				.mapToObj(i -> {
+					FieldInfo newFld = FieldInfo.from(root, base.getClassInfo(), "f" + i, ArgType.INT);
+					FieldNode fieldNode = new FieldNode(base, newFld, AccessFlags.PUBLIC);
+					base.addField(fieldNode);
+					// concurrent reads of class fields and index
+					assertThat(root.deepResolveField(fld), sameInstance(baseField));
+					assertThat(base.searchFieldByShortId(newFld.getShortId()), sameInstance(fieldNode));
+					return fieldNode;
+				})
+				.collect(Collectors.toList());
+		assertThat(base.getFields(), hasSize(201));
+		for (FieldNode fieldNode : added) {
+			FieldInfo ref = FieldInfo.from(root, child.getClassInfo(), fieldNode.getName(), ArgType.INT);
+			assertThat(root.deepResolveField(ref), sameInstance(fieldNode));
+		}
+	}
+}
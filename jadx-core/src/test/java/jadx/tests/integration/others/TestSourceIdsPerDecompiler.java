@@ -0,0 +1,44 @@
+package jadx.tests.integration.others;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.api.JadxInternalAccess;
+import jadx.core.dex.nodes.RootNode;
+import jadx.tests.api.IntegrationTest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Input sources ids allocated per decompiler instance,
+ * so method ids table don't grow with count of previously created decompilers
+ */
+public class TestSourceIdsPerDecompiler extends IntegrationTest {
+
+	public static class TestCls {
+		public int test(String str) {
+			return str.length() + str.indexOf('a');
+		}
+	}
+
+	@Test
+	public void test() {
+		getClassNode(TestCls.class);
+		List<File> inputFiles = args.getInputFiles();
+		int capacity = getMethodsTableCapacity();
+		for (int i = 0; i < 20; i++) {
+			jadxDecompiler.close();
+			jadxDecompiler = loadFiles(inputFiles);
+			RootNode root = JadxInternalAccess.getRoot(jadxDecompiler);
+			root.getClasses().forEach(cls -> cls.decompile());
+			assertThat(getMethodsTableCapacity(), is(capacity));
+		}
+	}
+
+	private int getMethodsTableCapacity() {
+		return JadxInternalAccess.getRoot(jadxDecompiler).getInfoStorage().getMethodsTableCapacity();
+	}
+}
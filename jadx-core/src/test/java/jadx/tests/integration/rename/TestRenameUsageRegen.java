@@ -0,0 +1,65 @@
+package jadx.tests.integration.rename;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.core.dex.attributes.AFlag;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.ProcessState;
+import jadx.tests.api.IntegrationTest;
+
+import static jadx.tests.api.utils.assertj.JadxAssertions.assertThat;
+
+public class TestRenameUsageRegen extends IntegrationTest {
+
+	public static class TestCls {
+		public static class A {
+			public static int field = 1;
+
+			public static int call() {
+				return 2;
+			}
+		}
+
+		public int test() {
+			return A.call() + A.field;
+		}
+	}
+
+	@Test
+	public void test() {
+		ClassNode cls = getClassNode(TestCls.class);
+		assertThat(cls).code()
+				.containsOnlyOnce("return A.call() + A.field;");
+
+		ClassNode innerCls = cls.getInnerClasses().get(0);
+		innerCls.getClassInfo().changeShortName("ARenamed");
+		innerCls.searchMethodByShortName("call").getMethodInfo().setAlias("callRenamed");
+		innerCls.searchFieldByName("field").getFieldInfo().setAlias("fieldRenamed");
+
+		assertThat(cls).regenerateCode(this)
+				.containsOnlyOnce("public static class ARenamed {")
+				.containsOnlyOnce("public static int callRenamed() {")
+				.containsOnlyOnce("return ARenamed.callRenamed() + ARenamed.fieldRenamed;");
+	}
+
+	@Test
+	public void testKeepProcessed() {
+		ClassNode cls = getClassNode(TestCls.class);
+		// allow unload as without tests checks
+		cls.remove(AFlag.DONT_UNLOAD_CLASS);
+		cls.unload();
+		assertThat(cls.getState()).isEqualTo(ProcessState.NOT_LOADED);
+
+		ClassNode innerCls = cls.getInnerClasses().get(0);
+		innerCls.searchMethodByShortName("call").getMethodInfo().setAlias("callRenamed");
+		assertThat(cls).regenerateCode(this)
+				.containsOnlyOnce("return A.callRenamed() + A.field;");
+		assertThat(cls.getState()).isEqualTo(ProcessState.PROCESS_COMPLETE);
+
+		// only codegen stage
+		innerCls.searchFieldByName("field").getFieldInfo().setAlias("fieldRenamed");
+		assertThat(cls).regenerateCode(this)
+				.containsOnlyOnce("return A.callRenamed() + A.fieldRenamed;");
+		assertThat(cls.getState()).isEqualTo(ProcessState.PROCESS_COMPLETE);
+	}
+}
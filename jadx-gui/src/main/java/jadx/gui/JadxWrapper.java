@@ -20,8 +20,11 @@ import jadx.api.JadxDecompiler;
 import jadx.api.JavaClass;
 import jadx.api.JavaPackage;
 import jadx.api.ResourceFile;
+import jadx.core.codecache.LruCodeCache;
+import jadx.core.utils.files.FileUtils;
 import jadx.gui.settings.JadxProject;
 import jadx.gui.settings.JadxSettings;
+import jadx.gui.utils.LowMemoryWatcher;
 
 import static jadx.gui.utils.FileUtils.toFiles;
 
@@ -32,6 +35,10 @@ public class JadxWrapper {
 	private JadxDecompiler decompiler;
 	private JadxProject project;
 	private List<Path> openPaths = Collections.emptyList();
+	@Nullable
+	private volatile LruCodeCache codeCache;
+	@Nullable
+	private LowMemoryWatcher lowMemoryWatcher;
 
 	public JadxWrapper(JadxSettings settings) {
 		this.settings = settings;
@@ -43,7 +50,12 @@ public class JadxWrapper {
 		try {
 			JadxArgs jadxArgs = settings.toJadxArgs();
 			jadxArgs.setInputFiles(toFiles(paths));
+			// opened files can be rebuilt or removed at any time
+			jadxArgs.setMapInputFiles(false);
 			jadxArgs.setCodeData(project.getCodeData());
+			if (settings.getCodeCacheDir() == null) {
+				initCodeCache(jadxArgs);
+			}
 
 			this.decompiler = new JadxDecompiler(jadxArgs);
 			this.decompiler.load();
@@ -53,7 +65,24 @@ public class JadxWrapper {
 		}
 	}
 
+	/**
+	 * Limit memory used by decompiled code, evicted code saved to temp files
+	 */
+	private void initCodeCache(JadxArgs jadxArgs) {
+		long maxSize = Runtime.getRuntime().maxMemory() / 4;
+		LruCodeCache lruCodeCache = new LruCodeCache(maxSize, FileUtils.createTempDir("code-cache"));
+		jadxArgs.setCodeCache(lruCodeCache);
+		LowMemoryWatcher watcher = new LowMemoryWatcher(() -> lruCodeCache.shrink(0.5));
+		watcher.start();
+		this.codeCache = lruCodeCache;
+		this.lowMemoryWatcher = watcher;
+	}
+
 	public void close() {
+		if (lowMemoryWatcher != null) {
+			lowMemoryWatcher.stop();
+			lowMemoryWatcher = null;
+		}
 		if (decompiler != null) {
 			try {
 				decompiler.close();
@@ -61,6 +90,7 @@ public class JadxWrapper {
 				LOG.error("jadx decompiler close error", e);
 			}
 		}
+		this.codeCache = null;
 		this.openPaths = Collections.emptyList();
 	}
 
@@ -154,6 +184,15 @@ public class JadxWrapper {
 		return decompiler;
 	}
 
+	/**
+	 * @return code cache statistics or null if size limited code cache not used
+	 */
+	@Nullable
+	public LruCodeCache.Stats getCodeCacheStats() {
+		LruCodeCache cache = codeCache;
+		return cache == null ? null : cache.getStats();
+	}
+
 	public JadxArgs getArgs() {
 		return decompiler.getArgs();
 	}
@@ -45,7 +45,8 @@ public class JadxSettings extends JadxCLIArgs {
 			"files", "input", "outDir", "outDirSrc", "outDirRes", "outputFormat",
 			"deobfuscationMapFile",
 			"verbose", "quiet", "logLevel",
-			"printVersion", "printHelp"));
+			"printVersion", "printHelp",
+			"serverMode", "serverJobs"));
 
 	private Path lastSaveProjectPath = USER_HOME;
 	private Path lastOpenFilePath = USER_HOME;
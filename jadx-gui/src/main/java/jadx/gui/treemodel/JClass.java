@@ -72,6 +72,13 @@ public class JClass extends JLoadableNode {
 		cls.unload();
 	}
 
+	public synchronized void regenerate() {
+		cls.regenerate();
+		loaded = true;
+		update();
+		cls.unload();
+	}
+
 	public synchronized void update() {
 		removeAllChildren();
 		if (!loaded) {
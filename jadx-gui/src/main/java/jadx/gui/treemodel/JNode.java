@@ -57,12 +57,12 @@ public abstract class JNode extends DefaultMutableTreeNode {
 	}
 
 	@Nullable
-	public JavaNode getJavaNodeAtPosition(JadxDecompiler decompiler, int line, int offset) {
+	public JavaNode getJavaNodeAtOffset(JadxDecompiler decompiler, int offset) {
 		ICodeInfo codeInfo = getCodeInfo();
 		if (codeInfo == null) {
 			return null;
 		}
-		return decompiler.getJavaNodeAtPosition(codeInfo, line, offset);
+		return decompiler.getJavaNodeAtOffset(codeInfo, offset);
 	}
 
 	public abstract Icon getIcon();
@@ -17,6 +17,8 @@ import io.reactivex.Flowable;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.schedulers.Schedulers;
 
+import jadx.core.codecache.LruCodeCache;
+import jadx.gui.JadxWrapper;
 import jadx.gui.utils.NLS;
 import jadx.gui.utils.UiUtils;
 
@@ -32,15 +34,18 @@ public class HeapUsageBar extends JProgressBar {
 
 	private final transient Runtime runtime = Runtime.getRuntime();
 	private final transient FocusManager focusManager = FocusManager.getCurrentManager();
+	private final transient JadxWrapper wrapper;
 
 	private final double maxGB;
 	private final long limit;
 	private final String labelTemplate;
+	private final String codeCacheTemplate;
 
 	private transient Disposable timer;
 	private transient Color currentColor;
 
-	public HeapUsageBar() {
+	public HeapUsageBar(JadxWrapper wrapper) {
+		this.wrapper = wrapper;
 		setBorderPainted(false);
 		setStringPainted(true);
 
@@ -48,6 +53,7 @@ public class HeapUsageBar extends JProgressBar {
 		maxGB = maxMemory / GB;
 		limit = maxMemory - UiUtils.MIN_FREE_MEMORY;
 		labelTemplate = NLS.str("heapUsage.text");
+		codeCacheTemplate = NLS.str("heapUsage.codeCache");
 
 		setMaximum((int) (maxMemory / 1024));
 		setColor(GREEN);
@@ -104,6 +110,11 @@ public class HeapUsageBar extends JProgressBar {
 		long used = runtime.totalMemory() - runtime.freeMemory();
 		updateData.value = (int) (used / 1024);
 		updateData.label = String.format(labelTemplate, used / GB, maxGB);
+		LruCodeCache.Stats stats = wrapper.getCodeCacheStats();
+		if (stats != null) {
+			updateData.label += " | " + String.format(codeCacheTemplate, stats.getCount(),
+					stats.getHits() + stats.getRestores(), stats.getMisses(), stats.getEvictions());
+		}
 		updateData.color = used > limit ? RED : GREEN;
 		return updateData;
 	}
@@ -1087,7 +1087,7 @@ public class MainWindow extends JFrame {
 
 		new DropTarget(this, DnDConstants.ACTION_COPY, new MainDropTarget(this));
 
-		heapUsageBar = new HeapUsageBar();
+		heapUsageBar = new HeapUsageBar(wrapper);
 		mainPanel.add(heapUsageBar, BorderLayout.SOUTH);
 
 		setContentPane(mainPanel);
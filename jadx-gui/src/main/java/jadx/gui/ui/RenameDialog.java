@@ -39,7 +39,6 @@ import jadx.core.dex.nodes.MethodNode;
 import jadx.core.dex.nodes.RootNode;
 import jadx.core.dex.nodes.VariableNode;
 import jadx.core.dex.visitors.RenameVisitor;
-import jadx.core.utils.Utils;
 import jadx.core.utils.exceptions.JadxRuntimeException;
 import jadx.gui.jobs.IndexJob;
 import jadx.gui.settings.JadxSettings;
@@ -187,35 +186,41 @@ public class RenameDialog extends JDialog {
 		RenameVisitor renameVisitor = new RenameVisitor();
 		renameVisitor.init(rootNode);
 
-		JNodeCache nodeCache = cache.getNodeCache();
 		JavaNode javaNode = node.getJavaNode();
 
-		List<JavaNode> toUpdate = new ArrayList<>();
+		// classes with declarations of renamed nodes need full reload,
+		// for classes which only use renamed nodes code generation is enough
+		List<JavaNode> toReload = new ArrayList<>();
+		List<JavaNode> toRegenerate = new ArrayList<>();
 		if (javaNode != null) {
-			toUpdate.add(javaNode);
-			toUpdate.addAll(javaNode.getUseIn());
+			toReload.add(javaNode);
+			toRegenerate.addAll(javaNode.getUseIn());
 			if (node instanceof JMethod) {
-				toUpdate.addAll(((JMethod) node).getJavaMethod().getOverrideRelatedMethods());
+				for (JavaNode relatedMth : ((JMethod) node).getJavaMethod().getOverrideRelatedMethods()) {
+					toReload.add(relatedMth);
+					toRegenerate.addAll(relatedMth.getUseIn());
+				}
 			}
 		} else if (node instanceof JPackage) {
-			processPackage(toUpdate);
+			processPackage(toReload, toRegenerate);
 		} else {
 			throw new JadxRuntimeException("Unexpected node type: " + node);
 		}
-		Set<JClass> updatedTopClasses = toUpdate
-				.stream()
-				.map(nodeCache::makeFrom)
-				.map(JNode::getRootClass)
-				.filter(Objects::nonNull)
-				.collect(Collectors.toSet());
+		Set<JClass> reloadClasses = collectTopClasses(toReload);
+		Set<JClass> regenerateClasses = collectTopClasses(toRegenerate);
+		regenerateClasses.removeAll(reloadClasses);
 
-		LOG.debug("Classes to update: {}", updatedTopClasses);
+		LOG.debug("Classes to reload: {}, to regenerate: {}", reloadClasses, regenerateClasses);
 
-		refreshTabs(mainWindow.getTabbedPane(), updatedTopClasses);
+		TabbedPane tabbedPane = mainWindow.getTabbedPane();
+		refreshTabs(tabbedPane, reloadClasses, true);
+		refreshTabs(tabbedPane, regenerateClasses, false);
 
-		if (!updatedTopClasses.isEmpty()) {
-			mainWindow.getBackgroundExecutor().execute("Refreshing",
-					Utils.collectionMap(updatedTopClasses, cls -> () -> refreshJClass(cls)),
+		if (!reloadClasses.isEmpty() || !regenerateClasses.isEmpty()) {
+			List<Runnable> tasks = new ArrayList<>(reloadClasses.size() + regenerateClasses.size());
+			reloadClasses.forEach(cls -> tasks.add(() -> refreshJClass(cls, true)));
+			regenerateClasses.forEach(cls -> tasks.add(() -> refreshJClass(cls, false)));
+			mainWindow.getBackgroundExecutor().execute("Refreshing", tasks,
 					() -> {
 						if (node instanceof JPackage) {
 							// reinit tree
@@ -227,36 +232,49 @@ public class RenameDialog extends JDialog {
 		}
 	}
 
-	private void processPackage(List<JavaNode> toUpdate) {
+	private Set<JClass> collectTopClasses(List<JavaNode> nodes) {
+		JNodeCache nodeCache = cache.getNodeCache();
+		return nodes.stream()
+				.map(nodeCache::makeFrom)
+				.map(JNode::getRootClass)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+	}
+
+	private void processPackage(List<JavaNode> toReload, List<JavaNode> toRegenerate) {
 		String rawFullPkg = ((JPackage) node).getFullName();
 		String rawFullPkgDot = rawFullPkg + ".";
 		for (JavaClass cls : mainWindow.getWrapper().getClasses()) {
 			String clsPkg = cls.getClassNode().getClassInfo().getPackage();
 			// search all classes in package
 			if (clsPkg.equals(rawFullPkg) || clsPkg.startsWith(rawFullPkgDot)) {
-				toUpdate.add(cls);
+				toReload.add(cls);
 				// also include all usages (for import fix)
-				toUpdate.addAll(cls.getUseIn());
+				toRegenerate.addAll(cls.getUseIn());
 			}
 		}
 	}
 
-	private void refreshJClass(JClass cls) {
+	private void refreshJClass(JClass cls, boolean deepReload) {
 		try {
-			cls.reload();
+			if (deepReload) {
+				cls.reload();
+			} else {
+				cls.regenerate();
+			}
 			IndexJob.refreshIndex(cache, cls.getCls());
 		} catch (Exception e) {
 			LOG.error("Failed to reload class: {}", cls.getFullName(), e);
 		}
 	}
 
-	private void refreshTabs(TabbedPane tabbedPane, Set<JClass> updatedClasses) {
+	private void refreshTabs(TabbedPane tabbedPane, Set<JClass> updatedClasses, boolean deepReload) {
 		for (Map.Entry<JNode, ContentPanel> entry : tabbedPane.getOpenTabs().entrySet()) {
 			JClass rootClass = entry.getKey().getRootClass();
 			if (updatedClasses.remove(rootClass)) {
 				ClassCodeContentPanel contentPanel = (ClassCodeContentPanel) entry.getValue();
 				CodeArea codeArea = (CodeArea) contentPanel.getJavaCodePanel().getCodeArea();
-				codeArea.refreshClass();
+				codeArea.refreshClass(deepReload);
 			}
 		}
 	}
@@ -204,10 +204,7 @@ public final class CodeArea extends AbstractCodeArea {
 			return null;
 		}
 		try {
-			// TODO: add direct mapping for code offset to CodeWriter (instead of line and line offset pair)
-			int line = this.getLineOfOffset(offset);
-			int lineOffset = offset - this.getLineStartOffset(line);
-			return node.getJavaNodeAtPosition(getDecompiler(), line + 1, lineOffset + 1);
+			return node.getJavaNodeAtOffset(getDecompiler(), offset);
 		} catch (Exception e) {
 			LOG.error("Can't get java node by offset: {}", offset, e);
 		}
@@ -215,13 +212,25 @@ public final class CodeArea extends AbstractCodeArea {
 	}
 
 	public void refreshClass() {
+		refreshClass(true);
+	}
+
+	/**
+	 * @param deepReload reload and process class again,
+	 *                   otherwise only generate code (enough if only referenced nodes changed)
+	 */
+	public void refreshClass(boolean deepReload) {
 		if (node instanceof JClass) {
 			JClass cls = (JClass) node;
 			try {
 				CaretPositionFix caretFix = new CaretPositionFix(this);
 				caretFix.save();
 
-				cls.reload();
+				if (deepReload) {
+					cls.reload();
+				} else {
+					cls.regenerate();
+				}
 				IndexJob.refreshIndex(getMainWindow().getCacheObject(), cls.getCls());
 
 				ClassCodeContentPanel codeContentPanel = (ClassCodeContentPanel) this.contentPanel;
@@ -46,12 +46,9 @@ public class CodeUsageInfo {
 
 	public void processClass(JavaClass javaClass, CodeLinesInfo linesInfo, List<StringRef> lines) {
 		try {
-			Map<CodePosition, JavaNode> usage = javaClass.getUsageMap();
-			for (Map.Entry<CodePosition, JavaNode> entry : usage.entrySet()) {
-				CodePosition codePosition = entry.getKey();
-				JavaNode javaNode = entry.getValue();
+			javaClass.visitUsages((codePosition, javaNode) -> {
 				addUsage(nodeCache.makeFrom(javaNode), javaClass, linesInfo, codePosition, lines);
-			}
+			});
 		} catch (Exception e) {
 			LOG.error("Code usage process failed for class: {}", javaClass, e);
 		}
@@ -0,0 +1,76 @@
+package jadx.gui.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Run action if heap usage after garbage collection still leaves less than {@link UiUtils#MIN_FREE_MEMORY}.
+ * Collection usage threshold of heap memory pools used, so no polling needed.
+ * Previous thresholds restored on {@link #stop()}, because these settings are global for JVM.
+ */
+public class LowMemoryWatcher {
+	private static final Logger LOG = LoggerFactory.getLogger(LowMemoryWatcher.class);
+
+	private final NotificationEmitter emitter = (NotificationEmitter) ManagementFactory.getMemoryMXBean();
+	private final NotificationListener listener;
+	private final Map<MemoryPoolMXBean, Long> prevThresholds = new IdentityHashMap<>();
+
+	private boolean started;
+
+	public LowMemoryWatcher(Runnable action) {
+		this.listener = (notification, handback) -> {
+			if (MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(notification.getType())) {
+				LOG.debug("Low memory, {}", UiUtils.memoryInfo());
+				try {
+					action.run();
+				} catch (Exception e) {
+					LOG.error("Low memory action failed", e);
+				}
+			}
+		};
+	}
+
+	public synchronized void start() {
+		if (started) {
+			return;
+		}
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+				long max = pool.getUsage().getMax();
+				if (max > UiUtils.MIN_FREE_MEMORY) {
+					prevThresholds.put(pool, pool.getCollectionUsageThreshold());
+					pool.setCollectionUsageThreshold(max - UiUtils.MIN_FREE_MEMORY);
+				}
+			}
+		}
+		emitter.addNotificationListener(listener, null, null);
+		started = true;
+	}
+
+	public synchronized void stop() {
+		if (!started) {
+			return;
+		}
+		try {
+			emitter.removeNotificationListener(listener);
+		} catch (ListenerNotFoundException e) {
+			LOG.debug("Low memory listener already removed", e);
+		}
+		for (Map.Entry<MemoryPoolMXBean, Long> entry : prevThresholds.entrySet()) {
+			entry.getKey().setCollectionUsageThreshold(entry.getValue());
+		}
+		prevThresholds.clear();
+		started = false;
+	}
+}
@@ -18,14 +18,67 @@ public class CodeIndex {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CodeIndex.class);
 
+	/**
+	 * Line id is a position in this list, removed lines replaced by null
+	 */
 	private final List<CodeNode> values = new ArrayList<>();
+	private final TrigramIndex trigramIndex = new TrigramIndex();
+	private int removedCount;
 
 	public synchronized void put(CodeNode value) {
+		trigramIndex.add(values.size(), value.getLineStr());
 		values.add(value);
 	}
 
 	public synchronized void removeForCls(JavaClass cls) {
-		values.removeIf(v -> v.getJavaNode().getTopParentClass().equals(cls));
+		int size = values.size();
+		for (int i = 0; i < size; i++) {
+			CodeNode v = values.get(i);
+			if (v != null && v.getJavaNode().getTopParentClass().equals(cls)) {
+				values.set(i, null);
+				removedCount++;
+			}
+		}
+		if (removedCount > size / 2) {
+			rebuild();
+		}
+	}
+
+	private void rebuild() {
+		List<CodeNode> list = new ArrayList<>(values.size() - removedCount);
+		for (CodeNode v : values) {
+			if (v != null) {
+				list.add(v);
+			}
+		}
+		values.clear();
+		trigramIndex.clear();
+		removedCount = 0;
+		list.forEach(this::put);
+	}
+
+	/**
+	 * Use trigram index to select lines for check, fallback to all lines for regex and too short strings
+	 */
+	private synchronized List<CodeNode> getCandidates(SearchSettings searchSettings) {
+		int[] ids = searchSettings.isUseRegex() ? null : trigramIndex.searchCandidates(searchSettings.getSearchString());
+		if (ids == null) {
+			List<CodeNode> list = new ArrayList<>(values.size() - removedCount);
+			for (CodeNode v : values) {
+				if (v != null) {
+					list.add(v);
+				}
+			}
+			return list;
+		}
+		List<CodeNode> list = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			CodeNode v = values.get(id);
+			if (v != null) {
+				list.add(v);
+			}
+		}
+		return list;
 	}
 
 	private boolean isMatched(StringRef key, SearchSettings searchSettings) {
@@ -35,8 +88,9 @@ public class CodeIndex {
 	public Flowable<CodeNode> search(final SearchSettings searchSettings) {
 		JClass activeCls = searchSettings.getActiveCls();
 		return Flowable.create(emitter -> {
-			LOG.debug("Code search started: {} ...", searchSettings.getSearchString());
-			for (CodeNode node : values) {
+			List<CodeNode> candidates = getCandidates(searchSettings);
+			LOG.debug("Code search started: {}, lines to check: {} ...", searchSettings.getSearchString(), candidates.size());
+			for (CodeNode node : candidates) {
 				if (activeCls == null || node.getRootClass().equals(activeCls)) {
 					int pos = searchSettings.find(node.getLineStr());
 					if (pos > -1) {
@@ -53,7 +107,7 @@ public class CodeIndex {
 		}, BackpressureStrategy.BUFFER);
 	}
 
-	public int size() {
-		return values.size();
+	public synchronized int size() {
+		return values.size() - removedCount;
 	}
 }
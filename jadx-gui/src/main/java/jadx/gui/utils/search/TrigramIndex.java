@@ -0,0 +1,144 @@
+package jadx.gui.utils.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Inverted index from case folded char trigrams to ids of lines containing them.
+ * <br>
+ * Used only for candidates selection: trigram keys can collide for non ASCII chars,
+ * so all candidates still should be checked by exact search.
+ * Ids must be added in increasing order, postings stored as delta encoded varints.
+ */
+public class TrigramIndex {
+	public static final int GRAM_SIZE = 3;
+
+	private final Map<Integer, Postings> postingsMap = new HashMap<>();
+
+	public synchronized void add(int id, CharSequence str) {
+		int len = str.length();
+		if (len < GRAM_SIZE) {
+			return;
+		}
+		int c1 = fold(str.charAt(0));
+		int c2 = fold(str.charAt(1));
+		for (int i = 2; i < len; i++) {
+			int c3 = fold(str.charAt(i));
+			int key = c1 << 20 | c2 << 10 | c3;
+			postingsMap.computeIfAbsent(key, k -> new Postings()).add(id);
+			c1 = c2;
+			c2 = c3;
+		}
+	}
+
+	/**
+	 * @return sorted ids of lines which can contain searched string
+	 *         or null if string too short to use index
+	 */
+	@Nullable
+	public synchronized int[] searchCandidates(String str) {
+		int len = str.length();
+		if (len < GRAM_SIZE) {
+			return null;
+		}
+		List<Postings> list = new ArrayList<>(len - 2);
+		for (int i = 0; i + GRAM_SIZE <= len; i++) {
+			int key = fold(str.charAt(i)) << 20 | fold(str.charAt(i + 1)) << 10 | fold(str.charAt(i + 2));
+			Postings postings = postingsMap.get(key);
+			if (postings == null) {
+				return new int[0];
+			}
+			list.add(postings);
+		}
+		// start from rarest trigram to keep intermediate results small
+		list.sort(Comparator.comparingInt(Postings::getCount));
+		int[] result = list.get(0).decode();
+		for (int i = 1; i < list.size() && result.length != 0; i++) {
+			result = list.get(i).intersect(result);
+		}
+		return result;
+	}
+
+	public synchronized void clear() {
+		postingsMap.clear();
+	}
+
+	private static int fold(char ch) {
+		return Character.toLowerCase(ch) & 0x3FF;
+	}
+
+	private static final class Postings {
+		private byte[] data = new byte[4];
+		private int size;
+		private int count;
+		private int lastId = -1;
+
+		void add(int id) {
+			if (id == lastId) {
+				return;
+			}
+			if (size + 5 > data.length) {
+				data = Arrays.copyOf(data, data.length * 2);
+			}
+			int delta = id - lastId;
+			while ((delta & ~0x7F) != 0) {
+				data[size++] = (byte) (delta & 0x7F | 0x80);
+				delta >>>= 7;
+			}
+			data[size++] = (byte) delta;
+			lastId = id;
+			count++;
+		}
+
+		int getCount() {
+			return count;
+		}
+
+		int[] decode() {
+			int[] ids = new int[count];
+			int id = -1;
+			int pos = 0;
+			for (int i = 0; i < count; i++) {
+				int delta = 0;
+				int shift = 0;
+				byte b;
+				do {
+					b = data[pos++];
+					delta |= (b & 0x7F) << shift;
+					shift += 7;
+				} while (b < 0);
+				id += delta;
+				ids[i] = id;
+			}
+			return ids;
+		}
+
+		int[] intersect(int[] sortedIds) {
+			int[] ids = decode();
+			int[] result = new int[Math.min(ids.length, sortedIds.length)];
+			int k = 0;
+			int i = 0;
+			int j = 0;
+			while (i < ids.length && j < sortedIds.length) {
+				int a = ids[i];
+				int b = sortedIds[j];
+				if (a == b) {
+					result[k++] = a;
+					i++;
+					j++;
+				} else if (a < b) {
+					i++;
+				} else {
+					j++;
+				}
+			}
+			return k == result.length ? result : Arrays.copyOf(result, k);
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package jadx.gui.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class LowMemoryWatcherTest {
+
+	@Test
+	public void testThresholdsRestored() {
+		List<Long> before = getThresholds();
+		LowMemoryWatcher watcher = new LowMemoryWatcher(() -> {
+		});
+		watcher.start();
+		watcher.stop();
+		assertThat(getThresholds(), is(before));
+	}
+
+	private static List<Long> getThresholds() {
+		List<Long> list = new ArrayList<>();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.isCollectionUsageThresholdSupported()) {
+				list.add(pool.getCollectionUsageThreshold());
+			}
+		}
+		return list;
+	}
+}
@@ -0,0 +1,39 @@
+package jadx.gui.utils.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class TrigramIndexTest {
+
+	@Test
+	public void testSearch() {
+		TrigramIndex index = new TrigramIndex();
+		index.add(0, "public void test() {");
+		index.add(1, "return Test.call();");
+		index.add(2, "int a = 1;");
+
+		assertThat(index.searchCandidates("test"), is(new int[] { 0, 1 }));
+		assertThat(index.searchCandidates("TEST"), is(new int[] { 0, 1 }));
+		assertThat(index.searchCandidates("call()"), is(new int[] { 1 }));
+		assertThat(index.searchCandidates("a = 1"), is(new int[] { 2 }));
+		assertThat(index.searchCandidates("missing"), is(new int[0]));
+		assertThat(index.searchCandidates("te"), nullValue());
+	}
+
+	@Test
+	public void testBigIds() {
+		TrigramIndex index = new TrigramIndex();
+		int[] ids = { 5, 127, 128, 300, 16_383, 16_384, 1_000_000 };
+		for (int id : ids) {
+			index.add(id, "abc");
+			index.add(id + 1, "xyz");
+		}
+		assertThat(index.searchCandidates("abc"), is(ids));
+
+		index.clear();
+		assertThat(index.searchCandidates("abc"), is(new int[0]));
+	}
+}
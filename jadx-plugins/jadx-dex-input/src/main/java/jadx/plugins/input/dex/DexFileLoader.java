@@ -5,13 +5,20 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,23 +26,64 @@ import com.google.common.io.ByteStreams;
 
 import jadx.api.plugins.utils.ZipSecurity;
 import jadx.plugins.input.dex.sections.DexConsts;
+import jadx.plugins.input.dex.utils.MappedBuffers;
+import jadx.plugins.input.dex.utils.MappedZipEntries;
 
 public class DexFileLoader {
 	private static final Logger LOG = LoggerFactory.getLogger(DexFileLoader.class);
 
-	private static int dexUniqId = 1;
+	/**
+	 * Files smaller than this size will be read into heap buffer
+	 */
+	private static final long MIN_MAP_SIZE = 64 * 1024;
 
 	public static List<DexReader> collectDexFiles(List<Path> pathsList) {
-		return pathsList.stream()
+		return collectDexFiles(pathsList, true);
+	}
+
+	/**
+	 * @param allowMap use memory mapped buffers for input files (not allowed for temp files,
+	 *                 because mapped files can't be deleted on Windows)
+	 */
+	public static List<DexReader> collectDexFiles(List<Path> pathsList, boolean allowMap) {
+		return collectDexFiles(pathsList, allowMap, null);
+	}
+
+	/**
+	 * @param mappedBuffers if not null, filled with file mappings used by returned readers,
+	 *                      caller should release them by {@link MappedBuffers#unmap(ByteBuffer)} after readers usage.
+	 *                      Otherwise, mappings released by GC.
+	 */
+	public static List<DexReader> collectDexFiles(List<Path> pathsList, boolean allowMap, @Nullable List<ByteBuffer> mappedBuffers) {
+		List<ByteBuffer> mappings = Collections.synchronizedList(new ArrayList<>());
+		// files read concurrently, ordered stream keeps dex files order same as in input
+		List<DexFileData> dexFiles = pathsList.parallelStream()
 				.map(Path::toFile)
-				.map(DexFileLoader::loadDexFromFile)
-				.filter(list -> !list.isEmpty())
+				.map(file -> loadDexFromFile(file, allowMap, mappings))
 				.flatMap(Collection::stream)
-				.peek(dr -> LOG.debug("Loading dex: {}", dr))
 				.collect(Collectors.toList());
+		// ids unique only inside this load, decompiler renumber dex files from all loads (see IClassesSource.setSourceId)
+		List<DexReader> dexReaders = new ArrayList<>(dexFiles.size());
+		int uniqId = 1;
+		for (DexFileData dexFile : dexFiles) {
+			DexReader dexReader = new DexReader(uniqId++, dexFile.getName(), dexFile.getBuf());
+			LOG.debug("Loading dex: {}", dexReader);
+			dexReaders.add(dexReader);
+		}
+		if (mappedBuffers != null) {
+			mappedBuffers.addAll(mappings);
+		}
+		return dexReaders;
 	}
 
-	private static List<DexReader> loadDexFromFile(File file) {
+	private static List<DexFileData> loadDexFromFile(File file, boolean allowMap, List<ByteBuffer> mappings) {
+		if (allowMap && file.length() >= MIN_MAP_SIZE) {
+			try {
+				return mapDexFromFile(file, mappings);
+			} catch (Exception e) {
+				LOG.warn("Failed to map file, fallback to read: {}", file.getAbsolutePath(), e);
+			}
+		}
 		try (InputStream inputStream = new FileInputStream(file)) {
 			return checkFileMagic(file, inputStream, file.getAbsolutePath());
 		} catch (Exception e) {
@@ -44,7 +92,39 @@ public class DexFileLoader {
 		}
 	}
 
-	private static List<DexReader> checkFileMagic(File file, InputStream inputStream, String inputFileName) throws IOException {
+	private static List<DexFileData> mapDexFromFile(File file, List<ByteBuffer> mappings) throws IOException {
+		ByteBuffer buf;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		List<DexFileData> dexFiles;
+		try {
+			dexFiles = readMappedFile(file, buf);
+		} catch (Exception e) {
+			MappedBuffers.unmap(buf);
+			throw e;
+		}
+		if (dexFiles.stream().anyMatch(DexFileData::isMapped)) {
+			mappings.add(buf);
+		} else {
+			// mapping not used, release file right now
+			MappedBuffers.unmap(buf);
+		}
+		return dexFiles;
+	}
+
+	private static List<DexFileData> readMappedFile(File file, ByteBuffer buf) {
+		byte[] magic = readMagic(buf);
+		if (isStartWithBytes(magic, DexConsts.DEX_FILE_MAGIC)) {
+			return Collections.singletonList(new DexFileData(file.getAbsolutePath(), buf, true));
+		}
+		if (isStartWithBytes(magic, DexConsts.ZIP_FILE_MAGIC)) {
+			return collectDexFromZip(file, MappedZipEntries.mapStoredEntries(buf));
+		}
+		return Collections.emptyList();
+	}
+
+	private static List<DexFileData> checkFileMagic(File file, InputStream inputStream, String inputFileName) throws IOException {
 		try (InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream)) {
 			byte[] magic = new byte[DexConsts.MAX_MAGIC_SIZE];
 			in.mark(magic.length);
@@ -53,30 +133,60 @@ public class DexFileLoader {
 			}
 			if (isStartWithBytes(magic, DexConsts.DEX_FILE_MAGIC)) {
 				in.reset();
-				DexReader dexReader = new DexReader(getNextUniqId(), inputFileName, readAllBytes(in));
-				return Collections.singletonList(dexReader);
+				return Collections.singletonList(new DexFileData(inputFileName, ByteBuffer.wrap(readAllBytes(in)), false));
 			}
 			if (file != null && isStartWithBytes(magic, DexConsts.ZIP_FILE_MAGIC)) {
-				return collectDexFromZip(file);
+				return collectDexFromZip(file, Collections.emptyMap());
 			}
 			return Collections.emptyList();
 		}
 	}
 
-	private static List<DexReader> collectDexFromZip(File file) {
-		List<DexReader> result = new ArrayList<>();
-		try {
-			ZipSecurity.readZipEntries(file, (entry, in) -> {
-				try {
-					result.addAll(checkFileMagic(null, in, entry.getName()));
-				} catch (Exception e) {
-					LOG.error("Failed to read zip entry: {}", entry, e);
+	/**
+	 * @param mappedEntries data of uncompressed entries, used instead of reading into heap
+	 */
+	private static List<DexFileData> collectDexFromZip(File file, Map<String, ByteBuffer> mappedEntries) {
+		try (ZipFile zip = new ZipFile(file)) {
+			List<ZipEntry> entries = new ArrayList<>();
+			ZipSecurity.visitZipEntries(zip, (z, entry) -> {
+				if (!entry.isDirectory()) {
+					entries.add(entry);
 				}
+				return null;
 			});
+			// entries inflated concurrently, ordered stream keeps entries order
+			return entries.parallelStream()
+					.map(entry -> loadDexFromZipEntry(zip, entry, mappedEntries))
+					.flatMap(Collection::stream)
+					.collect(Collectors.toList());
 		} catch (Exception e) {
 			LOG.error("Failed to process zip file: {}", file.getAbsolutePath(), e);
+			return Collections.emptyList();
+		}
+	}
+
+	private static List<DexFileData> loadDexFromZipEntry(ZipFile zip, ZipEntry entry, Map<String, ByteBuffer> mappedEntries) {
+		ByteBuffer mappedBuf = mappedEntries.get(entry.getName());
+		if (mappedBuf != null && entry.getMethod() == ZipEntry.STORED && mappedBuf.remaining() == entry.getSize()) {
+			if (isStartWithBytes(readMagic(mappedBuf), DexConsts.DEX_FILE_MAGIC)) {
+				return Collections.singletonList(new DexFileData(entry.getName(), mappedBuf, true));
+			}
+			return Collections.emptyList();
+		}
+		try (InputStream in = ZipSecurity.getInputStreamForEntry(zip, entry)) {
+			return checkFileMagic(null, in, entry.getName());
+		} catch (Exception e) {
+			LOG.error("Failed to read zip entry: {}", entry, e);
+			return Collections.emptyList();
 		}
-		return result;
+	}
+
+	private static byte[] readMagic(ByteBuffer buf) {
+		byte[] magic = new byte[DexConsts.MAX_MAGIC_SIZE];
+		if (buf.remaining() >= magic.length) {
+			buf.duplicate().get(magic);
+		}
+		return magic;
 	}
 
 	private static boolean isStartWithBytes(byte[] fileMagic, byte[] expectedBytes) {
@@ -96,15 +206,27 @@ public class DexFileLoader {
 		return ByteStreams.toByteArray(in);
 	}
 
-	private static int getNextUniqId() {
-		dexUniqId++;
-		if (dexUniqId >= 0xFFFF) {
-			resetDexUniqId();
+	private static final class DexFileData {
+		private final String name;
+		private final ByteBuffer buf;
+		private final boolean mapped;
+
+		private DexFileData(String name, ByteBuffer buf, boolean mapped) {
+			this.name = name;
+			this.buf = buf;
+			this.mapped = mapped;
 		}
-		return dexUniqId;
-	}
 
-	public static void resetDexUniqId() {
-		dexUniqId = 1;
+		public String getName() {
+			return name;
+		}
+
+		public ByteBuffer getBuf() {
+			return buf;
+		}
+
+		public boolean isMapped() {
+			return mapped;
+		}
 	}
 }
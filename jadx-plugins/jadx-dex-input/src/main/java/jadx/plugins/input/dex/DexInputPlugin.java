@@ -1,9 +1,13 @@
 package jadx.plugins.input.dex;
 
 import java.io.Closeable;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
 import jadx.api.plugins.JadxPluginInfo;
 import jadx.api.plugins.input.JadxInputPlugin;
 import jadx.api.plugins.input.data.ILoadResult;
@@ -11,10 +15,6 @@ import jadx.api.plugins.input.data.impl.EmptyLoadResult;
 
 public class DexInputPlugin implements JadxInputPlugin {
 
-	public DexInputPlugin() {
-		DexFileLoader.resetDexUniqId();
-	}
-
 	@Override
 	public JadxPluginInfo getPluginInfo() {
 		return new JadxPluginInfo("dex-input", "DexInput", "Load .dex and .apk files");
@@ -22,14 +22,25 @@ public class DexInputPlugin implements JadxInputPlugin {
 
 	@Override
 	public ILoadResult loadFiles(List<Path> input) {
-		return loadDexFiles(input, null);
+		return loadFiles(input, true);
+	}
+
+	@Override
+	public ILoadResult loadFiles(List<Path> input, boolean allowMap) {
+		return loadDexFiles(input, allowMap, null);
 	}
 
 	public static ILoadResult loadDexFiles(List<Path> inputFiles, Closeable closeable) {
-		List<DexReader> dexReaders = DexFileLoader.collectDexFiles(inputFiles);
+		// closeable set only for temp files, don't map them
+		return loadDexFiles(inputFiles, false, closeable);
+	}
+
+	private static ILoadResult loadDexFiles(List<Path> inputFiles, boolean allowMap, @Nullable Closeable closeable) {
+		List<ByteBuffer> mappedBuffers = new ArrayList<>();
+		List<DexReader> dexReaders = DexFileLoader.collectDexFiles(inputFiles, allowMap, mappedBuffers);
 		if (dexReaders.isEmpty()) {
 			return EmptyLoadResult.INSTANCE;
 		}
-		return new DexLoadResult(dexReaders, closeable);
+		return new DexLoadResult(dexReaders, mappedBuffers, closeable);
 	}
 }
@@ -2,22 +2,35 @@ package jadx.plugins.input.dex;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
 import org.jetbrains.annotations.Nullable;
 
 import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.IClassesSource;
 import jadx.api.plugins.input.data.ILoadResult;
 import jadx.api.plugins.input.data.IResourceData;
+import jadx.plugins.input.dex.utils.MappedBuffers;
 
 public class DexLoadResult implements ILoadResult {
 	private final List<DexReader> dexReaders;
+	private final List<ByteBuffer> mappedBuffers;
 	@Nullable
 	private final Closeable closeable;
 
 	public DexLoadResult(List<DexReader> dexReaders, @Nullable Closeable closeable) {
+		this(dexReaders, Collections.emptyList(), closeable);
+	}
+
+	/**
+	 * @param mappedBuffers input files mappings used by dex readers, released on close
+	 */
+	public DexLoadResult(List<DexReader> dexReaders, List<ByteBuffer> mappedBuffers, @Nullable Closeable closeable) {
 		this.dexReaders = dexReaders;
+		this.mappedBuffers = mappedBuffers;
 		this.closeable = closeable;
 	}
 
@@ -28,6 +41,11 @@ public class DexLoadResult implements ILoadResult {
 		}
 	}
 
+	@Override
+	public List<IClassesSource> getClassesSources() {
+		return Collections.unmodifiableList(dexReaders);
+	}
+
 	@Override
 	public void visitResources(Consumer<IResourceData> consumer) {
 	}
@@ -35,6 +53,11 @@ public class DexLoadResult implements ILoadResult {
 	@Override
 	public void close() throws IOException {
 		dexReaders.clear();
+		// unlock input files without waiting for GC, classes data can't be read after this point
+		if (!mappedBuffers.isEmpty()) {
+			mappedBuffers.forEach(MappedBuffers::unmap);
+			mappedBuffers.clear();
+		}
 		if (closeable != null) {
 			closeable.close();
 		}
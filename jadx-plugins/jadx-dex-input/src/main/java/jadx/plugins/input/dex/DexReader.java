@@ -4,24 +4,36 @@ import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import jadx.api.plugins.input.data.IClassData;
+import jadx.api.plugins.input.data.IClassesSource;
 import jadx.plugins.input.dex.sections.DexClassData;
 import jadx.plugins.input.dex.sections.DexHeader;
+import jadx.plugins.input.dex.sections.DexStringPool;
 import jadx.plugins.input.dex.sections.SectionReader;
 import jadx.plugins.input.dex.sections.annotations.AnnotationsParser;
 
-public class DexReader {
-	private final int uniqId;
+public class DexReader implements IClassesSource {
+	private int uniqId;
 	private final String inputFileName;
 	private final ByteBuffer buf;
 	private final DexHeader header;
+	private final DexStringPool stringPool;
 
 	public DexReader(int uniqId, String inputFileName, byte[] content) {
+		this(uniqId, inputFileName, ByteBuffer.wrap(content));
+	}
+
+	/**
+	 * @param buf dex content, can be direct (memory mapped) buffer, data should start from buffer index 0
+	 */
+	public DexReader(int uniqId, String inputFileName, ByteBuffer buf) {
 		this.uniqId = uniqId;
 		this.inputFileName = inputFileName;
-		this.buf = ByteBuffer.wrap(content);
+		this.buf = buf;
 		this.header = new DexHeader(new SectionReader(this, 0));
+		this.stringPool = new DexStringPool(header);
 	}
 
+	@Override
 	public void visitClasses(Consumer<IClassData> consumer) {
 		int count = header.getClassDefsSize();
 		if (count == 0) {
@@ -41,10 +53,28 @@ public class DexReader {
 		return buf;
 	}
 
+	/**
+	 * Dex content as byte array, will be copied for direct buffers
+	 */
+	public byte[] getBytes() {
+		if (buf.hasArray() && buf.arrayOffset() == 0 && buf.array().length == buf.limit()) {
+			return buf.array();
+		}
+		byte[] bytes = new byte[buf.limit()];
+		ByteBuffer dup = buf.duplicate();
+		dup.position(0);
+		dup.get(bytes);
+		return bytes;
+	}
+
 	public DexHeader getHeader() {
 		return header;
 	}
 
+	public DexStringPool getStringPool() {
+		return stringPool;
+	}
+
 	public String getInputFileName() {
 		return inputFileName;
 	}
@@ -53,6 +83,14 @@ public class DexReader {
 		return uniqId;
 	}
 
+	/**
+	 * Id used in method refs ids, so should be set before classes visit
+	 */
+	@Override
+	public void setSourceId(int id) {
+		this.uniqId = id;
+	}
+
 	@Override
 	public String toString() {
 		return inputFileName;
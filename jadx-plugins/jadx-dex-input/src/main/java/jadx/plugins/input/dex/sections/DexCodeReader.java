@@ -14,6 +14,7 @@ import jadx.api.plugins.input.data.ICodeReader;
 import jadx.api.plugins.input.data.IDebugInfo;
 import jadx.api.plugins.input.data.ITry;
 import jadx.api.plugins.input.insns.InsnData;
+import jadx.api.plugins.input.insns.InsnIndexType;
 import jadx.plugins.input.dex.DexException;
 import jadx.plugins.input.dex.insns.DexInsnData;
 import jadx.plugins.input.dex.insns.DexInsnFormat;
@@ -86,6 +87,52 @@ public class DexCodeReader implements ICodeReader {
 		}
 	}
 
+	@Override
+	public void visitRefs(Consumer<InsnData> insnConsumer) {
+		DexInsnData insnData = new DexInsnData(this, in.copy());
+		in.pos(12);
+		int size = in.readInt();
+		int offset = 0; // in code units (2 byte)
+		while (offset < size) {
+			int insnStart = in.getAbsPos();
+			int opcodeUnit = in.readUShort();
+			DexInsnInfo insnInfo = DexInsnInfo.get(opcodeUnit);
+			if (insnInfo == null) {
+				offset++;
+				continue;
+			}
+			DexInsnFormat format = insnInfo.getFormat();
+			insnData.setLength(format.getLength());
+			if (isRefIndex(insnInfo.getIndexType())) {
+				// all formats with these references (21c, 22c, 35c, 3rc) store index in second code unit
+				insnData.setInsnStart(insnStart);
+				insnData.setOffset(offset);
+				insnData.setInsnInfo(insnInfo);
+				insnData.setOpcodeUnit(opcodeUnit);
+				insnData.setRegsCount(0);
+				insnData.setPayload(null);
+				insnData.setDecoded(true); // only index available, prevent decoding from wrong position
+				insnData.setIndex(in.readUShort());
+				insnConsumer.accept(insnData);
+				in.skip((format.getLength() - 2) * 2);
+			} else {
+				format.skip(insnData, in);
+			}
+			offset += insnData.getLength();
+		}
+	}
+
+	private static boolean isRefIndex(InsnIndexType indexType) {
+		return indexType == InsnIndexType.TYPE_REF
+				|| indexType == InsnIndexType.FIELD_REF
+				|| indexType == InsnIndexType.METHOD_REF;
+	}
+
+	@Override
+	public int getRefsScopeId() {
+		return in.getDexReader().getUniqId();
+	}
+
 	public void decode(DexInsnData insn) {
 		DexInsnFormat format = insn.getInsnInfo().getFormat();
 		format.decode(insn, insn.getOpcodeUnit(), insn.getCodeData().in);
@@ -0,0 +1,112 @@
+package jadx.plugins.input.dex.sections;
+
+import jadx.plugins.input.dex.utils.MUtf8;
+
+/**
+ * Lazily filled table of decoded strings and types for one dex file.
+ * <br>
+ * Safe for use from several threads without locks: entries are immutable,
+ * so concurrent misses only decode same value several times.
+ * <br>
+ * All types cached (type ids count limited by 65536), type descriptors interned because they repeat in every dex.
+ * For dex with huge strings pool only limited count of strings cached (direct mapped by string index).
+ */
+public final class DexStringPool {
+	public static final int FULL_CACHE_MAX_SIZE = 256 * 1024;
+	public static final int BOUNDED_CACHE_SIZE = 64 * 1024;
+
+	private final DexHeader header;
+	private final String[] types;
+	private final String[] strings;
+	private final StringEntry[] boundedStrings;
+	private final int boundedMask;
+
+	public DexStringPool(DexHeader header) {
+		this(header, FULL_CACHE_MAX_SIZE, BOUNDED_CACHE_SIZE);
+	}
+
+	/**
+	 * @param fullCacheMaxSize use bounded cache if dex contains more strings
+	 * @param boundedCacheSize size of bounded cache, must be power of 2
+	 */
+	public DexStringPool(DexHeader header, int fullCacheMaxSize, int boundedCacheSize) {
+		if (Integer.bitCount(boundedCacheSize) != 1) {
+			throw new IllegalArgumentException("Bounded cache size must be power of 2: " + boundedCacheSize);
+		}
+		this.header = header;
+		this.types = new String[header.getTypeIdsSize()];
+		int stringsCount = header.getStringIdsSize();
+		if (stringsCount <= fullCacheMaxSize) {
+			this.strings = new String[stringsCount];
+			this.boundedStrings = null;
+			this.boundedMask = 0;
+		} else {
+			this.strings = null;
+			this.boundedStrings = new StringEntry[boundedCacheSize];
+			this.boundedMask = boundedCacheSize - 1;
+		}
+	}
+
+	/**
+	 * @param in reader used for decoding on cache miss (position will be changed)
+	 */
+	public String getType(SectionReader in, int idx) {
+		String type = types[idx];
+		if (type != null) {
+			return type;
+		}
+		in.absPos(header.getTypeIdsOff() + idx * 4);
+		int strIdx = in.readInt();
+		String newType = getString(in, strIdx).intern();
+		types[idx] = newType;
+		if (strings != null) {
+			// keep only interned copy
+			strings[strIdx] = newType;
+		}
+		return newType;
+	}
+
+	/**
+	 * @param in reader used for decoding on cache miss (position will be changed)
+	 */
+	public String getString(SectionReader in, int idx) {
+		if (strings != null) {
+			String str = strings[idx];
+			if (str != null) {
+				return str;
+			}
+			String newStr = decode(in, idx);
+			strings[idx] = newStr;
+			return newStr;
+		}
+		int pos = idx & boundedMask;
+		StringEntry entry = boundedStrings[pos];
+		if (entry != null && entry.idx == idx) {
+			return entry.str;
+		}
+		String newStr = decode(in, idx);
+		boundedStrings[pos] = new StringEntry(idx, newStr);
+		return newStr;
+	}
+
+	public boolean isBounded() {
+		return boundedStrings != null;
+	}
+
+	private String decode(SectionReader in, int idx) {
+		in.absPos(header.getStringIdsOff() + idx * 4);
+		int strOff = in.readInt();
+		in.absPos(strOff);
+		return MUtf8.decode(in);
+	}
+
+	private static final class StringEntry {
+		private final int idx;
+		private final String str;
+
+		private StringEntry(int idx, String str) {
+			this.idx = idx;
+			this.str = str;
+		}
+	}
+}
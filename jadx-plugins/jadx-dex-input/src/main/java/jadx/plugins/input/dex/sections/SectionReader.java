@@ -18,7 +18,6 @@ import jadx.api.plugins.input.data.impl.MethodRefHandle;
 import jadx.plugins.input.dex.DexReader;
 import jadx.plugins.input.dex.sections.annotations.EncodedValueParser;
 import jadx.plugins.input.dex.utils.Leb128;
-import jadx.plugins.input.dex.utils.MUtf8;
 
 import static jadx.plugins.input.dex.sections.DexConsts.NO_INDEX;
 
@@ -158,10 +157,7 @@ public class SectionReader {
 		if (idx == NO_INDEX) {
 			return null;
 		}
-		int typeIdsOff = dexReader.getHeader().getTypeIdsOff();
-		absPos(typeIdsOff + idx * 4);
-		int strIdx = readInt();
-		return getString(strIdx);
+		return dexReader.getStringPool().getType(this, idx);
 	}
 
 	@Nullable
@@ -169,12 +165,7 @@ public class SectionReader {
 		if (idx == NO_INDEX) {
 			return null;
 		}
-		// TODO: make string pool cache?
-		int stringIdsOff = dexReader.getHeader().getStringIdsOff();
-		absPos(stringIdsOff + idx * 4);
-		int strOff = readInt();
-		absPos(strOff);
-		return MUtf8.decode(this);
+		return dexReader.getStringPool().getString(this, idx);
 	}
 
 	public IFieldData getFieldData(int idx) {
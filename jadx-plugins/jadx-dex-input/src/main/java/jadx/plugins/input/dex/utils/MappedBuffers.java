@@ -0,0 +1,52 @@
+package jadx.plugins.input.dex.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Release memory mapped buffers without waiting for GC.
+ * <br>
+ * Buffer (and all its slices) must not be used after unmap, any access will crash JVM.
+ */
+public final class MappedBuffers {
+	private static final Logger LOG = LoggerFactory.getLogger(MappedBuffers.class);
+
+	public static void unmap(ByteBuffer buf) {
+		if (!buf.isDirect()) {
+			return;
+		}
+		try {
+			Class<?> unsafeCls = Class.forName("sun.misc.Unsafe");
+			Method invokeCleaner;
+			try {
+				invokeCleaner = unsafeCls.getMethod("invokeCleaner", ByteBuffer.class);
+			} catch (NoSuchMethodException e) {
+				unmapJava8(buf);
+				return;
+			}
+			Field unsafeField = unsafeCls.getDeclaredField("theUnsafe");
+			unsafeField.setAccessible(true);
+			invokeCleaner.invoke(unsafeField.get(null), buf);
+		} catch (Exception e) {
+			LOG.debug("Failed to unmap buffer, it will be released by GC", e);
+		}
+	}
+
+	private static void unmapJava8(ByteBuffer buf) throws Exception {
+		Method cleanerMth = buf.getClass().getMethod("cleaner");
+		cleanerMth.setAccessible(true);
+		Object cleaner = cleanerMth.invoke(buf);
+		if (cleaner != null) {
+			Method cleanMth = cleaner.getClass().getMethod("clean");
+			cleanMth.setAccessible(true);
+			cleanMth.invoke(cleaner);
+		}
+	}
+
+	private MappedBuffers() {
+	}
+}
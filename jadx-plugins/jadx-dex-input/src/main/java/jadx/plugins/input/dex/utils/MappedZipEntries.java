@@ -0,0 +1,107 @@
+package jadx.plugins.input.dex.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Find uncompressed (STORED) entries in memory mapped zip file and return buffers for entries data.
+ * <br>
+ * Only central directory and local headers are parsed, entries still should be checked by {@link java.util.zip.ZipFile}.
+ * Zip64 archives not supported (empty map returned).
+ */
+public final class MappedZipEntries {
+	private static final int EOCD_SIGNATURE = 0x06054b50;
+	private static final int EOCD_SIZE = 22;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int METHOD_STORED = 0;
+
+	public static Map<String, ByteBuffer> mapStoredEntries(ByteBuffer zipBuf) {
+		ByteBuffer buf = zipBuf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		int eocdOff = findEndOfCentralDir(buf);
+		if (eocdOff == -1) {
+			return Collections.emptyMap();
+		}
+		int entriesCount = buf.getShort(eocdOff + 10) & 0xFFFF;
+		long cdOffset = buf.getInt(eocdOff + 16) & 0xFFFFFFFFL;
+		if (entriesCount == 0xFFFF || cdOffset >= buf.limit()) {
+			// zip64 or broken archive
+			return Collections.emptyMap();
+		}
+		Map<String, ByteBuffer> map = new HashMap<>();
+		int pos = (int) cdOffset;
+		for (int i = 0; i < entriesCount; i++) {
+			if (pos + CENTRAL_HEADER_SIZE > buf.limit() || buf.getInt(pos) != CENTRAL_HEADER_SIGNATURE) {
+				return Collections.emptyMap();
+			}
+			int method = buf.getShort(pos + 10) & 0xFFFF;
+			long compressedSize = buf.getInt(pos + 20) & 0xFFFFFFFFL;
+			long size = buf.getInt(pos + 24) & 0xFFFFFFFFL;
+			int nameLen = buf.getShort(pos + 28) & 0xFFFF;
+			int extraLen = buf.getShort(pos + 30) & 0xFFFF;
+			int commentLen = buf.getShort(pos + 32) & 0xFFFF;
+			long localHeaderOff = buf.getInt(pos + 42) & 0xFFFFFFFFL;
+			if (method == METHOD_STORED && compressedSize == size && size != 0) {
+				String name = readName(buf, pos + CENTRAL_HEADER_SIZE, nameLen);
+				ByteBuffer data = mapEntryData(buf, localHeaderOff, size);
+				if (data != null) {
+					map.put(name, data);
+				}
+			}
+			pos += CENTRAL_HEADER_SIZE + nameLen + extraLen + commentLen;
+		}
+		return map;
+	}
+
+	private static int findEndOfCentralDir(ByteBuffer buf) {
+		int limit = buf.limit();
+		int minPos = Math.max(0, limit - EOCD_SIZE - MAX_COMMENT_SIZE);
+		for (int pos = limit - EOCD_SIZE; pos >= minPos; pos--) {
+			if (buf.getInt(pos) == EOCD_SIGNATURE) {
+				return pos;
+			}
+		}
+		return -1;
+	}
+
+	@Nullable
+	private static ByteBuffer mapEntryData(ByteBuffer buf, long localHeaderOff, long size) {
+		if (localHeaderOff + LOCAL_HEADER_SIZE > buf.limit()) {
+			return null;
+		}
+		int off = (int) localHeaderOff;
+		if (buf.getInt(off) != LOCAL_HEADER_SIGNATURE) {
+			return null;
+		}
+		int nameLen = buf.getShort(off + 26) & 0xFFFF;
+		int extraLen = buf.getShort(off + 28) & 0xFFFF;
+		long dataOff = localHeaderOff + LOCAL_HEADER_SIZE + nameLen + extraLen;
+		if (dataOff + size > buf.limit()) {
+			return null;
+		}
+		ByteBuffer data = buf.duplicate();
+		data.limit((int) (dataOff + size));
+		data.position((int) dataOff);
+		return data.slice();
+	}
+
+	private static String readName(ByteBuffer buf, int off, int len) {
+		byte[] bytes = new byte[len];
+		ByteBuffer dup = buf.duplicate();
+		dup.position(off);
+		dup.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private MappedZipEntries() {
+	}
+}
@@ -0,0 +1,126 @@
+package jadx.plugins.input.dex;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jadx.api.plugins.input.data.ILoadResult;
+import jadx.plugins.input.dex.utils.MappedZipEntries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DexFileLoaderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testMapStoredEntries() throws Exception {
+		Path apk = getSample("samples/app-with-fake-dex.apk");
+		ByteBuffer buf;
+		try (FileChannel channel = FileChannel.open(apk, StandardOpenOption.READ)) {
+			buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		Map<String, ByteBuffer> entries = MappedZipEntries.mapStoredEntries(buf);
+		assertThat(entries).containsOnlyKeys("resources.arsc", "assets/classes.dex");
+		assertThat(entries.get("resources.arsc").remaining()).isEqualTo(1316);
+		assertThat(entries.get("resources.arsc").get(0)).isEqualTo((byte) 0x02);
+	}
+
+	@Test
+	public void testLoadMappedDexFromZip() throws Exception {
+		byte[] dex = Files.readAllBytes(getSample("samples/hello.dex"));
+		Path zip = tempDir.resolve("test.apk");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+			addStoredEntry(out, "classes.dex", dex);
+			addStoredEntry(out, "filler.bin", new byte[100 * 1024]);
+		}
+		List<DexReader> dexReaders = DexFileLoader.collectDexFiles(Collections.singletonList(zip));
+		assertThat(dexReaders).hasSize(1);
+		DexReader dexReader = dexReaders.get(0);
+		assertThat(dexReader.getBuf().isDirect()).isTrue();
+		assertThat(dexReader.getBytes()).isEqualTo(dex);
+
+		List<DexReader> heapReaders = DexFileLoader.collectDexFiles(Collections.singletonList(zip), false);
+		assertThat(heapReaders).hasSize(1);
+		assertThat(heapReaders.get(0).getBuf().isDirect()).isFalse();
+		assertThat(heapReaders.get(0).getHeader().getClassDefsSize()).isEqualTo(dexReader.getHeader().getClassDefsSize());
+	}
+
+	@Test
+	public void testUnmapOnClose() throws Exception {
+		Path mapsFile = Paths.get("/proc/self/maps");
+		assumeTrue(Files.isReadable(mapsFile), "Mapped files list not available");
+
+		byte[] dex = Files.readAllBytes(getSample("samples/hello.dex"));
+		Path zip = tempDir.resolve("unmap.apk");
+		Path unusedZip = tempDir.resolve("unused.apk");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+			addStoredEntry(out, "classes.dex", dex);
+			addStoredEntry(out, "filler.bin", new byte[100 * 1024]);
+		}
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(unusedZip))) {
+			addStoredEntry(out, "filler.bin", new byte[100 * 1024]);
+		}
+		ILoadResult result = new DexInputPlugin().loadFiles(Arrays.asList(zip, unusedZip));
+		assertThat(result.getClassesSources()).hasSize(1);
+		String zipPath = zip.toAbsolutePath().toString();
+		String unusedZipPath = unusedZip.toAbsolutePath().toString();
+		// mapping without dex files released right after load
+		assertThat(Files.readAllLines(mapsFile))
+				.anyMatch(line -> line.endsWith(zipPath))
+				.noneMatch(line -> line.endsWith(unusedZipPath));
+
+		result.close();
+		assertThat(Files.readAllLines(mapsFile)).noneMatch(line -> line.endsWith(zipPath));
+	}
+
+	@Test
+	public void testLoadWithoutMap() throws Exception {
+		Path mapsFile = Paths.get("/proc/self/maps");
+		assumeTrue(Files.isReadable(mapsFile), "Mapped files list not available");
+
+		byte[] dex = Files.readAllBytes(getSample("samples/hello.dex"));
+		Path zip = tempDir.resolve("no-map.apk");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+			addStoredEntry(out, "classes.dex", dex);
+			addStoredEntry(out, "filler.bin", new byte[100 * 1024]);
+		}
+		try (ILoadResult result = new DexInputPlugin().loadFiles(Collections.singletonList(zip), false)) {
+			assertThat(result.getClassesSources()).hasSize(1);
+			String zipPath = zip.toAbsolutePath().toString();
+			assertThat(Files.readAllLines(mapsFile)).noneMatch(line -> line.endsWith(zipPath));
+		}
+	}
+
+	private static void addStoredEntry(ZipOutputStream out, String name, byte[] data) throws Exception {
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		ZipEntry entry = new ZipEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(data.length);
+		entry.setCompressedSize(data.length);
+		entry.setCrc(crc.getValue());
+		out.putNextEntry(entry);
+		out.write(data);
+		out.closeEntry();
+	}
+
+	private static Path getSample(String name) throws Exception {
+		return Paths.get(ClassLoader.getSystemResource(name).toURI());
+	}
+}
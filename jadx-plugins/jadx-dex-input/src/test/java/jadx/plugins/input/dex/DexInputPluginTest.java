@@ -3,6 +3,8 @@ package jadx.plugins.input.dex;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -13,6 +15,8 @@ import jadx.api.plugins.input.data.AccessFlags;
 import jadx.api.plugins.input.data.AccessFlagsScope;
 import jadx.api.plugins.input.data.ICodeReader;
 import jadx.api.plugins.input.data.ILoadResult;
+import jadx.api.plugins.input.insns.InsnIndexType;
+import jadx.api.plugins.input.insns.Opcode;
 import jadx.plugins.input.dex.utils.SmaliTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +38,42 @@ class DexInputPluginTest {
 		processFile(SmaliTestUtils.compileSmaliFromResource("samples/test.smali"));
 	}
 
+	@Test
+	public void visitRefsSameAsDecode() throws Exception {
+		List<Path> files = Arrays.asList(
+				Paths.get(ClassLoader.getSystemResource("samples/app-with-fake-dex.apk").toURI()),
+				SmaliTestUtils.compileSmaliFromResource("samples/test.smali"));
+		try (ILoadResult result = new DexInputPlugin().loadFiles(files)) {
+			AtomicInteger refsCount = new AtomicInteger();
+			result.visitClasses(cls -> cls.visitFieldsAndMethods(fld -> {
+			}, mth -> {
+				ICodeReader codeReader = mth.getCodeReader();
+				if (codeReader == null) {
+					return;
+				}
+				assertThat(codeReader.getRefsScopeId()).isGreaterThanOrEqualTo(0);
+				List<String> expected = new ArrayList<>();
+				codeReader.visitInstructions(insn -> {
+					if (insn.getOpcode() == Opcode.UNKNOWN) {
+						return;
+					}
+					InsnIndexType indexType = insn.getIndexType();
+					if (indexType == InsnIndexType.TYPE_REF
+							|| indexType == InsnIndexType.FIELD_REF
+							|| indexType == InsnIndexType.METHOD_REF) {
+						insn.decode();
+						expected.add(insn.getOffset() + ": " + indexType + " " + insn.getIndex());
+					}
+				});
+				List<String> refs = new ArrayList<>();
+				codeReader.visitRefs(insn -> refs.add(insn.getOffset() + ": " + insn.getIndexType() + " " + insn.getIndex()));
+				assertThat(refs).isEqualTo(expected);
+				refsCount.addAndGet(refs.size());
+			}));
+			assertThat(refsCount.get()).isGreaterThan(0);
+		}
+	}
+
 	private static void processFile(Path sample) throws IOException {
 		System.out.println("Input file: " + sample.toAbsolutePath());
 		long start = System.currentTimeMillis();
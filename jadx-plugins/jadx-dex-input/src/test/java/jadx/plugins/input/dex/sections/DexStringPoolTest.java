@@ -0,0 +1,44 @@
+package jadx.plugins.input.dex.sections;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jadx.plugins.input.dex.DexFileLoader;
+import jadx.plugins.input.dex.DexReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DexStringPoolTest {
+
+	@Test
+	public void testBoundedCache() throws Exception {
+		Path sample = Paths.get(ClassLoader.getSystemResource("samples/hello.dex").toURI());
+		List<DexReader> dexReaders = DexFileLoader.collectDexFiles(Collections.singletonList(sample));
+		assertThat(dexReaders).hasSize(1);
+		DexReader dexReader = dexReaders.get(0);
+		DexHeader header = dexReader.getHeader();
+		SectionReader in = new SectionReader(dexReader, 0);
+
+		DexStringPool fullPool = new DexStringPool(header);
+		DexStringPool boundedPool = new DexStringPool(header, 0, 4);
+		assertThat(fullPool.isBounded()).isFalse();
+		assertThat(boundedPool.isBounded()).isTrue();
+
+		int stringsCount = header.getStringIdsSize();
+		assertThat(stringsCount).isGreaterThan(4);
+		for (int k = 0; k < 2; k++) {
+			for (int i = 0; i < stringsCount; i++) {
+				assertThat(boundedPool.getString(in, i)).isEqualTo(fullPool.getString(in, i));
+			}
+			for (int i = 0; i < header.getTypeIdsSize(); i++) {
+				String type = fullPool.getType(in, i);
+				assertThat(type).isNotEmpty().isEqualTo(boundedPool.getType(in, i));
+				assertThat(boundedPool.getType(in, i)).isSameAs(type);
+			}
+		}
+	}
+}
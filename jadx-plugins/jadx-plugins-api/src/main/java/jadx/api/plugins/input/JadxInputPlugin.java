@@ -8,4 +8,12 @@ import jadx.api.plugins.input.data.ILoadResult;
 
 public interface JadxInputPlugin extends JadxPlugin {
 	ILoadResult loadFiles(List<Path> input);
+
+	/**
+	 * @param allowMap if false, input files can be changed or removed while load result in use,
+	 *                 so files data should be read into memory instead of memory mapping
+	 */
+	default ILoadResult loadFiles(List<Path> input, boolean allowMap) {
+		return loadFiles(input);
+	}
 }
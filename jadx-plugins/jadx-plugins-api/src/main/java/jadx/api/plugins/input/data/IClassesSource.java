@@ -0,0 +1,19 @@
+package jadx.api.plugins.input.data;
+
+import java.util.function.Consumer;
+
+/**
+ * Independent part of loaded classes (for example, one dex file).
+ * Different sources can be visited concurrently.
+ */
+public interface IClassesSource {
+	void visitClasses(Consumer<IClassData> consumer);
+
+	/**
+	 * Set id of this source, unique inside one decompiler instance (sources from all load results are numbered).
+	 * Called before classes visit, so can be used in ids of references from this source.
+	 */
+	default void setSourceId(int id) {
+		// ids not used by default
+	}
+}
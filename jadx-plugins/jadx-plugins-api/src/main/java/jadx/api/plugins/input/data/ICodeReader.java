@@ -6,12 +6,50 @@ import java.util.function.Consumer;
 import org.jetbrains.annotations.Nullable;
 
 import jadx.api.plugins.input.insns.InsnData;
+import jadx.api.plugins.input.insns.Opcode;
 
 public interface ICodeReader {
 	ICodeReader copy();
 
 	void visitInstructions(Consumer<InsnData> insnConsumer);
 
+	/**
+	 * Visit only instructions with type, field or method reference.
+	 * <br>
+	 * Instructions not fully decoded: only {@link InsnData#getIndexType()}, {@link InsnData#getIndex()}
+	 * and 'getIndexAs*' methods can be used.
+	 * Implementation should avoid allocations, so references data can be loaded only for new indexes
+	 * (see {@link #getRefsScopeId()}).
+	 */
+	default void visitRefs(Consumer<InsnData> insnConsumer) {
+		visitInstructions(insn -> {
+			if (insn.getOpcode() == Opcode.UNKNOWN) {
+				return;
+			}
+			switch (insn.getIndexType()) {
+				case TYPE_REF:
+				case FIELD_REF:
+				case METHOD_REF:
+					insn.decode();
+					insnConsumer.accept(insn);
+					break;
+
+				default:
+					break;
+			}
+		});
+	}
+
+	/**
+	 * Id of references table used by instructions (for example: dex file).
+	 * Type, field and method indexes from {@link InsnData#getIndex()} are unique in this scope.
+	 *
+	 * @return non-negative id or -1 if indexes can't be used outside of instruction
+	 */
+	default int getRefsScopeId() {
+		return -1;
+	}
+
 	int getRegistersCount();
 
 	int getInsnsCount();
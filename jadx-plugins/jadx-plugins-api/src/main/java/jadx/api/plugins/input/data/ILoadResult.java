@@ -1,11 +1,21 @@
 package jadx.api.plugins.input.data;
 
 import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface ILoadResult extends Closeable {
 	void visitClasses(Consumer<IClassData> consumer);
 
+	/**
+	 * Split classes into sources which can be visited concurrently.
+	 * Visit of all sources in list order should produce same classes sequence as {@link #visitClasses(Consumer)}.
+	 */
+	default List<IClassesSource> getClassesSources() {
+		return Collections.singletonList(this::visitClasses);
+	}
+
 	void visitResources(Consumer<IResourceData> consumer);
 
 	boolean isEmpty();
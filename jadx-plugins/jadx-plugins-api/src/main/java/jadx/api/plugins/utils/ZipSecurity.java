@@ -95,25 +95,34 @@ public class ZipSecurity {
 	@Nullable
 	public static <R> R visitZipEntries(File file, BiFunction<ZipFile, ZipEntry, R> visitor) {
 		try (ZipFile zip = new ZipFile(file)) {
-			Enumeration<? extends ZipEntry> entries = zip.entries();
-			int entriesProcessed = 0;
-			while (entries.hasMoreElements()) {
-				ZipEntry entry = entries.nextElement();
-				if (isValidZipEntry(entry)) {
-					R result = visitor.apply(zip, entry);
-					if (result != null) {
-						return result;
-					}
-					entriesProcessed++;
-					if (entriesProcessed > MAX_ENTRIES_COUNT) {
-						throw new IllegalStateException("Zip entries count limit exceeded: " + MAX_ENTRIES_COUNT
-								+ ", last entry: " + entry.getName());
-					}
-				}
-			}
+			return visitZipEntries(zip, visitor);
 		} catch (Exception e) {
 			throw new RuntimeException("Failed to process zip file: " + file.getAbsolutePath(), e);
 		}
+	}
+
+	/**
+	 * Visit valid entries in already opened zip file.
+	 * Return not null value from visitor to stop iteration.
+	 */
+	@Nullable
+	public static <R> R visitZipEntries(ZipFile zip, BiFunction<ZipFile, ZipEntry, R> visitor) {
+		Enumeration<? extends ZipEntry> entries = zip.entries();
+		int entriesProcessed = 0;
+		while (entries.hasMoreElements()) {
+			ZipEntry entry = entries.nextElement();
+			if (isValidZipEntry(entry)) {
+				R result = visitor.apply(zip, entry);
+				if (result != null) {
+					return result;
+				}
+				entriesProcessed++;
+				if (entriesProcessed > MAX_ENTRIES_COUNT) {
+					throw new IllegalStateException("Zip entries count limit exceeded: " + MAX_ENTRIES_COUNT
+							+ ", last entry: " + entry.getName());
+				}
+			}
+		}
 		return null;
 	}
 